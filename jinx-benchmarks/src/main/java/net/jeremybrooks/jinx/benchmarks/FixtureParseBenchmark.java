@@ -0,0 +1,107 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.jeremybrooks.jinx.JinxTypeAdapterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses every Flickr response fixture into its response class.
+ * <br>
+ * The fixtures, and the class each is parsed into, are listed in fixtures.properties. By default one operation
+ * parses all of them. To measure a single fixture, pass its name:
+ * {@code java -jar target/benchmarks.jar FixtureParseBenchmark -p fixture=/response/photos/sample_exif.json}
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FixtureParseBenchmark {
+
+  /**
+   * Value of the fixture parameter that parses every fixture.
+   */
+  public static final String ALL = "all";
+
+  @Param({ALL})
+  public String fixture;
+
+  @Param({"reflective", "adapters"})
+  public String parser;
+
+  private Gson gson;
+  private final List<String> json = new ArrayList<>();
+  private final List<Class<?>> classes = new ArrayList<>();
+
+  @Setup
+  public void setup() throws ClassNotFoundException {
+    if (parser.equals("adapters")) {
+      gson = new GsonBuilder().registerTypeAdapterFactory(new JinxTypeAdapterFactory()).create();
+    } else {
+      gson = new Gson();
+    }
+    Properties fixtures = new Properties();
+    try (InputStream in = FixtureParseBenchmark.class.getResourceAsStream("/fixtures.properties")) {
+      fixtures.load(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    for (String resource : new TreeSet<>(fixtures.stringPropertyNames())) {
+      if (fixture.equals(ALL) || fixture.equals(resource)) {
+        json.add(Fixtures.read(resource));
+        classes.add(Class.forName(fixtures.getProperty(resource)));
+      }
+    }
+    if (json.isEmpty()) {
+      throw new IllegalArgumentException("No such fixture " + fixture);
+    }
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (int i = 0; i < json.size(); i++) {
+      blackhole.consume(gson.fromJson(json.get(i), classes.get(i)));
+    }
+  }
+}
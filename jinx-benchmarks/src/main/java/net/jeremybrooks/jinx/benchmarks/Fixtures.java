@@ -0,0 +1,85 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the Flickr responses used by the Jinx tests.
+ *
+ * @author Jeremy Brooks
+ */
+final class Fixtures {
+
+  private Fixtures() {
+  }
+
+  /**
+   * Read a fixture.
+   *
+   * @param resource resource name, such as /response/photos/sample_search.json.
+   * @return contents of the fixture.
+   */
+  static String read(String resource) {
+    try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalArgumentException("No such fixture " + resource);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toString(StandardCharsets.UTF_8.name());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Build a large page of results by repeating the items in a fixture.
+   * <br>
+   * The fixtures only have a few items each. Real pages can have up to 500.
+   *
+   * @param resource  resource name of a fixture containing a list, such as a photo search.
+   * @param container name of the object holding the list, such as "photos".
+   * @param list      name of the list, such as "photo".
+   * @param size      number of items the page should contain.
+   * @return json for the page.
+   */
+  static String page(String resource, String container, String list, int size) {
+    JsonObject root = new JsonParser().parse(read(resource)).getAsJsonObject();
+    JsonObject holder = root.getAsJsonObject(container);
+    JsonArray items = holder.getAsJsonArray(list);
+    JsonArray page = new JsonArray();
+    for (int i = 0; i < size; i++) {
+      page.add(items.get(i % items.size()));
+    }
+    holder.add(list, page);
+    return root.toString();
+  }
+}
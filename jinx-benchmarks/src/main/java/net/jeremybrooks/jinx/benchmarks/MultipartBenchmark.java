@@ -0,0 +1,127 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building, signing and writing the multipart body for an upload, from memory and from a file.
+ * <br>
+ * The request is handed to a transport that writes the body to a stream that discards it, then returns a canned
+ * upload response, so the time is the cost of preparing the upload, not of sending it over the network.
+ * Run with {@code -prof gc} to compare the allocation of the two paths.
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class MultipartBenchmark {
+
+  private static final byte[] RESPONSE =
+      "<?xml version=\"1.0\" encoding=\"utf-8\" ?><rsp stat=\"ok\"><photoid>1234</photoid></rsp>"
+          .getBytes(StandardCharsets.UTF_8);
+
+  /**
+   * Size of the photo in megabytes.
+   */
+  @Param({"1", "10", "50"})
+  public int megabytes;
+
+  private Jinx jinx;
+  private byte[] photo;
+  private File photoFile;
+
+  @Setup
+  public void setup() throws IOException {
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    jinx = new Jinx("key", "secret", accessToken,
+        request -> {
+          try {
+            request.getRequestBody().writeTo(OutputStream.nullOutputStream());
+          } catch (IOException e) {
+            throw new JinxException("Unable to write body.", e);
+          }
+          return new JinxTransportResponse(200, Collections.emptyMap(), new ByteArrayInputStream(RESPONSE));
+        });
+    photo = new byte[megabytes * 1024 * 1024];
+    new Random(42).nextBytes(photo);
+    photoFile = File.createTempFile("jinx-benchmark", ".jpg");
+    photoFile.deleteOnExit();
+    Files.write(photoFile.toPath(), photo);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(photoFile.toPath());
+  }
+
+  @Benchmark
+  public UploadResponse upload() throws JinxException {
+    return jinx.flickrUpload(params(), photo, UploadResponse.class);
+  }
+
+  @Benchmark
+  public UploadResponse uploadFile() throws JinxException {
+    return jinx.flickrUpload(params(), photoFile, UploadResponse.class);
+  }
+
+  private Map<String, String> params() {
+    Map<String, String> params = new TreeMap<>();
+    params.put("title", "Benchmark");
+    params.put("description", "A photo used to measure uploads");
+    params.put("tags", "benchmark,jinx");
+    params.put("is_public", "0");
+    params.put("filename", "photo.jpg");
+    params.put("filemimetype", "image/jpeg");
+    return params;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.jeremybrooks.jinx.JinxTypeAdapterFactory;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.places.Places;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand written type adapters with Gson's reflective adapters.
+ * <br>
+ * Run with {@code java -jar target/benchmarks.jar ParseBenchmark}.
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+  @Param({"reflective", "adapters"})
+  public String parser;
+
+  private Gson gson;
+  private String searchPage;
+  private String exif;
+  private String places;
+
+  @Setup
+  public void setup() {
+    if (parser.equals("adapters")) {
+      gson = new GsonBuilder().registerTypeAdapterFactory(new JinxTypeAdapterFactory()).create();
+    } else {
+      gson = new Gson();
+    }
+    searchPage = Fixtures.page("/response/photos/sample_search.json", "photos", "photo", 500);
+    exif = Fixtures.read("/response/photos/sample_exif.json");
+    places = Fixtures.page("/response/places/sample_places_for_user.json", "places", "place", 100);
+  }
+
+  /**
+   * A full page of search results.
+   */
+  @Benchmark
+  public Photos searchPage() {
+    return gson.fromJson(searchPage, Photos.class);
+  }
+
+  @Benchmark
+  public ExifData exif() {
+    return gson.fromJson(exif, ExifData.class);
+  }
+
+  @Benchmark
+  public Places places() {
+    return gson.fromJson(places, Places.class);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.SearchParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long PhotosApi.search takes to turn search parameters into request parameters.
+ * <br>
+ * The call stops at Jinx.callFlickr, so nothing is signed or sent.
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchParametersBenchmark {
+
+  private PhotosApi photosApi;
+  private SearchParameters simple;
+  private SearchParameters full;
+
+  @Setup
+  public void setup() {
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    photosApi = new PhotosApi(new ParameterJinx(accessToken));
+
+    simple = new SearchParameters();
+    simple.setText("golden gate bridge");
+
+    full = new SearchParameters();
+    full.setUserId("85853333@N00");
+    full.setTags(Arrays.asList("bridge", "fog", "san francisco", "sunset"));
+    full.setTagMode(JinxConstants.TagMode.all);
+    full.setText("golden gate bridge");
+    full.setMinUploadDate(new Date(0));
+    full.setMaxUploadDate(new Date());
+    full.setMinTakenDate(new Date(0));
+    full.setMaxTakenDate(new Date());
+    full.setLicense(Arrays.asList(1, 2, 3, 4, 5, 6));
+    full.setSort(JinxConstants.SortOrder.interestingness_desc);
+    full.setSafetyLevel(JinxConstants.SafetyLevel.safe);
+    full.setContentType(JinxConstants.ContentType.photo);
+    full.setMediaType(JinxConstants.MediaType.photos);
+    full.setHasGeo(true);
+    full.setExtras(EnumSet.allOf(JinxConstants.PhotoExtras.class));
+    full.setPerPage(500);
+    full.setPage(3);
+  }
+
+  @Benchmark
+  public Photos simpleSearch() throws JinxException {
+    return photosApi.search(simple);
+  }
+
+  @Benchmark
+  public Photos fullSearch() throws JinxException {
+    return photosApi.search(full);
+  }
+
+  /*
+   * Stops each call once the request parameters are built.
+   */
+  private static class ParameterJinx extends Jinx {
+
+    /* keeping the parameters stops the JIT from discarding the work that built them */
+    private Map<String, String> params;
+
+    ParameterJinx(OAuthAccessToken accessToken) {
+      super("key", "secret", accessToken);
+    }
+
+    @Override
+    protected <T> T callFlickr(Map<String, String> params, JinxConstants.Method method, Class<T> tClass, boolean sign) {
+      this.params = params;
+      return null;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxFlickrApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.builder.ServiceBuilder;
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.Token;
+import org.scribe.model.Verb;
+import org.scribe.oauth.OAuthService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of signing a request with OAuth, the way Jinx signs every call.
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignBenchmark {
+
+  /**
+   * Number of request parameters, not counting the OAuth parameters.
+   */
+  @Param({"5", "20"})
+  public int parameters;
+
+  private OAuthService service;
+  private Token token;
+
+  @Setup
+  public void setup() {
+    service = new ServiceBuilder().provider(new JinxFlickrApi())
+        .apiKey("0123456789abcdef0123456789abcdef").apiSecret("0123456789abcdef").build();
+    token = new Token("72157600000000000-0123456789abcdef", "0123456789abcdef");
+  }
+
+  @Benchmark
+  public OAuthRequest signGet() {
+    OAuthRequest request = new OAuthRequest(Verb.GET, JinxConstants.REST_ENDPOINT);
+    for (int i = 0; i < parameters; i++) {
+      request.addQuerystringParameter("param" + i, "value " + i);
+    }
+    service.signRequest(token, request);
+    return request;
+  }
+
+  @Benchmark
+  public OAuthRequest signPost() {
+    OAuthRequest request = new OAuthRequest(Verb.POST, JinxConstants.REST_ENDPOINT);
+    for (int i = 0; i < parameters; i++) {
+      request.addBodyParameter("param" + i, "value " + i);
+    }
+    service.signRequest(token, request);
+    return request;
+  }
+}
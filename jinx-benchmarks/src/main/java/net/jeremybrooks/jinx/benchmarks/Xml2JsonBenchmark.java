@@ -0,0 +1,103 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.benchmarks;
+
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of upload and replace responses from XML to json.
+ * <br>
+ * The xslt benchmarks measure the conversion Jinx used to do, which loaded and compiled the xml2json stylesheet
+ * for every response, for comparison.
+ *
+ * @author Jeremy Brooks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Xml2JsonBenchmark {
+
+  private String upload;
+  private String tickets;
+
+  @Setup
+  public void setup() {
+    upload = "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n<rsp stat=\"ok\">\n<photoid>14837291641</photoid>\n</rsp>\n";
+    StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n<rsp stat=\"ok\">\n<uploader>\n");
+    for (int i = 0; i < 50; i++) {
+      sb.append("<ticket id=\"").append(128 + i).append("\" complete=\"1\" photoid=\"").append(2995 + i).append("\" />\n");
+    }
+    sb.append("</uploader>\n</rsp>\n");
+    tickets = sb.toString();
+  }
+
+  @Benchmark
+  public String xsltUploadResponse() throws Exception {
+    return xslt(upload);
+  }
+
+  @Benchmark
+  public String xsltTicketsResponse() throws Exception {
+    return xslt(tickets);
+  }
+
+  @Benchmark
+  public String uploadResponse() throws JinxException {
+    return JinxUtils.xml2json(upload);
+  }
+
+  /**
+   * A response with 50 elements, larger than any upload response.
+   */
+  @Benchmark
+  public String ticketsResponse() throws JinxException {
+    return JinxUtils.xml2json(tickets);
+  }
+
+  private static String xslt(String xml) throws Exception {
+    Transformer transformer = TransformerFactory.newInstance().newTransformer(
+        new StreamSource(Xml2JsonBenchmark.class.getResourceAsStream("/xml2json.xsl")));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    transformer.transform(new StreamSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))),
+        new StreamResult(out));
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
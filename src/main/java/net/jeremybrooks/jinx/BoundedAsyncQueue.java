@@ -0,0 +1,120 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of asynchronous tasks in flight at once.
+ * <br>
+ * Tasks that are submitted when the limit is reached wait in a queue, without using a thread, and are started as
+ * running tasks complete. A task that fails to start, by throwing instead of returning a future, counts as complete.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class BoundedAsyncQueue {
+
+  private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger draining = new AtomicInteger();
+  private volatile int parallelism;
+
+  /**
+   * Create a queue.
+   *
+   * @param parallelism number of tasks in flight at once, at least 1.
+   */
+  public BoundedAsyncQueue(int parallelism) {
+    setParallelism(parallelism);
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Set the number of tasks in flight at once. Raising it starts waiting tasks at once.
+   *
+   * @param parallelism number of tasks, at least 1.
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+    }
+    this.parallelism = parallelism;
+    drain();
+  }
+
+  /**
+   * Queue a task, and start it when there is room.
+   *
+   * @param task starts the task, and returns a future that completes when it is done.
+   * @param <T>  type of the result.
+   * @return future that completes with the result of the task, or with the exception thrown when starting it.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    waiting.add(() -> {
+      CompletableFuture<T> started;
+      try {
+        started = task.get();
+      } catch (RuntimeException e) {
+        started = CompletableFuture.failedFuture(e);
+      }
+      started.whenComplete((r, t) -> {
+        running.decrementAndGet();
+        drain();
+        if (t == null) {
+          result.complete(r);
+        } else {
+          result.completeExceptionally(t);
+        }
+      });
+    });
+    drain();
+    return result;
+  }
+
+  /*
+   * Start waiting tasks while there is room. Only one thread starts tasks at a time; a thread that finds another
+   * one draining leaves it a note to look again. This keeps tasks that complete at once, such as cache hits, from
+   * starting the next task recursively.
+   */
+  private void drain() {
+    if (draining.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      while (running.get() < parallelism) {
+        Runnable task = waiting.poll();
+        if (task == null) {
+          break;
+        }
+        running.incrementAndGet();
+        task.run();
+      }
+      missed = draining.addAndGet(-missed);
+    } while (missed != 0);
+  }
+}
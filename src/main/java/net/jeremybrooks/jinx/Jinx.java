@@ -18,27 +18,60 @@
 package net.jeremybrooks.jinx;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import net.jeremybrooks.jinx.cache.JinxCache;
+import net.jeremybrooks.jinx.capture.JinxCapture;
 import net.jeremybrooks.jinx.logger.JinxLogger;
+import net.jeremybrooks.jinx.logger.LogLevel;
+import net.jeremybrooks.jinx.metrics.CallMetrics;
+import net.jeremybrooks.jinx.metrics.JinxMetricsListener;
 import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.PhotoPage;
+import net.jeremybrooks.jinx.retry.JinxRetryPolicy;
+import net.jeremybrooks.jinx.retry.RetryAttempt;
+import net.jeremybrooks.jinx.retry.RetryExhaustedException;
+import net.jeremybrooks.jinx.throttle.JinxRateLimiter;
+import net.jeremybrooks.jinx.transport.AsyncJinxTransport;
+import net.jeremybrooks.jinx.transport.DefaultJinxTransport;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+import net.jeremybrooks.jinx.transport.JinxTransport;
+import net.jeremybrooks.jinx.transport.JinxTransportRequest;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import net.jeremybrooks.jinx.transport.MultipartRequestBody;
 import org.scribe.builder.ServiceBuilder;
-import org.scribe.builder.api.FlickrApi;
 import org.scribe.model.OAuthRequest;
 import org.scribe.model.Token;
 import org.scribe.model.Verb;
 import org.scribe.model.Verifier;
 import org.scribe.oauth.OAuthService;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.Authenticator;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
 import java.net.Proxy;
 import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-import static net.jeremybrooks.jinx.JinxConstants.FLICKR_PHOTO_REPLACE_URL;
-import static net.jeremybrooks.jinx.JinxConstants.FLICKR_PHOTO_UPLOAD_URL;
 import static net.jeremybrooks.jinx.JinxConstants.Method;
 
 /**
@@ -103,6 +136,19 @@ import static net.jeremybrooks.jinx.JinxConstants.Method;
  * If you disable this feature, Jinx will still throw a JinxException for other errors, such as network problems or
  * invalid parameters, but you will have to check returned objects to know if Flickr reported an error.
  * <br>
+ * Requests are sent to Flickr by a {@link net.jeremybrooks.jinx.transport.JinxTransport}. By default, Jinx uses a
+ * {@link net.jeremybrooks.jinx.transport.DefaultJinxTransport}, which keeps connections alive between calls. If you
+ * need different timeouts or connection limits, or want to use a different http library, pass a transport to the
+ * constructor:
+ * {@code
+ * Jinx jinx = new Jinx(API_KEY, API_SECRET, accessToken, new DefaultJinxTransport(10000, 30000, 50));
+ * }
+ * <br>
+ * Each class in the net.jeremybrooks.jinx.api package has an asynchronous counterpart in the
+ * net.jeremybrooks.jinx.api.async package. Those classes return a {@link java.util.concurrent.CompletableFuture}
+ * rather than waiting for Flickr to respond. Use a {@link net.jeremybrooks.jinx.transport.HttpClientJinxTransport}
+ * if you want asynchronous calls to be sent without tying up a thread per request.
+ * <br>
  * If you wish to see the parameters, request URL's, and responses from Flickr, you can enable verbose logging and
  * set a JinxLogger:
  * {@code
@@ -110,7 +156,10 @@ import static net.jeremybrooks.jinx.JinxConstants.Method;
  * jinx.setVerboseLogging(true);
  * }
  * The default logger will not do anything, so you must set a logger. You can use the {@link net.jeremybrooks.jinx.logger.StdoutLogger}
- * to log to stdout, or you can implement your own logger. Loggers must implement the {@link net.jeremybrooks.jinx.logger.LogInterface}
+ * to log to stdout, the {@link net.jeremybrooks.jinx.logger.Slf4jLogger} to log through SLF4J, or you can implement your own
+ * logger. Loggers must implement the {@link net.jeremybrooks.jinx.logger.LogInterface}. Verbose messages are logged at
+ * debug level, and are only built if the logger accepts that level. To keep verbose logging on in production, log a
+ * sample of the calls with {@link #setVerboseLoggingSampleRate(double)}.
  * <br>
  * <p>If you are trying to troubleshoot photo upload problems and need to see the content of the multipart request that is used
  * for photo uploads, you must set a JinxLogger, enable verbose logging, and enable multipart logging.</p>
@@ -118,6 +167,26 @@ import static net.jeremybrooks.jinx.JinxConstants.Method;
  */
 public class Jinx {
 
+  /*
+   * Http status returned when too many requests have been made.
+   */
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+  /*
+   * Flickr error code for "Service currently unavailable".
+   */
+  private static final int FLICKR_SERVICE_UNAVAILABLE = 105;
+
+  /*
+   * Http status returned when the server is temporarily unavailable.
+   */
+  private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+  /*
+   * Responses with this http status or higher are server errors.
+   */
+  private static final int HTTP_SERVER_ERROR = 500;
+
   /**
    * The Jinx API key to use.
    */
@@ -139,10 +208,40 @@ public class Jinx {
 
   private boolean verboseLogging;
 
+  private volatile double verboseLoggingSampleRate = 1.0;
+
   private boolean multipartLogging;
 
   private Proxy proxy;
 
+  private JinxTransport transport;
+
+  private final ThreadLocal<AsyncCall> asyncCall = new ThreadLocal<>();
+
+  private ExecutorService executor;
+
+  private boolean useVirtualThreads;
+
+  private JinxRateLimiter rateLimiter;
+
+  private JinxRetryPolicy retryPolicy;
+
+  private volatile JinxCache cache;
+
+  private volatile boolean coalesceRequests;
+
+  private volatile JinxMetricsListener metricsListener;
+
+  private volatile JinxCapture capture;
+
+  private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  private String restEndpoint = JinxConstants.REST_ENDPOINT;
+
+  private String uploadEndpoint = JinxConstants.FLICKR_PHOTO_UPLOAD_URL;
+
+  private String replaceEndpoint = JinxConstants.FLICKR_PHOTO_REPLACE_URL;
+
   private Jinx() {
     // Jinx must be created with a key and secret.
   }
@@ -172,21 +271,39 @@ public class Jinx {
    * @param oAuthAccessToken the oauth access token.
    */
   public Jinx(String apiKey, String apiSecret, OAuthAccessToken oAuthAccessToken) {
+    this(apiKey, apiSecret, oAuthAccessToken, null);
+  }
+
+  /**
+   * Create an instance of Jinx with an API key, secret, access token, and transport.
+   * <br>
+   * Use this method when you want to control how Jinx talks to Flickr; for example, to change
+   * timeouts or the number of connections that can be open at the same time.
+   *
+   * @param apiKey           the API key to use.
+   * @param apiSecret        the API secret to use.
+   * @param oAuthAccessToken the oauth access token. May be null if you do not have an access token yet.
+   * @param transport        the transport used to send requests to Flickr. If null, a
+   *                         {@link net.jeremybrooks.jinx.transport.DefaultJinxTransport} will be used.
+   */
+  public Jinx(String apiKey, String apiSecret, OAuthAccessToken oAuthAccessToken, JinxTransport transport) {
     this.apiKey = apiKey;
     this.apiSecret = apiSecret;
     this.oAuthAccessToken = oAuthAccessToken;
     this.flickrErrorThrowsException = true;
     this.setVerboseLogging(false);
     this.setMultipartLogging(false);
-    this.gson = new Gson();
+    this.gson = new GsonBuilder().registerTypeAdapterFactory(new JinxTypeAdapterFactory()).create();
 
-    this.oAuthService = new ServiceBuilder().provider(FlickrApi.class).apiKey(apiKey).apiSecret(apiSecret).build();
+    this.oAuthService = new ServiceBuilder().provider(new JinxFlickrApi()).apiKey(apiKey).apiSecret(apiSecret).build();
 
     if (oAuthAccessToken != null) {
       this.accessToken = new Token(oAuthAccessToken.getOauthToken(), oAuthAccessToken.getOauthTokenSecret());
     }
 
     this.proxy = Proxy.NO_PROXY;
+    this.transport = transport == null ? new DefaultJinxTransport() : transport;
+    this.executor = JinxExecutors.defaultExecutor();
   }
 
 
@@ -362,6 +479,319 @@ public class Jinx {
     this.accessToken = new Token(oAuthAccessToken.getOauthToken(), oAuthAccessToken.getOauthTokenSecret());
   }
 
+  /**
+   * Get the transport used to send requests to Flickr.
+   *
+   * @return transport used by this instance.
+   */
+  public JinxTransport getTransport() {
+    return this.transport;
+  }
+
+  /**
+   * Get the endpoint used for API calls.
+   *
+   * @return URL of the REST endpoint.
+   */
+  public String getRestEndpoint() {
+    return this.restEndpoint;
+  }
+
+  /**
+   * Get the endpoint used to upload photos.
+   *
+   * @return URL of the upload endpoint.
+   */
+  public String getUploadEndpoint() {
+    return this.uploadEndpoint;
+  }
+
+  /**
+   * Get the endpoint used to replace photos.
+   *
+   * @return URL of the replace endpoint.
+   */
+  public String getReplaceEndpoint() {
+    return this.replaceEndpoint;
+  }
+
+  /**
+   * Set the endpoints that requests are sent to.
+   * <br>
+   * By default, requests go to Flickr. Change the endpoints to send requests to a different server, such as
+   * {@link net.jeremybrooks.jinx.mock.MockFlickrServer} for testing.
+   *
+   * @param restEndpoint    URL of the REST endpoint, such as {@link JinxConstants#REST_ENDPOINT}.
+   * @param uploadEndpoint  URL of the upload endpoint, such as {@link JinxConstants#FLICKR_PHOTO_UPLOAD_URL}.
+   * @param replaceEndpoint URL of the replace endpoint, such as {@link JinxConstants#FLICKR_PHOTO_REPLACE_URL}.
+   */
+  public void setEndpoints(String restEndpoint, String uploadEndpoint, String replaceEndpoint) {
+    if (JinxUtils.isNullOrEmpty(restEndpoint) || JinxUtils.isNullOrEmpty(uploadEndpoint) ||
+        JinxUtils.isNullOrEmpty(replaceEndpoint)) {
+      throw new IllegalArgumentException("Endpoints cannot be null or empty.");
+    }
+    this.restEndpoint = restEndpoint;
+    this.uploadEndpoint = uploadEndpoint;
+    this.replaceEndpoint = replaceEndpoint;
+  }
+
+  /**
+   * Get the executor used to run calls in the background.
+   *
+   * @return executor used by this instance.
+   */
+  public ExecutorService getExecutor() {
+    return this.executor;
+  }
+
+  /**
+   * Set the executor used to run calls in the background.
+   * <br>
+   * The executor runs the calls passed to {@link #submit(JinxCall)} and {@link #invokeAll(Collection)}, and sends
+   * asynchronous requests when the transport cannot send them without blocking. Jinx does not shut down the
+   * executor.
+   *
+   * @param executor executor to use, or null to use the shared default executor.
+   */
+  public void setExecutor(ExecutorService executor) {
+    this.executor = executor == null ? JinxExecutors.defaultExecutor() : executor;
+    this.useVirtualThreads = false;
+  }
+
+  /**
+   * Indicates if calls run in the background will use virtual threads.
+   *
+   * @return true if background calls run on virtual threads.
+   */
+  public boolean isUseVirtualThreads() {
+    return this.useVirtualThreads;
+  }
+
+  /**
+   * Run background calls on a new virtual thread per call.
+   * <br>
+   * This is useful for bulk work, such as calling {@link #invokeAll(Collection)} with thousands of calls. Virtual
+   * threads are cheap, so there is no pool to size; the number of connections actually open to Flickr is still
+   * limited by the transport.
+   * <br>
+   * The virtual thread executor is shared by all Jinx instances, so turning this on and off does not create or
+   * leave behind any executors.
+   * <br>
+   * Virtual threads require Java 21 or later. On older JVMs, Jinx will use the shared default executor, and
+   * {@link #isUseVirtualThreads()} will return false.
+   *
+   * @param useVirtualThreads true to run background calls on virtual threads, false to use the default executor.
+   */
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    if (useVirtualThreads) {
+      this.executor = JinxExecutors.virtualThreadExecutor();
+      this.useVirtualThreads = JinxExecutors.isVirtualThreadSupported();
+      if (!this.useVirtualThreads) {
+        JinxLogger.log(LogLevel.WARN, "Virtual threads are not supported by this JVM; using platform threads.");
+      }
+    } else {
+      this.executor = JinxExecutors.defaultExecutor();
+      this.useVirtualThreads = false;
+    }
+  }
+
+  /**
+   * Get the rate limiter.
+   *
+   * @return rate limiter used by this instance, or null if calls are not rate limited.
+   */
+  public JinxRateLimiter getRateLimiter() {
+    return this.rateLimiter;
+  }
+
+  /**
+   * Set a rate limiter.
+   * <br>
+   * By default, Jinx does not limit the rate of calls to Flickr. When a rate limiter is set, every call to Flickr,
+   * including uploads and replaces, waits for a permit from the limiter before it is sent.
+   *
+   * @param rateLimiter the rate limiter to use, or null to disable rate limiting.
+   */
+  public void setRateLimiter(JinxRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  /**
+   * Get the retry policy.
+   *
+   * @return retry policy used by this instance, or null if failed calls are not retried.
+   */
+  public JinxRetryPolicy getRetryPolicy() {
+    return this.retryPolicy;
+  }
+
+  /**
+   * Set a retry policy.
+   * <br>
+   * By default, Jinx does not retry failed calls. When a retry policy is set, calls that fail with a transient
+   * error, such as a timeout or Flickr being temporarily unavailable, are retried as the policy allows. Each
+   * attempt waits for the rate limiter, if there is one. If every attempt fails, a
+   * {@link net.jeremybrooks.jinx.retry.RetryExhaustedException} is thrown.
+   *
+   * @param retryPolicy the retry policy to use, or null to disable retries.
+   */
+  public void setRetryPolicy(JinxRetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * Get the response cache.
+   *
+   * @return response cache used by this instance, or null if responses are not cached.
+   */
+  public JinxCache getCache() {
+    return this.cache;
+  }
+
+  /**
+   * Set a response cache.
+   * <br>
+   * By default, Jinx does not cache responses. When a cache is set, http GET calls to methods the cache accepts
+   * are answered from the cache when possible, without calling Flickr or waiting for the rate limiter. Calls made
+   * with http POST are never cached.
+   * <br>
+   * The photos in each list of photos returned by Flickr are passed to {@link JinxCache#photosUpdated(Iterable)},
+   * so that cached responses about photos that have changed are dropped.
+   *
+   * @param cache the cache to use, or null to disable caching.
+   * @see net.jeremybrooks.jinx.cache.MemoryJinxCache
+   */
+  public void setCache(JinxCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Get the request metrics listener.
+   *
+   * @return metrics listener used by this instance, or null if requests are not measured.
+   */
+  public JinxMetricsListener getMetricsListener() {
+    return this.metricsListener;
+  }
+
+  /**
+   * Set a listener for request metrics.
+   * <br>
+   * By default, nothing is measured. When a listener is set, it is told the method, outcome, size and timings of
+   * every request sent to Flickr. This is much cheaper than verbose logging, and can be left on in production.
+   *
+   * @param metricsListener the listener to use, or null to stop measuring.
+   * @see net.jeremybrooks.jinx.metrics.JinxMetrics
+   */
+  public void setMetricsListener(JinxMetricsListener metricsListener) {
+    this.metricsListener = metricsListener;
+  }
+
+  /**
+   * Get the request and response capture.
+   *
+   * @return capture used by this instance, or null if calls are not captured.
+   */
+  public JinxCapture getCapture() {
+    return this.capture;
+  }
+
+  /**
+   * Set a capture to keep recent requests and responses for debugging.
+   * <br>
+   * By default, nothing is captured. When a capture is set, the calls it selects are kept, with secrets removed,
+   * until newer calls replace them. Responses served from the cache are not captured.
+   *
+   * @param capture the capture to use, or null to stop capturing.
+   * @see JinxCapture
+   */
+  public void setCapture(JinxCapture capture) {
+    this.capture = capture;
+  }
+
+  /**
+   * Indicates if identical concurrent GET calls share one request.
+   * <br>
+   * This is false by default.
+   *
+   * @return true if identical concurrent GET calls share one request.
+   */
+  public boolean isCoalesceRequests() {
+    return this.coalesceRequests;
+  }
+
+  /**
+   * Set whether identical concurrent GET calls share one request.
+   * <br>
+   * By default, every call sends its own request. When this is true, a GET call made while an identical call,
+   * with the same method, parameters, access token and return type, is still waiting for Flickr does not send a
+   * request. It waits for the call in flight and returns the same result, or throws the same exception. Callers
+   * share the returned object, so it must not be modified. Calls made with http POST are never shared.
+   *
+   * @param coalesceRequests true to share identical concurrent GET calls.
+   */
+  public void setCoalesceRequests(boolean coalesceRequests) {
+    this.coalesceRequests = coalesceRequests;
+  }
+
+  /**
+   * Run a call in the background using this instance's executor.
+   * <br>
+   * Unlike {@link #callAsync(JinxCall)}, the whole call, including any blocking network I/O, runs on the executor.
+   *
+   * @param call the call to run.
+   * @param <T>  type of the class returned.
+   * @return future that completes with the result of the call.
+   */
+  public <T> CompletableFuture<T> submit(final JinxCall<T> call) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return call.call();
+      } catch (JinxException je) {
+        throw new CompletionException(je);
+      }
+    }, this.executor);
+  }
+
+  /**
+   * Run a group of calls in the background and wait for all of them to finish.
+   * <br>
+   * Each call is submitted to this instance's executor, so the calls run concurrently. This is similar to
+   * {@link ExecutorService#invokeAll(Collection)}: when this method returns, every future in the list is complete,
+   * either with a result or exceptionally. One call failing does not affect the others.
+   * <br>
+   * For example, to get information about many photos:
+   * {@code
+   * List<JinxCall<PhotoInfo>> calls = new ArrayList<>();
+   * for (String id : photoIds) {
+   *   calls.add(() -> photosApi.getInfo(id, null));
+   * }
+   * List<CompletableFuture<PhotoInfo>> results = jinx.invokeAll(calls);
+   * }
+   *
+   * @param calls the calls to run.
+   * @param <T>   type of the class returned.
+   * @return completed futures, in the same order as the calls.
+   * @throws InterruptedException if the thread is interrupted while waiting. Calls that have not finished are cancelled.
+   */
+  public <T> List<CompletableFuture<T>> invokeAll(Collection<? extends JinxCall<T>> calls) throws InterruptedException {
+    List<CompletableFuture<T>> futures = new ArrayList<>(calls.size());
+    for (JinxCall<T> call : calls) {
+      futures.add(submit(call));
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } catch (ExecutionException e) {
+      // individual failures are reported by each future
+    } catch (InterruptedException ie) {
+      for (CompletableFuture<T> future : futures) {
+        future.cancel(true);
+      }
+      throw ie;
+    }
+    return futures;
+  }
+
   /**
    * Indicates if Flickr API errors will cause a JinxException to be thrown.
    * <br>
@@ -426,6 +856,43 @@ public class Jinx {
     this.verboseLogging = verboseLogging;
   }
 
+  /**
+   * Get the fraction of calls that are logged when verbose logging is on.
+   * <br>
+   * By default this is 1, so every call is logged.
+   *
+   * @return fraction of calls logged, from 0 to 1.
+   */
+  public double getVerboseLoggingSampleRate() {
+    return this.verboseLoggingSampleRate;
+  }
+
+  /**
+   * Set the fraction of calls that are logged when verbose logging is on.
+   * <br>
+   * By default every call is logged. With a rate of 0.01, about one call in a hundred is chosen at random, and its
+   * parameters and response are logged. Calls that are not chosen do no logging work at all.
+   *
+   * @param verboseLoggingSampleRate fraction of calls to log, from 0 to 1.
+   */
+  public void setVerboseLoggingSampleRate(double verboseLoggingSampleRate) {
+    if (!(verboseLoggingSampleRate >= 0 && verboseLoggingSampleRate <= 1)) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1.");
+    }
+    this.verboseLoggingSampleRate = verboseLoggingSampleRate;
+  }
+
+  /*
+   * Decide if a call should be logged in detail.
+   */
+  private boolean isTraced() {
+    if (!this.verboseLogging || !JinxLogger.isEnabled(LogLevel.DEBUG)) {
+      return false;
+    }
+    double rate = this.verboseLoggingSampleRate;
+    return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
   /**
    * Set the multipart body logging flag.
    *
@@ -531,50 +998,163 @@ public class Jinx {
     params.put("nojsoncallback", "1");
     params.put("api_key", getApiKey());
 
-    org.scribe.model.Response flickrResponse;
+    boolean trace = isTraced();
+    JinxCapture capture = selectCapture(params.get("method"));
+    RequestFactory factory;
+    String cacheKey = null;
+    String inFlightKey = null;
 
     if (method == Method.GET) {
-      OAuthRequest request = new OAuthRequest(Verb.GET, JinxConstants.REST_ENDPOINT);
-      for (String key : params.keySet()) {
-        request.addQuerystringParameter(key, params.get(key));
-        if (verboseLogging) {
-          JinxLogger.getLogger().log(String.format("Added query parameter %s=%s", key, params.get(key)));
+      if (trace) {
+        for (String key : params.keySet()) {
+          JinxLogger.log(LogLevel.DEBUG, "Added query parameter " + key + "=" + params.get(key));
+        }
+      }
+      JinxCache responseCache = this.cache;
+      if (responseCache != null && responseCache.isCacheable(params.get("method"))) {
+        cacheKey = buildCacheKey(params, sign);
+        String body = responseCache.get(cacheKey);
+        if (body != null) {
+          if (trace) {
+            JinxLogger.log(LogLevel.DEBUG, "Using cached response for " + params.get("method"));
+          }
+          return parse(body, tClass, false, trace);
         }
       }
-      if (sign) {
-        this.oAuthService.signRequest(this.accessToken, request);
+      if (this.coalesceRequests) {
+        inFlightKey = tClass.getName() + '?' + (cacheKey == null ? buildCacheKey(params, sign) : cacheKey);
       }
-      flickrResponse = request.send();
+      factory = () -> {
+        OAuthRequest request = new OAuthRequest(Verb.GET, this.restEndpoint);
+        for (String key : params.keySet()) {
+          request.addQuerystringParameter(key, params.get(key));
+        }
+        if (sign) {
+          this.oAuthService.signRequest(this.accessToken, request);
+        }
+        return new JinxTransportRequest(method, request.getCompleteUrl(), request.getHeaders(), null);
+      };
     } else if (method == Method.POST) {
-      OAuthRequest request = new OAuthRequest(Verb.POST, JinxConstants.REST_ENDPOINT);
-      for (String key : params.keySet()) {
-        request.addBodyParameter(key, params.get(key));
-        if (verboseLogging) {
-          JinxLogger.getLogger().log(String.format("Added body parameter %s=%s", key, params.get(key)));
+      if (trace) {
+        for (String key : params.keySet()) {
+          JinxLogger.log(LogLevel.DEBUG, "Added body parameter " + key + "=" + params.get(key));
         }
       }
-      if (sign) {
-        this.oAuthService.signRequest(this.accessToken, request);
-      }
-      flickrResponse = request.send();
+      factory = () -> {
+        OAuthRequest request = new OAuthRequest(Verb.POST, this.restEndpoint);
+        for (String key : params.keySet()) {
+          request.addBodyParameter(key, params.get(key));
+        }
+        if (sign) {
+          this.oAuthService.signRequest(this.accessToken, request);
+        }
+        return new JinxTransportRequest(method, request.getCompleteUrl(), request.getHeaders(),
+            getBytes(request.getBodyContents()));
+      };
     } else {
       throw new JinxException("Unsupported method: " + method.toString());
     }
 
-    if (flickrResponse == null || flickrResponse.getBody() == null) {
-      throw new JinxException("Null return from call to Flickr.");
+    if (inFlightKey != null) {
+      return executeShared(inFlightKey, factory, params.get("method"), tClass, cacheKey, trace, capture);
+    }
+    return execute(factory, params.get("method"), tClass, false, cacheKey, trace, capture);
+  }
+
+  /*
+   * Builds and signs the request for one attempt of a call.
+   * Every attempt is signed again, so that each one has its own OAuth nonce and timestamp; Flickr rejects a
+   * request that reuses a nonce.
+   */
+  private interface RequestFactory {
+    JinxTransportRequest create() throws JinxException;
+  }
+
+  /*
+   * Execute a GET request, unless an identical one is in flight, in which case wait for its result.
+   * The first caller runs the request and publishes the outcome to everyone who arrived while it was running.
+   */
+  private <T> T executeShared(String key, RequestFactory factory, String flickrMethod, Class<T> tClass,
+                              String cacheKey, boolean trace, JinxCapture capture) throws JinxException {
+    CompletableFuture<Object> shared = new CompletableFuture<>();
+    CompletableFuture<Object> existing = this.inFlight.putIfAbsent(key, shared);
+    AsyncCall pending = this.asyncCall.get();
+    if (existing != null) {
+      if (trace) {
+        JinxLogger.log(LogLevel.DEBUG, "Sharing in-flight request for " + flickrMethod);
+      }
+      if (pending != null) {
+        this.asyncCall.remove();
+        // a dependent future, so that cancelling it does not affect the other callers
+        pending.future = existing.thenApply(result -> result);
+        return null;
+      }
+      return tClass.cast(await(existing));
     }
-    if (verboseLogging) {
-      JinxLogger.getLogger().log("RESPONSE is " + flickrResponse.getBody());
+    try {
+      T result = execute(factory, flickrMethod, tClass, false, cacheKey, trace, capture);
+      if (pending != null && pending.future != null) {
+        pending.future.whenComplete((r, t) -> {
+          this.inFlight.remove(key, shared);
+          if (t == null) {
+            shared.complete(r);
+          } else {
+            shared.completeExceptionally(t);
+          }
+        });
+      } else {
+        this.inFlight.remove(key, shared);
+        shared.complete(result);
+      }
+      return result;
+    } catch (JinxException | RuntimeException e) {
+      this.inFlight.remove(key, shared);
+      shared.completeExceptionally(e);
+      throw e;
     }
+  }
 
-    T fromJson = gson.fromJson(flickrResponse.getBody(), tClass);
+  /*
+   * Wait for a shared call to finish, and throw its failure as the original exception.
+   */
+  private Object await(CompletableFuture<Object> future) throws JinxException {
+    try {
+      return future.get();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new JinxException("Interrupted while waiting for a shared call.", ie);
+    } catch (ExecutionException ee) {
+      Throwable cause = ee.getCause() instanceof CompletionException ? ee.getCause().getCause() : ee.getCause();
+      if (cause instanceof JinxException) {
+        throw (JinxException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new JinxException("Shared call failed.", cause);
+    }
+  }
 
-    if (this.flickrErrorThrowsException && ((Response) fromJson).getCode() != 0) {
-      Response r = (Response) fromJson;
-      throw new JinxException("Flickr returned non-zero status.", null, r);
+  /*
+   * Build the cache key for a GET call from the sorted parameters. Names and values are URL encoded, so that a value
+   * containing & or = cannot produce the key of a different call.
+   * Signed calls include the access token, since the response depends on who is asking.
+   */
+  private String buildCacheKey(Map<String, String> params, boolean sign) {
+    Map<String, String> sorted = params instanceof TreeMap && ((TreeMap<String, String>) params).comparator() == null ?
+        params : new TreeMap<>(params);
+    StringBuilder key = new StringBuilder();
+    for (Map.Entry<String, String> entry : sorted.entrySet()) {
+      if (!entry.getKey().startsWith("oauth_")) {
+        key.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)).append('=')
+            .append(URLEncoder.encode(String.valueOf(entry.getValue()), StandardCharsets.UTF_8)).append('&');
+      }
+    }
+    if (sign) {
+      key.append("oauth_token=")
+          .append(URLEncoder.encode(String.valueOf(this.oAuthAccessToken.getOauthToken()), StandardCharsets.UTF_8));
     }
-    return fromJson;
+    return key.toString();
   }
 
 
@@ -595,7 +1175,29 @@ public class Jinx {
       throw new JinxException("Jinx has not been configured with an OAuth Access Token.");
     }
     params.put("api_key", getApiKey());
-    return uploadOrReplace(params, photoData, tClass, new OAuthRequest(Verb.POST, FLICKR_PHOTO_UPLOAD_URL));
+    return uploadOrReplace(params, photoData, tClass, new OAuthRequest(Verb.POST, this.uploadEndpoint));
+  }
+
+  /**
+   * Upload a photo or video file to Flickr.
+   * <br>
+   * The file is streamed to Flickr as the request is sent, so it is never loaded into memory.
+   * <br>
+   * Do not call this directly. Use the {@link net.jeremybrooks.jinx.api.PhotosUploadApi} class.
+   *
+   * @param params request parameters.
+   * @param photo  photo or video file to upload.
+   * @param tClass the class that will be returned.
+   * @param <T>    type of the class returned.
+   * @return an instance of the specified class containing data from Flickr.
+   * @throws JinxException if there are any errors.
+   */
+  public <T> T flickrUpload(Map<String, String> params, File photo, Class<T> tClass) throws JinxException {
+    if (this.oAuthAccessToken == null) {
+      throw new JinxException("Jinx has not been configured with an OAuth Access Token.");
+    }
+    params.put("api_key", getApiKey());
+    return uploadOrReplace(params, photo, tClass, new OAuthRequest(Verb.POST, this.uploadEndpoint));
   }
 
   /**
@@ -615,7 +1217,29 @@ public class Jinx {
       throw new JinxException("Jinx has not been configured with an OAuth Access Token.");
     }
     params.put("api_key", getApiKey());
-    return uploadOrReplace(params, photoData, tClass, new OAuthRequest(Verb.POST, FLICKR_PHOTO_REPLACE_URL));
+    return uploadOrReplace(params, photoData, tClass, new OAuthRequest(Verb.POST, this.replaceEndpoint));
+  }
+
+  /**
+   * Replace a photo or video on Flickr with the contents of a file.
+   * <br>
+   * The file is streamed to Flickr as the request is sent, so it is never loaded into memory.
+   * <br>
+   * Do not call this directly. Use the {@link net.jeremybrooks.jinx.api.PhotosUploadApi} class.
+   *
+   * @param params request parameters.
+   * @param photo  photo or video file to replace existing data.
+   * @param tClass the class that will be returned.
+   * @param <T>    type of the class returned.
+   * @return an instance of the specified class containing data from Flickr.
+   * @throws JinxException if there are any errors.
+   */
+  public <T> T flickrReplace(Map<String, String> params, File photo, Class<T> tClass) throws JinxException {
+    if (this.oAuthAccessToken == null) {
+      throw new JinxException("Jinx has not been configured with an OAuth Access Token.");
+    }
+    params.put("api_key", getApiKey());
+    return uploadOrReplace(params, photo, tClass, new OAuthRequest(Verb.POST, this.replaceEndpoint));
   }
 
 
@@ -630,11 +1254,38 @@ public class Jinx {
    * @param photoData the data to send to Flickr.
    * @param tClass    the class that will be returned.
    * @param <T>       type of the class returned.
-   * @param request   the OAuthRequest object to use.
+   * @param request   the OAuthRequest object to use. It is copied and signed for each attempt.
    * @return an instance of the specified class containing data from Flickr.
    * @throws JinxException if there are any errors.
    */
   protected <T> T uploadOrReplace(Map<String, String> params, byte[] photoData, Class<T> tClass, OAuthRequest request) throws JinxException {
+    return executeMultipart(params, request, (boundary, signed) -> new MultipartRequestBody(boundary, signed, photoData),
+        tClass);
+  }
+
+  /**
+   * Handle Flickr upload and replace API calls for a file.
+   * <br>
+   * This works like {@link #uploadOrReplace(Map, byte[], Class, OAuthRequest)}, but the file is not read until
+   * the request is sent, and is then streamed to Flickr.
+   *
+   * @param params  request parameters.
+   * @param photo   the file to send to Flickr.
+   * @param tClass  the class that will be returned.
+   * @param <T>     type of the class returned.
+   * @param request the OAuthRequest object to use. It is copied and signed for each attempt.
+   * @return an instance of the specified class containing data from Flickr.
+   * @throws JinxException if there are any errors.
+   */
+  protected <T> T uploadOrReplace(Map<String, String> params, File photo, Class<T> tClass, OAuthRequest request) throws JinxException {
+    return executeMultipart(params, request,
+        (boundary, signed) -> new MultipartRequestBody(boundary, signed, photo.toPath()), tClass);
+  }
+
+  /*
+   * Sign a multipart request. The OAuth parameters are added to params so that they are sent in the body.
+   */
+  private String signMultipart(Map<String, String> params, OAuthRequest request) {
     String boundary = JinxUtils.generateBoundary();
     request.addHeader("Content-Type", "multipart/form-data; boundary=" + boundary);
     for (Map.Entry<String, String> entry : params.entrySet()) {
@@ -648,68 +1299,511 @@ public class Jinx {
 
     // add all parameters to payload
     params.putAll(request.getOauthParameters());
-    request.addPayload(buildMultipartBody(params, photoData, boundary));
+    return boundary;
+  }
 
-    org.scribe.model.Response flickrResponse = request.send();
+  /*
+   * Send a multipart request. Each attempt is signed on a copy of the request and the parameters, so that the
+   * OAuth parameters of one attempt are not sent with the next.
+   */
+  private <T> T executeMultipart(Map<String, String> params, OAuthRequest template, MultipartBodyFactory bodyFactory,
+                                 Class<T> tClass) throws JinxException {
+    boolean trace = isTraced();
+    boolean logBody = trace && this.multipartLogging && JinxLogger.isEnabled(LogLevel.TRACE);
+    String flickrMethod = template.getUrl().equals(this.replaceEndpoint) ?
+        JinxRateLimiter.REPLACE_METHOD : JinxRateLimiter.UPLOAD_METHOD;
+    RequestFactory factory = () -> {
+      OAuthRequest request = new OAuthRequest(template.getVerb(), template.getUrl());
+      for (Map.Entry<String, String> header : template.getHeaders().entrySet()) {
+        request.addHeader(header.getKey(), header.getValue());
+      }
+      Map<String, String> signed = new TreeMap<>(params);
+      String boundary = signMultipart(signed, request);
+      MultipartRequestBody body = bodyFactory.create(boundary, signed);
+      if (logBody) {
+        JinxLogger.log(LogLevel.TRACE, "Multipart body: " + body);
+      }
+      return JinxTransportRequest.withBody(Method.POST, request.getCompleteUrl(), request.getHeaders(), body);
+    };
+    return execute(factory, flickrMethod, tClass, true, null, trace, selectCapture(flickrMethod));
+  }
 
-    if (flickrResponse == null || flickrResponse.getBody() == null) {
-      throw new JinxException("Null return from call to Flickr.");
+  private interface MultipartBodyFactory {
+    MultipartRequestBody create(String boundary, Map<String, String> params) throws JinxException;
+  }
+
+  /**
+   * Make an API call asynchronously.
+   * <br>
+   * Do not call this method directly. The classes in the net.jeremybrooks.jinx.api.async package will call this.
+   * <br>
+   * The call runs on the calling thread until it is ready to send its request to Flickr, so parameter validation
+   * and request signing happen before this method returns. The request is then sent without waiting for the
+   * response. If the transport is an {@link net.jeremybrooks.jinx.transport.AsyncJinxTransport}, no thread is
+   * used while the request is in flight; otherwise the request is sent using this instance's executor.
+   * <br>
+   * Errors, including parameter validation errors, are reported by completing the returned future exceptionally.
+   *
+   * @param call the API call to make. This must make exactly one call to Flickr through this Jinx instance.
+   * @param <T>  type of the class returned.
+   * @return future that completes with the result of the call.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> callAsync(JinxCall<T> call) {
+    AsyncCall pending = new AsyncCall();
+    this.asyncCall.set(pending);
+    T result;
+    try {
+      result = call.call();
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    } finally {
+      this.asyncCall.remove();
     }
-    if (verboseLogging) {
-      JinxLogger.getLogger().log("RESPONSE is " + flickrResponse.getBody());
+    if (pending.future == null) {
+      // the call did not need to send a request through this instance
+      return CompletableFuture.completedFuture(result);
     }
+    return (CompletableFuture<T>) pending.future;
+  }
 
-    // upload returns XML, so convert to json
-    String json = JinxUtils.xml2json(flickrResponse.getBody());
+  /*
+   * Send the request and parse the response, retrying transient failures if there is a retry policy.
+   * If an asynchronous call is being set up on this thread, the request is handed off instead, and null is returned.
+   */
+  private <T> T execute(final RequestFactory factory, final String flickrMethod, final Class<T> tClass,
+                        final boolean xml, final String cacheKey, final boolean trace, final JinxCapture capture)
+      throws JinxException {
+    JinxRetryPolicy policy = this.retryPolicy;
+    if (policy != null) {
+      policy.recordCall();
+    }
+    List<RetryAttempt> attempts = new ArrayList<>(0);
+    // the first attempt is signed on the calling thread
+    JinxTransportRequest request = factory.create();
+
+    AsyncCall pending = this.asyncCall.get();
+    if (pending != null) {
+      this.asyncCall.remove();
+      CompletableFuture<T> future = new CompletableFuture<>();
+      attemptAsync(future, policy, factory, request, flickrMethod, tClass, xml, cacheKey, trace, capture, 1, attempts);
+      pending.future = future;
+      return null;
+    }
 
-    T fromJson = gson.fromJson(json, tClass);
+    for (int attempt = 1; ; attempt++) {
+      if (attempt > 1) {
+        request = factory.create();
+      }
+      acquirePermit(flickrMethod);
+      long start = System.nanoTime();
+      T result = null;
+      JinxException failure = null;
+      JinxTransportResponse response = null;
+      try {
+        response = this.transport.execute(request);
+      } catch (JinxException je) {
+        failure = je;
+        recordFailure(request, flickrMethod, je, capture);
+      }
+      if (failure == null) {
+        try {
+          result = handleResponse(timed(response, start), request, flickrMethod, tClass, xml, cacheKey, trace,
+              capture);
+        } catch (JinxException je) {
+          failure = je;
+        }
+      }
+      long delay = retryDelay(policy, request, result, failure, attempt, attempts, start);
+      if (delay < 0) {
+        return complete(result, failure);
+      }
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new JinxException("Interrupted while waiting to retry.", ie);
+      }
+    }
+  }
 
-    if (this.flickrErrorThrowsException && ((Response) fromJson).getCode() != 0) {
-      Response r = (Response) fromJson;
-      throw new JinxException("Flickr returned non-zero status.", null, r);
+  /*
+   * Make one asynchronous attempt, scheduling the next one if the attempt fails and can be retried.
+   * No thread waits between attempts.
+   */
+  private <T> void attemptAsync(final CompletableFuture<T> future, final JinxRetryPolicy policy,
+                                final RequestFactory factory, final JinxTransportRequest request,
+                                final String flickrMethod, final Class<T> tClass,
+                                final boolean xml, final String cacheKey, final boolean trace,
+                                final JinxCapture capture, final int attempt, final List<RetryAttempt> attempts) {
+    if (future.isDone()) {
+      // cancelled by the caller
+      return;
+    }
+    final long start = System.nanoTime();
+    sendAsync(request, flickrMethod).whenComplete((response, throwable) -> {
+      try {
+        T result = null;
+        JinxException failure = null;
+        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        if (cause instanceof JinxException) {
+          failure = (JinxException) cause;
+          recordFailure(request, flickrMethod, failure, capture);
+        } else if (cause != null) {
+          future.completeExceptionally(cause);
+          return;
+        } else {
+          try {
+            result = handleResponse(response, request, flickrMethod, tClass, xml, cacheKey, trace, capture);
+          } catch (JinxException je) {
+            failure = je;
+          }
+        }
+        long delay = retryDelay(policy, request, result, failure, attempt, attempts, start);
+        if (delay < 0) {
+          future.complete(complete(result, failure));
+        } else {
+          CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, getExecutor()).execute(() -> {
+            JinxTransportRequest next;
+            try {
+              next = factory.create();
+            } catch (Exception e) {
+              future.completeExceptionally(e);
+              return;
+            }
+            attemptAsync(future, policy, factory, next, flickrMethod, tClass, xml, cacheKey, trace, capture,
+                attempt + 1, attempts);
+          });
+        }
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    });
+  }
+
+  /*
+   * Decide if a failed attempt should be retried.
+   * Returns the time to wait in milliseconds before the next attempt, or -1 if the outcome of this attempt is final.
+   * If the failure was transient but the retry policy will not allow another attempt, a RetryExhaustedException
+   * is thrown with the history of every attempt.
+   */
+  private long retryDelay(JinxRetryPolicy policy, JinxTransportRequest request, Object result,
+                          JinxException failure, int attempt, List<RetryAttempt> attempts, long start)
+      throws RetryExhaustedException {
+    Response r = (Response) result;
+    int flickrErrorCode = r == null ? failure.getFlickrErrorCode() : r.getCode();
+    if (policy == null || !policy.isRetryable(request.getMethod(), failure, flickrErrorCode)) {
+      return -1;
+    }
+    attempts.add(new RetryAttempt(attempt,
+        failure instanceof JinxHttpException ? ((JinxHttpException) failure).getStatusCode() : 0,
+        flickrErrorCode,
+        failure == null ? r.getMessage() : failure.getMessage(),
+        failure,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    if (!policy.tryRetry(attempt)) {
+      if (failure != null) {
+        throw new RetryExhaustedException("Call to Flickr failed.", failure, attempts);
+      }
+      if (this.flickrErrorThrowsException) {
+        throw new RetryExhaustedException("Flickr returned non-zero status.", r, attempts);
+      }
+      return -1;
+    }
+    long delay = policy.getBackoff(attempt, failure);
+    if (verboseLogging && JinxLogger.isEnabled(LogLevel.INFO)) {
+      JinxLogger.log(LogLevel.INFO, "Attempt " + attempt + " failed (" + attempts.get(attempts.size() - 1).getMessage() +
+          "), retrying in " + delay + " ms.");
     }
-    return fromJson;
+    return delay;
   }
 
   /*
-   * Build a multipart body request.
+   * Return the final result of a call, or throw its failure.
    */
-  private byte[] buildMultipartBody(Map<String, String> params, byte[] photoData, String boundary) throws JinxException {
+  private <T> T complete(T result, JinxException failure) throws JinxException {
+    if (failure != null) {
+      throw failure;
+    }
+    Response r = (Response) result;
+    if (this.flickrErrorThrowsException && r.getCode() != 0) {
+      throw new JinxException("Flickr returned non-zero status.", null, r);
+    }
+    return result;
+  }
 
-    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  /*
+   * Parse the response from Flickr, and tell the rate limiter how the call went.
+   * Flickr API errors are returned as a normal response; http errors are thrown as a JinxHttpException.
+   * The response is always closed.
+   */
+  private <T> T handleResponse(JinxTransportResponse response, JinxTransportRequest request, String flickrMethod,
+                               Class<T> tClass, boolean xml, String cacheKey, boolean trace, JinxCapture capture)
+      throws JinxException {
+    if (response == null) {
+      throw new JinxException("Null return from call to Flickr.");
+    }
+    JinxMetricsListener listener = this.metricsListener;
+    if (listener != null) {
+      response.meter();
+    }
+    long parseStart = 0;
+    long parseNanos = -1;
+    int flickrCode = 0;
+    String flickrMessage = null;
+    Exception failure = null;
     try {
-      String filename = params.get("filename");
-      if (JinxUtils.isNullOrEmpty(filename)) {
-        filename = "image.jpg";
+      JinxRateLimiter limiter = this.rateLimiter;
+      int code = response.getCode();
+      if (code == HTTP_TOO_MANY_REQUESTS || code >= HTTP_SERVER_ERROR) {
+        if (limiter != null && (code == HTTP_TOO_MANY_REQUESTS || code == HTTP_SERVICE_UNAVAILABLE)) {
+          limiter.throttled(this.apiKey, flickrMethod);
+        }
+        if (capture != null) {
+          readQuietly(response);
+        }
+        throw new JinxHttpException(code, retryAfter(response));
+      }
+
+      if (listener != null) {
+        parseStart = System.nanoTime();
+      }
+      T fromJson = parse(response, flickrMethod, tClass, xml, cacheKey,
+          trace, trace || (capture != null && capture.isCaptureBody()));
+      if (listener != null) {
+        parseNanos = System.nanoTime() - parseStart;
+      }
+      Response r = (Response) fromJson;
+      if (r == null) {
+        throw new JinxException("Null return from call to Flickr.");
+      }
+      flickrCode = r.getCode();
+      flickrMessage = r.getMessage();
+      JinxCache responseCache = this.cache;
+      if (responseCache != null && r.getCode() == 0 && fromJson instanceof PhotoPage) {
+        // drop cached responses about photos that have changed
+        responseCache.photosUpdated(((PhotoPage) fromJson).getPhotoList());
+      }
+      if (limiter != null) {
+        if (r.getCode() == FLICKR_SERVICE_UNAVAILABLE) {
+          limiter.throttled(this.apiKey, flickrMethod);
+        } else {
+          limiter.succeeded(this.apiKey, flickrMethod);
+        }
+      }
+      return fromJson;
+    } catch (JinxException | RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      response.close();
+      if (capture != null) {
+        capture(capture, flickrMethod, request, response.getCode(), flickrCode, flickrMessage,
+            response.getBufferedBody(), failure);
       }
-      String fileMimeType = params.get("filemimetype");
-      if (JinxUtils.isNullOrEmpty(fileMimeType)) {
-        fileMimeType = "image/jpeg";
+      if (listener != null) {
+        // time spent waiting for the body is download time; the rest of the parse is parse time
+        long download = response.getReadNanos();
+        notify(listener, new CallMetrics(flickrMethod, response.getCode(), flickrCode, failure, bytesSent(request),
+            response.getBytesRead(), response.getConnectNanos(), response.getTimeToFirstByteNanos(),
+            parseNanos < 0 ? -1 : download, parseNanos < 0 ? -1 : Math.max(0, parseNanos - download)));
       }
+    }
+  }
 
-      buffer.write(("--" + boundary + "\r\n").getBytes(JinxConstants.UTF8));
-      for (Map.Entry<String, String> entry : params.entrySet()) {
-        String key = entry.getKey();
-        if (!key.equals("filename") && !key.equals("filemimetype")) {
+  /*
+   * Get the Retry-After header in seconds, or -1 if it is missing or is not a number of seconds.
+   */
+  private long retryAfter(JinxTransportResponse response) {
+    String value = response.getHeader("Retry-After");
+    if (value != null) {
+      try {
+        return Long.parseLong(value.trim());
+      } catch (NumberFormatException e) {
+        // an http date; let the retry policy decide how long to wait
+      }
+    }
+    return -1;
+  }
 
-          buffer.write(("Content-Disposition: form-data; name=\"" + key + "\"\r\n\r\n").getBytes(JinxConstants.UTF8));
-          buffer.write((entry.getValue()).getBytes(JinxConstants.UTF8));
-          buffer.write(("\r\n" + "--" + boundary + "\r\n").getBytes(JinxConstants.UTF8));
-        }
+  /*
+   * Parse the response body returned by Flickr.
+   * Json responses are deserialized directly from the response stream, so the body is never held in memory as a
+   * String. The body is only read into a String if it must be logged, captured or cached, or if it is XML.
+   * Successful responses are stored in the cache if there is a cache key.
+   */
+  private <T> T parse(JinxTransportResponse response, String flickrMethod, Class<T> tClass, boolean xml,
+                      String cacheKey, boolean trace, boolean buffer) throws JinxException {
+    JinxCache responseCache = this.cache;
+    if (cacheKey != null && responseCache != null) {
+      String body = response.getBody();
+      T result = parse(body, tClass, xml, trace);
+      if (result instanceof Response && ((Response) result).getCode() == 0) {
+        responseCache.put(cacheKey, flickrMethod, body);
       }
-      buffer.write(("Content-Disposition: form-data; name=\"photo\"; filename=\"" + filename + "\";\r\n").getBytes(JinxConstants.UTF8));
-      buffer.write(("Content-Type: " + fileMimeType + "\r\n\r\n").getBytes(JinxConstants.UTF8));
-      buffer.write(photoData);
-      buffer.write(("\r\n" + "--" + boundary + "--\r\n").getBytes(JinxConstants.UTF8));   // NOTE: last boundary has -- suffix
+      return result;
+    }
+    if (buffer || xml) {
+      return parse(response.getBody(), tClass, xml, trace);
+    }
+    InputStream stream = response.getStream();
+    if (stream == null) {
+      throw new JinxException("Null return from call to Flickr.");
+    }
+    try {
+      return gson.fromJson(new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8)), tClass);
+    } catch (JsonIOException e) {
+      throw new JinxException("Unable to read response body.", e.getCause());
+    }
+  }
 
-    } catch (Exception e) {
-      throw new JinxException("Unable to build multipart body.", e);
+  /*
+   * Parse the body returned by Flickr.
+   * Uploads and replaces return XML, which is converted to json before parsing.
+   */
+  private <T> T parse(String body, Class<T> tClass, boolean xml, boolean trace) throws JinxException {
+    if (body == null) {
+      throw new JinxException("Null return from call to Flickr.");
+    }
+    if (trace) {
+      JinxLogger.log(LogLevel.DEBUG, "RESPONSE is " + body);
     }
 
-    if (this.isVerboseLogging() && this.isMultipartLogging()) {
-      JinxLogger.getLogger().log("Multipart body: " + buffer.toString());
+    if (xml) {
+      body = JinxUtils.xml2json(body);
     }
 
-    return buffer.toByteArray();
+    return gson.fromJson(body, tClass);
+  }
+
+  /*
+   * Wait for the rate limiter, if there is one.
+   */
+  private void acquirePermit(String flickrMethod) throws JinxException {
+    JinxRateLimiter limiter = this.rateLimiter;
+    if (limiter != null) {
+      try {
+        limiter.acquire(this.apiKey, flickrMethod);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new JinxException("Interrupted while waiting for the rate limiter.", ie);
+      }
+    }
+  }
+
+  /*
+   * Send a request without waiting for the response.
+   * If the rate limiter says to wait, the request is sent later; no thread waits in the meantime.
+   */
+  private CompletableFuture<JinxTransportResponse> sendAsync(final JinxTransportRequest request, String flickrMethod) {
+    JinxRateLimiter limiter = this.rateLimiter;
+    long delay = limiter == null ? 0 : limiter.reserve(this.apiKey, flickrMethod);
+    if (delay > 0) {
+      Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, getExecutor());
+      return CompletableFuture.supplyAsync(() -> request, delayed).thenCompose(this::startAsync);
+    }
+    return startAsync(request);
+  }
+
+  private CompletableFuture<JinxTransportResponse> startAsync(final JinxTransportRequest request) {
+    if (this.transport instanceof AsyncJinxTransport) {
+      final long start = System.nanoTime();
+      return ((AsyncJinxTransport) this.transport).executeAsync(request)
+          .thenApply(response -> timed(response, start));
+    }
+    return CompletableFuture.supplyAsync(() -> {
+      long start = System.nanoTime();
+      try {
+        return timed(this.transport.execute(request), start);
+      } catch (JinxException je) {
+        throw new CompletionException(je);
+      }
+    }, getExecutor());
+  }
+
+  /*
+   * If the transport did not measure the time to first byte, use the time it took to return the response.
+   */
+  private JinxTransportResponse timed(JinxTransportResponse response, long start) {
+    if (response != null && response.getTimeToFirstByteNanos() < 0) {
+      response.setTimings(response.getConnectNanos(), System.nanoTime() - start);
+    }
+    return response;
+  }
+
+  /*
+   * Tell the metrics listener and the capture about a request that failed before a response was received.
+   */
+  private void recordFailure(JinxTransportRequest request, String flickrMethod, JinxException failure,
+                             JinxCapture capture) {
+    JinxMetricsListener listener = this.metricsListener;
+    if (listener != null) {
+      notify(listener, new CallMetrics(flickrMethod, 0, 0, failure, bytesSent(request), 0, -1, -1, -1, -1));
+    }
+    if (capture != null) {
+      capture(capture, flickrMethod, request, 0, 0, null, null, failure);
+    }
+  }
+
+  /*
+   * Get the capture if it wants this call, or null.
+   */
+  private JinxCapture selectCapture(String flickrMethod) {
+    JinxCapture c = this.capture;
+    return c != null && c.select(flickrMethod) ? c : null;
+  }
+
+  private void capture(JinxCapture capture, String flickrMethod, JinxTransportRequest request, int httpStatus,
+                       int flickrErrorCode, String errorMessage, String responseBody, Throwable failure) {
+    try {
+      capture.capture(flickrMethod, request, httpStatus, flickrErrorCode, errorMessage, responseBody, failure);
+    } catch (RuntimeException e) {
+      JinxLogger.log(LogLevel.WARN, "Capture failed.", e);
+    }
+  }
+
+  /*
+   * Read the body of an error response so it can be captured. It is not needed otherwise.
+   */
+  private static void readQuietly(JinxTransportResponse response) {
+    try {
+      response.getBody();
+    } catch (JinxException e) {
+      // keep the original error
+    }
+  }
+
+  private void notify(JinxMetricsListener listener, CallMetrics metrics) {
+    try {
+      listener.requestCompleted(metrics);
+    } catch (RuntimeException e) {
+      JinxLogger.log(LogLevel.WARN, "Metrics listener failed.", e);
+    }
+  }
+
+  /*
+   * The size of the request url and body, which is what is sent apart from the headers.
+   */
+  private static long bytesSent(JinxTransportRequest request) {
+    long length = request.getUrl().length();
+    if (request.getRequestBody() != null) {
+      length += request.getRequestBody().getContentLength();
+    }
+    return length;
+  }
+
+  private byte[] getBytes(String s) throws JinxException {
+    try {
+      return s.getBytes(JinxConstants.UTF8);
+    } catch (Exception e) {
+      throw new JinxException("Unable to encode request body.", e);
+    }
+  }
+
+  /*
+   * An asynchronous call that is being set up on the current thread.
+   */
+  private static class AsyncCall {
+    private CompletableFuture<?> future;
   }
 }
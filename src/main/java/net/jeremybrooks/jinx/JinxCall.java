@@ -0,0 +1,41 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx;
+
+/**
+ * A call to the Flickr API that returns a result.
+ * <br>
+ * This is usually a lambda that calls a method in one of the net.jeremybrooks.jinx.api classes:
+ * {@code
+ * JinxCall<PhotoInfo> call = () -> photosApi.getInfo(photoId, null);
+ * }
+ *
+ * @param <T> type of the result.
+ * @author Jeremy Brooks
+ */
+@FunctionalInterface
+public interface JinxCall<T> {
+
+  /**
+   * Make the call.
+   *
+   * @return result of the call.
+   * @throws JinxException if there are any errors.
+   */
+  T call() throws JinxException;
+}
@@ -0,0 +1,128 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used by Jinx to run calls in the background.
+ * <br>
+ * Jinx is compiled for Java 11, so virtual threads are looked up at runtime. When Jinx runs on a JVM
+ * that supports virtual threads (Java 21 or later), {@link #newVirtualThreadPerTaskExecutor()} returns an
+ * executor that starts a new virtual thread for each task. On older JVMs it returns a cached pool of
+ * daemon platform threads instead.
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxExecutors {
+
+  private static final Method VIRTUAL_THREAD_FACTORY_METHOD = findVirtualThreadFactoryMethod();
+
+  private JinxExecutors() {
+  }
+
+  /**
+   * Indicates if the running JVM supports virtual threads.
+   *
+   * @return true if virtual threads are supported.
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_THREAD_FACTORY_METHOD != null;
+  }
+
+  /**
+   * Create an executor that runs each task on a new virtual thread.
+   * <br>
+   * If the JVM does not support virtual threads, this returns a cached pool of daemon threads.
+   *
+   * @return new executor.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (VIRTUAL_THREAD_FACTORY_METHOD != null) {
+      try {
+        return (ExecutorService) VIRTUAL_THREAD_FACTORY_METHOD.invoke(null);
+      } catch (Exception e) {
+        // fall through to platform threads
+      }
+    }
+    return newDaemonThreadPool("jinx-worker-");
+  }
+
+  /**
+   * Get the executor Jinx uses for background work when no other executor has been configured.
+   * <br>
+   * This is a cached pool of daemon threads, shared by all Jinx instances. Idle threads are discarded after a minute.
+   *
+   * @return shared default executor.
+   */
+  public static ExecutorService defaultExecutor() {
+    return DefaultExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Get the executor Jinx uses for background work on virtual threads.
+   * <br>
+   * This runs each task on a new virtual thread, and is shared by all Jinx instances, so it is never shut down.
+   * If the JVM does not support virtual threads, this is the {@link #defaultExecutor()}.
+   *
+   * @return shared virtual thread executor.
+   */
+  public static ExecutorService virtualThreadExecutor() {
+    return VirtualThreadExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Create a cached pool of daemon threads.
+   *
+   * @param namePrefix prefix for thread names.
+   * @return new executor.
+   */
+  static ExecutorService newDaemonThreadPool(final String namePrefix) {
+    return Executors.newCachedThreadPool(new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger();
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, namePrefix + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  private static Method findVirtualThreadFactoryMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static class DefaultExecutorHolder {
+    private static final ExecutorService INSTANCE = newDaemonThreadPool("jinx-async-");
+  }
+
+  private static class VirtualThreadExecutorHolder {
+    private static final ExecutorService INSTANCE = isVirtualThreadSupported() ?
+        newVirtualThreadPerTaskExecutor() : defaultExecutor();
+  }
+}
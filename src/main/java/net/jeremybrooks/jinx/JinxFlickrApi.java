@@ -0,0 +1,70 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx;
+
+import org.scribe.builder.api.FlickrApi;
+import org.scribe.exceptions.OAuthSignatureException;
+import org.scribe.services.SignatureService;
+import org.scribe.utils.OAuthEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Scribe's Flickr API definition, with an HMAC-SHA1 signature service that works on every Java version.
+ * <br>
+ * The signature service that comes with Scribe encodes signatures with javax.xml.bind, which was removed from the
+ * JDK in Java 11. This one uses java.util.Base64 instead.
+ * <br>
+ * Use this instead of Scribe's FlickrApi if you build an OAuthService yourself:
+ * {@code new ServiceBuilder().provider(new JinxFlickrApi()).apiKey(key).apiSecret(secret).build();}
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxFlickrApi extends FlickrApi {
+
+  @Override
+  public SignatureService getSignatureService() {
+    return new HmacSha1SignatureService();
+  }
+
+  private static class HmacSha1SignatureService implements SignatureService {
+
+    private static final String HMAC_SHA1 = "HmacSHA1";
+
+    @Override
+    public String getSignature(String baseString, String apiSecret, String tokenSecret) {
+      try {
+        String key = OAuthEncoder.encode(apiSecret) + '&' + OAuthEncoder.encode(tokenSecret);
+        Mac mac = Mac.getInstance(HMAC_SHA1);
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_SHA1));
+        byte[] signature = mac.doFinal(baseString.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(signature);
+      } catch (Exception e) {
+        throw new OAuthSignatureException(baseString, e);
+      }
+    }
+
+    @Override
+    public String getSignatureMethod() {
+      return "HMAC-SHA1";
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.places.Place;
+import net.jeremybrooks.jinx.response.places.Places;
+
+/**
+ * Supplies hand written type adapters for the response classes that carry the most data.
+ * <br>
+ * Pages of photos, places, and EXIF data can contain hundreds of objects. Their adapters read each field by name,
+ * without reflection. Every other response class is parsed by Gson's reflective adapter, as before.
+ * <br>
+ * Jinx registers this factory with its own Gson instance. If you parse Flickr responses yourself, you can use it too:
+ * {@code Gson gson = new GsonBuilder().registerTypeAdapterFactory(new JinxTypeAdapterFactory()).create();}
+ *
+ * @author Jeremy Brooks
+ * @see net.jeremybrooks.jinx.response.ResponseTypeAdapter
+ */
+public class JinxTypeAdapterFactory implements TypeAdapterFactory {
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    Class<? super T> rawType = type.getRawType();
+    TypeAdapter<?> adapter;
+    if (rawType == Photo.class) {
+      adapter = new Photo.Adapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Photo.class)));
+    } else if (rawType == Photos.class) {
+      adapter = new Photos.Adapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Photos.class)));
+    } else if (rawType == ExifData.class) {
+      adapter = new ExifData.Adapter(gson.getDelegateAdapter(this, TypeToken.get(ExifData.class)));
+    } else if (rawType == Place.class) {
+      adapter = new Place.Adapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Place.class)));
+    } else if (rawType == Places.class) {
+      adapter = new Places.Adapter(gson, gson.getDelegateAdapter(this, TypeToken.get(Places.class)));
+    } else {
+      return null;
+    }
+    return (TypeAdapter<T>) adapter;
+  }
+}
@@ -17,17 +17,14 @@
 
 package net.jeremybrooks.jinx;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -57,7 +54,6 @@ public class JinxUtils {
 
     private static SimpleDateFormat formatter;
     private static SimpleDateFormat ymdFormatter;
-    private static TransformerFactory transformerFactory;
 
 
     /**
@@ -969,26 +965,66 @@ public class JinxUtils {
         }
     }
 
+    /**
+     * Convert an XML response to json.
+     * <br>
+     * Flickr answers uploads and replaces with XML. This converts the response in one pass, without XSLT, so that
+     * it can be parsed like the json responses to other calls. This method is thread safe.
+     *
+     * @param xml the XML response.
+     * @return the response as json, or null if the XML is null or empty.
+     * @throws JinxException if the XML is not well formed.
+     */
     public static String xml2json(String xml) throws JinxException {
         if (JinxUtils.isNullOrEmpty(xml)) {
             return null;
         }
-        if (transformerFactory == null) {
-            transformerFactory = TransformerFactory.newInstance();
+        return XmlToJson.convert(xml);
+    }
+
+    /**
+     * Compute the SHA-256 hash of a string, as lower case hex.
+     *
+     * @param value the string. It is hashed as UTF-8.
+     * @return 64 character hex string.
+     */
+    public static String sha256Hex(String value) {
+        MessageDigest digest = sha256();
+        return toHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compute the SHA-256 hash of the contents of a stream, as lower case hex.
+     * <br>
+     * The stream is read to the end, but is not closed.
+     *
+     * @param in the stream.
+     * @return 64 character hex string.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[65536];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
         }
-        String json;
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        InputStream in = JinxUtils.class.getResourceAsStream("/xml2json.xsl");
-        Source xslt = new StreamSource(in);
-        Transformer transformer;
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
         try {
-            transformer = transformerFactory.newTransformer(xslt);
-            Source text = new StreamSource(new ByteArrayInputStream(xml.getBytes(JinxConstants.UTF8)));
-            transformer.transform(text, new StreamResult(baos));
-            json = baos.toString(JinxConstants.UTF8);
-        } catch (Exception e) {
-            throw new JinxException("Unable to apply xml2json XSLT.", e);
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
         }
-        return json;
+        return hex.toString();
     }
 }
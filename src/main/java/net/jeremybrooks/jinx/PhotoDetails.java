@@ -0,0 +1,140 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import net.jeremybrooks.jinx.response.photos.AllContexts;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The details of one photo, fetched by a {@link PhotoDetailsFetcher}.
+ * <br>
+ * Each part is fetched by its own call to Flickr. If a call fails, the part is null and the reason is available
+ * from {@link #getFailure(Part)}; the other parts are still returned. Parts that were not requested are null and
+ * have no failure.
+ *
+ * @author Jeremy Brooks
+ */
+public final class PhotoDetails {
+
+  /**
+   * The parts of the details, and the Flickr method that returns each one.
+   */
+  public enum Part {
+    /** flickr.photos.getInfo */
+    INFO,
+    /** flickr.photos.getSizes */
+    SIZES,
+    /** flickr.photos.getExif */
+    EXIF,
+    /** flickr.photos.getAllContexts */
+    CONTEXTS
+  }
+
+  private final String photoId;
+  private final PhotoInfo info;
+  private final PhotoSizes sizes;
+  private final ExifData exif;
+  private final AllContexts contexts;
+  private final Map<Part, JinxException> failures;
+
+  PhotoDetails(String photoId, PhotoInfo info, PhotoSizes sizes, ExifData exif, AllContexts contexts,
+               Map<Part, JinxException> failures) {
+    this.photoId = photoId;
+    this.info = info;
+    this.sizes = sizes;
+    this.exif = exif;
+    this.contexts = contexts;
+    this.failures = failures.isEmpty() ? Collections.emptyMap() :
+        Collections.unmodifiableMap(new EnumMap<>(failures));
+  }
+
+  public String getPhotoId() {
+    return photoId;
+  }
+
+  public PhotoInfo getInfo() {
+    return info;
+  }
+
+  public PhotoSizes getSizes() {
+    return sizes;
+  }
+
+  public ExifData getExif() {
+    return exif;
+  }
+
+  public AllContexts getContexts() {
+    return contexts;
+  }
+
+  /**
+   * Get the reason a part could not be fetched.
+   *
+   * @param part the part.
+   * @return the failure, or null if the part was fetched or was not requested.
+   */
+  public JinxException getFailure(Part part) {
+    return failures.get(part);
+  }
+
+  /**
+   * Get the failures, by part.
+   *
+   * @return unmodifiable map of failures. Empty if every requested part was fetched.
+   */
+  public Map<Part, JinxException> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Get the parts that could not be fetched.
+   *
+   * @return unmodifiable set of parts.
+   */
+  public Set<Part> getFailedParts() {
+    return failures.keySet();
+  }
+
+  /**
+   * Indicates if every requested part was fetched.
+   *
+   * @return true if no call failed.
+   */
+  public boolean isComplete() {
+    return failures.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.PhotoDetails{" +
+        "photoId='" + photoId + '\'' +
+        ", info=" + (info != null) +
+        ", sizes=" + (sizes != null) +
+        ", exif=" + (exif != null) +
+        ", contexts=" + (contexts != null) +
+        ", failures=" + failures.keySet() +
+        '}';
+  }
+}
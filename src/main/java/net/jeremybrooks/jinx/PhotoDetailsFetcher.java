@@ -0,0 +1,202 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import net.jeremybrooks.jinx.api.async.AsyncPhotosApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.AllContexts;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fetches everything needed to show a photo with concurrent calls to Flickr.
+ * <br>
+ * The details of a photo come from four methods: flickr.photos.getInfo, getSizes, getExif and getAllContexts.
+ * Calling them one after another takes as long as all four calls together. This class makes the calls at the
+ * same time, for one photo or for many, so the details are ready as soon as the slowest call returns:
+ * <pre>
+ * PhotoDetailsFetcher fetcher = new PhotoDetailsFetcher(jinx);
+ * List&lt;PhotoDetails&gt; details = fetcher.fetchAll(photoIds);
+ * </pre>
+ * No more than {@link #getParallelism()} calls are in flight at once; the rest wait in a {@link BoundedAsyncQueue},
+ * without using a thread. The calls are made with {@link Jinx#callAsync(JinxCall)}, so they go through the Jinx rate limiter, cache
+ * and retry policy, if there are any.
+ * <br>
+ * A failed call does not fail the whole photo. The part it would have returned is null, and the failure is kept in
+ * the {@link PhotoDetails}. Flickr errors are treated as failures even if Jinx is configured not to throw them.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class PhotoDetailsFetcher {
+
+  /** Number of calls in flight at once, by default. */
+  public static final int DEFAULT_PARALLELISM = 16;
+
+  private final AsyncPhotosApi photosApi;
+  private final BoundedAsyncQueue queue = new BoundedAsyncQueue(DEFAULT_PARALLELISM);
+  private volatile Set<PhotoDetails.Part> parts = Collections.unmodifiableSet(EnumSet.allOf(PhotoDetails.Part.class));
+
+  /**
+   * Create a fetcher.
+   *
+   * @param jinx authenticated Jinx instance.
+   */
+  public PhotoDetailsFetcher(Jinx jinx) {
+    if (jinx == null) {
+      throw new IllegalArgumentException("Jinx cannot be null.");
+    }
+    this.photosApi = new AsyncPhotosApi(jinx);
+  }
+
+  public int getParallelism() {
+    return queue.getParallelism();
+  }
+
+  /**
+   * Set the number of calls to Flickr in flight at once. The default is {@link #DEFAULT_PARALLELISM}.
+   *
+   * @param parallelism number of calls, at least 1.
+   */
+  public void setParallelism(int parallelism) {
+    queue.setParallelism(parallelism);
+  }
+
+  public Set<PhotoDetails.Part> getParts() {
+    return parts;
+  }
+
+  /**
+   * Set the parts to fetch for each photo. By default, every part is fetched.
+   *
+   * @param parts parts to fetch. Cannot be empty.
+   */
+  public void setParts(Set<PhotoDetails.Part> parts) {
+    if (parts == null || parts.isEmpty()) {
+      throw new IllegalArgumentException("Parts cannot be empty.");
+    }
+    this.parts = Collections.unmodifiableSet(EnumSet.copyOf(parts));
+  }
+
+  /**
+   * Fetch the details of a photo.
+   * <br>
+   * The returned future always completes normally; failed calls are reported in the details.
+   *
+   * @param photoId id of the photo. Required.
+   * @param secret  secret of the photo, or null. Used by getInfo and getExif to fetch photos the caller is not
+   *                allowed to see without it.
+   * @return future that completes with the details when every call has finished.
+   */
+  public CompletableFuture<PhotoDetails> fetch(String photoId, String secret) {
+    if (JinxUtils.isNullOrEmpty(photoId)) {
+      throw new IllegalArgumentException("Photo id cannot be empty.");
+    }
+    Set<PhotoDetails.Part> fetch = this.parts;
+    CompletableFuture<PhotoInfo> info = fetch.contains(PhotoDetails.Part.INFO) ?
+        queue.submit(() -> photosApi.getInfo(photoId, secret)) : null;
+    CompletableFuture<PhotoSizes> sizes = fetch.contains(PhotoDetails.Part.SIZES) ?
+        queue.submit(() -> photosApi.getSizes(photoId)) : null;
+    CompletableFuture<ExifData> exif = fetch.contains(PhotoDetails.Part.EXIF) ?
+        queue.submit(() -> photosApi.getExif(photoId, secret)) : null;
+    CompletableFuture<AllContexts> contexts = fetch.contains(PhotoDetails.Part.CONTEXTS) ?
+        queue.submit(() -> photosApi.getAllContexts(photoId)) : null;
+
+    List<CompletableFuture<?>> calls = new ArrayList<>(4);
+    for (CompletableFuture<?> call : Arrays.asList(info, sizes, exif, contexts)) {
+      if (call != null) {
+        calls.add(call);
+      }
+    }
+    return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).handle((v, t) -> {
+      Map<PhotoDetails.Part, JinxException> failures = new EnumMap<>(PhotoDetails.Part.class);
+      return new PhotoDetails(photoId,
+          result(info, PhotoDetails.Part.INFO, failures),
+          result(sizes, PhotoDetails.Part.SIZES, failures),
+          result(exif, PhotoDetails.Part.EXIF, failures),
+          result(contexts, PhotoDetails.Part.CONTEXTS, failures),
+          failures);
+    });
+  }
+
+  /**
+   * Fetch the details of many photos, and wait for them.
+   *
+   * @param photoIds ids of the photos.
+   * @return details of each photo, in the same order as the ids.
+   * @throws JinxException if the thread is interrupted while waiting.
+   */
+  public List<PhotoDetails> fetchAll(Collection<String> photoIds) throws JinxException {
+    List<CompletableFuture<PhotoDetails>> futures = new ArrayList<>(photoIds.size());
+    for (String photoId : photoIds) {
+      futures.add(fetch(photoId, null));
+    }
+    List<PhotoDetails> details = new ArrayList<>(futures.size());
+    try {
+      for (CompletableFuture<PhotoDetails> future : futures) {
+        details.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JinxException("Interrupted while waiting for photo details.", e);
+    } catch (ExecutionException e) {
+      // fetch always completes normally
+      throw new JinxException("Unable to fetch photo details.", e.getCause());
+    }
+    return details;
+  }
+
+  /*
+   * Get the result of a call, or record why it failed.
+   */
+  private static <T> T result(CompletableFuture<T> call, PhotoDetails.Part part,
+                              Map<PhotoDetails.Part, JinxException> failures) {
+    if (call == null) {
+      return null;
+    }
+    T result;
+    try {
+      result = call.join();
+    } catch (CompletionException | CancellationException e) {
+      Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+      failures.put(part, cause instanceof JinxException ? (JinxException) cause :
+          new JinxException("Unable to fetch photo details.", cause));
+      return null;
+    }
+    if (result instanceof Response && ((Response) result).getCode() != 0) {
+      failures.put(part, new JinxException("Flickr returned non-zero status.", null, (Response) result));
+      return null;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,510 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoPage;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks every page of a paged photo list, fetching each page only when it is needed.
+ * <br>
+ * The pager is given a function that fetches one page of photos. This is usually a lambda that calls one of
+ * the net.jeremybrooks.jinx.api methods that return a {@link PhotoPage}, such as
+ * {@link net.jeremybrooks.jinx.response.photos.Photos} or
+ * {@link net.jeremybrooks.jinx.response.photosets.PhotosetPhotos}:
+ * {@code
+ * PhotoPager pager = new PhotoPager(page -> peopleApi.getPhotos(userId, null, null, null, null, null, null, null,
+ * extras, 500, page));
+ * for (Photo photo : pager) { ... }
+ * }
+ * <br>
+ * Paging stops when Flickr returns an empty page, when Flickr reports that there is no next page, when the last
+ * page reported by Flickr has been returned, or when the maximum number of pages has been fetched.
+ * <br>
+ * If a prefetch executor is set, the next page is fetched on the executor while the current page is being
+ * consumed, so that network latency overlaps with processing. At most one page is fetched ahead.
+ * <br>
+ * If the parallelism is greater than one, the first page is fetched, and the rest of the pages reported by Flickr
+ * are fetched on the prefetch executor, with up to that many pages in flight at once. Photos are returned in page
+ * order, unless ordering is turned off, in which case each page is returned as soon as it arrives. Every fetch
+ * goes through the Jinx rate limiter, if there is one, so a large parallelism will not exceed the configured rate.
+ * If Flickr does not report the number of pages, the pages are fetched one at a time.
+ * <br>
+ * Each iterator or stream starts again from the first page. Iterators are not thread safe. Errors from Flickr
+ * are thrown from the iterator as a {@link PageException}; pages that are still being fetched when that happens
+ * are cancelled. To stop before the last page, close the iterator or the stream, so that the pages it fetched ahead
+ * are cancelled too:
+ * {@code
+ * try (Stream<Photo> photos = pager.stream()) {
+ *   photos.limit(100).forEach(this::show);
+ * }
+ * }
+ *
+ * @author Jeremy Brooks
+ */
+public class PhotoPager implements Iterable<Photo> {
+
+  private final PageFetcher fetcher;
+  private Executor prefetchExecutor;
+  private int firstPage = 1;
+  private int maxPages = Integer.MAX_VALUE;
+  private int parallelism = 1;
+  private boolean ordered = true;
+
+  /**
+   * Create a pager that does not prefetch.
+   *
+   * @param fetcher function that fetches a page of photos. Page numbers start at 1.
+   */
+  public PhotoPager(PageFetcher fetcher) {
+    this(fetcher, null);
+  }
+
+  /**
+   * Create a pager.
+   *
+   * @param fetcher          function that fetches a page of photos. Page numbers start at 1.
+   * @param prefetchExecutor executor used to fetch the next page while the current page is consumed.
+   *                         If null, pages are fetched on the consuming thread when they are needed.
+   */
+  public PhotoPager(PageFetcher fetcher, Executor prefetchExecutor) {
+    if (fetcher == null) {
+      throw new IllegalArgumentException("Fetcher cannot be null.");
+    }
+    this.fetcher = fetcher;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  public Executor getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  /**
+   * Set the executor used to prefetch pages.
+   *
+   * @param prefetchExecutor executor used to fetch the next page, or null to disable prefetching.
+   */
+  public void setPrefetchExecutor(Executor prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  public int getFirstPage() {
+    return firstPage;
+  }
+
+  /**
+   * Set the first page to fetch. The default is 1.
+   *
+   * @param firstPage first page to fetch. Must be at least 1.
+   */
+  public void setFirstPage(int firstPage) {
+    if (firstPage < 1) {
+      throw new IllegalArgumentException("First page must be at least 1.");
+    }
+    this.firstPage = firstPage;
+  }
+
+  public int getMaxPages() {
+    return maxPages;
+  }
+
+  /**
+   * Set the maximum number of pages to fetch. By default, there is no limit.
+   *
+   * @param maxPages maximum number of pages to fetch. Must be at least 1.
+   */
+  public void setMaxPages(int maxPages) {
+    if (maxPages < 1) {
+      throw new IllegalArgumentException("Max pages must be at least 1.");
+    }
+    this.maxPages = maxPages;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Set the number of pages to fetch at once. The default is 1.
+   * <br>
+   * A parallelism greater than one requires a prefetch executor. The executor must be able to run that many
+   * fetches at once.
+   *
+   * @param parallelism maximum number of pages to fetch at once. Must be at least 1.
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+    }
+    this.parallelism = parallelism;
+  }
+
+  public boolean isOrdered() {
+    return ordered;
+  }
+
+  /**
+   * Set whether pages fetched in parallel are returned in page order. The default is true.
+   * <br>
+   * When false, each page is returned as soon as it arrives, so a slow page does not hold up the pages after it.
+   * Photos within a page are always in order, and the first page is always returned first.
+   *
+   * @param ordered true to return photos in page order.
+   */
+  public void setOrdered(boolean ordered) {
+    this.ordered = ordered;
+  }
+
+  /**
+   * Get an iterator over every photo on every page.
+   * <br>
+   * No page is fetched until the iterator is used.
+   *
+   * @return new iterator, starting at the first page.
+   * @throws IllegalStateException if the parallelism is greater than one, but there is no prefetch executor.
+   */
+  @Override
+  public PagerIterator iterator() {
+    if (parallelism > 1) {
+      if (prefetchExecutor == null) {
+        throw new IllegalStateException("Fetching pages in parallel requires a prefetch executor.");
+      }
+      return new ParallelPhotoIterator();
+    }
+    return new PhotoIterator(firstPage, 0);
+  }
+
+  /**
+   * Get a sequential stream of every photo on every page.
+   * <br>
+   * No page is fetched until the stream is consumed. Closing the stream cancels the pages fetched ahead of it.
+   *
+   * @return new stream, starting at the first page.
+   */
+  public Stream<Photo> stream() {
+    int characteristics = Spliterator.NONNULL;
+    if (parallelism == 1 || ordered) {
+      characteristics |= Spliterator.ORDERED;
+    }
+    PagerIterator iterator = iterator();
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+        .onClose(iterator::close);
+  }
+
+  /*
+   * Decide if there is a page after this one.
+   */
+  static boolean hasNextPage(PhotoPage photos, int page) {
+    List<Photo> list = photos.getPhotoList();
+    if (list == null || list.isEmpty()) {
+      return false;
+    }
+    Boolean hasNextPage = photos.isHasNextPage();
+    if (hasNextPage != null) {
+      return hasNextPage;
+    }
+    Integer pages = photos.getPages();
+    return pages == null || page < pages;
+  }
+
+  private PhotoPage fetch(int page) {
+    try {
+      return fetcher.fetch(page);
+    } catch (JinxException e) {
+      throw new PageException(page, e);
+    }
+  }
+
+  private static PageException unwrap(CompletionException e) {
+    if (e.getCause() instanceof PageException) {
+      return (PageException) e.getCause();
+    }
+    throw e;
+  }
+
+  /*
+   * Iterates over the photos on each page returned by nextPage(), until done is set.
+   */
+  private abstract static class PageIterator implements PagerIterator {
+    private Iterator<Photo> current = Collections.emptyIterator();
+    protected boolean done;
+
+    protected abstract PhotoPage nextPage();
+
+    /*
+     * Cancel the pages that are being fetched ahead.
+     */
+    protected abstract void cancel();
+
+    @Override
+    public void close() {
+      done = true;
+      current = Collections.emptyIterator();
+      cancel();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        if (done) {
+          return false;
+        }
+        PhotoPage photos = nextPage();
+        List<Photo> list = photos == null ? null : photos.getPhotoList();
+        current = list == null ? Collections.<Photo>emptyIterator() : list.iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Photo next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+  }
+
+  /*
+   * Fetches one page at a time, optionally prefetching the next page.
+   */
+  private class PhotoIterator extends PageIterator {
+    private final Executor executor = prefetchExecutor;
+    private int nextPage;
+    private int fetched;
+    private CompletableFuture<PhotoPage> prefetched;
+
+    PhotoIterator(int startPage, int fetched) {
+      this.nextPage = startPage;
+      this.fetched = fetched;
+      this.done = fetched >= maxPages;
+    }
+
+    @Override
+    protected PhotoPage nextPage() {
+      int page = nextPage++;
+      PhotoPage photos;
+      try {
+        if (prefetched != null) {
+          CompletableFuture<PhotoPage> future = prefetched;
+          prefetched = null;
+          photos = future.join();
+        } else {
+          photos = fetch(page);
+        }
+      } catch (CompletionException e) {
+        done = true;
+        throw unwrap(e);
+      } catch (PageException e) {
+        done = true;
+        throw e;
+      }
+      fetched++;
+      done = photos == null || fetched >= maxPages || !hasNextPage(photos, page);
+      if (!done && executor != null) {
+        final int prefetchPage = nextPage;
+        prefetched = CompletableFuture.supplyAsync(() -> fetch(prefetchPage), executor);
+      }
+      return photos;
+    }
+
+    @Override
+    protected void cancel() {
+      if (prefetched != null) {
+        prefetched.cancel(true);
+        prefetched = null;
+      }
+    }
+  }
+
+  /*
+   * Fetches the first page, then fetches the rest of the pages with up to parallelism pages in flight.
+   * In order mode the futures are consumed in the order they were submitted; otherwise in the order they complete.
+   */
+  private class ParallelPhotoIterator extends PageIterator {
+    private final Executor executor = prefetchExecutor;
+    private final int limit = parallelism;
+    private final boolean inOrder = ordered;
+    private final Deque<CompletableFuture<PhotoPage>> submitted = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<PhotoPage>> completed = new LinkedBlockingQueue<>();
+    private PhotoIterator sequential;
+    private int nextPage;
+    private int lastPage;
+
+    @Override
+    public boolean hasNext() {
+      return super.hasNext() || (sequential != null && sequential.hasNext());
+    }
+
+    @Override
+    public Photo next() {
+      return super.hasNext() || sequential == null ? super.next() : sequential.next();
+    }
+
+    @Override
+    protected PhotoPage nextPage() {
+      if (nextPage == 0) {
+        return firstPage();
+      }
+      CompletableFuture<PhotoPage> future;
+      if (inOrder) {
+        future = submitted.poll();
+      } else {
+        try {
+          future = completed.take();
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          done = true;
+          cancel();
+          throw new PageException(nextPage, new JinxException("Interrupted while waiting for a page.", ie));
+        }
+        submitted.remove(future);
+      }
+      try {
+        PhotoPage photos = future.join();
+        submit();
+        done = submitted.isEmpty();
+        return photos;
+      } catch (CompletionException e) {
+        done = true;
+        cancel();
+        throw unwrap(e);
+      }
+    }
+
+    @Override
+    protected void cancel() {
+      for (CompletableFuture<PhotoPage> future : submitted) {
+        future.cancel(true);
+      }
+      submitted.clear();
+      completed.clear();
+      if (sequential != null) {
+        sequential.close();
+      }
+    }
+
+    private PhotoPage firstPage() {
+      PhotoPage photos;
+      try {
+        photos = fetch(firstPage);
+      } catch (PageException e) {
+        done = true;
+        throw e;
+      }
+      nextPage = firstPage + 1;
+      if (photos == null || maxPages == 1 || !hasNextPage(photos, firstPage)) {
+        done = true;
+      } else if (photos.getPages() == null) {
+        // nothing to fan out over; continue one page at a time after this page
+        sequential = new PhotoIterator(nextPage, 1);
+        done = true;
+      } else {
+        lastPage = (int) Math.min(photos.getPages(), (long) firstPage + maxPages - 1);
+        submit();
+        done = submitted.isEmpty();
+      }
+      return photos;
+    }
+
+    /*
+     * Submit pages until there are limit pages in flight, or there are no more pages.
+     */
+    private void submit() {
+      while (submitted.size() < limit && nextPage <= lastPage) {
+        final int page = nextPage++;
+        CompletableFuture<PhotoPage> future = CompletableFuture.supplyAsync(() -> fetch(page), executor);
+        submitted.add(future);
+        if (!inOrder) {
+          future.whenComplete((photos, throwable) -> completed.add(future));
+        }
+      }
+    }
+  }
+
+  /**
+   * An iterator over the photos of a pager that can be closed before the last page.
+   */
+  public interface PagerIterator extends Iterator<Photo>, AutoCloseable {
+
+    /**
+     * Stop iterating, and cancel the pages that are being fetched ahead. A fetch that has already started runs to
+     * the end, but its page is discarded.
+     */
+    @Override
+    void close();
+  }
+
+  /**
+   * Fetches one page of photos.
+   */
+  @FunctionalInterface
+  public interface PageFetcher {
+
+    /**
+     * Fetch a page of photos.
+     *
+     * @param page page number to fetch. Page numbers start at 1.
+     * @return the page of photos.
+     * @throws JinxException if there are any errors.
+     */
+    PhotoPage fetch(int page) throws JinxException;
+  }
+
+  /**
+   * Thrown by a pager iterator when a page could not be fetched.
+   */
+  public static class PageException extends RuntimeException {
+    private static final long serialVersionUID = -3161406829251183418L;
+    private final int page;
+
+    public PageException(int page, JinxException cause) {
+      super("Unable to fetch page " + page + ": " + cause.getMessage(), cause);
+      this.page = page;
+    }
+
+    /**
+     * Get the page that could not be fetched.
+     *
+     * @return page number.
+     */
+    public int getPage() {
+      return page;
+    }
+
+    @Override
+    public synchronized JinxException getCause() {
+      return (JinxException) super.getCause();
+    }
+  }
+}
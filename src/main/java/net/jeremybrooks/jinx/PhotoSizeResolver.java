@@ -0,0 +1,350 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the smallest size of a photo that is big enough to show it at a given size.
+ * <br>
+ * Downloading a bigger size than needed wastes bandwidth and time spent decoding. Given the size of the box the
+ * photo will be shown in, the resolver returns the size with the fewest pixels that fills it without scaling up:
+ * <pre>
+ * PhotoSizeResolver.Choice choice = PhotoSizeResolver.resolve(photo, 300, 200, PhotoSizeResolver.Fit.CONTAIN);
+ * downloader.download(choice.getUrl());
+ * </pre>
+ * The dimensions of each size can come from the response to flickr.photos.getSizes, or from the extras of a
+ * {@link Photo} in a list of photos, so no extra call is needed. The url_sq, url_t, url_s, url_q, url_m, url_n,
+ * url_z, url_c, url_l and url_o extras give exact dimensions. The o_dims extra gives the dimensions of the original;
+ * sizes that do not have url extras are then worked out from it, using the longest edge of each size. Flickr does
+ * not make sizes larger than the original, so those are left out. The Large 1600 and Large 2048 sizes have their
+ * own secrets, so their URLs cannot be worked out; they are only used when they come from flickr.photos.getSizes.
+ * The original itself is only used if its URL is known, which needs the url_o or original_format extra, and
+ * permission to see it.
+ * <br>
+ * If no size is big enough, the biggest size is returned.
+ *
+ * @author Jeremy Brooks
+ */
+public class PhotoSizeResolver {
+
+  /**
+   * How a photo is fitted into the box it is shown in.
+   */
+  public enum Fit {
+    /**
+     * The whole photo is shown, scaled to fit inside the box. A size is big enough if it is at least as wide, or at
+     * least as tall, as the box, whichever edge limits the scaling.
+     */
+    CONTAIN,
+    /**
+     * The photo covers the box, and the parts outside it are cropped. A size is big enough if it is at least as wide
+     * and at least as tall as the box. The square sizes are used if the box is square.
+     */
+    COVER
+  }
+
+  /*
+   * Longest edge of each size that is scaled from the original, and has a URL built from the photo secret.
+   * The square sizes are cropped, and have both edges.
+   */
+  private static final Map<JinxConstants.PhotoSize, Integer> EDGES = new EnumMap<>(JinxConstants.PhotoSize.class);
+  private static final Map<String, JinxConstants.PhotoSize> LABELS = new HashMap<>();
+
+  static {
+    EDGES.put(JinxConstants.PhotoSize.SIZE_SMALL_SQUARE, 75);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_THUMBNAIL, 100);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_LARGE_SQUARE, 150);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_SMALL, 240);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_SMALL_320, 320);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_MEDIUM, 500);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_MEDIUM_640, 640);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_MEDIUM_800, 800);
+    EDGES.put(JinxConstants.PhotoSize.SIZE_LARGE, 1024);
+
+    LABELS.put("Square", JinxConstants.PhotoSize.SIZE_SMALL_SQUARE);
+    LABELS.put("Large Square", JinxConstants.PhotoSize.SIZE_LARGE_SQUARE);
+    LABELS.put("Thumbnail", JinxConstants.PhotoSize.SIZE_THUMBNAIL);
+    LABELS.put("Small", JinxConstants.PhotoSize.SIZE_SMALL);
+    LABELS.put("Small 320", JinxConstants.PhotoSize.SIZE_SMALL_320);
+    LABELS.put("Medium", JinxConstants.PhotoSize.SIZE_MEDIUM);
+    LABELS.put("Medium 640", JinxConstants.PhotoSize.SIZE_MEDIUM_640);
+    LABELS.put("Medium 800", JinxConstants.PhotoSize.SIZE_MEDIUM_800);
+    LABELS.put("Large", JinxConstants.PhotoSize.SIZE_LARGE);
+    LABELS.put("Large 1600", JinxConstants.PhotoSize.SIZE_LARGE_1600);
+    LABELS.put("Large 2048", JinxConstants.PhotoSize.SIZE_LARGE_2048);
+    LABELS.put("Original", JinxConstants.PhotoSize.SIZE_ORIGINAL);
+  }
+
+  private PhotoSizeResolver() {
+  }
+
+  /**
+   * Pick the smallest size of a photo that fits a box, scaling the photo to fit inside it.
+   *
+   * @param photo  the photo, with url or o_dims extras.
+   * @param width  width of the box, in pixels. Zero if only the height matters.
+   * @param height height of the box, in pixels. Zero if only the width matters.
+   * @return the size to use, or null if the extras have no size to choose from.
+   */
+  public static Choice resolve(Photo photo, int width, int height) {
+    return resolve(photo, width, height, Fit.CONTAIN);
+  }
+
+  /**
+   * Pick the smallest size of a photo that fits a box.
+   *
+   * @param photo  the photo, with url or o_dims extras.
+   * @param width  width of the box, in pixels. Zero if only the height matters.
+   * @param height height of the box, in pixels. Zero if only the width matters.
+   * @param fit    how the photo is fitted into the box.
+   * @return the size to use, or null if the extras have no size to choose from.
+   */
+  public static Choice resolve(Photo photo, int width, int height, Fit fit) {
+    if (photo == null) {
+      throw new IllegalArgumentException("Photo cannot be null.");
+    }
+    return choose(candidates(photo), width, height, fit);
+  }
+
+  /**
+   * Pick the smallest size of a photo that fits a box, scaling the photo to fit inside it.
+   *
+   * @param sizes  the response from flickr.photos.getSizes.
+   * @param width  width of the box, in pixels. Zero if only the height matters.
+   * @param height height of the box, in pixels. Zero if only the width matters.
+   * @return the size to use, or null if there is no size to choose from.
+   */
+  public static Choice resolve(PhotoSizes sizes, int width, int height) {
+    return resolve(sizes, width, height, Fit.CONTAIN);
+  }
+
+  /**
+   * Pick the smallest size of a photo that fits a box.
+   * <br>
+   * Sizes that do not have a {@link JinxConstants.PhotoSize}, and video sizes, are not considered.
+   *
+   * @param sizes  the response from flickr.photos.getSizes.
+   * @param width  width of the box, in pixels. Zero if only the height matters.
+   * @param height height of the box, in pixels. Zero if only the width matters.
+   * @param fit    how the photo is fitted into the box.
+   * @return the size to use, or null if there is no size to choose from.
+   */
+  public static Choice resolve(PhotoSizes sizes, int width, int height, Fit fit) {
+    if (sizes == null) {
+      throw new IllegalArgumentException("Sizes cannot be null.");
+    }
+    List<Choice> candidates = new ArrayList<>();
+    if (sizes.getSizeList() != null) {
+      for (PhotoSizes.Size size : sizes.getSizeList()) {
+        JinxConstants.PhotoSize photoSize = LABELS.get(size.getLabel());
+        if (photoSize != null && size.getWidth() != null && size.getHeight() != null && size.getSource() != null &&
+            (size.getMedia() == null || "photo".equals(size.getMedia()))) {
+          candidates.add(new Choice(photoSize, size.getWidth(), size.getHeight(), size.getSource()));
+        }
+      }
+    }
+    return choose(candidates, width, height, fit);
+  }
+
+  /*
+   * Pick the candidate with the fewest pixels that is big enough, or the biggest one if none are.
+   */
+  private static Choice choose(List<Choice> candidates, int width, int height, Fit fit) {
+    if (width < 0 || height < 0 || (width == 0 && height == 0)) {
+      throw new IllegalArgumentException("Width and height cannot be negative, and one must be more than zero.");
+    }
+    if (fit == null) {
+      throw new IllegalArgumentException("Fit cannot be null.");
+    }
+    boolean squareBox = fit == Fit.COVER && width == height;
+    Choice best = null;
+    Choice biggest = null;
+    for (Choice candidate : candidates) {
+      if (isSquare(candidate.getSize()) && !squareBox) {
+        continue;
+      }
+      if (biggest == null || candidate.getPixels() > biggest.getPixels()) {
+        biggest = candidate;
+      }
+      boolean wideEnough = candidate.getWidth() >= width;
+      boolean tallEnough = candidate.getHeight() >= height;
+      boolean fits;
+      if (fit == Fit.COVER || width == 0 || height == 0) {
+        fits = wideEnough && tallEnough;
+      } else {
+        // the edge that limits scaling must be big enough: the box is wider than the photo, or taller
+        fits = (long) candidate.getWidth() * height >= (long) candidate.getHeight() * width ? wideEnough : tallEnough;
+      }
+      if (fits && (best == null || candidate.getPixels() < best.getPixels())) {
+        best = candidate;
+      }
+    }
+    return best == null ? biggest : best;
+  }
+
+  private static boolean isSquare(JinxConstants.PhotoSize size) {
+    return size == JinxConstants.PhotoSize.SIZE_SMALL_SQUARE || size == JinxConstants.PhotoSize.SIZE_LARGE_SQUARE;
+  }
+
+  /*
+   * The sizes of a photo that are known from its extras.
+   */
+  private static List<Choice> candidates(Photo photo) {
+    Map<JinxConstants.PhotoSize, Choice> sizes = new EnumMap<>(JinxConstants.PhotoSize.class);
+    extra(sizes, JinxConstants.PhotoSize.SIZE_SMALL_SQUARE, photo.getUrlSq(), photo.getWidthSq(), photo.getHeightSq());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_THUMBNAIL, photo.getUrlT(), photo.getWidthT(), photo.getHeightT());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_SMALL, photo.getUrlS(), photo.getWidthS(), photo.getHeightS());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_LARGE_SQUARE, photo.getUrlQ(), photo.getWidthQ(), photo.getHeightQ());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_MEDIUM, photo.getUrlM(), photo.getWidthM(), photo.getHeightM());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_SMALL_320, photo.getUrlN(), photo.getWidthN(), photo.getHeightN());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_MEDIUM_640, photo.getUrlZ(), photo.getWidthZ(), photo.getHeightZ());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_MEDIUM_800, photo.getUrlC(), photo.getWidthC(), photo.getHeightC());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_LARGE, photo.getUrlL(), photo.getWidthL(), photo.getHeightL());
+    extra(sizes, JinxConstants.PhotoSize.SIZE_ORIGINAL, photo.getUrlO(), photo.getWidthO(), photo.getHeightO());
+
+    int originalWidth = parse(photo.getoWidth());
+    int originalHeight = parse(photo.getoHeight());
+    if (originalWidth > 0 && originalHeight > 0) {
+      int longest = Math.max(originalWidth, originalHeight);
+      for (Map.Entry<JinxConstants.PhotoSize, Integer> edge : EDGES.entrySet()) {
+        JinxConstants.PhotoSize size = edge.getKey();
+        if (sizes.containsKey(size) || edge.getValue() > longest) {
+          continue;
+        }
+        String url = url(size, photo);
+        if (url == null) {
+          continue;
+        }
+        if (isSquare(size)) {
+          sizes.put(size, new Choice(size, edge.getValue(), edge.getValue(), url));
+        } else {
+          double scale = edge.getValue() / (double) longest;
+          sizes.put(size, new Choice(size, (int) Math.round(originalWidth * scale),
+              (int) Math.round(originalHeight * scale), url));
+        }
+      }
+      if (!sizes.containsKey(JinxConstants.PhotoSize.SIZE_ORIGINAL)) {
+        String url = url(JinxConstants.PhotoSize.SIZE_ORIGINAL, photo);
+        if (url != null) {
+          sizes.put(JinxConstants.PhotoSize.SIZE_ORIGINAL,
+              new Choice(JinxConstants.PhotoSize.SIZE_ORIGINAL, originalWidth, originalHeight, url));
+        }
+      }
+    }
+    return new ArrayList<>(sizes.values());
+  }
+
+  private static void extra(Map<JinxConstants.PhotoSize, Choice> sizes, JinxConstants.PhotoSize size, String url,
+                            Integer width, Integer height) {
+    if (url != null && width != null && height != null) {
+      sizes.put(size, new Choice(size, width, height, url));
+    }
+  }
+
+  /*
+   * Build the URL of a size, or return null if the photo does not have the fields it needs.
+   */
+  private static String url(JinxConstants.PhotoSize size, Photo photo) {
+    if (JinxUtils.isNullOrEmpty(photo.getFarm()) || JinxUtils.isNullOrEmpty(photo.getServer()) ||
+        (size == JinxConstants.PhotoSize.SIZE_ORIGINAL ?
+            JinxUtils.isNullOrEmpty(photo.getOriginalSecret()) || JinxUtils.isNullOrEmpty(photo.getOriginalFormat()) :
+            JinxUtils.isNullOrEmpty(photo.getSecret()))) {
+      return null;
+    }
+    try {
+      return PhotoUtils.getUrlForSize(size, photo).toString();
+    } catch (JinxException e) {
+      return null;
+    }
+  }
+
+  private static int parse(String value) {
+    if (JinxUtils.isNullOrEmpty(value)) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * A size of a photo, with its dimensions and URL.
+   */
+  public static final class Choice {
+    private final JinxConstants.PhotoSize size;
+    private final int width;
+    private final int height;
+    private final String url;
+
+    Choice(JinxConstants.PhotoSize size, int width, int height, String url) {
+      this.size = size;
+      this.width = width;
+      this.height = height;
+      this.url = url;
+    }
+
+    public JinxConstants.PhotoSize getSize() {
+      return size;
+    }
+
+    public int getWidth() {
+      return width;
+    }
+
+    public int getHeight() {
+      return height;
+    }
+
+    /**
+     * Get the URL of the image at this size.
+     *
+     * @return image URL.
+     */
+    public String getUrl() {
+      return url;
+    }
+
+    /**
+     * Get the number of pixels in the image, which is what it costs to download and decode.
+     *
+     * @return width times height.
+     */
+    public long getPixels() {
+      return (long) width * height;
+    }
+
+    @Override
+    public String toString() {
+      return "net.jeremybrooks.jinx.PhotoSizeResolver.Choice{" +
+          "size=" + size +
+          ", width=" + width +
+          ", height=" + height +
+          ", url='" + url + '\'' +
+          '}';
+    }
+  }
+}
@@ -25,6 +25,12 @@ import java.awt.image.BufferedImage;
 import java.net.URL;
 
 /**
+ * Utilities for building photo URLs and fetching images.
+ * <br>
+ * The getImageForSize methods download and decode one image each time they are called. To download many images,
+ * or to keep them without decoding them, use a {@link net.jeremybrooks.jinx.download.ImageDownloader}. To pick the
+ * smallest size that is big enough for where a photo will be shown, use a {@link PhotoSizeResolver}.
+ *
  * @author Jeremy Brooks
  */
 public class PhotoUtils {
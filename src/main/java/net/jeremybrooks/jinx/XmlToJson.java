@@ -0,0 +1,258 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the XML returned by uploads and replaces to json.
+ * <br>
+ * The output is the same as the xml2json XSLT by Bojan Bjelić that Jinx used before: attributes and child elements
+ * become fields, runs of sibling elements with the same name become arrays, and every value is a String. The
+ * document is read once with StAX, so there is no stylesheet to load or compile, and unlike the XSLT, values are
+ * escaped.
+ * <br>
+ * This class is thread safe. DTDs and external entities are not processed.
+ *
+ * @author Jeremy Brooks
+ */
+final class XmlToJson {
+
+  private static final XMLInputFactory FACTORY = newFactory();
+
+  private XmlToJson() {
+  }
+
+  /**
+   * Convert an XML document to json.
+   *
+   * @param xml the document.
+   * @return json, or an empty String if the root element is empty.
+   * @throws JinxException if the document is not well formed.
+   */
+  static String convert(String xml) throws JinxException {
+    Element root;
+    try {
+      root = read(xml);
+    } catch (XMLStreamException e) {
+      throw new JinxException("Unable to convert XML to json.", e);
+    }
+    if (root == null || (root.children.isEmpty() && root.text == null)) {
+      return "";
+    }
+    StringBuilder json = new StringBuilder(xml.length());
+    json.append('{');
+    List<Element> siblings = new ArrayList<>(1);
+    siblings.add(root);
+    detect(json, siblings, 0);
+    return json.append('}').toString();
+  }
+
+  private static XMLInputFactory newFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  private static Element read(String xml) throws XMLStreamException {
+    XMLStreamReader reader = FACTORY.createXMLStreamReader(new StringReader(xml));
+    try {
+      List<Element> open = new ArrayList<>();
+      Element root = null;
+      while (reader.hasNext()) {
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT:
+            Element element = new Element(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+              element.attributes.add(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)));
+              element.attributes.add(reader.getAttributeValue(i));
+            }
+            if (open.isEmpty()) {
+              root = element;
+            } else {
+              open.get(open.size() - 1).children.add(element);
+            }
+            open.add(element);
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            open.remove(open.size() - 1);
+            break;
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.CDATA:
+          case XMLStreamConstants.SPACE:
+            if (!open.isEmpty()) {
+              open.get(open.size() - 1).text(reader.getText());
+            }
+            break;
+          default:
+            break;
+        }
+      }
+      return root;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static String qualifiedName(String prefix, String localName) {
+    return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+  }
+
+  /*
+   * The "detect" template: an element as a field, or as an item of an array of siblings with the same name.
+   */
+  private static void detect(StringBuilder json, List<Element> siblings, int index) {
+    Element element = siblings.get(index);
+    boolean previousSame = index > 0 && siblings.get(index - 1).name.equals(element.name);
+    boolean nextSame = index + 1 < siblings.size() && siblings.get(index + 1).name.equals(element.name);
+    boolean more = index + 1 < siblings.size();
+    if (previousSame && !nextSame) {
+      objectContent(json, element);
+      json.append(']');
+      for (int i = index + 1; i < siblings.size(); i++) {
+        if (!siblings.get(i).name.equals(element.name)) {
+          json.append(", ");
+          break;
+        }
+      }
+    } else if (previousSame) {
+      objectContent(json, element);
+      json.append(", ");
+    } else if (nextSame) {
+      string(json, element.name).append(" : [");
+      objectContent(json, element);
+      json.append(", ");
+    } else if (!element.children.isEmpty() || !element.attributes.isEmpty()) {
+      string(json, element.name).append(" : ");
+      objectContent(json, element);
+      if (more) {
+        json.append(", ");
+      }
+    } else {
+      string(json, element.name).append(" : ");
+      string(json, element.normalizedText == null ? "" : element.normalizedText.toString());
+      if (more) {
+        json.append(", ");
+      }
+    }
+  }
+
+  /*
+   * The "obj-content" template: an element as an object.
+   */
+  private static void objectContent(StringBuilder json, Element element) {
+    json.append('{');
+    List<String> attributes = element.attributes;
+    for (int i = 0; i < attributes.size(); i += 2) {
+      if (i > 0) {
+        json.append(',');
+      }
+      string(json, attributes.get(i)).append(" : ");
+      string(json, attributes.get(i + 1));
+    }
+    boolean hasText = element.text != null;
+    if (!attributes.isEmpty() && (!element.children.isEmpty() || hasText)) {
+      json.append(", ");
+    }
+    for (int i = 0; i < element.children.size(); i++) {
+      detect(json, element.children, i);
+    }
+    if (element.children.isEmpty() && hasText) {
+      string(json, attributes.isEmpty() ? element.name : "text").append(" : ");
+      string(json, element.text);
+    }
+    json.append('}');
+  }
+
+  private static StringBuilder string(StringBuilder json, String value) {
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    return json.append('"');
+  }
+
+  private static class Element {
+    private final String name;
+    /* names and values, alternating */
+    private final List<String> attributes = new ArrayList<>(4);
+    private final List<Element> children = new ArrayList<>(2);
+    /* the first text node, as the XSLT value-of text() */
+    private String text;
+    /* every text node with its white space normalized, as the XSLT text() template */
+    private StringBuilder normalizedText;
+
+    private Element(String name) {
+      this.name = name;
+    }
+
+    private void text(String value) {
+      if (text == null) {
+        text = value;
+      }
+      if (normalizedText == null) {
+        normalizedText = new StringBuilder();
+      }
+      // normalize-space: trim, and collapse each run of white space to one space
+      boolean space = false;
+      int start = normalizedText.length();
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+          space = true;
+        } else {
+          if (space && normalizedText.length() > start) {
+            normalizedText.append(' ');
+          }
+          space = false;
+          normalizedText.append(c);
+        }
+      }
+    }
+  }
+}
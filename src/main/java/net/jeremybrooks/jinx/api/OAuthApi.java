@@ -106,7 +106,7 @@ public class OAuthApi {
 
     params.put("api_sig", sign(params, jinx.getApiSecret()));
 
-    StringBuilder sb = new StringBuilder(JinxConstants.REST_ENDPOINT).append('?');
+    StringBuilder sb = new StringBuilder(jinx.getRestEndpoint()).append('?');
     for (String key : params.keySet()) {
       sb.append(key).append('=').append(params.get(key)).append('&');
     }
@@ -76,10 +76,10 @@ public class PandaApi {
    * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
    * @param sign      if true, the request will be signed.
    * @return photos object from the panda.
-   * @throws Exception if required parameter is missing, or if there are any errors.
+   * @throws JinxException if required parameter is missing, or if there are any errors.
    * @see <a href="https://www.flickr.com/services/api/flickr.panda.getPhotos.html">flickr.panda.getPhotos</a>
    */
-  public Photos getPhotos(String pandaName, EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page, boolean sign) throws Exception {
+  public Photos getPhotos(String pandaName, EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page, boolean sign) throws JinxException {
     JinxUtils.validateParams(pandaName);
     Map<String, String> params = new TreeMap<>();
     params.put("method", "flickr.panda.getPhotos");
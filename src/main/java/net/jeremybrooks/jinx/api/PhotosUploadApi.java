@@ -26,7 +26,6 @@ import net.jeremybrooks.jinx.response.photos.upload.ReplaceResponse;
 import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -72,6 +71,8 @@ public class PhotosUploadApi {
    * This method requires authentication with 'write' permission.
    * <br>
    * If the title parameter is null, the filename will be used as the title.
+   * <br>
+   * The file is streamed to Flickr, so files of any size can be uploaded without loading them into memory.
    *
    * @param photo       (Required) the photo or video file to upload.
    * @param title       (Optional) the title of the photo or video.
@@ -95,26 +96,16 @@ public class PhotosUploadApi {
                                Boolean isFriend, Boolean isFamily, JinxConstants.SafetyLevel safetyLevel,
                                JinxConstants.ContentType contentType, Boolean hidden, Boolean async) throws JinxException {
     JinxUtils.validateParams(photo);
-    byte[] photoData = new byte[(int) photo.length()];
-    FileInputStream in = null;
-    try {
-      in = new FileInputStream(photo);
-      in.read(photoData);
-
-      if (JinxUtils.isNullOrEmpty(title)) {
-        int index = photo.getName().indexOf('.');
-        if (index > 0) {
-          title = photo.getName().substring(0, index);
-        } else {
-          title = photo.getName();
-        }
+    if (JinxUtils.isNullOrEmpty(title)) {
+      int index = photo.getName().indexOf('.');
+      if (index > 0) {
+        title = photo.getName().substring(0, index);
+      } else {
+        title = photo.getName();
       }
-    } catch (Exception e) {
-      throw new JinxException("Unable to load data from photo " + photo.getAbsolutePath(), e);
-    } finally {
-      JinxUtils.close(in);
     }
-    return upload(photoData, title, description, tags, isPublic, isFriend, isFamily, safetyLevel, contentType, hidden, async);
+    return jinx.flickrUpload(buildUploadParams(title, description, tags, isPublic, isFriend, isFamily, safetyLevel,
+        contentType, hidden, async), photo, UploadResponse.class);
   }
 
   /**
@@ -144,6 +135,13 @@ public class PhotosUploadApi {
                                Boolean isFriend, Boolean isFamily, JinxConstants.SafetyLevel safetyLevel,
                                JinxConstants.ContentType contentType, Boolean hidden, Boolean async) throws JinxException {
     JinxUtils.validateParams(photoData);
+    return jinx.flickrUpload(buildUploadParams(title, description, tags, isPublic, isFriend, isFamily, safetyLevel,
+        contentType, hidden, async), photoData, UploadResponse.class);
+  }
+
+  private Map<String, String> buildUploadParams(String title, String description, List<String> tags, Boolean isPublic,
+                                                Boolean isFriend, Boolean isFamily, JinxConstants.SafetyLevel safetyLevel,
+                                                JinxConstants.ContentType contentType, Boolean hidden, Boolean async) {
     Map<String, String> params = new TreeMap<>();
     if (async != null && async) {
       params.put("async", "1");
@@ -176,7 +174,7 @@ public class PhotosUploadApi {
     if (hidden != null) {
       params.put("hidden", hidden ? "1" : "0");
     }
-    return jinx.flickrUpload(params, photoData, UploadResponse.class);
+    return params;
   }
 
 
@@ -195,17 +193,7 @@ public class PhotosUploadApi {
    */
   public ReplaceResponse replace(File photo, String photoId, Boolean async) throws JinxException {
     JinxUtils.validateParams(photo, photoId);
-    byte[] photoData = new byte[(int) photo.length()];
-    FileInputStream in = null;
-    try {
-      in = new FileInputStream(photo);
-      in.read(photoData);
-    } catch (Exception e) {
-      throw new JinxException("Unable to load data from photo " + photo.getAbsolutePath(), e);
-    } finally {
-      JinxUtils.close(in);
-    }
-    return replace(photoData, photoId, async);
+    return jinx.flickrReplace(buildReplaceParams(photoId, async), photo, ReplaceResponse.class);
   }
 
 
@@ -224,11 +212,15 @@ public class PhotosUploadApi {
    */
   public ReplaceResponse replace(byte[] photoData, String photoId, Boolean async) throws JinxException {
     JinxUtils.validateParams(photoData, photoId);
+    return jinx.flickrReplace(buildReplaceParams(photoId, async), photoData, ReplaceResponse.class);
+  }
+
+  private Map<String, String> buildReplaceParams(String photoId, Boolean async) {
     Map<String, String> params = new TreeMap<>();
     params.put("photo_id", photoId);
     if (async != null && async) {
       params.put("async", "1");
     }
-    return jinx.flickrReplace(params, photoData, ReplaceResponse.class);
+    return params;
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.ActivityApi;
+import net.jeremybrooks.jinx.response.activity.ActivityResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link ActivityApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see ActivityApi
+ */
+public class AsyncActivityApi {
+  private final Jinx jinx;
+  private final ActivityApi api;
+
+  public AsyncActivityApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new ActivityApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link ActivityApi#userComments(Integer, Integer)}.
+   *
+   * @param perPage (Optional) Number of items to return per page. If this argument is null or less than 1, it defaults to 10. If this argument is greater than 50, it defaults to 50.
+   * @param page    (Optional) The page of results to return. If this argument is null or less than 1, it defaults to 1.
+   * @return future that completes with the object encapsulating the user photo activity.
+   */
+  public CompletableFuture<ActivityResponse> userComments(Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.userComments(perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link ActivityApi#userPhotos(String, Integer, Integer)}.
+   *
+   * @param timeframe (Optional) The timeframe in which to return updates for. This can be specified in days ('2d') or hours ('4h'). If this argument is null, the behavior is to return changes since the beginning of the previous user session.
+   * @param perPage   (Optional) Number of items to return per page. If this argument is null or less than one, it defaults to 10. If this argument is greater than 50, it defaults to 50.
+   * @param page      (Optional) The page of results to return. If this argument is null or less than 1, it defaults to 1.
+   * @return future that completes with the object encapsulating the user photo activity.
+   */
+  public CompletableFuture<ActivityResponse> userPhotos(String timeframe, Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.userPhotos(timeframe, perPage, page));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.BlogApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.blogs.BlogList;
+import net.jeremybrooks.jinx.response.blogs.BlogServices;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link BlogApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see BlogApi
+ */
+public class AsyncBlogApi {
+  private final Jinx jinx;
+  private final BlogApi api;
+
+  public AsyncBlogApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new BlogApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link BlogApi#getServices()}.
+   *
+   * @return future that completes with the object representing the supported blog services.
+   */
+  public CompletableFuture<BlogServices> getServices() {
+    return jinx.callAsync(() -> api.getServices());
+  }
+
+  /**
+   * Asynchronous version of {@link BlogApi#getBlogList(String)}.
+   *
+   * @param service (Optional) only return blogs for a given service id. You can get a list of from {@link net.jeremybrooks.jinx.api.BlogApi#getServices()}
+   * @return future that completes with the list of blogs for the calling user.
+   */
+  public CompletableFuture<BlogList> getBlogList(String service) {
+    return jinx.callAsync(() -> api.getBlogList(service));
+  }
+
+  /**
+   * Asynchronous version of {@link BlogApi#postPhoto(String, String, String, String, String, String)}.
+   *
+   * @param blogId       (Optional) the id of the blog to post to.
+   * @param photoId      (Required) the id of the photo to blog
+   * @param title        (Required) the blog post title
+   * @param description  (Required) the blog post body
+   * @param blogPassword (Optional) the password for the blog (used when the blog does not have a stored password).
+   * @param serviceId    (Optional) a Flickr supported blogging service. Instead of passing a blog id you can pass a service id and we'll post to the first blog of that service we find.
+   * @return future that completes with the response object indicating success or fail.
+   */
+  public CompletableFuture<Response> postPhoto(String blogId, String photoId, String title, String description,
+                                               String blogPassword, String serviceId) {
+    return jinx.callAsync(() -> api.postPhoto(blogId, photoId, title, description, blogPassword, serviceId));
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.CamerasApi;
+import net.jeremybrooks.jinx.response.cameras.CameraBrands;
+import net.jeremybrooks.jinx.response.cameras.CameraModels;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link CamerasApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see CamerasApi
+ */
+public class AsyncCamerasApi {
+  private final Jinx jinx;
+  private final CamerasApi api;
+
+  public AsyncCamerasApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new CamerasApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link CamerasApi#getBrands()}.
+   *
+   * @return future that completes with all camera brands Flickr knows about.
+   */
+  public CompletableFuture<CameraBrands> getBrands() {
+    return jinx.callAsync(() -> api.getBrands());
+  }
+
+  /**
+   * Asynchronous version of {@link CamerasApi#getBrandModels(String)}.
+   *
+   * @param brandId (Required) the ID of the requested brand (as returned from {@link net.jeremybrooks.jinx.api.CamerasApi#getBrands()}).
+   * @return future that completes with all camera models for a given camera brand.
+   */
+  public CompletableFuture<CameraModels> getBrandModels(String brandId) {
+    return jinx.callAsync(() -> api.getBrandModels(brandId));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.CollectionsApi;
+import net.jeremybrooks.jinx.response.collections.CollectionInfo;
+import net.jeremybrooks.jinx.response.collections.CollectionTree;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link CollectionsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see CollectionsApi
+ */
+public class AsyncCollectionsApi {
+  private final Jinx jinx;
+  private final CollectionsApi api;
+
+  public AsyncCollectionsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new CollectionsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link CollectionsApi#getInfo(String)}.
+   *
+   * @param collectionId Required. The id of the collection to fetch information for.
+   * @return future that completes with the information about the collection.
+   */
+  public CompletableFuture<CollectionInfo> getInfo(String collectionId) {
+    return jinx.callAsync(() -> api.getInfo(collectionId));
+  }
+
+  /**
+   * Asynchronous version of {@link CollectionsApi#getTree(String, String)}.
+   *
+   * @param collectionId Optional. The ID of the collection to fetch a tree for, or zero to fetch the root collection. Defaults to zero.
+   * @param userId       Optional. The ID of the account to fetch the collection tree for. Deafults to the calling user.
+   * @return future that completes with the nested tree of collections, and the collections and sets they contain.
+   */
+  public CompletableFuture<CollectionTree> getTree(String collectionId, String userId) {
+    return jinx.callAsync(() -> api.getTree(collectionId, userId));
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.CommonsApi;
+import net.jeremybrooks.jinx.response.commons.Institutions;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link CommonsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see CommonsApi
+ */
+public class AsyncCommonsApi {
+  private final Jinx jinx;
+  private final CommonsApi api;
+
+  public AsyncCommonsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new CommonsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link CommonsApi#getInstitutions()}.
+   *
+   * @return future that completes with the list of the current Commons institutions.
+   */
+  public CompletableFuture<Institutions> getInstitutions() {
+    return jinx.callAsync(() -> api.getInstitutions());
+  }
+}
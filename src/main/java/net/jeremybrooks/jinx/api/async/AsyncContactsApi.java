@@ -0,0 +1,94 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.ContactsApi;
+import net.jeremybrooks.jinx.response.contacts.Contacts;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link ContactsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see ContactsApi
+ */
+public class AsyncContactsApi {
+  private final Jinx jinx;
+  private final ContactsApi api;
+
+  public AsyncContactsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new ContactsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link ContactsApi#getList(JinxConstants.ContactFilter, int, int, JinxConstants.ContactSort)}.
+   *
+   * @param filter      Optional. Filter the results that are returned.
+   * @param page        Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @param perPage     Optional. Number of photos to return per page. If this argument is zero, it defaults to 1000. The maximum allowed value is 1000.
+   * @param contactSort Optional. The order in which to sort the returned contacts. If this argument is null, defaults to name.
+   * @return future that completes with the object containing contacts matching the parameters.
+   */
+  public CompletableFuture<Contacts> getList(JinxConstants.ContactFilter filter, int page, int perPage,
+                                             JinxConstants.ContactSort contactSort) {
+    return jinx.callAsync(() -> api.getList(filter, page, perPage, contactSort));
+  }
+
+  /**
+   * Asynchronous version of {@link ContactsApi#getListRecentlyUploaded(Date, JinxConstants.Contacts)}.
+   *
+   * @param dateLastUpload Optional. Limits the resultset to contacts that have uploaded photos since this date. The default offset is (1) hour and the maximum (24) hours.
+   * @param filter         Optional. Limit the result set to all contacts or only those who are friends or family.
+   * @return future that completes with the object containing contacts matching the parameters.
+   */
+  public CompletableFuture<Contacts> getListRecentlyUploaded(Date dateLastUpload, JinxConstants.Contacts filter) {
+    return jinx.callAsync(() -> api.getListRecentlyUploaded(dateLastUpload, filter));
+  }
+
+  /**
+   * Asynchronous version of {@link ContactsApi#getPublicList(String, int, int)}.
+   *
+   * @param userId  Required. The NSID of the user to fetch the contact list for.
+   * @param page    Optional. The page of results to return. If this argument is &le;= zero, it defaults to 1.
+   * @param perPage Optional. Number of photos to return per page. If this argument is &le;= zero, it defaults to 1000. The maximum allowed value is 1000.
+   * @return future that completes with the object containing contacts matching the parameters.
+   */
+  public CompletableFuture<Contacts> getPublicList(String userId, int page, int perPage) {
+    return jinx.callAsync(() -> api.getPublicList(userId, page, perPage));
+  }
+
+  /**
+   * Asynchronous version of {@link ContactsApi#getTaggingSuggestions(int, int)}.
+   *
+   * @param page    Optional. The page of results to return. If this argument is &le;= zero, it defaults to 1.
+   * @param perPage Optional. Number of contacts to return per page. If this argument is &le;= 0, all contacts will be returned.
+   * @return future that completes with the object containing contacts matching the parameters.
+   */
+  public CompletableFuture<Contacts> getTaggingSuggestions(int page, int perPage) {
+    return jinx.callAsync(() -> api.getTaggingSuggestions(page, perPage));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.FavoritesApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.common.Context;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link FavoritesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see FavoritesApi
+ */
+public class AsyncFavoritesApi {
+  private final Jinx jinx;
+  private final FavoritesApi api;
+
+  public AsyncFavoritesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new FavoritesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link FavoritesApi#add(String)}.
+   *
+   * @param photoId Required. The id of the photo to add to the user's favorites.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> add(String photoId) {
+    return jinx.callAsync(() -> api.add(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link FavoritesApi#getContext(String, String)}.
+   *
+   * @param photoId Required. The id of the photo to fetch the context for.
+   * @param userId  Required. The user who counts the photo as a favorite.
+   * @return future that completes with the object with context information.
+   */
+  public CompletableFuture<Context> getContext(String photoId, String userId) {
+    return jinx.callAsync(() -> api.getContext(photoId, userId));
+  }
+
+  /**
+   * Asynchronous version of {@link FavoritesApi#getList(String, Date, Date, EnumSet, int, int)}.
+   *
+   * @param userId      Optional. The NSID of the user to fetch the favorites list for. If this argument is null, the favorites list for the calling user is returned.
+   * @param minFaveDate Optional. Minimum date that a photo was favorited on.
+   * @param maxFaveDate Optional. Maximum date that a photo was favorited on.
+   * @param extras      Optional. Extra information to return for each photo.
+   * @param perPage     Optional. Number of photos to return per page. If this argument is &le;= 0, it defaults to 100. The maximum allowed value is 500.
+   * @param page        Optional. The page of results to return. If this argument is &le;= 0, it defaults to 1.
+   * @return future that completes with the object with photos and metadata matching the query.
+   */
+  public CompletableFuture<Photos> getList(String userId, Date minFaveDate, Date maxFaveDate,
+                                           EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getList(userId, minFaveDate, maxFaveDate, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link FavoritesApi#getPublicList(String, Date, Date, EnumSet, int, int)}.
+   *
+   * @param userId      Required. The NSID of the user to fetch the favorites list for. If this argument is null, the favorites list for the calling user is returned.
+   * @param minFaveDate Optional. Minimum date that a photo was favorited on.
+   * @param maxFaveDate Optional. Maximum date that a photo was favorited on.
+   * @param extras      Optional. Extra information to return for each photo.
+   * @param perPage     Optional. Number of photos to return per page. If this argument is &le;= 0, it defaults to 100. The maximum allowed value is 500.
+   * @param page        Optional. The page of results to return. If this argument is &le;= 0, it defaults to 1.
+   * @return future that completes with the object with photos and metadata matching the query.
+   */
+  public CompletableFuture<Photos> getPublicList(String userId, Date minFaveDate, Date maxFaveDate,
+                                                 EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getPublicList(userId, minFaveDate, maxFaveDate, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link FavoritesApi#remove(String)}.
+   *
+   * @param photoId Required. The id of the photo to add to the user's favorites.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> remove(String photoId) {
+    return jinx.callAsync(() -> api.remove(photoId));
+  }
+}
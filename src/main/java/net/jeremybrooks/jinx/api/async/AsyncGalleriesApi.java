@@ -0,0 +1,159 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.GalleriesApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.galleries.GalleryInfo;
+import net.jeremybrooks.jinx.response.galleries.GalleryList;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GalleriesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GalleriesApi
+ */
+public class AsyncGalleriesApi {
+  private final Jinx jinx;
+  private final GalleriesApi api;
+
+  public AsyncGalleriesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GalleriesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#addPhoto(String, String, String)}.
+   *
+   * @param galleryId Required. The ID of the gallery to add a photo to. Note: this is the compound ID returned in methods like flickr.galleries.getList, and flickr.galleries.getListForPhoto.
+   * @param photoId   Required. The photo ID to add to the gallery.
+   * @param comment   Optional. A short comment or story to accompany the photo.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> addPhoto(String galleryId, String photoId, String comment) {
+    return jinx.callAsync(() -> api.addPhoto(galleryId, photoId, comment));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#create(String, String, String, boolean)}.
+   *
+   * @param title          Required. The name of the gallery.
+   * @param description    Required. A short description for the gallery.
+   * @param primaryPhotoId Optiona. The first photo to add to your gallery.
+   * @param fullResult     Get the result in the same format as galleries.getList
+   * @return future that completes with the information about the created gallery.
+   */
+  public CompletableFuture<GalleryInfo> create(String title, String description, String primaryPhotoId,
+                                               boolean fullResult) {
+    return jinx.callAsync(() -> api.create(title, description, primaryPhotoId, fullResult));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#editMeta(String, String, String)}.
+   *
+   * @param galleryId   Required. The gallery ID to update.
+   * @param title       Required. The new title for the gallery.
+   * @param description Optional. The new description for the gallery.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> editMeta(String galleryId, String title, String description) {
+    return jinx.callAsync(() -> api.editMeta(galleryId, title, description));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#editPhoto(String, String, String)}.
+   *
+   * @param galleryId Required. The ID of the gallery containing the photo. Note: this is the compound ID returned in methods like flickr.galleries.getList, and flickr.galleries.getListForPhoto.
+   * @param photoId   Required. The photo ID in the gallery whose comment to edit.
+   * @param comment   Required. The updated comment for the photo.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> editPhoto(String galleryId, String photoId, String comment) {
+    return jinx.callAsync(() -> api.editPhoto(galleryId, photoId, comment));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#editPhotos(String, String, List)}.
+   *
+   * @param galleryId      Required. The id of the gallery to modify. The gallery must belong to the calling user.
+   * @param primaryPhotoId Required. The id of the photo to use as the 'primary' photo for the gallery. This id must also be passed along in photo_ids list argument.
+   * @param photoIds       Required. A list of photo ids to include in the gallery. They will appear in the set in the order sent. This list must contain the primary photo id. This list of photos replaces the existing list.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> editPhotos(String galleryId, String primaryPhotoId, List<String> photoIds) {
+    return jinx.callAsync(() -> api.editPhotos(galleryId, primaryPhotoId, photoIds));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#galleryInfo(String)}.
+   *
+   * @param galleryId Required. The gallery ID you are requesting information for.
+   * @return future that completes with the information about the gallery.
+   */
+  public CompletableFuture<GalleryInfo> galleryInfo(String galleryId) {
+    return jinx.callAsync(() -> api.galleryInfo(galleryId));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#getList(String, int, int, EnumSet)}.
+   *
+   * @param userId  Required. The NSID of the user to get a galleries list for. If none is specified, the calling user is assumed.
+   * @param perPage Optional. Number of galleries to return per page. If this argument is &le;= 0, it defaults to 100. The maximum allowed value is 500.
+   * @param page    Optional. The page of results to return. If this argument is &le;= 0, it defaults to 1.
+   * @param extras  Optional. Extra information to fetch for the primary photo.
+   * @return future that completes with the list of galleries for the user.
+   */
+  public CompletableFuture<GalleryList> getList(String userId, int perPage, int page,
+                                                EnumSet<JinxConstants.PhotoExtras> extras) {
+    return jinx.callAsync(() -> api.getList(userId, perPage, page, extras));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#getListForPhoto(String, int, int)}.
+   *
+   * @param photoId Required. The ID of the photo to fetch a list of galleries for.
+   * @param perPage Optional. Number of galleries to return per page. If this argument is &le;= 0, it defaults to 100. The maximum allowed value is 500.
+   * @param page    Optional. The page of results to return. If this argument is &le;= 0, it defaults to 1.
+   * @return future that completes with the list of galleries to which a photo has been added.
+   */
+  public CompletableFuture<GalleryList> getListForPhoto(String photoId, int perPage, int page) {
+    return jinx.callAsync(() -> api.getListForPhoto(photoId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link GalleriesApi#getPhotos(String, EnumSet)}.
+   *
+   * @param galleryId Required. The ID of the gallery of photos to return.
+   * @param extras    Optional. Extra information to fetch for the primary photo.
+   * @return future that completes with the photos in the gallery.
+   */
+  public CompletableFuture<Photos> getPhotos(String galleryId, EnumSet<JinxConstants.PhotoExtras> extras) {
+    return jinx.callAsync(() -> api.getPhotos(galleryId, extras));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.GroupsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.groups.GroupInfo;
+import net.jeremybrooks.jinx.response.groups.GroupSearch;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GroupsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GroupsApi
+ */
+public class AsyncGroupsApi {
+  private final Jinx jinx;
+  private final GroupsApi api;
+
+  public AsyncGroupsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GroupsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#browse(String)}.
+   *
+   * @param categoryId (Optional) Category id to fetch a list of groups and sub-categories for. If not specified, it defaults to zero, the root of the category tree.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   * @deprecated this is a legacy method, and will not return anything useful.
+   */
+  @Deprecated
+  public CompletableFuture<Response> browse(String categoryId) {
+    return jinx.callAsync(() -> api.browse(categoryId));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#getInfo(String, String, String)}.
+   *
+   * @param groupId        (Optional) The NSID of the group to fetch information for. One of this or the groupPathAlias is required.
+   * @param groupPathAlias (Optional) The path alias of the group. One of this or the groupId parameter is required.
+   * @param lang           (Optional) The language of the group name and description to fetch. If the language is not found, the primary language of the group will be returned. Valid values are the same as in <a href="https://www.flickr.com/services/feeds/">feeds.</a>
+   * @return future that completes with the information about the group.
+   */
+  public CompletableFuture<GroupInfo> getInfo(String groupId, String groupPathAlias, String lang) {
+    return jinx.callAsync(() -> api.getInfo(groupId, groupPathAlias, lang));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#join(String, boolean)}.
+   *
+   * @param groupId     (Required) The NSID of the group to join.
+   * @param acceptRules If the group has rules, they must be displayed to the user prior to joining. Passing a true value for this argument specifies that the application has displayed the group rules to the user, and that the user has agreed to them.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> join(String groupId, boolean acceptRules) {
+    return jinx.callAsync(() -> api.join(groupId, acceptRules));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#joinRequest(String, String, boolean)}.
+   *
+   * @param groupId     (Required) The NSID of the group to request joining.
+   * @param message     (Required) Message to the group administrators.
+   * @param acceptRules If the group has rules, they must be displayed to the user prior to joining. Passing a true value for this argument specifies that the application has displayed the group rules to the user, and that the user has agreed to them.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> joinRequest(String groupId, String message, boolean acceptRules) {
+    return jinx.callAsync(() -> api.joinRequest(groupId, message, acceptRules));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#leave(String, boolean)}.
+   *
+   * @param groupId      (Required) The NSID of the Group to leave.
+   * @param deletePhotos Delete all photos by this user from the group.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> leave(String groupId, boolean deletePhotos) {
+    return jinx.callAsync(() -> api.leave(groupId, deletePhotos));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsApi#search(String, int, int)}.
+   *
+   * @param text    (Required) The text to search for.
+   * @param perPage (Optional) Number of groups to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    (Optional) The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @return future that completes with the group search results.
+   */
+  public CompletableFuture<GroupSearch> search(String text, int perPage, int page) {
+    return jinx.callAsync(() -> api.search(text, perPage, page));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.GroupsDiscussRepliesApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.groups.discuss.replies.Replies;
+import net.jeremybrooks.jinx.response.groups.discuss.replies.ReplyInfo;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GroupsDiscussRepliesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GroupsDiscussRepliesApi
+ */
+public class AsyncGroupsDiscussRepliesApi {
+  private final Jinx jinx;
+  private final GroupsDiscussRepliesApi api;
+
+  public AsyncGroupsDiscussRepliesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GroupsDiscussRepliesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussRepliesApi#add(String, String)}.
+   *
+   * @param topicId (Required) The ID of the topic to post a comment to.
+   * @param message (Required) The message to post to the topic.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> add(String topicId, String message) {
+    return jinx.callAsync(() -> api.add(topicId, message));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussRepliesApi#delete(String, String)}.
+   *
+   * @param topicId (Required) The ID of the topic the post is in.
+   * @param replyId (Required) The ID of the reply to delete.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> delete(String topicId, String replyId) {
+    return jinx.callAsync(() -> api.delete(topicId, replyId));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussRepliesApi#edit(String, String, String)}.
+   *
+   * @param topicId (Required) The ID of the topic the post is in.
+   * @param replyId (Required) The ID of the reply post to edit.
+   * @param message (Required) The message to edit the post with.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> edit(String topicId, String replyId, String message) {
+    return jinx.callAsync(() -> api.edit(topicId, replyId, message));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussRepliesApi#getInfo(String, String)}.
+   *
+   * @param topicId (Required) The ID of the topic the post is in.
+   * @param replyId (Required) The ID of the reply to fetch.
+   * @return future that completes with the reply information.
+   */
+  public CompletableFuture<ReplyInfo> getInfo(String topicId, String replyId) {
+    return jinx.callAsync(() -> api.getInfo(topicId, replyId));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussRepliesApi#getList(String, int, int, boolean)}.
+   *
+   * @param topicId (Required) The ID of the topic to fetch replies for.
+   * @param perPage Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the object with the topic information and a list of replies.
+   */
+  public CompletableFuture<Replies> getList(String topicId, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getList(topicId, perPage, page, sign));
+  }
+}
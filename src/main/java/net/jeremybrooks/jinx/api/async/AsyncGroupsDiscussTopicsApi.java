@@ -0,0 +1,82 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.GroupsDiscussTopicsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.groups.discuss.topics.TopicInfo;
+import net.jeremybrooks.jinx.response.groups.discuss.topics.Topics;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GroupsDiscussTopicsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GroupsDiscussTopicsApi
+ */
+public class AsyncGroupsDiscussTopicsApi {
+  private final Jinx jinx;
+  private final GroupsDiscussTopicsApi api;
+
+  public AsyncGroupsDiscussTopicsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GroupsDiscussTopicsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussTopicsApi#add(String, String, String)}.
+   *
+   * @param groupId (Required) The NSID of the group to add a topic to.
+   * @param subject (Required) The topic subject.
+   * @param message (Required) The topic message.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> add(String groupId, String subject, String message) {
+    return jinx.callAsync(() -> api.add(groupId, subject, message));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussTopicsApi#getInfo(String, boolean)}.
+   *
+   * @param topicId (Required) The ID for the topic to get info for.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the information about the topic.
+   */
+  public CompletableFuture<TopicInfo> getInfo(String topicId, boolean sign) {
+    return jinx.callAsync(() -> api.getInfo(topicId, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsDiscussTopicsApi#getList(String, int, int, boolean)}.
+   *
+   * @param groupId (Required) The NSID of the group to fetch information for.
+   * @param perPage Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the object with topic metadata and a list of topics.
+   */
+  public CompletableFuture<Topics> getList(String groupId, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getList(groupId, perPage, page, sign));
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.GroupsMembersApi;
+import net.jeremybrooks.jinx.response.groups.members.Members;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GroupsMembersApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GroupsMembersApi
+ */
+public class AsyncGroupsMembersApi {
+  private final Jinx jinx;
+  private final GroupsMembersApi api;
+
+  public AsyncGroupsMembersApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GroupsMembersApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsMembersApi#getList(String, EnumSet, int, int)}.
+   *
+   * @param groupId     (Required) Return a list of members for this group. The group must be viewable by the Flickr member on whose behalf the API call is made.
+   * @param memberTypes (Optional) Return only these member types. If null, return all member types. (Returning super rare member type "1: narwhal" isn't supported by this API method)
+   * @param perPage     number of members to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page        page of results to return. If this argument is less than 1, it defaults to 1.
+   * @return future that completes with the members object containing metadata and a list of members.
+   */
+  public CompletableFuture<Members> getList(String groupId, EnumSet<JinxConstants.MemberType> memberTypes, int perPage,
+                                            int page) {
+    return jinx.callAsync(() -> api.getList(groupId, memberTypes, perPage, page));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.GroupsPoolsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.common.Context;
+import net.jeremybrooks.jinx.response.groups.GroupSearch;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link GroupsPoolsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see GroupsPoolsApi
+ */
+public class AsyncGroupsPoolsApi {
+  private final Jinx jinx;
+  private final GroupsPoolsApi api;
+
+  public AsyncGroupsPoolsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new GroupsPoolsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsPoolsApi#add(String, String)}.
+   *
+   * @param photoId (Required) The id of the photo to add to the group pool. The photo must belong to the calling user.
+   * @param groupId (Required) The group id of the group who's pool the photo is to be added to.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> add(String photoId, String groupId) {
+    return jinx.callAsync(() -> api.add(photoId, groupId));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsPoolsApi#getContext(String, String, boolean)}.
+   *
+   * @param photoId (Required) The id of the photo to fetch the context for.
+   * @param groupId (Required) The group id of the group who's pool to fetch the photo's context for.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the context for the specified photo in the specified group.
+   */
+  public CompletableFuture<Context> getContext(String photoId, String groupId, boolean sign) {
+    return jinx.callAsync(() -> api.getContext(photoId, groupId, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsPoolsApi#getGroups(int, int)}.
+   *
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param perPage Number of groups to return per page. If this argument is less than 1, it defaults to 400. The maximum allowed value is 400.
+   * @return future that completes with the object with the groups to which you can add photos.
+   */
+  public CompletableFuture<GroupSearch> getGroups(int page, int perPage) {
+    return jinx.callAsync(() -> api.getGroups(page, perPage));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsPoolsApi#getPhotos(String, List, String, EnumSet, int, int, boolean)}.
+   *
+   * @param groupId (Required) The id of the group who's pool you which to get the photo list for.
+   * @param tags    (Optional) A list of tags to filter the pool with. At the moment only one tag at a time is supported. The first tag in the list will be used.
+   * @param userId  (Optional) The nsid of a user. Specifiying this parameter will retrieve for you only those photos that the user has contributed to the group pool.
+   * @param extras  (Optional) extra information to fetch for each returned record.
+   * @param perPage Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the list of photos.
+   */
+  public CompletableFuture<Photos> getPhotos(String groupId, List<String> tags, String userId,
+                                             EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page,
+                                             boolean sign) {
+    return jinx.callAsync(() -> api.getPhotos(groupId, tags, userId, extras, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link GroupsPoolsApi#remove(String, String)}.
+   *
+   * @param photoId (Required) The id of the photo to remove from the group pool. The photo must either be owned by the calling user of the calling user must be an administrator of the group.
+   * @param groupId (Required) The group id of the group who's pool the photo is to removed from.
+   * @return future that completes with the object with response from Flickr indicating ok or fail.
+   */
+  public CompletableFuture<Response> remove(String photoId, String groupId) {
+    return jinx.callAsync(() -> api.remove(photoId, groupId));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.InterestingnessApi;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link InterestingnessApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see InterestingnessApi
+ */
+public class AsyncInterestingnessApi {
+  private final Jinx jinx;
+  private final InterestingnessApi api;
+
+  public AsyncInterestingnessApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new InterestingnessApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link InterestingnessApi#getList(String, EnumSet, int, int, boolean)}.
+   *
+   * @param date    (Optional) A specific date, formatted as YYYY-MM-DD, to return interesting photos for.
+   * @param extras  (Optional) extra information to fetch for each returned record.
+   * @param perPage Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the photos object with the requested photos.
+   */
+  public CompletableFuture<Photos> getList(String date, EnumSet<JinxConstants.PhotoExtras> extras, int perPage,
+                                           int page, boolean sign) {
+    return jinx.callAsync(() -> api.getList(date, extras, perPage, page, sign));
+  }
+}
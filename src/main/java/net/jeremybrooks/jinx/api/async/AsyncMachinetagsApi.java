@@ -0,0 +1,115 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.MachinetagsApi;
+import net.jeremybrooks.jinx.response.machinetags.Namespaces;
+import net.jeremybrooks.jinx.response.machinetags.Pairs;
+import net.jeremybrooks.jinx.response.machinetags.Predicates;
+import net.jeremybrooks.jinx.response.machinetags.Values;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link MachinetagsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see MachinetagsApi
+ */
+public class AsyncMachinetagsApi {
+  private final Jinx jinx;
+  private final MachinetagsApi api;
+
+  public AsyncMachinetagsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new MachinetagsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link MachinetagsApi#getNamespaces(String, int, int, boolean)}.
+   *
+   * @param predicate (Optional) Limit the list of namespaces returned to those that have this predicate.
+   * @param perPage   Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign      if true, the request will be signed.
+   * @return future that completes with the object containing a list of unique namespaces.
+   */
+  public CompletableFuture<Namespaces> getNamespaces(String predicate, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getNamespaces(predicate, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link MachinetagsApi#getPairs(String, String, int, int, boolean)}.
+   *
+   * @param namespace (Optional) Limit the list of pairs returned to those that have this namespace.
+   * @param predicate (Optional) Limit the list of pairs returned to those that have this predicate.
+   * @param perPage   Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign      if true, the request will be signed.
+   * @return future that completes with the object containing a list of unique namespace and predicate parts.
+   */
+  public CompletableFuture<Pairs> getPairs(String namespace, String predicate, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getPairs(namespace, predicate, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link MachinetagsApi#getPredicates(String, int, int, boolean)}.
+   *
+   * @param namespace (Optional) Limit the list of predicates returned to those that have this namespace.
+   * @param perPage   Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign      if true, the request will be signed.
+   * @return future that completes with the object containing a list of unique predicates.
+   */
+  public CompletableFuture<Predicates> getPredicates(String namespace, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getPredicates(namespace, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link MachinetagsApi#getRecentValues(String, String, String, boolean)}.
+   *
+   * @param namespace  (Optional) A namespace that all values should be restricted to.
+   * @param predicate  (Optional) A predicate that all values should be restricted to.
+   * @param addedSince (Optional) Only return machine tags values that have been added since this timestamp, in epoch seconds.
+   * @param sign       if true, the request will be signed.
+   * @return future that completes with the object containing a list of recently used or created machine tags values.
+   */
+  public CompletableFuture<Values> getRecentValues(String namespace, String predicate, String addedSince,
+                                                   boolean sign) {
+    return jinx.callAsync(() -> api.getRecentValues(namespace, predicate, addedSince, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link MachinetagsApi#getValues(String, String, int, int, boolean)}.
+   *
+   * @param namespace (Required) The namespace that all values should be restricted to.
+   * @param predicate (Required) The predicate that all values should be restricted to.
+   * @param perPage   Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign      if true, the request will be signed.
+   * @return future that completes with the object containing a list of unique values for a namespace and predicate.
+   */
+  public CompletableFuture<Values> getValues(String namespace, String predicate, int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getValues(namespace, predicate, perPage, page, sign));
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.api.OAuthApi;
+import net.jeremybrooks.jinx.response.auth.oauth.OAuthCredentials;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Asynchronous versions of the methods in {@link OAuthApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ * <br>
+ * {@link #getAccessToken(InputStream)} makes its own connection to Flickr instead of going through the Jinx
+ * transport, so it runs on the Jinx executor.
+ *
+ * @author Jeremy Brooks
+ * @see OAuthApi
+ */
+public class AsyncOAuthApi {
+  private final Jinx jinx;
+  private final OAuthApi api;
+
+  public AsyncOAuthApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new OAuthApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link OAuthApi#checkToken(String)}.
+   *
+   * @param oauthToken the oauth token.
+   * @return future that completes with the credentials attached to the oauth token.
+   */
+  public CompletableFuture<OAuthCredentials> checkToken(String oauthToken) {
+    return jinx.callAsync(() -> api.checkToken(oauthToken));
+  }
+
+  /**
+   * Asynchronous version of {@link OAuthApi#getAccessToken(InputStream)}.
+   * <br>
+   * The exchange runs on the executor returned by {@link Jinx#getExecutor()}.
+   *
+   * @param inputStream stream to the legacy token properties.
+   * @return future that completes with the object containing the OAuth Access Token data.
+   */
+  public CompletableFuture<OAuthAccessToken> getAccessToken(InputStream inputStream) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return api.getAccessToken(inputStream);
+      } catch (JinxException e) {
+        throw new CompletionException(e);
+      }
+    }, jinx.getExecutor());
+  }
+}
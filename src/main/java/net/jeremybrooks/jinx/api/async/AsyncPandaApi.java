@@ -0,0 +1,71 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PandaApi;
+import net.jeremybrooks.jinx.response.panda.Pandas;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PandaApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PandaApi
+ */
+public class AsyncPandaApi {
+  private final Jinx jinx;
+  private final PandaApi api;
+
+  public AsyncPandaApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PandaApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PandaApi#getList()}.
+   *
+   * @return future that completes with the object with a list of Flickr Pandas, and information about the success or failure of the call.
+   */
+  public CompletableFuture<Pandas> getList() {
+    return jinx.callAsync(() -> api.getList());
+  }
+
+  /**
+   * Asynchronous version of {@link PandaApi#getPhotos(String, EnumSet, int, int, boolean)}.
+   *
+   * @param pandaName (Required) The name of the panda to ask for photos from.
+   * @param extras    extra information to fetch for each returned record.
+   * @param perPage   Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page      The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign      if true, the request will be signed.
+   * @return future that completes with the photos object from the panda.
+   */
+  public CompletableFuture<Photos> getPhotos(String pandaName, EnumSet<JinxConstants.PhotoExtras> extras, int perPage,
+                                             int page, boolean sign) {
+    return jinx.callAsync(() -> api.getPhotos(pandaName, extras, perPage, page, sign));
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PeopleApi;
+import net.jeremybrooks.jinx.response.groups.Groups;
+import net.jeremybrooks.jinx.response.people.Limits;
+import net.jeremybrooks.jinx.response.people.Person;
+import net.jeremybrooks.jinx.response.people.UploadStatus;
+import net.jeremybrooks.jinx.response.photos.Photos;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PeopleApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PeopleApi
+ */
+public class AsyncPeopleApi {
+  private final Jinx jinx;
+  private final PeopleApi api;
+
+  public AsyncPeopleApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PeopleApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#findByEmail(String)}.
+   *
+   * @param email (Required) The email address of the user to find (may be primary or secondary).
+   * @return future that completes with the object with information about the person.
+   */
+  public CompletableFuture<Person> findByEmail(String email) {
+    return jinx.callAsync(() -> api.findByEmail(email));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#findByUsername(String)}.
+   *
+   * @param username (Required) The username of the user to lookup.
+   * @return future that completes with the object with information about the person.
+   */
+  public CompletableFuture<Person> findByUsername(String username) {
+    return jinx.callAsync(() -> api.findByUsername(username));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getGroups(String, EnumSet)}.
+   *
+   * @param userId (Required) The user id of the user to fetch groups for.
+   * @param extras extra information to fetch for each returned record.
+   * @return future that completes with the object with information about the groups the user is a member of.
+   */
+  public CompletableFuture<Groups> getGroups(String userId, EnumSet<JinxConstants.GroupExtras> extras) {
+    return jinx.callAsync(() -> api.getGroups(userId, extras));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getInfo(String, boolean)}.
+   *
+   * @param userId (Required) The user id of the user to fetch information about.
+   * @param sign   if true, the request will be signed.
+   * @return future that completes with the object with information about the user.
+   */
+  public CompletableFuture<Person> getInfo(String userId, boolean sign) {
+    return jinx.callAsync(() -> api.getInfo(userId, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getLimits()}.
+   *
+   * @return future that completes with the object with information about limits for the calling user account.
+   */
+  public CompletableFuture<Limits> getLimits() {
+    return jinx.callAsync(() -> api.getLimits());
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getPhotos(String, JinxConstants.SafetyLevel, String, String, String, String, JinxConstants.ContentType, JinxConstants.PrivacyFilter, EnumSet, int, int, boolean)}.
+   *
+   * @param userId        (Required) The userId of the user who's photos to return. A value of "me" will return the calling user's photos.
+   * @param safetyLevel   (Optional) safe search level of photos to return. Unsigned calls can only see safe content.
+   * @param minUploadDate (Optional) Minimum upload date. Photos with an upload date greater than or equal to this value will be returned. The date should be in the form of a unix timestamp.
+   * @param maxUploadDate (Optional) Maximum upload date. Photos with an upload date less than or equal to this value will be returned. The date should be in the form of a unix timestamp.
+   * @param minTakenDate  (Optional) Minimum taken date. Photos with an taken date greater than or equal to this value will be returned. The date should be in the form of a mysql datetime.
+   * @param maxTakenDate  (Optional) Maximum taken date. Photos with an taken date less than or equal to this value will be returned. The date should be in the form of a mysql datetime.
+   * @param contentType   (Optional) return photos matching a specific content type.
+   * @param privacyFilter (Optional) Return photos only matching a certain privacy level. This only applies when making an authenticated call to view photos you own.
+   * @param extras        (Optional) extra information to fetch for each returned photo.
+   * @param perPage       Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page          The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign          if true, the request will be signed.
+   * @return future that completes with the object with photos for the specified user.
+   */
+  public CompletableFuture<Photos> getPhotos(String userId, JinxConstants.SafetyLevel safetyLevel, String minUploadDate,
+                                             String maxUploadDate, String minTakenDate, String maxTakenDate,
+                                             JinxConstants.ContentType contentType,
+                                             JinxConstants.PrivacyFilter privacyFilter,
+                                             EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page,
+                                             boolean sign) {
+    return jinx.callAsync(() -> api.getPhotos(userId, safetyLevel, minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, contentType, privacyFilter, extras, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getPhotosOf(String, String, EnumSet, int, int, boolean)}.
+   *
+   * @param userId  (Required) The userId of the user you want to find photos of. A value of "me" will search against photos of the calling user, for authenticated calls.
+   * @param ownerId (Optional) A userId of a Flickr member. This will restrict the list of photos to those taken by that member.
+   * @param extras  (Optional) extra information to return for each photo.
+   * @param perPage Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page    The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the photos of the specified Flickr member.
+   */
+  public CompletableFuture<Photos> getPhotosOf(String userId, String ownerId, EnumSet<JinxConstants.PhotoExtras> extras,
+                                               int perPage, int page, boolean sign) {
+    return jinx.callAsync(() -> api.getPhotosOf(userId, ownerId, extras, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getPublicGroups(String, Boolean, boolean)}.
+   *
+   * @param userId         (Required) The userId of the user to fetch groups for.
+   * @param invitationOnly (Optional) Include public groups that require an invitation or administrator approval to join.
+   * @param sign           if true, the request will be signed.
+   * @return future that completes with the object with the public groups the user is a member of.
+   */
+  public CompletableFuture<Groups> getPublicGroups(String userId, Boolean invitationOnly, boolean sign) {
+    return jinx.callAsync(() -> api.getPublicGroups(userId, invitationOnly, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getPublicPhotos(String, JinxConstants.SafetyLevel, EnumSet, int, int, boolean)}.
+   *
+   * @param userId      (Required) The userId of the user who's photos to return.
+   * @param safetyLevel (Optional) safe search level of photos to return. Unsigned calls can only see safe content.
+   * @param extras      (Optional) extra information to return for each photo.
+   * @param perPage     Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page        The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @param sign        if true, the request will be signed.
+   * @return future that completes with the public photos for the given user.
+   */
+  public CompletableFuture<Photos> getPublicPhotos(String userId, JinxConstants.SafetyLevel safetyLevel,
+                                                   EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page,
+                                                   boolean sign) {
+    return jinx.callAsync(() -> api.getPublicPhotos(userId, safetyLevel, extras, perPage, page, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PeopleApi#getUploadStatus()}.
+   *
+   * @return future that completes with the upload status information for the calling user.
+   */
+  public CompletableFuture<UploadStatus> getUploadStatus() {
+    return jinx.callAsync(() -> api.getUploadStatus());
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.common.Context;
+import net.jeremybrooks.jinx.response.photos.AddTags;
+import net.jeremybrooks.jinx.response.photos.AllContexts;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Favorites;
+import net.jeremybrooks.jinx.response.photos.PermsSetResponse;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.PhotoPerms;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+import net.jeremybrooks.jinx.response.photos.Photocounts;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.SearchParameters;
+
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosApi
+ */
+public class AsyncPhotosApi {
+  private final Jinx jinx;
+  private final PhotosApi api;
+
+  public AsyncPhotosApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#addTags(String, List)}.
+   *
+   * @param photoId the id of the photo to add tags to.
+   * @param tags    tags to add to the photo.
+   * @return future that completes with the response with the result of the operation.
+   */
+  public CompletableFuture<AddTags> addTags(String photoId, List<String> tags) {
+    return jinx.callAsync(() -> api.addTags(photoId, tags));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#delete(String)}.
+   *
+   * @param photoId id of the photo to delete.
+   * @return future that completes with the response object with the results of the requested operation.
+   */
+  public CompletableFuture<Response> delete(String photoId) {
+    return jinx.callAsync(() -> api.delete(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getAllContexts(String)}.
+   *
+   * @param photoId photo id to find contexts for.
+   * @return future that completes with the object with a list of all sets and pools the photo is in.
+   */
+  public CompletableFuture<AllContexts> getAllContexts(String photoId) {
+    return jinx.callAsync(() -> api.getAllContexts(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getContactsPhotos(int, boolean, boolean, boolean, EnumSet)}.
+   *
+   * @param count       Number of photos to return. If zero, defaults to 10, maximum 50. This is only used if singlePhoto is not true.
+   * @param justFriends if true, only show photos from friends and family (excluding regular contacts).
+   * @param singlePhoto if true, only fetch one photo (the latest) per contact, instead of all photos in chronological order.
+   * @param includeSelf if true, include photos from the calling user.
+   * @param extras      set of extra information to fetch for each returned record.
+   * @return future that completes with the object containing data about the photos returned, and a list of photos.
+   */
+  public CompletableFuture<Photos> getContactsPhotos(int count, boolean justFriends, boolean singlePhoto,
+                                                     boolean includeSelf, EnumSet<JinxConstants.PhotoExtras> extras) {
+    return jinx.callAsync(() -> api.getContactsPhotos(count, justFriends, singlePhoto, includeSelf, extras));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getContactsPublicPhotos(String, int, boolean, boolean, boolean, EnumSet)}.
+   *
+   * @param userId      Required. The NSID of the user to fetch photos for.
+   * @param count       Number of photos to return. If zero, defaults to 10, maximum 50. This is only used if singlePhoto is not true.
+   * @param justFriends if true, only show photos from friends and family (excluding regular contacts).
+   * @param singlePhoto if true, only fetch one photo (the latest) per contact, instead of all photos in chronological order.
+   * @param includeSelf if true, include photos from the user specified by user_id.
+   * @param extras      set of extra information to fetch for each returned record.
+   * @return future that completes with the object containing data about the photos returned, and a list of photos.
+   */
+  public CompletableFuture<Photos> getContactsPublicPhotos(String userId, int count, boolean justFriends,
+                                                           boolean singlePhoto, boolean includeSelf,
+                                                           EnumSet<JinxConstants.PhotoExtras> extras) {
+    return jinx.callAsync(() -> api.getContactsPublicPhotos(userId, count, justFriends, singlePhoto, includeSelf, extras));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getContext(String)}.
+   *
+   * @param photoId Required. The id of the photo to fetch the context for.
+   * @return future that completes with the object with the context of the photo.
+   */
+  public CompletableFuture<Context> getContext(String photoId) {
+    return jinx.callAsync(() -> api.getContext(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getCounts(List, List)}.
+   *
+   * @param dates      a list of dates denoting the periods to return counts for. They should be specified smallest first.
+   * @param takenDates a list of dates denoting the periods to return counts for. They should be specified smallest first.
+   * @return future that completes with the object containing a list of counts for the specified dates.
+   */
+  public CompletableFuture<Photocounts> getCounts(List<Date> dates, List<Date> takenDates) {
+    return jinx.callAsync(() -> api.getCounts(dates, takenDates));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getExif(String, String)}.
+   *
+   * @param photoId Required. The id of the photo to fetch information for.
+   * @param secret  Optional. The secret for the photo. If the correct secret is passed then permissions checking is skipped. This enables the 'sharing' of individual photos by passing around the id and secret.
+   * @return future that completes with the object containing limited information about the photo, and a list of Exif data.
+   */
+  public CompletableFuture<ExifData> getExif(String photoId, String secret) {
+    return jinx.callAsync(() -> api.getExif(photoId, secret));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getFavorites(String, int, int)}.
+   *
+   * @param photoId Required. The id of the photo to fetch information for.
+   * @param page    page of results to return. If this argument is zero, it defaults to 1.
+   * @param perPage number of people to return per page. If this argument is zero, it defaults to 10. The maximum allowed value is 50.
+   * @return future that completes with the object containing limited information about the photo, and a list of people who have favorited the photo.
+   */
+  public CompletableFuture<Favorites> getFavorites(String photoId, int page, int perPage) {
+    return jinx.callAsync(() -> api.getFavorites(photoId, page, perPage));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getInfo(String, String)}.
+   *
+   * @param photoId Required. The id of the photo to get information for.
+   * @param secret  Optional. The secret for the photo. If the correct secret is passed then permissions checking is skipped. This enables the 'sharing' of individual photos by passing around the id and secret.
+   * @return future that completes with the object with available information for the photo.
+   */
+  public CompletableFuture<PhotoInfo> getInfo(String photoId, String secret) {
+    return jinx.callAsync(() -> api.getInfo(photoId, secret));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getNotInSet(Date, Date, Date, Date, JinxConstants.PrivacyFilter, JinxConstants.MediaType, EnumSet, int, int)}.
+   *
+   * @param minUploadDate Optional. Minimum upload date. Photos with an upload date greater than or equal to this value will be returned.
+   * @param maxUploadDate Optional. Maximum upload date. Photos with an upload date less than or equal to this value will be returned.
+   * @param minTakenDate  Optional. Minimum taken date. Photos with an taken date greater than or equal to this value will be returned.
+   * @param maxTakenDate  Optional. Maximum taken date. Photos with an taken date less than or equal to this value will be returned.
+   * @param privacyFilter Optional. Return photos only matching a certain privacy level.
+   * @param mediaType     Optional. Filter results by media type.
+   * @param extras        Optional. Extra information to fetch for each returned record.
+   * @param perPage       Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page          Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> getNotInSet(Date minUploadDate, Date maxUploadDate, Date minTakenDate,
+                                               Date maxTakenDate, JinxConstants.PrivacyFilter privacyFilter,
+                                               JinxConstants.MediaType mediaType,
+                                               EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getNotInSet(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, mediaType, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getPerms(String)}.
+   *
+   * @param photoId Required. The id of the photo to fetch permissions for.
+   * @return future that completes with the object with permissions for the photo.
+   */
+  public CompletableFuture<PhotoPerms> getPerms(String photoId) {
+    return jinx.callAsync(() -> api.getPerms(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getRecent(EnumSet, int, int)}.
+   *
+   * @param extras  Optional. Extra information to fetch for each returned record.
+   * @param perPage Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page    Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> getRecent(EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getRecent(extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getSizes(String)}.
+   *
+   * @param photoId Required. The id of the photo to fetch permissions for.
+   * @return future that completes with the object with available size information.
+   */
+  public CompletableFuture<PhotoSizes> getSizes(String photoId) {
+    return jinx.callAsync(() -> api.getSizes(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getUntagged(Date, Date, Date, Date, JinxConstants.PrivacyFilter, JinxConstants.MediaType, EnumSet, int, int)}.
+   *
+   * @param minUploadDate Optional. Minimum upload date. Photos with an upload date greater than or equal to this value will be returned.
+   * @param maxUploadDate Optional. Maximum upload date. Photos with an upload date less than or equal to this value will be returned.
+   * @param minTakenDate  Optional. Minimum taken date. Photos with an taken date greater than or equal to this value will be returned.
+   * @param maxTakenDate  Optional. Maximum taken date. Photos with an taken date less than or equal to this value will be returned.
+   * @param privacyFilter Optional. Return photos only matching a certain privacy level.
+   * @param mediaType     Optional. Filter results by media type.
+   * @param extras        Optional. Extra information to fetch for each returned record.
+   * @param perPage       Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page          Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> getUntagged(Date minUploadDate, Date maxUploadDate, Date minTakenDate,
+                                               Date maxTakenDate, JinxConstants.PrivacyFilter privacyFilter,
+                                               JinxConstants.MediaType mediaType,
+                                               EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getUntagged(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, mediaType, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getWithGeoData(Date, Date, Date, Date, JinxConstants.PrivacyFilter, JinxConstants.SortOrder, JinxConstants.MediaType, EnumSet, int, int)}.
+   *
+   * @param minUploadDate Optional. Minimum upload date. Photos with an upload date greater than or equal to this value will be returned.
+   * @param maxUploadDate Optional. Maximum upload date. Photos with an upload date less than or equal to this value will be returned.
+   * @param minTakenDate  Optional. Minimum taken date. Photos with an taken date greater than or equal to this value will be returned.
+   * @param maxTakenDate  Optional. Maximum taken date. Photos with an taken date less than or equal to this value will be returned.
+   * @param privacyFilter Optional. Return photos only matching a certain privacy level.
+   * @param sortOrder     Optional. The order in which to sort returned photos. If null, defaults to {@link net.jeremybrooks.jinx.JinxConstants.SortOrder#date_posted_desc}.
+   * @param mediaType     Optional. Filter results by media type.
+   * @param extras        Optional. Extra information to fetch for each returned record.
+   * @param perPage       Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page          Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> getWithGeoData(Date minUploadDate, Date maxUploadDate, Date minTakenDate,
+                                                  Date maxTakenDate, JinxConstants.PrivacyFilter privacyFilter,
+                                                  JinxConstants.SortOrder sortOrder, JinxConstants.MediaType mediaType,
+                                                  EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getWithGeoData(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, sortOrder, mediaType, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#getWithoutGeoData(Date, Date, Date, Date, JinxConstants.PrivacyFilter, JinxConstants.SortOrder, JinxConstants.MediaType, EnumSet, int, int)}.
+   *
+   * @param minUploadDate Optional. Minimum upload date. Photos with an upload date greater than or equal to this value will be returned.
+   * @param maxUploadDate Optional. Maximum upload date. Photos with an upload date less than or equal to this value will be returned.
+   * @param minTakenDate  Optional. Minimum taken date. Photos with an taken date greater than or equal to this value will be returned.
+   * @param maxTakenDate  Optional. Maximum taken date. Photos with an taken date less than or equal to this value will be returned.
+   * @param privacyFilter Optional. Return photos only matching a certain privacy level.
+   * @param sortOrder     Optional. The order in which to sort returned photos. If null, defaults to {@link net.jeremybrooks.jinx.JinxConstants.SortOrder#date_posted_desc}.
+   * @param mediaType     Optional. Filter results by media type.
+   * @param extras        Optional. Extra information to fetch for each returned record.
+   * @param perPage       Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page          Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> getWithoutGeoData(Date minUploadDate, Date maxUploadDate, Date minTakenDate,
+                                                     Date maxTakenDate, JinxConstants.PrivacyFilter privacyFilter,
+                                                     JinxConstants.SortOrder sortOrder,
+                                                     JinxConstants.MediaType mediaType,
+                                                     EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.getWithoutGeoData(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, sortOrder, mediaType, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#recentlyUpdated(Date, Set, int, int)}.
+   *
+   * @param minDate Required. The date from which modifications should be compared.
+   * @param extras  Optional. Extra information to fetch for each returned record.
+   * @param perPage Optional. Number of photos to return per page. If this argument is zero, it defaults to 100. The maximum allowed value is 500.
+   * @param page    Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @return future that completes with the photos object.
+   */
+  public CompletableFuture<Photos> recentlyUpdated(Date minDate, Set<JinxConstants.PhotoExtras> extras, int perPage,
+                                                   int page) {
+    return jinx.callAsync(() -> api.recentlyUpdated(minDate, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#removeTag(String)}.
+   *
+   * @param tagId tag to remove from the photo. This parameter should contain the full tag id.
+   * @return future that completes with the response object indicating the result of the requested operation.
+   */
+  public CompletableFuture<Response> removeTag(String tagId) {
+    return jinx.callAsync(() -> api.removeTag(tagId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#search(SearchParameters)}.
+   *
+   * @param searchParameters Required. Object defining the parameters for the search.
+   * @return future that completes with the photos matching the search parameters.
+   */
+  public CompletableFuture<Photos> search(SearchParameters searchParameters) {
+    return jinx.callAsync(() -> api.search(searchParameters));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setContentType(String, JinxConstants.ContentType)}.
+   *
+   * @param photoId     Required. The id of the photo to set the content of.
+   * @param contentType Required. Content type of the photo.
+   * @return future that completes with the response object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> setContentType(String photoId, JinxConstants.ContentType contentType) {
+    return jinx.callAsync(() -> api.setContentType(photoId, contentType));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setDates(String, Date, Date, int)}.
+   *
+   * @param photoId              Required. The id of the photo to change dates for.
+   * @param datePosted           Optional. date the photo was uploaded to flickr
+   * @param dateTaken            Optional. date the photo was taken.
+   * @param dateTakenGranularity Optional. granularity of the date the photo was taken.
+   * @return future that completes with the response object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> setDates(String photoId, Date datePosted, Date dateTaken,
+                                              int dateTakenGranularity) {
+    return jinx.callAsync(() -> api.setDates(photoId, datePosted, dateTaken, dateTakenGranularity));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setMeta(String, String, String)}.
+   *
+   * @param photoId     Required. The id of the photo to set metadata for.
+   * @param title       Required. Title for the photo.
+   * @param description Required. Description for the photo.
+   * @return future that completes with the response object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> setMeta(String photoId, String title, String description) {
+    return jinx.callAsync(() -> api.setMeta(photoId, title, description));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setPerms(String, boolean, boolean, boolean, JinxConstants.Perms, JinxConstants.Perms)}.
+   *
+   * @param photoId     Required. The id of the photo to set permissions for.
+   * @param isPublic    Required. True to set the photo to public, false to set it to private.
+   * @param isFriend    Required. True to make the photo visible to friends when private, false to not.
+   * @param isFamily    Required. True to make the photo visible to family when private, false to not.
+   * @param permComment Required. Who can add comments to the photo and it's notes.
+   * @param permAddMeta Required. Who can add notes and tags to the photo.
+   * @return future that completes with the object with the results.
+   */
+  public CompletableFuture<PermsSetResponse> setPerms(String photoId, boolean isPublic, boolean isFriend,
+                                                      boolean isFamily, JinxConstants.Perms permComment,
+                                                      JinxConstants.Perms permAddMeta) {
+    return jinx.callAsync(() -> api.setPerms(photoId, isPublic, isFriend, isFamily, permComment, permAddMeta));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setSafetyLevel(String, JinxConstants.SafetyLevel, boolean)}.
+   *
+   * @param photoId     Required. The id of the photo to set the adultness of.
+   * @param safetyLevel Optional. Safely level of the photo.
+   * @param hidden      Whether or not to additionally hide the photo from public searches.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> setSafetyLevel(String photoId, JinxConstants.SafetyLevel safetyLevel,
+                                                    boolean hidden) {
+    return jinx.callAsync(() -> api.setSafetyLevel(photoId, safetyLevel, hidden));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosApi#setTags(String, List)}.
+   *
+   * @param photoId id of the photo to set tags for.
+   * @param tags    all tags for the photo, one tag per list element. If this parameter is null or empty, all tags will be removed from the photo.
+   * @return future that completes with the response object with status of the requested operation.
+   */
+  public CompletableFuture<Response> setTags(String photoId, List<String> tags) {
+    return jinx.callAsync(() -> api.setTags(photoId, tags));
+  }
+}
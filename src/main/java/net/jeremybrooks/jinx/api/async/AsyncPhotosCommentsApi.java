@@ -0,0 +1,112 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosCommentsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.comments.Comment;
+import net.jeremybrooks.jinx.response.photos.comments.Comments;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosCommentsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosCommentsApi
+ */
+public class AsyncPhotosCommentsApi {
+  private final Jinx jinx;
+  private final PhotosCommentsApi api;
+
+  public AsyncPhotosCommentsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosCommentsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosCommentsApi#addComment(String, String)}.
+   *
+   * @param photoId     (Required) The id of the photo to add a comment to.
+   * @param commentText (Required) Text of the comment.
+   * @return future that completes with the object containing information about the newly added comment.
+   */
+  public CompletableFuture<Comment> addComment(String photoId, String commentText) {
+    return jinx.callAsync(() -> api.addComment(photoId, commentText));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosCommentsApi#deleteComment(String)}.
+   *
+   * @param commentId (Required) The id of the comment to delete.
+   * @return future that completes with the object with the status of the delete operation.
+   */
+  public CompletableFuture<Response> deleteComment(String commentId) {
+    return jinx.callAsync(() -> api.deleteComment(commentId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosCommentsApi#editComment(String, String)}.
+   *
+   * @param commentId   (Required) The id of the comment to edit.
+   * @param commentText (Required) Update the comment to this text.
+   * @return future that completes with the object with the status of the edit operation.
+   */
+  public CompletableFuture<Response> editComment(String commentId, String commentText) {
+    return jinx.callAsync(() -> api.editComment(commentId, commentText));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosCommentsApi#getList(String, String, String, boolean)}.
+   *
+   * @param photoId        (Required) The id of the photo to fetch comments for.
+   * @param minCommentDate (Optional) Minimum date that a a comment was added. The date should be in the form of a unix timestamp.
+   * @param maxCommentDate (Optional) Maximum date that a comment was added. The date should be in the form of a unix timestamp.
+   * @param sign           if true, the request will be signed.
+   * @return future that completes with the object with a list of comments for the specified photo.
+   */
+  public CompletableFuture<Comments> getList(String photoId, String minCommentDate, String maxCommentDate,
+                                             boolean sign) {
+    return jinx.callAsync(() -> api.getList(photoId, minCommentDate, maxCommentDate, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosCommentsApi#getRecentForContacts(String, List, EnumSet, int, int)}.
+   *
+   * @param dateLastComment (Optional) Limits the results to photos that have been commented on since this date. The date should be in the form of a Unix timestamp. The default, and maximum, offset is one hour.
+   * @param contactsFilter  (Optional) A list of user id's to limit the scope of the query to.
+   * @param extras          (Optional) Extra information to fetch for each returned record.
+   * @param perPage         Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page            The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @return future that completes with the photos object with list of photos from your contacts that have been commented on recently.
+   */
+  public CompletableFuture<Photos> getRecentForContacts(String dateLastComment, List<String> contactsFilter,
+                                                        EnumSet<JinxConstants.PhotoExtras> extras, int perPage,
+                                                        int page) {
+    return jinx.callAsync(() -> api.getRecentForContacts(dateLastComment, contactsFilter, extras, perPage, page));
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosGeoApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.geo.GeoPerms;
+import net.jeremybrooks.jinx.response.photos.geo.Location;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosGeoApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosGeoApi
+ */
+public class AsyncPhotosGeoApi {
+  private final Jinx jinx;
+  private final PhotosGeoApi api;
+
+  public AsyncPhotosGeoApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosGeoApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#batchCorrectLocation(Float, Float, Integer, String, String)}.
+   *
+   * @param lat      (Required) The latitude of the photos to be update whose valid range is -90 to 90. Anything more than 6 decimal places will be truncated.
+   * @param lon      (Required) The longitude of the photos to be updated whose valid range is -180 to 180. Anything more than 6 decimal places will be truncated.
+   * @param accuracy (Required) Recorded accuracy level of the photos to be updated. World level is 1, Country is ~3, Region ~6, City ~11, Street ~16. Current range is 1-16.
+   * @param placeId  A Flickr Places ID. (While optional, you must pass either a valid Places ID or a WOE ID.)
+   * @param woeId    A Where On Earth (WOE) ID. (While optional, you must pass either a valid Places ID or a WOE ID.)
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> batchCorrectLocation(Float lat, Float lon, Integer accuracy, String placeId,
+                                                          String woeId) {
+    return jinx.callAsync(() -> api.batchCorrectLocation(lat, lon, accuracy, placeId, woeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#correctLocation(String, String, String, String)}.
+   *
+   * @param photoId      (Required) The ID of the photo whose WOE location is being corrected.
+   * @param placeId      A Flickr Places ID. (While optional, you must pass either a valid Places ID or a WOE ID.)
+   * @param woeId        A Where On Earth (WOE) ID. (While optional, you must pass either a valid Places ID or a WOE ID.)
+   * @param foursquareId The venue ID for a Foursquare location. (If not passed in with correction, any existing foursquare venue will be removed).
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> correctLocation(String photoId, String placeId, String woeId,
+                                                     String foursquareId) {
+    return jinx.callAsync(() -> api.correctLocation(photoId, placeId, woeId, foursquareId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#getLocation(String, boolean)}.
+   *
+   * @param photoId (Required) The id of the photo you want to retrieve location data for.
+   * @param sign    if true, the request will be signed.
+   * @return future that completes with the location data for the specified photo.
+   */
+  public CompletableFuture<Location> getLocation(String photoId, boolean sign) {
+    return jinx.callAsync(() -> api.getLocation(photoId, sign));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#getGeoPerms(String)}.
+   *
+   * @param photoId (Required) The id of the photo to get permissions for.
+   * @return future that completes with the object with the geo permissions for the specified photo.
+   */
+  public CompletableFuture<GeoPerms> getGeoPerms(String photoId) {
+    return jinx.callAsync(() -> api.getGeoPerms(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#photosForLocation(Float, Float, Integer, EnumSet, int, int)}.
+   *
+   * @param lat      (Required) The latitude whose valid range is -90 to 90. Anything more than 6 decimal places will be truncated.
+   * @param lon      (Required) The longitude whose valid range is -180 to 180. Anything more than 6 decimal places will be truncated.
+   * @param accuracy (Optional) Recorded accuracy level of the location information. World level is 1, Country is ~3, Region ~6, City ~11, Street ~16. Current range is 1-16. Defaults to 16 if not specified.
+   * @param extras   (Optional) extra information to fetch for each returned photo.
+   * @param perPage  Number of photos to return per page. If this argument is less than 1, it defaults to 100. The maximum allowed value is 500.
+   * @param page     The page of results to return. If this argument is less than 1, it defaults to 1.
+   * @return future that completes with the photos object with photos in the requested range.
+   */
+  public CompletableFuture<Photos> photosForLocation(Float lat, Float lon, Integer accuracy,
+                                                     EnumSet<JinxConstants.PhotoExtras> extras, int perPage, int page) {
+    return jinx.callAsync(() -> api.photosForLocation(lat, lon, accuracy, extras, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#removeLocation(String)}.
+   *
+   * @param photoId (Required) The id of the photo you want to remove location data from.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> removeLocation(String photoId) {
+    return jinx.callAsync(() -> api.removeLocation(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#setContext(String, JinxConstants.GeoContext)}.
+   *
+   * @param photoId (Required) The id of the photo to set context data for.
+   * @param context (Required) The photo's geotagginess beyond latitude and longitude.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> setContext(String photoId, JinxConstants.GeoContext context) {
+    return jinx.callAsync(() -> api.setContext(photoId, context));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#setLocation(String, Float, Float, Integer, JinxConstants.GeoContext)}.
+   *
+   * @param photoId  (Required) The id of the photo to set location data for.
+   * @param lat      (Required) The latitude whose valid range is -90 to 90. Anything more than 6 decimal places will be truncated.
+   * @param lon      (Required) The longitude whose valid range is -180 to 180. Anything more than 6 decimal places will be truncated.
+   * @param accuracy (Optional) Recorded accuracy level of the location information. World level is 1, Country is ~3, Region ~6, City ~11, Street ~16. Current range is 1-16. Defaults to 16 if not specified.
+   * @param context  (Optional) The photo's geotagginess beyond latitude and longitude.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> setLocation(String photoId, Float lat, Float lon, Integer accuracy,
+                                                 JinxConstants.GeoContext context) {
+    return jinx.callAsync(() -> api.setLocation(photoId, lat, lon, accuracy, context));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosGeoApi#setPerms(String, boolean, boolean, boolean, boolean)}.
+   *
+   * @param photoId   (Required) The id of the photo to set permissions for.
+   * @param isPublic  viewing permissions for the photo location data to public.
+   * @param isContact viewing permissions for the photo location data to contacts.
+   * @param isFriend  viewing permissions for the photo location data to friends.
+   * @param isFamily  viewing permissions for the photo location data to family.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> setPerms(String photoId, boolean isPublic, boolean isContact, boolean isFriend,
+                                              boolean isFamily) {
+    return jinx.callAsync(() -> api.setPerms(photoId, isPublic, isContact, isFriend, isFamily));
+  }
+}
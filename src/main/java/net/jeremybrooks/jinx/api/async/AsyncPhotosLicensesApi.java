@@ -0,0 +1,65 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.PhotosLicensesApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.licenses.Licenses;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosLicensesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosLicensesApi
+ */
+public class AsyncPhotosLicensesApi {
+  private final Jinx jinx;
+  private final PhotosLicensesApi api;
+
+  public AsyncPhotosLicensesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosLicensesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosLicensesApi#getInfo()}.
+   *
+   * @return future that completes with the object containing a list of currently available licenses.
+   */
+  public CompletableFuture<Licenses> getInfo() {
+    return jinx.callAsync(() -> api.getInfo());
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosLicensesApi#setLicense(String, Integer)}.
+   *
+   * @param photoId   (Required) The photo to update the license for.
+   * @param licenseId (Required) The license to apply, or 0 (zero) to remove the current license. Note: as of this writing the "no known copyright restrictions" license (7) is not a valid argument.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> setLicense(String photoId, Integer licenseId) {
+    return jinx.callAsync(() -> api.setLicense(photoId, licenseId));
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.PhotosNotesApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.notes.Note;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosNotesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosNotesApi
+ */
+public class AsyncPhotosNotesApi {
+  private final Jinx jinx;
+  private final PhotosNotesApi api;
+
+  public AsyncPhotosNotesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosNotesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosNotesApi#add(String, int, int, int, int, String)}.
+   *
+   * @param photoId    (Required) The id of the photo to add a note to.
+   * @param noteX      (Required) The left coordinate of the note.
+   * @param noteY      (Required) The top coordinate of the note.
+   * @param noteWidth  (Required) The width of the note.
+   * @param noteHeight (Required) The height of the note.
+   * @param noteText   (Required) The text of the note.
+   * @return future that completes with the object with the ID for the newly created note.
+   */
+  public CompletableFuture<Note> add(String photoId, int noteX, int noteY, int noteWidth, int noteHeight,
+                                     String noteText) {
+    return jinx.callAsync(() -> api.add(photoId, noteX, noteY, noteWidth, noteHeight, noteText));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosNotesApi#edit(String, int, int, int, int, String)}.
+   *
+   * @param noteId     (Required) The id of the note to edit.
+   * @param noteX      (Required) The left coordinate of the note.
+   * @param noteY      (Required) The top coordinate of the note.
+   * @param noteWidth  (Required) The width of the note.
+   * @param noteHeight (Required) The height of the note.
+   * @param noteText   (Required) The text of the note.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> edit(String noteId, int noteX, int noteY, int noteWidth, int noteHeight,
+                                          String noteText) {
+    return jinx.callAsync(() -> api.edit(noteId, noteX, noteY, noteWidth, noteHeight, noteText));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosNotesApi#delete(String)}.
+   *
+   * @param noteId (Required) The id of the note to delete.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> delete(String noteId) {
+    return jinx.callAsync(() -> api.delete(noteId));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.PhotosPeopleApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.people.People;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosPeopleApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosPeopleApi
+ */
+public class AsyncPhotosPeopleApi {
+  private final Jinx jinx;
+  private final PhotosPeopleApi api;
+
+  public AsyncPhotosPeopleApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosPeopleApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosPeopleApi#add(String, String, Integer, Integer, Integer, Integer)}.
+   *
+   * @param photoId (Required) The id of the photo to add a person to.
+   * @param userId  (Required) The id of the user to add to the photo.
+   * @param x       (Optional) The left-most pixel co-ordinate of the box around the person.
+   * @param y       (Optional) The top-most pixel co-ordinate of the box around the person.
+   * @param width   (Optional) The width (in pixels) of the box around the person.
+   * @param height  (Optional) The height (in pixels) of the box around the person.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> add(String photoId, String userId, Integer x, Integer y, Integer width,
+                                         Integer height) {
+    return jinx.callAsync(() -> api.add(photoId, userId, x, y, width, height));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosPeopleApi#delete(String, String)}.
+   *
+   * @param photoId (Required) The id of the photo to remove a person from.
+   * @param userId  (Required) The user id of the person to remove from the photo.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> delete(String photoId, String userId) {
+    return jinx.callAsync(() -> api.delete(photoId, userId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosPeopleApi#deleteCoords(String, String)}.
+   *
+   * @param photoId (Required) The id of the photo to edit a person in.
+   * @param userId  (Required) The user id of the person whose bounding box you want to remove.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> deleteCoords(String photoId, String userId) {
+    return jinx.callAsync(() -> api.deleteCoords(photoId, userId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosPeopleApi#editCoords(String, String, Integer, Integer, Integer, Integer)}.
+   *
+   * @param photoId (Required) The id of the photo to edit a person in.
+   * @param userId  (Required) The user id of the person to edit in a photo.
+   * @param x       (Required) The left-most pixel co-ordinate of the box around the person.
+   * @param y       (Required) The top-most pixel co-ordinate of the box around the person.
+   * @param width   (Required) The width (in pixels) of the box around the person.
+   * @param height  (Required) The height (in pixels) of the box around the person.
+   * @return future that completes with the object with the status of the requested operation.
+   */
+  public CompletableFuture<Response> editCoords(String photoId, String userId, Integer x, Integer y, Integer width,
+                                                Integer height) {
+    return jinx.callAsync(() -> api.editCoords(photoId, userId, x, y, width, height));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosPeopleApi#getList(String)}.
+   *
+   * @param photoId (Required) The id of the photo to get a list of people for.
+   * @return future that completes with the list of people in the photo.
+   */
+  public CompletableFuture<People> getList(String photoId) {
+    return jinx.callAsync(() -> api.getList(photoId));
+  }
+}
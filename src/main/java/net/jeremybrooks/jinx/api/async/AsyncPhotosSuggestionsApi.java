@@ -0,0 +1,104 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosSuggestionsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.suggestions.Suggestions;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosSuggestionsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosSuggestionsApi
+ */
+public class AsyncPhotosSuggestionsApi {
+  private final Jinx jinx;
+  private final PhotosSuggestionsApi api;
+
+  public AsyncPhotosSuggestionsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosSuggestionsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosSuggestionsApi#approveSuggestion(String)}.
+   *
+   * @param suggestionId (Required) The unique ID for the location suggestion to approve.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> approveSuggestion(String suggestionId) {
+    return jinx.callAsync(() -> api.approveSuggestion(suggestionId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosSuggestionsApi#getList(String, JinxConstants.SuggestionStatus)}.
+   *
+   * @param photoId (Optional) Only show suggestions for this photo.
+   * @param status  (Optional) Only show suggestions with a given status. If this is null, the default is pending.
+   * @return future that completes with the object with a list of the suggestions.
+   */
+  public CompletableFuture<Suggestions> getList(String photoId, JinxConstants.SuggestionStatus status) {
+    return jinx.callAsync(() -> api.getList(photoId, status));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosSuggestionsApi#rejectSuggestion(String)}.
+   *
+   * @param suggestionId (Required) The unique ID of the suggestion to reject.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> rejectSuggestion(String suggestionId) {
+    return jinx.callAsync(() -> api.rejectSuggestion(suggestionId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosSuggestionsApi#removeSuggestion(String)}.
+   *
+   * @param suggestionId (Required) The unique ID for the location suggestion to approve.
+   * @return future that completes with the object with the result of the requested operation.
+   */
+  public CompletableFuture<Response> removeSuggestion(String suggestionId) {
+    return jinx.callAsync(() -> api.removeSuggestion(suggestionId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosSuggestionsApi#suggestLocation(String, Float, Float, Integer, String, String, String)}.
+   *
+   * @param photoId  (Required) The photo whose location you are suggesting.
+   * @param lat      (Required) The latitude whose valid range is -90 to 90. Anything more than 6 decimal places will be truncated.
+   * @param lon      (Required) The longitude whose valid range is -180 to 180. Anything more than 6 decimal places will be truncated.
+   * @param accuracy (Optional) Recorded accuracy level of the location information. World level is 1, Country is ~3, Region ~6, City ~11, Street ~16. Current range is 1-16. Defaults to 16 if not specified.
+   * @param woeId    (Optional) The WOE ID of the location used to build the location hierarchy for the photo.
+   * @param placeId  (Optional) The Flickr Places ID of the location used to build the location hierarchy for the photo.
+   * @param note     (Optional) A short note or history to include with the suggestion.
+   * @return future that completes with the suggestions object with a single suggestion, with only the id set.
+   */
+  public CompletableFuture<Suggestions> suggestLocation(String photoId, Float lat, Float lon, Integer accuracy,
+                                                        String woeId, String placeId, String note) {
+    return jinx.callAsync(() -> api.suggestLocation(photoId, lat, lon, accuracy, woeId, placeId, note));
+  }
+}
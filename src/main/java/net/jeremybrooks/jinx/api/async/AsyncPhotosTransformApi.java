@@ -0,0 +1,56 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosTransformApi;
+import net.jeremybrooks.jinx.response.photos.transform.TransformResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosTransformApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosTransformApi
+ */
+public class AsyncPhotosTransformApi {
+  private final Jinx jinx;
+  private final PhotosTransformApi api;
+
+  public AsyncPhotosTransformApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosTransformApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosTransformApi#rotate(String, JinxConstants.RotateDegrees)}.
+   *
+   * @param photoId (Required) The id of the photo to rotate.
+   * @param degrees (Required) The amount of degrees by which to rotate the photo (clockwise) from it's current orientation.
+   * @return future that completes with the object with the photo id and secrets.
+   */
+  public CompletableFuture<TransformResult> rotate(String photoId, JinxConstants.RotateDegrees degrees) {
+    return jinx.callAsync(() -> api.rotate(photoId, degrees));
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosUploadApi;
+import net.jeremybrooks.jinx.response.photos.upload.CheckTicketsResponse;
+import net.jeremybrooks.jinx.response.photos.upload.ReplaceResponse;
+import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosUploadApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosUploadApi
+ */
+public class AsyncPhotosUploadApi {
+  private final Jinx jinx;
+  private final PhotosUploadApi api;
+
+  public AsyncPhotosUploadApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosUploadApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosUploadApi#checkTickets(List)}.
+   *
+   * @param tickets (Required) list of ticket id's.
+   * @return future that completes with the object with status of each ticket.
+   */
+  public CompletableFuture<CheckTicketsResponse> checkTickets(List<String> tickets) {
+    return jinx.callAsync(() -> api.checkTickets(tickets));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosUploadApi#upload(File, String, String, List, Boolean, Boolean, Boolean, JinxConstants.SafetyLevel, JinxConstants.ContentType, Boolean, Boolean)}.
+   *
+   * @param photo       (Required) the photo or video file to upload.
+   * @param title       (Optional) the title of the photo or video.
+   * @param description (Optional) the description of the photo or video.
+   * @param tags        (Optional) list of tags to apply to the photo or video.
+   * @param isPublic    (Optional) is photo/video visible to everyone. This is the default if none of isPublic, isFriends, or isFamily is specified.
+   * @param isFriend    (Optional) is photo/video visible only to friends.
+   * @param isFamily    (Optional) is photo/video visible only to family.
+   * @param safetyLevel (Optional) safety level of the photo or video.
+   * @param contentType (Optional) content type of the upload.
+   * @param hidden      (Optional) if true, photo/video will be hidden from public searches. If false or null, it will be included in public searches.
+   * @param async       if true, the photo/video will be uploaded using the Flickr async API.
+   * @return future that completes with the object with the results of the upload. Successful synchronous uploads will contain a photo id; successful asynchronous uploads will include a ticket id.
+   */
+  public CompletableFuture<UploadResponse> upload(File photo, String title, String description, List<String> tags,
+                                                  Boolean isPublic, Boolean isFriend, Boolean isFamily,
+                                                  JinxConstants.SafetyLevel safetyLevel,
+                                                  JinxConstants.ContentType contentType, Boolean hidden,
+                                                  Boolean async) {
+    return jinx.callAsync(() -> api.upload(photo, title, description, tags, isPublic, isFriend, isFamily, safetyLevel, contentType, hidden, async));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosUploadApi#upload(byte[], String, String, List, Boolean, Boolean, Boolean, JinxConstants.SafetyLevel, JinxConstants.ContentType, Boolean, Boolean)}.
+   *
+   * @param photoData   (Required) the photo data to upload.
+   * @param title       (Optional) the title of the photo.
+   * @param description (Optional) the description of the photo.
+   * @param tags        (Optional) list of tags to apply to the photo.
+   * @param isPublic    (Optional) is photo visible to everyone. This is the default if none of isPublic, isFriends, or isFamily is specified.
+   * @param isFriend    (Optional) is photo visible only to friends.
+   * @param isFamily    (Optional) is photo visible only to family.
+   * @param safetyLevel (Optional) safety level of the photo.
+   * @param contentType (Optional) content type of the upload.
+   * @param hidden      (Optional) if true, photo will be hidden from public searches. If false or null, it will be included in public searches.
+   * @param async       if true, the photo will be uploaded using the Flickr async API.
+   * @return future that completes with the object with the results of the upload. Successful synchronous uploads will contain a photo id; successful asynchronous uploads will include a ticket id.
+   */
+  public CompletableFuture<UploadResponse> upload(byte[] photoData, String title, String description, List<String> tags,
+                                                  Boolean isPublic, Boolean isFriend, Boolean isFamily,
+                                                  JinxConstants.SafetyLevel safetyLevel,
+                                                  JinxConstants.ContentType contentType, Boolean hidden,
+                                                  Boolean async) {
+    return jinx.callAsync(() -> api.upload(photoData, title, description, tags, isPublic, isFriend, isFamily, safetyLevel, contentType, hidden, async));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosUploadApi#replace(File, String, Boolean)}.
+   *
+   * @param photo   (Required) the photo or video file to replace existing content.
+   * @param photoId (Required) the id of the existing photo or video to be replaced.
+   * @param async   if true, the photo will be uploaded using the Flickr async API.
+   * @return future that completes with the object with the results of the upload. Successful synchronous uploads will contain a photo id; successful asynchronous uploads will include a ticket id.
+   */
+  public CompletableFuture<ReplaceResponse> replace(File photo, String photoId, Boolean async) {
+    return jinx.callAsync(() -> api.replace(photo, photoId, async));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosUploadApi#replace(byte[], String, Boolean)}.
+   *
+   * @param photoData (Required) the photo or video data to replace existing content.
+   * @param photoId   (Required) the id of the existing photo or video to be replaced.
+   * @param async     if true, the photo will be uploaded using the Flickr async API.
+   * @return future that completes with the object with the results of the upload. Successful synchronous uploads will contain a photo id; successful asynchronous uploads will include a ticket id.
+   */
+  public CompletableFuture<ReplaceResponse> replace(byte[] photoData, String photoId, Boolean async) {
+    return jinx.callAsync(() -> api.replace(photoData, photoId, async));
+  }
+}
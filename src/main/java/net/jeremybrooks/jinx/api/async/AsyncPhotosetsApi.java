@@ -0,0 +1,214 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PhotosetsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.common.Context;
+import net.jeremybrooks.jinx.response.photosets.PhotosetInfo;
+import net.jeremybrooks.jinx.response.photosets.PhotosetList;
+import net.jeremybrooks.jinx.response.photosets.PhotosetPhotos;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosetsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosetsApi
+ */
+public class AsyncPhotosetsApi {
+  private final Jinx jinx;
+  private final PhotosetsApi api;
+
+  public AsyncPhotosetsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosetsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#addPhoto(String, String)}.
+   *
+   * @param photosetId id of the photoset to add a photo to. Required.
+   * @param photoId    id of the photo to add to the set. Required.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> addPhoto(String photosetId, String photoId) {
+    return jinx.callAsync(() -> api.addPhoto(photosetId, photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#create(String, String, String)}.
+   *
+   * @param title          title for the photoset. Required.
+   * @param description    description of the photoset. Optional.
+   * @param primaryPhotoId id of the photo to represent this set. The photo must belong to the calling user. Required.
+   * @return future that completes with the instances of {@link net.jeremybrooks.jinx.response.photosets.PhotosetInfo} with only the photosetId and url fields set.
+   */
+  public CompletableFuture<PhotosetInfo> create(String title, String description, String primaryPhotoId) {
+    return jinx.callAsync(() -> api.create(title, description, primaryPhotoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#delete(String)}.
+   *
+   * @param photosetId id of the photoset to delete. It must be owned by the calling user. Required.
+   * @return future that completes with the success response if it completes without error.
+   */
+  public CompletableFuture<Response> delete(String photosetId) {
+    return jinx.callAsync(() -> api.delete(photosetId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#editMeta(String, String, String)}.
+   *
+   * @param photosetId  id of the photoset to modify. Required.
+   * @param title       new title for the photoset. Required.
+   * @param description description of the photoset. May contain limited html.
+   * @return future that completes with the success response if it completes without error.
+   */
+  public CompletableFuture<Response> editMeta(String photosetId, String title, String description) {
+    return jinx.callAsync(() -> api.editMeta(photosetId, title, description));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#editPhotos(String, String, List)}.
+   *
+   * @param photosetId     id of the photoset to modify. The photoset must belong to the calling user. Required.
+   * @param primaryPhotoId id of the photo to use as the 'primary' photo for the set. This id must also be passed along in photo_ids list argument. Required.
+   * @param photoIds       list of photo ids to include in the set. They will appear in the set in the order sent. This list must contain the primary photo id. All photos must belong to the owner of the set. This list of photos replaces the existing list. Call addPhoto to append a photo to a set. Required.
+   * @return future that completes with the success response if it completes without error.
+   */
+  public CompletableFuture<Response> editPhotos(String photosetId, String primaryPhotoId, List<String> photoIds) {
+    return jinx.callAsync(() -> api.editPhotos(photosetId, primaryPhotoId, photoIds));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#getContext(String, String)}.
+   *
+   * @param photoId    id of the photo to fetch the context for. Required.
+   * @param photosetId id of the photoset for which to fetch the photo's context. Required.
+   * @return future that completes with the {@link net.jeremybrooks.jinx.response.common.Context} object with the photo context.
+   */
+  public CompletableFuture<Context> getContext(String photoId, String photosetId) {
+    return jinx.callAsync(() -> api.getContext(photoId, photosetId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#getInfo(String)}.
+   *
+   * @param photosetId the id of the photoset to fetch information for.
+   * @return future that completes with the instance of {@link net.jeremybrooks.jinx.response.photosets.PhotosetInfo} with data returned by the getInfo method. The url is not returned, and some of the counts are not returned by this method.
+   */
+  public CompletableFuture<PhotosetInfo> getInfo(String photosetId) {
+    return jinx.callAsync(() -> api.getInfo(photosetId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#getList(String, int, int, EnumSet)}.
+   *
+   * @param userId      Optional. The NSID of the user to get a photoset list for. If none is specified, the calling user is assumed.
+   * @param page        Optional. The page of results to get. Currently, if this is omitted, all sets are returned, but this behaviour may change in future. A value of zero will cause the parameter to be ignored.
+   * @param perPage     Optional. The number of sets to get per page. If paging is enabled, the maximum number of sets per page is 500. A value of zero will cause the parameter to be ignored.
+   * @param photoExtras Optional. A list of extra information to fetch for the primary photo.
+   * @return future that completes with the list of photosets belonging to the specified user.
+   */
+  public CompletableFuture<PhotosetList> getList(String userId, int page, int perPage,
+                                                 EnumSet<JinxConstants.PhotoExtras> photoExtras) {
+    return jinx.callAsync(() -> api.getList(userId, page, perPage, photoExtras));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#getPhotos(String, EnumSet, JinxConstants.PrivacyFilter, int, int, JinxConstants.MediaType)}.
+   *
+   * @param photosetId    id of the photoset to return photos for. Required.
+   * @param photoExtras   Optional. A list of extra information to fetch for the primary photo. Currently supported fields are: license, date_upload, date_taken, owner_name, icon_server, original_format, last_update, geo, tags, machine_tags, o_dims, views, media, path_alias, url_sq, url_t, url_s, url_m, url_o
+   * @param privacyFilter Optional. Return photos only matching a certain privacy level. This only applies when making an authenticated call to view a photoset you own.
+   * @param perPage       Optional. Number of photos to return per page. If this argument is zero, it defaults to 500. The maximum allowed value is 500.
+   * @param page          Optional. The page of results to return. If this argument is zero, it defaults to 1.
+   * @param mediaType     Optional. Filter results by media type.
+   * @return future that completes with the object containing some basic photoset metadata information, along with a list of photos in the photoset.
+   */
+  public CompletableFuture<PhotosetPhotos> getPhotos(String photosetId, EnumSet<JinxConstants.PhotoExtras> photoExtras,
+                                                     JinxConstants.PrivacyFilter privacyFilter, int perPage, int page,
+                                                     JinxConstants.MediaType mediaType) {
+    return jinx.callAsync(() -> api.getPhotos(photosetId, photoExtras, privacyFilter, perPage, page, mediaType));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#orderSets(List)}.
+   *
+   * @param photosetIds a list containing photoset IDs, ordered with the set to show first, first in the list. Any set IDs not given in the list will be set to appear at the end of the list, ordered by their IDs.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> orderSets(List<String> photosetIds) {
+    return jinx.callAsync(() -> api.orderSets(photosetIds));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#removePhoto(String, String)}.
+   *
+   * @param photosetId id of the photoset to remove a photo from.
+   * @param photoId    id of the photo to remove from the set.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> removePhoto(String photosetId, String photoId) {
+    return jinx.callAsync(() -> api.removePhoto(photosetId, photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#removePhotos(String, List)}.
+   *
+   * @param photosetId id of the photoset to remove a photo from.
+   * @param photoIds   list of photo id's to remove from the photoset.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> removePhotos(String photosetId, List<String> photoIds) {
+    return jinx.callAsync(() -> api.removePhotos(photosetId, photoIds));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#reorderPhotos(String, List)}.
+   *
+   * @param photosetId id of the photoset to remove a photo from.
+   * @param photoIds   ordered list of photo id's. Photos that are not in the list will keep their original order.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> reorderPhotos(String photosetId, List<String> photoIds) {
+    return jinx.callAsync(() -> api.reorderPhotos(photosetId, photoIds));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsApi#setPrimaryPhoto(String, String)}.
+   *
+   * @param photosetId id of the photoset to set primary photo of.
+   * @param photoId    id of the photo set set as primary.
+   * @return future that completes with an empty success response if it completes without error.
+   */
+  public CompletableFuture<Response> setPrimaryPhoto(String photosetId, String photoId) {
+    return jinx.callAsync(() -> api.setPrimaryPhoto(photosetId, photoId));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.PhotosetsCommentsApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photosets.comments.CommentAdd;
+import net.jeremybrooks.jinx.response.photosets.comments.CommentList;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PhotosetsCommentsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PhotosetsCommentsApi
+ */
+public class AsyncPhotosetsCommentsApi {
+  private final Jinx jinx;
+  private final PhotosetsCommentsApi api;
+
+  public AsyncPhotosetsCommentsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PhotosetsCommentsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsCommentsApi#addComment(String, String)}.
+   *
+   * @param photosetId id of the photoset to add a comment to.
+   * @param comment    text of the comment.
+   * @return future that completes with the object with the newly created comment's ID.
+   */
+  public CompletableFuture<CommentAdd> addComment(String photosetId, String comment) {
+    return jinx.callAsync(() -> api.addComment(photosetId, comment));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsCommentsApi#deleteComment(String)}.
+   *
+   * @param commentId id of the comment to delete from a photoset.
+   * @return future that completes with the response object with status and any error messages.
+   */
+  public CompletableFuture<Response> deleteComment(String commentId) {
+    return jinx.callAsync(() -> api.deleteComment(commentId));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsCommentsApi#editComment(String, String)}.
+   *
+   * @param commentId id of the comment to edit.
+   * @param comment   text of the updated comment.
+   * @return future that completes with the response object with status and any error messages.
+   */
+  public CompletableFuture<Response> editComment(String commentId, String comment) {
+    return jinx.callAsync(() -> api.editComment(commentId, comment));
+  }
+
+  /**
+   * Asynchronous version of {@link PhotosetsCommentsApi#getList(String)}.
+   *
+   * @param photosetId id of the photoset to fetch comments for.
+   * @return future that completes with the comment list object.
+   */
+  public CompletableFuture<CommentList> getList(String photosetId) {
+    return jinx.callAsync(() -> api.getList(photosetId));
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PlacesApi;
+import net.jeremybrooks.jinx.response.places.PlaceInfo;
+import net.jeremybrooks.jinx.response.places.PlaceTypes;
+import net.jeremybrooks.jinx.response.places.Places;
+import net.jeremybrooks.jinx.response.places.ShapeHistory;
+import net.jeremybrooks.jinx.response.tags.Tags;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PlacesApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PlacesApi
+ */
+public class AsyncPlacesApi {
+  private final Jinx jinx;
+  private final PlacesApi api;
+
+  public AsyncPlacesApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PlacesApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#find(String)}.
+   *
+   * @param query query string to user for place lookup. Required.
+   * @return future that completes with the places that match the query string.
+   */
+  public CompletableFuture<Places> find(String query) {
+    return jinx.callAsync(() -> api.find(query));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#findByLatLon(Float, Float, Integer)}.
+   *
+   * @param latitude  the latitude whose valid range is -90 to 90. Anything more than 4 decimal places will be truncated. (Required)
+   * @param longitude the longitude whose valid range is -180 to 180. Anything more than 4 decimal places will be truncated. (Required)
+   * @param accuracy  Recorded accuracy level of the location information. World level is 1, Country is ~3, Region ~6, City ~11, Street ~16. Current range is 1-16. The default is 16. (Optional)
+   * @return future that completes with the places that match the location criteria.
+   */
+  public CompletableFuture<Places> findByLatLon(Float latitude, Float longitude, Integer accuracy) {
+    return jinx.callAsync(() -> api.findByLatLon(latitude, longitude, accuracy));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getChildrenWithPhotosPublic(String, String)}.
+   *
+   * @param placeId a Flickr places Id.
+   * @param woeId   a Where On Earth (WOE) id.
+   * @return future that completes with the places with public photos in the specified area.
+   */
+  public CompletableFuture<Places> getChildrenWithPhotosPublic(String placeId, String woeId) {
+    return jinx.callAsync(() -> api.getChildrenWithPhotosPublic(placeId, woeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getInfo(String, String)}.
+   *
+   * @param placeId 4yya valid Flickr place id.
+   * @param woeId   a Where On Earth (WOE) id.
+   * @return future that completes with the information about the specified place.
+   */
+  public CompletableFuture<PlaceInfo> getInfo(String placeId, String woeId) {
+    return jinx.callAsync(() -> api.getInfo(placeId, woeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getInfoByUrl(String)}.
+   *
+   * @param url a flickr.com/places URL in the form of /country/region/city. For example: /Canada/Quebec/Montreal. Required.
+   * @return future that completes with the information about the place defined by the URL.
+   */
+  public CompletableFuture<PlaceInfo> getInfoByUrl(String url) {
+    return jinx.callAsync(() -> api.getInfoByUrl(url));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getPlaceTypes()}.
+   *
+   * @return future that completes with the available place types for Flickr.
+   */
+  public CompletableFuture<PlaceTypes> getPlaceTypes() {
+    return jinx.callAsync(() -> api.getPlaceTypes());
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getShapeHistory(String, String)}.
+   *
+   * @param placeId 4yya valid Flickr place id.
+   * @param woeId   a Where On Earth (WOE) id.
+   * @return future that completes with the information about the specified place.
+   */
+  public CompletableFuture<ShapeHistory> getShapeHistory(String placeId, String woeId) {
+    return jinx.callAsync(() -> api.getShapeHistory(placeId, woeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getTopPlaces(JinxConstants.PlaceTypeId, Date, String, String)}.
+   *
+   * @param placeTypeId The type ID for a specific place type to cluster photos by. (Required)
+   * @param date        a valid date in YYYY-MM-DD format. The default is yesterday. (Optional)
+   * @param placeId     limit your query to only those top places belonging to a specific Flickr Places identifier. (Optional)
+   * @param woeId       limit your query to only those top places belonging to a specific Where on Earth (WOE) identifier. (Optional)
+   * @return future that completes with the top geotagged places for the date.
+   */
+  public CompletableFuture<Places> getTopPlaces(JinxConstants.PlaceTypeId placeTypeId, Date date, String placeId,
+                                                String woeId) {
+    return jinx.callAsync(() -> api.getTopPlaces(placeTypeId, date, placeId, woeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getPlacesForBoundingBox(String, JinxConstants.PlaceTypeId)}.
+   *
+   * @param boundingBox a comma-delimited list of 4 values defining the Bounding Box of the area that will be searched. The 4 values represent the bottom-left corner of the box and the top-right corner, minimum_longitude, minimum_latitude, maximum_longitude, maximum_latitude. Required.
+   * @param placeTypeId id for a specific place to cluster photos by. Required.
+   * @return future that completes with the places matching the bounding box.
+   */
+  public CompletableFuture<Places> getPlacesForBoundingBox(String boundingBox, JinxConstants.PlaceTypeId placeTypeId) {
+    return jinx.callAsync(() -> api.getPlacesForBoundingBox(boundingBox, placeTypeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getPlacesForContacts(JinxConstants.PlaceTypeId, String, String, Integer, JinxConstants.Contacts, Date, Date, Date, Date)}.
+   *
+   * @param placeTypeId       ID for a specific place type to cluster photos by. Required.
+   * @param placeId           a Flickr Places identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param woeId             a Where on Earth identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param threshold         the minimum number of photos that a place type must have to be included. If the number of photos is lowered then the parent place type for that place will be used. Optional.
+   * @param contacts          which contacts to search. Default is all. Optional.
+   * @param minimumUploadDate Minimum upload date. Photos with an upload date greater than or equal to this value will be returned. Optional.
+   * @param maximumUploadDate Maximum upload date. Photos with an upload date less than or equal to this value will be returned. Optional.
+   * @param minimumTakenDate  Minimum taken date. Photos with an taken date greater than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @param maximumTakenDate  Maximum taken date. Photos with an taken date less than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @return future that completes with the places for users contacts.
+   */
+  public CompletableFuture<Places> getPlacesForContacts(JinxConstants.PlaceTypeId placeTypeId, String placeId,
+                                                        String woeId, Integer threshold,
+                                                        JinxConstants.Contacts contacts, Date minimumUploadDate,
+                                                        Date maximumUploadDate, Date minimumTakenDate,
+                                                        Date maximumTakenDate) {
+    return jinx.callAsync(() -> api.getPlacesForContacts(placeTypeId, placeId, woeId, threshold, contacts, minimumUploadDate, maximumUploadDate, minimumTakenDate, maximumTakenDate));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getPlacesForTags(JinxConstants.PlaceTypeId, String, String, Integer, List, JinxConstants.TagMode, List, JinxConstants.TagMode, Date, Date, Date, Date)}.
+   *
+   * @param placeTypeId       ID for a specific place type to cluster photos by. Required.
+   * @param placeId           a Flickr Places identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param woeId             a Where on Earth identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param threshold         the minimum number of photos that a place type must have to be included. If the number of photos is lowered then the parent place type for that place will be used. Optional.
+   * @param tags              a list of tags. Photos with one or more of the tags listed will be returned. Must specify tags or machine tags.
+   * @param tagMode           Either 'any' for an OR combination of tags, or 'all' for an AND combination. Defaults to 'any' if not specified. Optional.
+   * @param machineTags       list of machine tags to find. Must specify tags or machine tags. The number of machine tags you can pass in a single query depends on the tag mode (AND or OR) that you are querying with. "AND" queries are limited to 16 machine tags. "OR" queries are limited to 8.
+   * @param machineTagMode    Either 'any' for an OR combination of tags, or 'all' for an AND combination. Defaults to 'any' if not specified. Optional.
+   * @param minimumUploadDate Minimum upload date. Photos with an upload date greater than or equal to this value will be returned. Optional.
+   * @param maximumUploadDate Maximum upload date. Photos with an upload date less than or equal to this value will be returned. Optional.
+   * @param minimumTakenDate  Minimum taken date. Photos with an taken date greater than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @param maximumTakenDate  Maximum taken date. Photos with an taken date less than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @return future that completes with the places for specified tags.
+   */
+  public CompletableFuture<Places> getPlacesForTags(JinxConstants.PlaceTypeId placeTypeId, String placeId, String woeId,
+                                                    Integer threshold, List<String> tags, JinxConstants.TagMode tagMode,
+                                                    List<String> machineTags, JinxConstants.TagMode machineTagMode,
+                                                    Date minimumUploadDate, Date maximumUploadDate,
+                                                    Date minimumTakenDate, Date maximumTakenDate) {
+    return jinx.callAsync(() -> api.getPlacesForTags(placeTypeId, placeId, woeId, threshold, tags, tagMode, machineTags, machineTagMode, minimumUploadDate, maximumUploadDate, minimumTakenDate, maximumTakenDate));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getPlacesForUser(JinxConstants.PlaceTypeId, String, String, Integer, Date, Date, Date, Date)}.
+   *
+   * @param placeTypeId       ID for a specific place type to cluster photos by.
+   * @param placeId           a Flickr Places identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param woeId             a Where on Earth identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param threshold         the minimum number of photos that a place type must have to be included. If the number of photos is lowered then the parent place type for that place will be used. Optional.
+   * @param minimumUploadDate Minimum upload date. Photos with an upload date greater than or equal to this value will be returned. Optional.
+   * @param maximumUploadDate Maximum upload date. Photos with an upload date less than or equal to this value will be returned. Optional.
+   * @param minimumTakenDate  Minimum taken date. Photos with an taken date greater than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @param maximumTakenDate  Maximum taken date. Photos with an taken date less than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @return future that completes with the places for users contacts.
+   */
+  public CompletableFuture<Places> getPlacesForUser(JinxConstants.PlaceTypeId placeTypeId, String placeId, String woeId,
+                                                    Integer threshold, Date minimumUploadDate, Date maximumUploadDate,
+                                                    Date minimumTakenDate, Date maximumTakenDate) {
+    return jinx.callAsync(() -> api.getPlacesForUser(placeTypeId, placeId, woeId, threshold, minimumUploadDate, maximumUploadDate, minimumTakenDate, maximumTakenDate));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#resolvePlaceId(String)}.
+   *
+   * @param placeId a Flickr Places ID. Required.
+   * @return future that completes with the place info for the place id.
+   */
+  public CompletableFuture<PlaceInfo> resolvePlaceId(String placeId) {
+    return jinx.callAsync(() -> api.resolvePlaceId(placeId));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#resolvePlaceUrl(String)}.
+   *
+   * @param placeUrl a Flickr Places URL. Flickr Place URLs are of the form /country/region/city
+   * @return future that completes with the place info for the place url.
+   */
+  public CompletableFuture<PlaceInfo> resolvePlaceUrl(String placeUrl) {
+    return jinx.callAsync(() -> api.resolvePlaceUrl(placeUrl));
+  }
+
+  /**
+   * Asynchronous version of {@link PlacesApi#getTagsForPlace(String, String, Date, Date, Date, Date)}.
+   *
+   * @param placeId           a Flickr Places identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param woeId             a Where on Earth identifier to use to filter photo clusters. You must pass a placesId or woeId.
+   * @param minimumUploadDate Minimum upload date. Photos with an upload date greater than or equal to this value will be returned. Optional.
+   * @param maximumUploadDate Maximum upload date. Photos with an upload date less than or equal to this value will be returned. Optional.
+   * @param minimumTakenDate  Minimum taken date. Photos with an taken date greater than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @param maximumTakenDate  Maximum taken date. Photos with an taken date less than or equal to this value will be returned. Optional. The date should be in the form of a mysql datetime.
+   * @return future that completes with the top 100 unique tags for the place.
+   */
+  public CompletableFuture<Tags> getTagsForPlace(String placeId, String woeId, Date minimumUploadDate,
+                                                 Date maximumUploadDate, Date minimumTakenDate, Date maximumTakenDate) {
+    return jinx.callAsync(() -> api.getTagsForPlace(placeId, woeId, minimumUploadDate, maximumUploadDate, minimumTakenDate, maximumTakenDate));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.PrefsApi;
+import net.jeremybrooks.jinx.response.people.Person;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PrefsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PrefsApi
+ */
+public class AsyncPrefsApi {
+  private final Jinx jinx;
+  private final PrefsApi api;
+
+  public AsyncPrefsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PrefsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PrefsApi#getContentType()}.
+   *
+   * @return future that completes with the person object with nsid and contentType fields set.
+   */
+  public CompletableFuture<Person> getContentType() {
+    return jinx.callAsync(() -> api.getContentType());
+  }
+
+  /**
+   * Asynchronous version of {@link PrefsApi#getGeoPerms()}.
+   *
+   * @return future that completes with the person object with nsid, geoPerms, and importGeoExif fields set.
+   */
+  public CompletableFuture<Person> getGeoPerms() {
+    return jinx.callAsync(() -> api.getGeoPerms());
+  }
+
+  /**
+   * Asynchronous version of {@link PrefsApi#getHidden()}.
+   *
+   * @return future that completes with the person object with nsid and hidden fields set.
+   */
+  public CompletableFuture<Person> getHidden() {
+    return jinx.callAsync(() -> api.getHidden());
+  }
+
+  /**
+   * Asynchronous version of {@link PrefsApi#getPrivacy()}.
+   *
+   * @return future that completes with the person object with nsid and privacy fields set.
+   */
+  public CompletableFuture<Person> getPrivacy() {
+    return jinx.callAsync(() -> api.getPrivacy());
+  }
+
+  /**
+   * Asynchronous version of {@link PrefsApi#getSafetyLevel()}.
+   *
+   * @return future that completes with the person object with nsid and safetyLevel fields set.
+   */
+  public CompletableFuture<Person> getSafetyLevel() {
+    return jinx.callAsync(() -> api.getSafetyLevel());
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.PushApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.push.Subscriptions;
+import net.jeremybrooks.jinx.response.push.Topics;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link PushApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see PushApi
+ */
+public class AsyncPushApi {
+  private final Jinx jinx;
+  private final PushApi api;
+
+  public AsyncPushApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new PushApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link PushApi#getSubscriptions()}.
+   *
+   * @return future that completes with the subscriptions for the logged in user.
+   */
+  public CompletableFuture<Subscriptions> getSubscriptions() {
+    return jinx.callAsync(() -> api.getSubscriptions());
+  }
+
+  /**
+   * Asynchronous version of {@link PushApi#getTopics()}.
+   *
+   * @return future that completes with all the different flavors of topics.
+   */
+  public CompletableFuture<Topics> getTopics() {
+    return jinx.callAsync(() -> api.getTopics());
+  }
+
+  /**
+   * Asynchronous version of {@link PushApi#subscribe(String, String, JinxConstants.VerificationMode, String, Integer, Integer, List, Float, Float, Integer, JinxConstants.RadiusUnits, Integer, List, List)}.
+   *
+   * @param topic             the type of subscription. See {@link #getTopics()}. Required.
+   * @param callbackUrl       the url for the subscription endpoint. Limited to 255 bytes, and must be unique for this user, i.e. no two subscriptions for a given user may use the same callback url. Required.
+   * @param mode              verification mode. Required.
+   * @param verificationToken the verification token to be echoed back to the subscriber during the verification callback, as per the Google PubSubHubbub spec. Limited to 200 bytes. Optional.
+   * @param leaseSeconds      number of seconds for which the subscription will be valid. Legal values are 60 to 86400 (1 minute to 1 day). If not present, the subscription will be auto-renewing. Optional.
+   * @param woeIds            a 32-bit integer for a Where on Earth ID. Only valid if topic is geo. The order of precedence for geo subscriptions is : woe ids, place ids, radial i.e. the latitude, longitude parameters will be ignored if placeIds is present, which will be ignored if woeIds is present. Optional.
+   * @param placeIds          a list of Flickr place IDs. Only valid if topic is geo. The order of precedence for geo subscriptions is : woe ids, place ids, radial i.e. the latitude, longitude parameters will be ignored if placeIds is present, which will be ignored if woeIds is present. Optional.
+   * @param latitude          a latitude value, in decimal format. Only valid if topic is geo. Defines the latitude for a radial query centered around (latitude, longitude). The order of precedence for geo subscriptions is : woe ids, place ids, radial i.e. the latitude, longitude parameters will be ignored if placeIds is present, which will be ignored if woeIds is present. Optional.
+   * @param longitude         a longitude value, in decimal format. Only valid if topic is geo. Defines the longitude for a radial query centered around (latitude, longitude). The order of precedence for geo subscriptions is : woe ids, place ids, radial i.e. the latitude, longitude parameters will be ignored if placeIds is present, which will be ignored if woeIds is present. Optional.
+   * @param radius            a radius value, in the units defined by radiusUnits. Only valid if topic is geo. Defines the radius of a circle for a radial query centered around (latitude, longitude). Default is 5 km. The order of precedence for geo subscriptions is : woe ids, place ids, radial i.e. the latitude, longitude parameters will be ignored if placeIds is present, which will be ignored if woeIds is present. Optional.
+   * @param radiusUnits       defines the units for the radius parameter. Only valid if topic is geo. Options are mi and km. Default is km. Optional.
+   * @param accuracy          defines the minimum accuracy required for photos to be included in a subscription. Only valid if topic is geo Legal values are 1-16, default is 1 (i.e. any accuracy level). World level is 1, Country is ~3, Region is ~6, City is ~11, Street is ~16. Optional.
+   * @param commonsNSIDs      a list of nsids representing Flickr Commons institutions. See {@link CommonsApi#getInstitutions()}. Only valid if topic is commons. If not present this argument defaults to all Flickr Commons institutions. Optional.
+   * @param tags              a list of strings to be used for tag subscriptions. Photos with one or more of the tags listed will be included in the subscription. Only valid if the topic is tags. Optional.
+   * @return future that completes with the response. If successful, response.stat will be "ok".
+   */
+  public CompletableFuture<Response> subscribe(String topic, String callbackUrl, JinxConstants.VerificationMode mode,
+                                               String verificationToken, Integer leaseSeconds, Integer woeIds,
+                                               List<String> placeIds, Float latitude, Float longitude, Integer radius,
+                                               JinxConstants.RadiusUnits radiusUnits, Integer accuracy,
+                                               List<String> commonsNSIDs, List<String> tags) {
+    return jinx.callAsync(() -> api.subscribe(topic, callbackUrl, mode, verificationToken, leaseSeconds, woeIds, placeIds, latitude, longitude, radius, radiusUnits, accuracy, commonsNSIDs, tags));
+  }
+
+  /**
+   * Asynchronous version of {@link PushApi#unsubscribe(String, String, JinxConstants.VerificationMode, String)}.
+   *
+   * @param topic             the type of subscription. Required.
+   * @param callbackUrl       url for the subscription endpoint. Must be the same url used when subscribing. Required.
+   * @param mode              verification mode. Required.
+   * @param verificationToken verification token to be echoed back to the subscriber during the verification callback. Optional.
+   * @return future that completes with the response. If successful, response.stat will be "ok".
+   */
+  public CompletableFuture<Response> unsubscribe(String topic, String callbackUrl, JinxConstants.VerificationMode mode,
+                                                 String verificationToken) {
+    return jinx.callAsync(() -> api.unsubscribe(topic, callbackUrl, mode, verificationToken));
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.StatsApi;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.stats.Domains;
+import net.jeremybrooks.jinx.response.stats.Referrers;
+import net.jeremybrooks.jinx.response.stats.Stats;
+import net.jeremybrooks.jinx.response.stats.TotalViews;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link StatsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see StatsApi
+ */
+public class AsyncStatsApi {
+  private final Jinx jinx;
+  private final StatsApi api;
+
+  public AsyncStatsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new StatsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getCollectionDomains(Date, String, Integer, Integer)}.
+   *
+   * @param date         stats will be returned for this date. Required.
+   * @param collectionId id of the collection to get stats for. If not provided, stats for all collections will be returned. Optional.
+   * @param perPage      number of domains to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page         the page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referring domains for a collection.
+   */
+  public CompletableFuture<Domains> getCollectionDomains(Date date, String collectionId, Integer perPage,
+                                                         Integer page) {
+    return jinx.callAsync(() -> api.getCollectionDomains(date, collectionId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getCollectionReferrers(Date, String, String, Integer, Integer)}.
+   *
+   * @param date         stats will be returned for this date. Required.
+   * @param domain       domain to return referrers for. This should be a hostname (eg: "flickr.com") with no protocol or pathname. Required.
+   * @param collectionId id of the collection to get stats for. If not provided, stats for all collections will be returned. Optional.
+   * @param perPage      number of referrers to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page         page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referrers from a given domain for a collection.
+   */
+  public CompletableFuture<Referrers> getCollectionReferrers(Date date, String domain, String collectionId,
+                                                             Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.getCollectionReferrers(date, domain, collectionId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getCollectionStats(Date, String)}.
+   *
+   * @param date         stats will be returned for this date. Required.
+   * @param collectionId id of the collection to get stats for. Required.
+   * @return future that completes with the stats for the specified collection.
+   */
+  public CompletableFuture<Stats> getCollectionStats(Date date, String collectionId) {
+    return jinx.callAsync(() -> api.getCollectionStats(date, collectionId));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotoDomains(Date, String, Integer, Integer)}.
+   *
+   * @param date    stats will be returned for this date. Required.
+   * @param photoId id of the photo to get stats for. If not provided, stats for all photos will be returned. Optional.
+   * @param perPage number of domains to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page    page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referrig domains for a photo.
+   */
+  public CompletableFuture<Domains> getPhotoDomains(Date date, String photoId, Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.getPhotoDomains(date, photoId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotoReferrers(Date, String, String, Integer, Integer)}.
+   *
+   * @param date    stats will be returned for this date. Required.
+   * @param domain  domain to return referrers for. This should be a hostname (eg: "flickr.com") with no protocol or pathname. Required.
+   * @param photoId id of the photo to get stats for. If not provided, stats for all photos will be returned. Optional.
+   * @param perPage number of referrers to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page    page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referrers from a given domain to a photo.
+   */
+  public CompletableFuture<Referrers> getPhotoReferrers(Date date, String domain, String photoId, Integer perPage,
+                                                        Integer page) {
+    return jinx.callAsync(() -> api.getPhotoReferrers(date, domain, photoId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotoStats(Date, String)}.
+   *
+   * @param date    stats will be returned for this date. Required.
+   * @param photoId id of the photo to get stats for. Required.
+   * @return future that completes with the number of views, comments, and favorites on a photo for a given date.
+   */
+  public CompletableFuture<Stats> getPhotoStats(Date date, String photoId) {
+    return jinx.callAsync(() -> api.getPhotoStats(date, photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotosetDomains(Date, String, Integer, Integer)}.
+   *
+   * @param date       stats will be returned for this date. Required.
+   * @param photosetId id of the photoset to get stats for. If not provided, stats for all sets will be returned. Optional.
+   * @param perPage    number of domains to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page       page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referring domains for a photoset.
+   */
+  public CompletableFuture<Domains> getPhotosetDomains(Date date, String photosetId, Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.getPhotosetDomains(date, photosetId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotosetReferrers(Date, String, String, Integer, Integer)}.
+   *
+   * @param date       stats will be returned for this date. Required.
+   * @param domain     domain to return referrers for. This should be a hostname (eg: "flickr.com") with no protocol or pathname. Required.
+   * @param photosetId id of the photoset to get stats for. If not provided, stats for all sets will be returned. Optional.
+   * @param perPage    number of referrers to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page       page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referrers from a domain to a photoset.
+   */
+  public CompletableFuture<Referrers> getPhotosetReferrers(Date date, String domain, String photosetId, Integer perPage,
+                                                           Integer page) {
+    return jinx.callAsync(() -> api.getPhotosetReferrers(date, domain, photosetId, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotosetStats(Date, String)}.
+   *
+   * @param date       stats will be returned for this date. Required.
+   * @param photosetId id of the photoset to get stats for. Required.
+   * @return future that completes with the number of views on a photoset for a given date.
+   */
+  public CompletableFuture<Stats> getPhotosetStats(Date date, String photosetId) {
+    return jinx.callAsync(() -> api.getPhotosetStats(date, photosetId));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotostreamDomains(Date, Integer, Integer)}.
+   *
+   * @param date    stats will be returned for this date. Required.
+   * @param perPage nummber of domains to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page    page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referring domains for a photostream.
+   */
+  public CompletableFuture<Domains> getPhotostreamDomains(Date date, Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.getPhotostreamDomains(date, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotostreamReferrers(Date, String, Integer, Integer)}.
+   *
+   * @param date    stats will be returned for this date. Required.
+   * @param domain  domain to return referrers for. This should be a hostname (eg: "flickr.com") with no protocol or pathname. Required.
+   * @param perPage number of referrers to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page    page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the referrers from a given domain to a user's photostream.
+   */
+  public CompletableFuture<Referrers> getPhotostreamReferrers(Date date, String domain, Integer perPage, Integer page) {
+    return jinx.callAsync(() -> api.getPhotostreamReferrers(date, domain, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPhotostreamStats(Date)}.
+   *
+   * @param date stats will be returned for this date. Required.
+   * @return future that completes with the number of views on a user's photostream for a given date.
+   */
+  public CompletableFuture<Stats> getPhotostreamStats(Date date) {
+    return jinx.callAsync(() -> api.getPhotostreamStats(date));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getCSVFiles()}.
+   *
+   * @return future that completes with the stats object with csv files populated.
+   */
+  public CompletableFuture<Stats> getCSVFiles() {
+    return jinx.callAsync(() -> api.getCSVFiles());
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getPopularPhotos(Date, JinxConstants.PopularPhotoSort, Integer, Integer)}.
+   *
+   * @param date    stats will be returned for this date. Optional.
+   * @param sort    order in which to sort returned photos. Defaults to views. Optional.
+   * @param perPage number of referrers to return per page. If this argument is omitted, it defaults to 25. The maximum allowed value is 100. Optional.
+   * @param page    page of results to return. If this argument is omitted, it defaults to 1. Optional.
+   * @return future that completes with the photos with the most views, comments, or favorites.
+   */
+  public CompletableFuture<Photos> getPopularPhotos(Date date, JinxConstants.PopularPhotoSort sort, Integer perPage,
+                                                    Integer page) {
+    return jinx.callAsync(() -> api.getPopularPhotos(date, sort, perPage, page));
+  }
+
+  /**
+   * Asynchronous version of {@link StatsApi#getTotalViews(Date)}.
+   *
+   * @param date stats will be returned for this date. Optional.
+   * @return future that completes with the overall view counts for an account.
+   */
+  public CompletableFuture<TotalViews> getTotalViews(Date date) {
+    return jinx.callAsync(() -> api.getTotalViews(date));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.api.TagsApi;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.tags.Clusters;
+import net.jeremybrooks.jinx.response.tags.HotList;
+import net.jeremybrooks.jinx.response.tags.PhotoTagList;
+import net.jeremybrooks.jinx.response.tags.RawTagsForUser;
+import net.jeremybrooks.jinx.response.tags.RelatedTags;
+import net.jeremybrooks.jinx.response.tags.TagsForUser;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link TagsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see TagsApi
+ */
+public class AsyncTagsApi {
+  private final Jinx jinx;
+  private final TagsApi api;
+
+  public AsyncTagsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new TagsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getClusterPhotos(String, String)}.
+   *
+   * @param tag       the tag that the cluster belongs to. Required.
+   * @param clusterId top three tags for the cluster, separated by dashes. Required.
+   * @return future that completes with the first 24 photos for a given tag cluster.
+   */
+  public CompletableFuture<Photos> getClusterPhotos(String tag, String clusterId) {
+    return jinx.callAsync(() -> api.getClusterPhotos(tag, clusterId));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getClusterPhotos(String, List)}.
+   *
+   * @param tag       the tag that the cluster belongs to. Required.
+   * @param clusterId top three tags for the cluster. Required.
+   * @return future that completes with the first 24 photos for a given tag cluster.
+   */
+  public CompletableFuture<Photos> getClusterPhotos(String tag, List<String> clusterId) {
+    return jinx.callAsync(() -> api.getClusterPhotos(tag, clusterId));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getClusters(String)}.
+   *
+   * @param tag the tag to fetch clusters for. Required.
+   * @return future that completes with the tag clusters for the given tag.
+   */
+  public CompletableFuture<Clusters> getClusters(String tag) {
+    return jinx.callAsync(() -> api.getClusters(tag));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getHotList(JinxConstants.Period, Integer)}.
+   *
+   * @param period period for which to fetch hot tags. Optional.
+   * @param count  number of tags to return. Defaults to 20. Maximum allowed value is 200. Optional.
+   * @return future that completes with the hot tags for the given period.
+   */
+  public CompletableFuture<HotList> getHotList(JinxConstants.Period period, Integer count) {
+    return jinx.callAsync(() -> api.getHotList(period, count));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getListPhoto(String)}.
+   *
+   * @return future that completes with the tags list for the photo. Required.
+   */
+  public CompletableFuture<PhotoTagList> getListPhoto(String photoId) {
+    return jinx.callAsync(() -> api.getListPhoto(photoId));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getListUser(String)}.
+   *
+   * @param userId NSID of the user to fetch the tag list for. If this argument is not specified, the currently logged in user (if any) is assumed. Optional.
+   * @return future that completes with the tag list for given user.
+   */
+  public CompletableFuture<TagsForUser> getListUser(String userId) {
+    return jinx.callAsync(() -> api.getListUser(userId));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getListUserPopular(String, Integer)}.
+   *
+   * @param userId NSID of the user to fetch the tag list for. If this argument is not specified, the currently logged in user (if any) is assumed. Optional.
+   * @param count  number of popular tags to return. defaults to 10 when this argument is not present. Optional.
+   * @return future that completes with the popular tags for the given user.
+   */
+  public CompletableFuture<TagsForUser> getListUserPopular(String userId, Integer count) {
+    return jinx.callAsync(() -> api.getListUserPopular(userId, count));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getListUserRaw(String)}.
+   *
+   * @param tag tag you want to retrieve all raw versions for. Optional.
+   * @return future that completes with the raw versions of a tag for the given tag, or all tags for the currently logged in user.
+   */
+  public CompletableFuture<RawTagsForUser> getListUserRaw(String tag) {
+    return jinx.callAsync(() -> api.getListUserRaw(tag));
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getMostFrequentlyUsed()}.
+   *
+   * @return future that completes with the most frequently used tags for the calling user.
+   */
+  public CompletableFuture<TagsForUser> getMostFrequentlyUsed() {
+    return jinx.callAsync(() -> api.getMostFrequentlyUsed());
+  }
+
+  /**
+   * Asynchronous version of {@link TagsApi#getRelated(String)}.
+   *
+   * @param tag tag to fetch related tags for. Required.
+   * @return future that completes with the related tags.
+   */
+  public CompletableFuture<RelatedTags> getRelated(String tag) {
+    return jinx.callAsync(() -> api.getRelated(tag));
+  }
+}
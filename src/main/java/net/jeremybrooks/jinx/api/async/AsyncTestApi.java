@@ -0,0 +1,73 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.TestApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.test.TestEcho;
+import net.jeremybrooks.jinx.response.test.TestLogin;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link TestApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see TestApi
+ */
+public class AsyncTestApi {
+  private final Jinx jinx;
+  private final TestApi api;
+
+  public AsyncTestApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new TestApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link TestApi#testEcho()}.
+   *
+   * @return future that completes with the object with parameters of the request.
+   */
+  public CompletableFuture<TestEcho> testEcho() {
+    return jinx.callAsync(() -> api.testEcho());
+  }
+
+  /**
+   * Asynchronous version of {@link TestApi#testLogin()}.
+   *
+   * @return future that completes with the logged in user id and username.
+   */
+  public CompletableFuture<TestLogin> testLogin() {
+    return jinx.callAsync(() -> api.testLogin());
+  }
+
+  /**
+   * Asynchronous version of {@link TestApi#testNull()}.
+   *
+   * @return future that completes with the response object. If successful, the stat parameter will be "ok".
+   */
+  public CompletableFuture<Response> testNull() {
+    return jinx.callAsync(() -> api.testNull());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.api.async;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.api.UrlsApi;
+import net.jeremybrooks.jinx.response.galleries.GalleryInfo;
+import net.jeremybrooks.jinx.response.urls.GroupUrls;
+import net.jeremybrooks.jinx.response.urls.UserUrls;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous versions of the methods in {@link UrlsApi}.
+ * <br>
+ * Each method validates its parameters and signs its request on the calling thread, then returns a
+ * {@link CompletableFuture} that completes when Flickr responds. Errors are reported by completing the
+ * future exceptionally with a {@link net.jeremybrooks.jinx.JinxException}.
+ *
+ * @author Jeremy Brooks
+ * @see UrlsApi
+ */
+public class AsyncUrlsApi {
+  private final Jinx jinx;
+  private final UrlsApi api;
+
+  public AsyncUrlsApi(Jinx jinx) {
+    this.jinx = jinx;
+    this.api = new UrlsApi(jinx);
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#getGroup(String)}.
+   *
+   * @param groupId NSID of the group to fetch the url for. Required.
+   * @return future that completes with the group NSID and URL.
+   */
+  public CompletableFuture<GroupUrls> getGroup(String groupId) {
+    return jinx.callAsync(() -> api.getGroup(groupId));
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#getUserPhotos(String)}.
+   *
+   * @param userId user id (NSID) of the user to fetch the url for. If omitted, the calling user is assumed. Optional.
+   * @return future that completes with the user id and rl to the users photos.
+   */
+  public CompletableFuture<UserUrls> getUserPhotos(String userId) {
+    return jinx.callAsync(() -> api.getUserPhotos(userId));
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#getUserProfile(String)}.
+   *
+   * @param userId user id (NSID) of the user to fetch the url for. If omitted, the calling user is assumed. Optional.
+   * @return future that completes with the user id and url to the users profile.
+   */
+  public CompletableFuture<UserUrls> getUserProfile(String userId) {
+    return jinx.callAsync(() -> api.getUserProfile(userId));
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#lookupGallery(String)}.
+   *
+   * @param url gallery URL to look up. Required.
+   * @return future that completes with the information about the gallery.
+   */
+  public CompletableFuture<GalleryInfo> lookupGallery(String url) {
+    return jinx.callAsync(() -> api.lookupGallery(url));
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#lookupGroup(String)}.
+   *
+   * @param url url to the group's page or photo pool. Required.
+   * @return future that completes with the group NSID and name.
+   */
+  public CompletableFuture<GroupUrls> lookupGroup(String url) {
+    return jinx.callAsync(() -> api.lookupGroup(url));
+  }
+
+  /**
+   * Asynchronous version of {@link UrlsApi#lookupUser(String)}.
+   *
+   * @param url url to the user's profile or photos page. Required.
+   * @return future that completes with the user id and username.
+   */
+  public CompletableFuture<UserUrls> lookupUser(String url) {
+    return jinx.callAsync(() -> api.lookupUser(url));
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for the keys Jinx builds for cached responses.
+ * <br>
+ * Keys are the sorted request parameters in the form {@code name=value&name=value&}, with names and values URL
+ * encoded, so that a value containing {@code &} or {@code =} cannot be mistaken for another parameter.
+ *
+ * @author Jeremy Brooks
+ */
+final class CacheKeys {
+
+  private CacheKeys() {
+  }
+
+  /**
+   * Get the photo a cached response is about.
+   *
+   * @param key cache key.
+   * @return value of the photo_id parameter, or null if there is none.
+   */
+  static String photoId(String key) {
+    return param(key, "photo_id");
+  }
+
+  /**
+   * Get the value of a parameter from a cache key.
+   *
+   * @param key  cache key.
+   * @param name parameter name.
+   * @return decoded value of the parameter, or null if there is none.
+   */
+  static String param(String key, String name) {
+    String prefix = URLEncoder.encode(name, StandardCharsets.UTF_8) + '=';
+    int start;
+    if (key.startsWith(prefix)) {
+      start = prefix.length();
+    } else {
+      start = key.indexOf('&' + prefix);
+      if (start < 0) {
+        return null;
+      }
+      start += prefix.length() + 1;
+    }
+    int end = key.indexOf('&', start);
+    return URLDecoder.decode(key.substring(start, end < 0 ? key.length() : end), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,655 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.logger.JinxLogger;
+import net.jeremybrooks.jinx.logger.LogLevel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link JinxCache} that keeps responses on disk, so that they survive a restart.
+ * <br>
+ * Entries are appended to memory-mapped segment files in a directory. When a segment is full a new one is started,
+ * and when the cache grows past its maximum size the oldest segment is deleted. An index of the entries is kept in
+ * memory, and is rebuilt from the segments when the cache is opened. Each entry has a checksum; an entry that was
+ * only partly written when the process stopped is discarded when the cache is opened.
+ * <br>
+ * Responses about a photo are removed when Flickr reports that the photo was updated after the response was stored,
+ * as described in {@link JinxCache#photoUpdated(String, long)}. The removal is recorded in the segment, so it also
+ * survives a restart. This makes it safe to cache flickr.photos.getInfo, flickr.photos.getExif and
+ * flickr.photos.getSizes for a long time; by default they are cached for 30 days. Use
+ * {@link #setTtl(String, long, TimeUnit)} to cache other methods.
+ * <br>
+ * To keep frequently used responses in memory as well, put a {@link MemoryJinxCache} in front of this cache with a
+ * {@link TieredJinxCache}.
+ * <br>
+ * Only one instance should use a directory at a time. Close the cache when it is no longer needed.
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class DiskJinxCache implements JinxCache, Closeable {
+
+  /**
+   * Default maximum size of the cache, in bytes.
+   */
+  public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+  /**
+   * Default size of each segment file, in bytes.
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final int MAGIC = 0x4a584331;
+  // magic, crc, key length, body length, written, expires
+  private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 8 + 8;
+  private static final int TOMBSTONE = -1;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".jxc";
+
+  private final Path directory;
+  private final long maxSize;
+  private final int segmentSize;
+  private final LongSupplier clock;
+  private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+  private volatile long defaultTtl;
+
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  private final Map<String, Location> index = new HashMap<>();
+  private final Map<String, Set<String>> photoKeys = new HashMap<>();
+  private Segment active;
+  private boolean closed;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong expirations = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Open a cache in a directory, creating the directory if necessary.
+   *
+   * @param directory directory for the segment files.
+   * @throws JinxException if the directory or the segments in it could not be opened.
+   */
+  public DiskJinxCache(Path directory) throws JinxException {
+    this(directory, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Open a cache in a directory, creating the directory if necessary.
+   *
+   * @param directory directory for the segment files.
+   * @param maxSize   maximum size of the cache in bytes. The cache can be up to one segment larger than this.
+   * @throws JinxException if the directory or the segments in it could not be opened.
+   */
+  public DiskJinxCache(Path directory, long maxSize) throws JinxException {
+    this(directory, maxSize, DEFAULT_SEGMENT_SIZE, System::currentTimeMillis);
+  }
+
+  DiskJinxCache(Path directory, long maxSize, int segmentSize, LongSupplier clock) throws JinxException {
+    if (maxSize < 1 || segmentSize <= HEADER_SIZE) {
+      throw new IllegalArgumentException("Cache and segment sizes are too small.");
+    }
+    this.directory = directory;
+    this.maxSize = maxSize;
+    this.segmentSize = segmentSize;
+    this.clock = clock;
+    long thirtyDays = TimeUnit.DAYS.toMillis(30);
+    ttls.put("flickr.photos.getInfo", thirtyDays);
+    ttls.put("flickr.photos.getExif", thirtyDays);
+    ttls.put("flickr.photos.getSizes", thirtyDays);
+    try {
+      Files.createDirectories(directory);
+      open();
+    } catch (IOException e) {
+      closeSegments();
+      throw new JinxException("Unable to open cache in " + directory, e);
+    }
+  }
+
+  /*
+   * Open the existing segments, rebuilding the index. The last segment is reused for new entries if it has room.
+   */
+  private void open() throws IOException {
+    List<Long> ids = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path path : stream) {
+        String name = path.getFileName().toString();
+        try {
+          ids.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+        } catch (NumberFormatException e) {
+          // not one of ours
+        }
+      }
+    }
+    ids.sort(null);
+    for (int i = 0; i < ids.size(); i++) {
+      boolean last = i == ids.size() - 1;
+      Segment segment = new Segment(ids.get(i), segmentPath(ids.get(i)), last ? segmentSize : 0);
+      segments.put(segment.id, segment);
+      scan(segment);
+      if (last) {
+        active = segment;
+      }
+    }
+    evict();
+  }
+
+  private Path segmentPath(long id) {
+    return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+  }
+
+  /*
+   * Read every valid record in a segment into the index. Reading stops at the first record that is incomplete
+   * or does not match its checksum.
+   */
+  private void scan(Segment segment) {
+    ByteBuffer buffer = segment.buffer.duplicate();
+    int limit = buffer.capacity();
+    int position = 0;
+    long now = clock.getAsLong();
+    while (position + HEADER_SIZE <= limit) {
+      buffer.position(position);
+      if (buffer.getInt() != MAGIC) {
+        break;
+      }
+      int crc = buffer.getInt();
+      int keyLength = buffer.getInt();
+      int bodyLength = buffer.getInt();
+      long written = buffer.getLong();
+      long expires = buffer.getLong();
+      if (keyLength <= 0 || bodyLength < TOMBSTONE) {
+        break;
+      }
+      long length = (long) HEADER_SIZE + keyLength + Math.max(bodyLength, 0);
+      if (position + length > limit || crc != checksum(buffer, position, (int) length)) {
+        break;
+      }
+      byte[] keyBytes = new byte[keyLength];
+      buffer.position(position + HEADER_SIZE);
+      buffer.get(keyBytes);
+      String key = new String(keyBytes, StandardCharsets.UTF_8);
+      unindex(key);
+      if (bodyLength != TOMBSTONE && expires > now) {
+        index(key, new Location(segment, position, keyLength, bodyLength, written, expires));
+      }
+      position += (int) length;
+    }
+    segment.size = position;
+  }
+
+  private static int checksum(ByteBuffer buffer, int position, int length) {
+    ByteBuffer record = buffer.duplicate();
+    record.limit(position + length);
+    record.position(position + 8);
+    CRC32 crc = new CRC32();
+    crc.update(record);
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Set how long responses from a Flickr method are cached.
+   *
+   * @param flickrMethod the Flickr method, such as flickr.photos.getInfo.
+   * @param ttl          how long to cache responses. Zero means responses from the method are not cached.
+   * @param unit         unit of the ttl.
+   */
+  public void setTtl(String flickrMethod, long ttl, TimeUnit unit) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("TTL cannot be negative.");
+    }
+    this.ttls.put(flickrMethod, unit.toMillis(ttl));
+  }
+
+  /**
+   * Get how long responses from a Flickr method are cached.
+   *
+   * @param flickrMethod the Flickr method.
+   * @param unit         unit of the returned value.
+   * @return time to live for the method. Zero means responses from the method are not cached.
+   */
+  public long getTtl(String flickrMethod, TimeUnit unit) {
+    return unit.convert(ttl(flickrMethod), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Set how long responses are cached for methods that do not have their own time to live.
+   * The default is zero, so only methods with their own time to live are cached.
+   *
+   * @param ttl  how long to cache responses. Zero means these methods are not cached.
+   * @param unit unit of the ttl.
+   */
+  public void setDefaultTtl(long ttl, TimeUnit unit) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("TTL cannot be negative.");
+    }
+    this.defaultTtl = unit.toMillis(ttl);
+  }
+
+  private long ttl(String flickrMethod) {
+    Long ttl = flickrMethod == null ? null : ttls.get(flickrMethod);
+    return ttl == null ? defaultTtl : ttl;
+  }
+
+  @Override
+  public boolean isCacheable(String flickrMethod) {
+    return ttl(flickrMethod) > 0;
+  }
+
+  @Override
+  public synchronized String get(String key) {
+    Location location = closed ? null : index.get(key);
+    if (location != null && clock.getAsLong() >= location.expires) {
+      unindex(key);
+      expirations.incrementAndGet();
+      location = null;
+    }
+    if (location == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    ByteBuffer buffer = location.segment.buffer.duplicate();
+    buffer.position(location.offset + HEADER_SIZE + location.keyLength);
+    byte[] body = new byte[location.bodyLength];
+    buffer.get(body);
+    return new String(body, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void put(String key, String flickrMethod, String body) {
+    put(key, flickrMethod, body, clock.getAsLong());
+  }
+
+  @Override
+  public synchronized void put(String key, String flickrMethod, String body, long written) {
+    long ttl = ttl(flickrMethod);
+    if (closed || ttl <= 0 || clock.getAsLong() >= written + ttl) {
+      return;
+    }
+    append(key, body.getBytes(StandardCharsets.UTF_8), written, written + ttl);
+  }
+
+  @Override
+  public synchronized long getWrittenTime(String key) {
+    Location location = closed ? null : index.get(key);
+    return location == null ? -1 : location.written;
+  }
+
+  /**
+   * Remove the entries for a photo that were stored before the photo was last updated.
+   *
+   * @param photoId    the photo id.
+   * @param lastUpdate time the photo was last updated, in seconds since the epoch.
+   */
+  @Override
+  public synchronized void photoUpdated(String photoId, long lastUpdate) {
+    Set<String> keys = closed ? null : photoKeys.get(photoId);
+    if (keys == null) {
+      return;
+    }
+    long updated = TimeUnit.SECONDS.toMillis(lastUpdate);
+    for (String key : new ArrayList<>(keys)) {
+      if (index.get(key).written < updated) {
+        invalidations.incrementAndGet();
+        remove(key);
+      }
+    }
+  }
+
+  /**
+   * Remove an entry from the cache.
+   *
+   * @param key cache key.
+   */
+  public synchronized void invalidate(String key) {
+    if (!closed && index.containsKey(key)) {
+      remove(key);
+    }
+  }
+
+  /*
+   * Remove an entry, recording the removal in the active segment.
+   */
+  private void remove(String key) {
+    unindex(key);
+    append(key, null, clock.getAsLong(), 0);
+  }
+
+  @Override
+  public synchronized void clear() {
+    if (closed) {
+      return;
+    }
+    try {
+      closeSegments();
+      for (Segment segment : segments.values()) {
+        Files.deleteIfExists(segment.path);
+      }
+    } catch (IOException e) {
+      JinxLogger.log(LogLevel.WARN, "Unable to delete cache segments in " + directory, e);
+    }
+    segments.clear();
+    index.clear();
+    photoKeys.clear();
+    active = null;
+  }
+
+  /*
+   * Append a record to the active segment, starting a new segment if there is not enough room.
+   * A null body records the removal of the key. If a body cannot be stored, the old entry for the key is removed,
+   * so that it is not returned in place of the newer response.
+   */
+  private void append(String key, byte[] body, long written, long expires) {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    int bodyLength = body == null ? TOMBSTONE : body.length;
+    long length = (long) HEADER_SIZE + keyBytes.length + (body == null ? 0 : body.length);
+    if (length > segmentSize) {
+      // too big to cache
+      if (body != null && index.containsKey(key)) {
+        remove(key);
+      }
+      return;
+    }
+    try {
+      if (active == null || active.size + length > segmentSize) {
+        roll();
+      }
+    } catch (IOException e) {
+      JinxLogger.log(LogLevel.WARN, "Unable to create cache segment in " + directory, e);
+      unindex(key);
+      return;
+    }
+    ByteBuffer record = ByteBuffer.allocate((int) length);
+    record.putInt(MAGIC).putInt(0).putInt(keyBytes.length).putInt(bodyLength).putLong(written).putLong(expires);
+    record.put(keyBytes);
+    if (body != null) {
+      record.put(body);
+    }
+    record.putInt(4, checksum(record, 0, (int) length));
+    record.flip();
+
+    int offset = active.size;
+    ByteBuffer buffer = active.buffer.duplicate();
+    buffer.position(offset);
+    buffer.put(record);
+    active.size += (int) length;
+    if (body != null) {
+      unindex(key);
+      index(key, new Location(active, offset, keyBytes.length, bodyLength, written, expires));
+    }
+    evict();
+  }
+
+  /*
+   * Seal the active segment and start a new one.
+   */
+  private void roll() throws IOException {
+    long id = 1;
+    if (active != null) {
+      active.seal();
+      id = active.id + 1;
+    } else if (!segments.isEmpty()) {
+      id = segments.lastKey() + 1;
+    }
+    active = new Segment(id, segmentPath(id), segmentSize);
+    segments.put(id, active);
+  }
+
+  /*
+   * Delete the oldest segments until the cache is no larger than the maximum size.
+   */
+  private void evict() {
+    long total = 0;
+    for (Segment segment : segments.values()) {
+      total += segment.size;
+    }
+    while (total > maxSize && segments.size() > 1) {
+      Segment oldest = segments.pollFirstEntry().getValue();
+      total -= oldest.size;
+      Iterator<Map.Entry<String, Location>> iterator = index.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<String, Location> entry = iterator.next();
+        if (entry.getValue().segment == oldest) {
+          iterator.remove();
+          unindexPhoto(entry.getKey());
+          evictions.incrementAndGet();
+        }
+      }
+      try {
+        oldest.close();
+        Files.deleteIfExists(oldest.path);
+      } catch (IOException e) {
+        JinxLogger.log(LogLevel.WARN, "Unable to delete cache segment " + oldest.path, e);
+      }
+    }
+  }
+
+  private void index(String key, Location location) {
+    index.put(key, location);
+    String photoId = CacheKeys.photoId(key);
+    if (photoId != null) {
+      photoKeys.computeIfAbsent(photoId, id -> new HashSet<>()).add(key);
+    }
+  }
+
+  private void unindex(String key) {
+    if (index.remove(key) != null) {
+      unindexPhoto(key);
+    }
+  }
+
+  private void unindexPhoto(String key) {
+    String photoId = CacheKeys.photoId(key);
+    if (photoId != null) {
+      Set<String> keys = photoKeys.get(photoId);
+      if (keys != null && keys.remove(key) && keys.isEmpty()) {
+        photoKeys.remove(photoId);
+      }
+    }
+  }
+
+  /**
+   * Get the number of entries in the cache, including any that have expired but have not been removed.
+   *
+   * @return number of entries.
+   */
+  public synchronized int size() {
+    return index.size();
+  }
+
+  /**
+   * Get the number of bytes used by the segments.
+   *
+   * @return size of the cache in bytes.
+   */
+  public synchronized long getSizeInBytes() {
+    long total = 0;
+    for (Segment segment : segments.values()) {
+      total += segment.size;
+    }
+    return total;
+  }
+
+  /**
+   * @return number of lookups that found a current entry.
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * @return number of lookups that did not find a current entry.
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * @return fraction of lookups that found a current entry, or 0 if there have been no lookups.
+   */
+  public double getHitRate() {
+    long h = hits.get();
+    long total = h + misses.get();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * @return number of entries removed when their segment was deleted to make room.
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * @return number of entries removed because they had expired.
+   */
+  public long getExpirationCount() {
+    return expirations.get();
+  }
+
+  /**
+   * @return number of entries removed because the photo they describe was updated.
+   */
+  public long getInvalidationCount() {
+    return invalidations.get();
+  }
+
+  /**
+   * Write any pending changes to disk, and close the segment files.
+   * <br>
+   * After the cache is closed, lookups miss and new entries are ignored.
+   */
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      if (active != null) {
+        try {
+          active.seal();
+        } catch (IOException e) {
+          JinxLogger.log(LogLevel.WARN, "Unable to close cache segment " + active.path, e);
+        }
+      }
+      closeSegments();
+    }
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments.values()) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        JinxLogger.log(LogLevel.WARN, "Unable to close cache segment " + segment.path, e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DiskJinxCache{" +
+        "directory=" + directory +
+        ", size=" + size() +
+        ", hits=" + hits +
+        ", misses=" + misses +
+        ", evictions=" + evictions +
+        ", expirations=" + expirations +
+        ", invalidations=" + invalidations +
+        '}';
+  }
+
+  /*
+   * A segment file. Writable segments are mapped at their full capacity; the file is cut back to the size of its
+   * records when the segment is sealed.
+   */
+  private static class Segment {
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int size;
+
+    Segment(long id, Path path, int capacity) throws IOException {
+      this.id = id;
+      this.path = path;
+      if (capacity > 0) {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, channel.size()));
+      } else {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+
+    void seal() throws IOException {
+      if (buffer.isReadOnly()) {
+        return;
+      }
+      buffer.force();
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      channel.truncate(size);
+    }
+
+    void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  private static class Location {
+    private final Segment segment;
+    private final int offset;
+    private final int keyLength;
+    private final int bodyLength;
+    private final long written;
+    private final long expires;
+
+    Location(Segment segment, int offset, int keyLength, int bodyLength, long written, long expires) {
+      this.segment = segment;
+      this.offset = offset;
+      this.keyLength = keyLength;
+      this.bodyLength = bodyLength;
+      this.written = written;
+      this.expires = expires;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import net.jeremybrooks.jinx.response.photos.Photo;
+
+/**
+ * A cache of Flickr responses.
+ * <br>
+ * When a cache is set on a {@link net.jeremybrooks.jinx.Jinx} instance, each http GET call to a cacheable method is
+ * looked up in the cache before it is sent. A successful response is stored in the cache as the json returned by
+ * Flickr, and is parsed again on each hit, so callers never share response objects. Calls made with http POST
+ * are never cached.
+ * <br>
+ * Keys are built by Jinx from the sorted request parameters, and include the OAuth token for signed calls, so
+ * responses for one user are never returned to another.
+ * <br>
+ * Responses about a photo, such as flickr.photos.getInfo, stay valid until the photo changes. Jinx passes the
+ * lastupdate value of every photo in a list of photos it receives, such as the results of
+ * {@link net.jeremybrooks.jinx.api.PhotosApi#recentlyUpdated}, to {@link #photoUpdated(String, long)}, so that
+ * caches can drop entries for photos that have changed since they were stored.
+ * <br>
+ * Implementations must be safe to use from multiple threads.
+ *
+ * @author Jeremy Brooks
+ * @see MemoryJinxCache
+ */
+public interface JinxCache {
+
+  /**
+   * Decide if responses from a Flickr method should be cached.
+   *
+   * @param flickrMethod the Flickr method, such as flickr.people.getInfo.
+   * @return true if responses from the method may be cached.
+   */
+  boolean isCacheable(String flickrMethod);
+
+  /**
+   * Get a cached response.
+   *
+   * @param key cache key.
+   * @return the json body of the cached response, or null if there is no current entry for the key.
+   */
+  String get(String key);
+
+  /**
+   * Store a successful response.
+   *
+   * @param key          cache key.
+   * @param flickrMethod the Flickr method that returned the response.
+   * @param body         the json body of the response.
+   */
+  void put(String key, String flickrMethod, String body);
+
+  /**
+   * Store a response that was first stored at an earlier time, such as a response copied from another cache.
+   * <br>
+   * The entry must be treated as stored at the given time: it expires that long sooner, and
+   * {@link #photoUpdated(String, long)} compares the update against that time.
+   * The default implementation stores the response as a new one.
+   *
+   * @param key          cache key.
+   * @param flickrMethod the Flickr method that returned the response.
+   * @param body         the json body of the response.
+   * @param written      time the response was first stored, in milliseconds since the epoch.
+   */
+  default void put(String key, String flickrMethod, String body, long written) {
+    put(key, flickrMethod, body);
+  }
+
+  /**
+   * Get the time a cached response was stored.
+   * <br>
+   * The default implementation returns -1.
+   *
+   * @param key cache key.
+   * @return time the response was stored, in milliseconds since the epoch, or -1 if there is no entry for the key
+   * or the time is not known.
+   */
+  default long getWrittenTime(String key) {
+    return -1;
+  }
+
+  /**
+   * Remove every entry from the cache.
+   */
+  void clear();
+
+  /**
+   * Tell the cache that a photo was last updated at the given time.
+   * <br>
+   * Entries for the photo that were stored before that time must no longer be returned.
+   * The default implementation does nothing.
+   *
+   * @param photoId    the photo id.
+   * @param lastUpdate time the photo was last updated, in seconds since the epoch, as returned by Flickr.
+   */
+  default void photoUpdated(String photoId, long lastUpdate) {
+  }
+
+  /**
+   * Tell the cache when each photo in a list was last updated.
+   * <br>
+   * Photos without a lastupdate value are ignored. Flickr only returns lastupdate for some methods, or when it is
+   * requested with the {@link net.jeremybrooks.jinx.JinxConstants.PhotoExtras#last_update} extra.
+   *
+   * @param photos photos to check.
+   */
+  default void photosUpdated(Iterable<Photo> photos) {
+    if (photos == null) {
+      return;
+    }
+    for (Photo photo : photos) {
+      if (photo != null && photo.getPhotoId() != null && photo.getLastUpdate() != null) {
+        try {
+          photoUpdated(photo.getPhotoId(), Long.parseLong(photo.getLastUpdate()));
+        } catch (NumberFormatException e) {
+          // not a timestamp; nothing to check
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,376 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-memory {@link JinxCache} with a time to live for each Flickr method, and least recently used eviction.
+ * <br>
+ * Only methods with a time to live greater than zero are cached. A new cache has time to live values for Flickr
+ * methods that return data that rarely changes:
+ * <ul>
+ * <li>One day: flickr.photos.licenses.getInfo, flickr.places.getPlaceTypes, flickr.places.getInfo,
+ * flickr.places.getInfoByUrl, flickr.cameras.getBrands, flickr.cameras.getBrandModels, flickr.reflection.getMethods,
+ * flickr.reflection.getMethodInfo.</li>
+ * <li>One hour: flickr.urls.lookupUser, flickr.urls.lookupGroup, flickr.urls.getUserPhotos,
+ * flickr.urls.getUserProfile, flickr.urls.getGroup, flickr.people.findByUsername, flickr.people.findByEmail.</li>
+ * <li>Ten minutes: flickr.people.getInfo, flickr.groups.getInfo.</li>
+ * </ul>
+ * Use {@link #setTtl(String, long, TimeUnit)} to change these, and {@link #setDefaultTtl(long, TimeUnit)} to cache
+ * every other GET method.
+ * <br>
+ * When the cache is full, the least recently used entry is evicted. Expired entries are removed when they are
+ * next looked up, or when they are evicted. Entries about a photo are removed when the photo is updated, as
+ * described in {@link JinxCache#photoUpdated(String, long)}.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class MemoryJinxCache implements JinxCache {
+
+  /**
+   * Default maximum number of entries.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+  private static final long DAY = TimeUnit.DAYS.toNanos(1);
+  private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+  private static final long TEN_MINUTES = TimeUnit.MINUTES.toNanos(10);
+
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+  private volatile long defaultTtl;
+  private final LinkedHashMap<String, CacheEntry> entries;
+  // keys of the entries about each photo, with the time each was stored, so that they can be found when the photo
+  // changes without a lookup in entries, which would count as a use
+  private final Map<String, Map<String, Long>> photoKeys = new HashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong expirations = new AtomicLong();
+
+  /**
+   * Create a cache that holds up to {@link #DEFAULT_MAX_ENTRIES} entries.
+   */
+  public MemoryJinxCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Create a cache.
+   *
+   * @param maxEntries maximum number of entries. Must be at least 1.
+   */
+  public MemoryJinxCache(int maxEntries) {
+    this(maxEntries, System::nanoTime);
+  }
+
+  MemoryJinxCache(int maxEntries, LongSupplier clock) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Max entries must be at least 1.");
+    }
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        if (size() > MemoryJinxCache.this.maxEntries) {
+          evictions.incrementAndGet();
+          unindex(eldest.getKey(), eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+
+    for (String method : new String[]{"flickr.photos.licenses.getInfo", "flickr.places.getPlaceTypes",
+        "flickr.places.getInfo", "flickr.places.getInfoByUrl", "flickr.cameras.getBrands",
+        "flickr.cameras.getBrandModels", "flickr.reflection.getMethods", "flickr.reflection.getMethodInfo"}) {
+      ttls.put(method, DAY);
+    }
+    for (String method : new String[]{"flickr.urls.lookupUser", "flickr.urls.lookupGroup",
+        "flickr.urls.getUserPhotos", "flickr.urls.getUserProfile", "flickr.urls.getGroup",
+        "flickr.people.findByUsername", "flickr.people.findByEmail"}) {
+      ttls.put(method, HOUR);
+    }
+    ttls.put("flickr.people.getInfo", TEN_MINUTES);
+    ttls.put("flickr.groups.getInfo", TEN_MINUTES);
+  }
+
+  /**
+   * Set how long responses from a Flickr method are cached.
+   *
+   * @param flickrMethod the Flickr method, such as flickr.people.getInfo.
+   * @param ttl          how long to cache responses. Zero means responses from the method are not cached.
+   * @param unit         unit of the ttl.
+   */
+  public void setTtl(String flickrMethod, long ttl, TimeUnit unit) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("TTL cannot be negative.");
+    }
+    this.ttls.put(flickrMethod, unit.toNanos(ttl));
+  }
+
+  /**
+   * Get how long responses from a Flickr method are cached.
+   *
+   * @param flickrMethod the Flickr method.
+   * @param unit         unit of the returned value.
+   * @return time to live for the method. Zero means responses from the method are not cached.
+   */
+  public long getTtl(String flickrMethod, TimeUnit unit) {
+    return unit.convert(ttl(flickrMethod), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Set how long responses are cached for methods that do not have their own time to live.
+   * The default is zero, so only methods with their own time to live are cached.
+   *
+   * @param ttl  how long to cache responses. Zero means these methods are not cached.
+   * @param unit unit of the ttl.
+   */
+  public void setDefaultTtl(long ttl, TimeUnit unit) {
+    if (ttl < 0) {
+      throw new IllegalArgumentException("TTL cannot be negative.");
+    }
+    this.defaultTtl = unit.toNanos(ttl);
+  }
+
+  private long ttl(String flickrMethod) {
+    Long ttl = flickrMethod == null ? null : ttls.get(flickrMethod);
+    return ttl == null ? defaultTtl : ttl;
+  }
+
+  @Override
+  public boolean isCacheable(String flickrMethod) {
+    return ttl(flickrMethod) > 0;
+  }
+
+  @Override
+  public String get(String key) {
+    CacheEntry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry != null && clock.getAsLong() - entry.expires >= 0) {
+        remove(key);
+        expirations.incrementAndGet();
+        entry = null;
+      }
+    }
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.body;
+  }
+
+  @Override
+  public void put(String key, String flickrMethod, String body) {
+    put(key, flickrMethod, body, System.currentTimeMillis());
+  }
+
+  @Override
+  public void put(String key, String flickrMethod, String body, long written) {
+    long age = Math.max(0, System.currentTimeMillis() - written);
+    long ttl = ttl(flickrMethod) - TimeUnit.MILLISECONDS.toNanos(age);
+    if (ttl > 0) {
+      CacheEntry entry = new CacheEntry(body, clock.getAsLong() + ttl, written, CacheKeys.photoId(key));
+      synchronized (entries) {
+        CacheEntry old = entries.put(key, entry);
+        if (old != null) {
+          unindex(key, old);
+        }
+        if (entry.photoId != null) {
+          photoKeys.computeIfAbsent(entry.photoId, id -> new HashMap<>()).put(key, written);
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the time a cached response was stored. Like {@link #get(String)}, this counts as a use of the entry.
+   *
+   * @param key cache key.
+   * @return time the response was stored, in milliseconds since the epoch, or -1 if there is no entry for the key.
+   */
+  @Override
+  public long getWrittenTime(String key) {
+    synchronized (entries) {
+      CacheEntry entry = entries.get(key);
+      return entry == null ? -1 : entry.created;
+    }
+  }
+
+  /**
+   * Remove an entry from the cache.
+   *
+   * @param key cache key.
+   */
+  public void invalidate(String key) {
+    synchronized (entries) {
+      remove(key);
+    }
+  }
+
+  @Override
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      photoKeys.clear();
+    }
+  }
+
+  /**
+   * Remove the entries for a photo that were stored before the photo was last updated.
+   *
+   * @param photoId    the photo id.
+   * @param lastUpdate time the photo was last updated, in seconds since the epoch.
+   */
+  @Override
+  public void photoUpdated(String photoId, long lastUpdate) {
+    long updated = TimeUnit.SECONDS.toMillis(lastUpdate);
+    synchronized (entries) {
+      Map<String, Long> keys = photoKeys.get(photoId);
+      if (keys != null) {
+        for (Map.Entry<String, Long> key : new ArrayList<>(keys.entrySet())) {
+          if (key.getValue() < updated) {
+            remove(key.getKey());
+          }
+        }
+      }
+    }
+  }
+
+  /*
+   * Remove an entry. Must be called while holding the entries lock.
+   */
+  private void remove(String key) {
+    CacheEntry entry = entries.remove(key);
+    if (entry != null) {
+      unindex(key, entry);
+    }
+  }
+
+  private void unindex(String key, CacheEntry entry) {
+    if (entry.photoId != null) {
+      Map<String, Long> keys = photoKeys.get(entry.photoId);
+      if (keys != null && keys.remove(key) != null && keys.isEmpty()) {
+        photoKeys.remove(entry.photoId);
+      }
+    }
+  }
+
+  /**
+   * Get the number of entries in the cache, including any that have expired but have not been removed.
+   *
+   * @return number of entries.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * @return number of lookups that found a current entry.
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * @return number of lookups that did not find a current entry.
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * @return fraction of lookups that found a current entry, or 0 if there have been no lookups.
+   */
+  public double getHitRate() {
+    long h = hits.get();
+    long total = h + misses.get();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * @return number of entries evicted to make room for new entries.
+   */
+  public long getEvictionCount() {
+    return evictions.get();
+  }
+
+  /**
+   * @return number of entries removed because they had expired.
+   */
+  public long getExpirationCount() {
+    return expirations.get();
+  }
+
+  /**
+   * Reset the hit, miss, eviction and expiration counts to zero.
+   */
+  public void resetStats() {
+    hits.set(0);
+    misses.set(0);
+    evictions.set(0);
+    expirations.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "MemoryJinxCache{" +
+        "size=" + size() +
+        ", maxEntries=" + maxEntries +
+        ", hits=" + hits +
+        ", misses=" + misses +
+        ", evictions=" + evictions +
+        ", expirations=" + expirations +
+        '}';
+  }
+
+  private static class CacheEntry {
+    private final String body;
+    private final long expires;
+    private final long created;
+    private final String photoId;
+
+    CacheEntry(String body, long expires, long created, String photoId) {
+      this.body = body;
+      this.expires = expires;
+      this.created = created;
+      this.photoId = photoId;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+/**
+ * A {@link JinxCache} that puts a fast cache in front of a slower one, such as a {@link MemoryJinxCache} in front of
+ * a {@link DiskJinxCache}.
+ * <br>
+ * Lookups try the first tier, then the second. A response found in the second tier is copied to the first tier, if
+ * the first tier caches the method. The copy keeps the time the response was stored, so a photo update removes it
+ * from the first tier too; a response about a photo is not copied if the second tier does not know that time.
+ * New responses are stored in both tiers, and clears and photo updates are passed to both tiers.
+ *
+ * @author Jeremy Brooks
+ */
+public class TieredJinxCache implements JinxCache {
+
+  private final JinxCache first;
+  private final JinxCache second;
+
+  /**
+   * Create a tiered cache.
+   *
+   * @param first  the cache that is checked first, usually a {@link MemoryJinxCache}.
+   * @param second the cache that is checked when the first misses, usually a {@link DiskJinxCache}.
+   */
+  public TieredJinxCache(JinxCache first, JinxCache second) {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("Both tiers are required.");
+    }
+    this.first = first;
+    this.second = second;
+  }
+
+  public JinxCache getFirst() {
+    return first;
+  }
+
+  public JinxCache getSecond() {
+    return second;
+  }
+
+  @Override
+  public boolean isCacheable(String flickrMethod) {
+    return first.isCacheable(flickrMethod) || second.isCacheable(flickrMethod);
+  }
+
+  @Override
+  public String get(String key) {
+    String body = first.get(key);
+    if (body == null) {
+      body = second.get(key);
+      if (body != null) {
+        long written = second.getWrittenTime(key);
+        if (written >= 0) {
+          first.put(key, CacheKeys.param(key, "method"), body, written);
+        } else if (CacheKeys.photoId(key) == null) {
+          first.put(key, CacheKeys.param(key, "method"), body);
+        }
+      }
+    }
+    return body;
+  }
+
+  @Override
+  public void put(String key, String flickrMethod, String body) {
+    first.put(key, flickrMethod, body);
+    second.put(key, flickrMethod, body);
+  }
+
+  @Override
+  public void put(String key, String flickrMethod, String body, long written) {
+    first.put(key, flickrMethod, body, written);
+    second.put(key, flickrMethod, body, written);
+  }
+
+  @Override
+  public long getWrittenTime(String key) {
+    long written = first.getWrittenTime(key);
+    return written >= 0 ? written : second.getWrittenTime(key);
+  }
+
+  @Override
+  public void clear() {
+    first.clear();
+    second.clear();
+  }
+
+  @Override
+  public void photoUpdated(String photoId, long lastUpdate) {
+    first.photoUpdated(photoId, lastUpdate);
+    second.photoUpdated(photoId, lastUpdate);
+  }
+}
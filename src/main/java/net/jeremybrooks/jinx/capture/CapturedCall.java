@@ -0,0 +1,170 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.capture;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A request to Flickr and its outcome, as kept by a {@link JinxCapture}.
+ * <br>
+ * OAuth tokens, signatures and the API key have been replaced with {@value JinxCapture#REDACTED} in the url,
+ * headers and bodies. Bodies longer than the capture's maximum length are truncated.
+ *
+ * @author Jeremy Brooks
+ */
+public class CapturedCall {
+
+  private final long sequence;
+  private final long timestamp;
+  private final String flickrMethod;
+  private final String httpMethod;
+  private final String url;
+  private final Map<String, String> requestHeaders;
+  private final String requestBody;
+  private final int httpStatus;
+  private final int flickrErrorCode;
+  private final String errorMessage;
+  private final String responseBody;
+  private final Throwable failure;
+
+  CapturedCall(long sequence, long timestamp, String flickrMethod, String httpMethod, String url,
+               Map<String, String> requestHeaders, String requestBody, int httpStatus, int flickrErrorCode,
+               String errorMessage, String responseBody, Throwable failure) {
+    this.sequence = sequence;
+    this.timestamp = timestamp;
+    this.flickrMethod = flickrMethod;
+    this.httpMethod = httpMethod;
+    this.url = url;
+    this.requestHeaders = Collections.unmodifiableMap(requestHeaders);
+    this.requestBody = requestBody;
+    this.httpStatus = httpStatus;
+    this.flickrErrorCode = flickrErrorCode;
+    this.errorMessage = errorMessage;
+    this.responseBody = responseBody;
+    this.failure = failure;
+  }
+
+  /**
+   * Get the position of this call in the order calls were captured.
+   *
+   * @return sequence number, starting at 0.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  public Date getTimestamp() {
+    return new Date(timestamp);
+  }
+
+  public String getFlickrMethod() {
+    return flickrMethod;
+  }
+
+  public String getHttpMethod() {
+    return httpMethod;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public Map<String, String> getRequestHeaders() {
+    return requestHeaders;
+  }
+
+  /**
+   * Get the request body. Upload bodies show the parameters, but not the photo data.
+   *
+   * @return request body, or null for GET requests.
+   */
+  public String getRequestBody() {
+    return requestBody;
+  }
+
+  /**
+   * Get the http status code.
+   *
+   * @return status code, or 0 if no response was received.
+   */
+  public int getHttpStatus() {
+    return httpStatus;
+  }
+
+  /**
+   * Get the error code returned by Flickr.
+   *
+   * @return error code, or 0 if Flickr did not return an error.
+   */
+  public int getFlickrErrorCode() {
+    return flickrErrorCode;
+  }
+
+  /**
+   * Get the error message returned by Flickr, or the message of the exception that ended the call.
+   *
+   * @return error message, or null if the call succeeded.
+   */
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  /**
+   * Get the response body.
+   * <br>
+   * When the capture keeps errors only, the bodies of successful json responses are never read into memory, so
+   * Flickr errors have no body; their code and message are still captured.
+   *
+   * @return response body, or null if it was not captured.
+   */
+  public String getResponseBody() {
+    return responseBody;
+  }
+
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Indicates if the call failed.
+   *
+   * @return true if the call threw an exception or Flickr returned an error code.
+   */
+  public boolean isError() {
+    return failure != null || flickrErrorCode != 0;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.capture.CapturedCall{" +
+        "sequence=" + sequence +
+        ", timestamp=" + timestamp +
+        ", flickrMethod='" + flickrMethod + '\'' +
+        ", httpMethod='" + httpMethod + '\'' +
+        ", url='" + url + '\'' +
+        ", requestHeaders=" + requestHeaders +
+        ", requestBody='" + requestBody + '\'' +
+        ", httpStatus=" + httpStatus +
+        ", flickrErrorCode=" + flickrErrorCode +
+        ", errorMessage='" + errorMessage + '\'' +
+        ", responseBody='" + responseBody + '\'' +
+        ", failure=" + failure +
+        '}';
+  }
+}
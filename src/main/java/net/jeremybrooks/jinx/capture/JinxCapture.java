@@ -0,0 +1,286 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.capture;
+
+import net.jeremybrooks.jinx.transport.JinxRequestBody;
+import net.jeremybrooks.jinx.transport.JinxTransportRequest;
+import net.jeremybrooks.jinx.transport.MultipartRequestBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the most recent requests to Flickr, and their responses, for debugging.
+ * <br>
+ * Set a capture with {@link net.jeremybrooks.jinx.Jinx#setCapture(JinxCapture)}. The capture holds at most a fixed
+ * number of calls; when it is full, each new call replaces the oldest one. Which calls are captured is controlled by:
+ * <ul>
+ * <li>the sample rate, the fraction of calls chosen at random. The default is 1, every call.</li>
+ * <li>the methods, a set of Flickr method names. If the set is empty, which is the default, every method
+ * is captured.</li>
+ * <li>errors only. If true, only calls that fail are kept. Successful json responses are still parsed as they
+ * stream in, so this costs very little, but Flickr error responses are not kept as text; their code and message
+ * are kept instead.</li>
+ * </ul>
+ * Calls that are not chosen cost one random number. Chosen calls are read into memory before they are parsed, much
+ * like verbose logging, but nothing is formatted or written out.
+ * <br>
+ * OAuth tokens, signatures, the consumer key, verifiers and the API key are replaced with {@value #REDACTED} in
+ * captured urls, headers and request bodies. Responses to flickr.auth methods are not kept, since they contain
+ * tokens. Bodies are truncated to the maximum body length.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxCapture {
+
+  /** Text that replaces secrets. */
+  public static final String REDACTED = "REDACTED";
+
+  /** Default maximum number of characters kept from each body. */
+  public static final int DEFAULT_MAX_BODY_LENGTH = 16384;
+
+  private static final String SECRET_NAMES =
+      "oauth_token|oauth_token_secret|oauth_signature|oauth_consumer_key|oauth_verifier|api_key";
+  /* name=value in urls and form bodies, and name="value" in OAuth headers */
+  private static final Pattern SECRET_PARAMETER =
+      Pattern.compile("\\b(" + SECRET_NAMES + ")(=\"?)[^\"&,\\s]*");
+  /* form fields in multipart bodies */
+  private static final Pattern SECRET_FIELD =
+      Pattern.compile("(name=\"(?:" + SECRET_NAMES + ")\"\r\n\r\n)[^\r\n]*");
+
+  private final AtomicReferenceArray<CapturedCall> calls;
+  private final AtomicLong next = new AtomicLong();
+  private volatile double sampleRate = 1;
+  private volatile Set<String> methods = Collections.emptySet();
+  private volatile boolean errorsOnly;
+  private volatile int maxBodyLength = DEFAULT_MAX_BODY_LENGTH;
+
+  /**
+   * Create a capture.
+   *
+   * @param capacity number of calls to keep.
+   */
+  public JinxCapture(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be at least 1.");
+    }
+    this.calls = new AtomicReferenceArray<>(capacity);
+  }
+
+  public int getCapacity() {
+    return calls.length();
+  }
+
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Set the fraction of calls to capture.
+   *
+   * @param sampleRate fraction of calls, from 0 to 1.
+   */
+  public void setSampleRate(double sampleRate) {
+    if (!(sampleRate >= 0 && sampleRate <= 1)) {
+      throw new IllegalArgumentException("Sample rate must be between 0 and 1.");
+    }
+    this.sampleRate = sampleRate;
+  }
+
+  public Set<String> getMethods() {
+    return methods;
+  }
+
+  /**
+   * Capture only calls to some Flickr methods.
+   *
+   * @param methods Flickr method names, such as flickr.photos.getInfo. Null or empty to capture every method.
+   */
+  public void setMethods(Collection<String> methods) {
+    this.methods = methods == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(methods));
+  }
+
+  public boolean isErrorsOnly() {
+    return errorsOnly;
+  }
+
+  /**
+   * Keep only the calls that fail.
+   *
+   * @param errorsOnly true to keep only failed calls.
+   */
+  public void setErrorsOnly(boolean errorsOnly) {
+    this.errorsOnly = errorsOnly;
+  }
+
+  public int getMaxBodyLength() {
+    return maxBodyLength;
+  }
+
+  /**
+   * Set the maximum number of characters kept from each request and response body.
+   *
+   * @param maxBodyLength number of characters.
+   */
+  public void setMaxBodyLength(int maxBodyLength) {
+    if (maxBodyLength < 0) {
+      throw new IllegalArgumentException("Maximum body length cannot be negative.");
+    }
+    this.maxBodyLength = maxBodyLength;
+  }
+
+  /**
+   * Get the captured calls, oldest first.
+   *
+   * @return captured calls.
+   */
+  public List<CapturedCall> getCalls() {
+    List<CapturedCall> list = new ArrayList<>(calls.length());
+    for (int i = 0; i < calls.length(); i++) {
+      CapturedCall call = calls.get(i);
+      if (call != null) {
+        list.add(call);
+      }
+    }
+    list.sort(Comparator.comparingLong(CapturedCall::getSequence));
+    return list;
+  }
+
+  /**
+   * Get the number of calls captured since the capture was created, including calls that have been replaced.
+   *
+   * @return number of calls.
+   */
+  public long getCapturedCount() {
+    return next.get();
+  }
+
+  /**
+   * Discard the captured calls.
+   */
+  public void clear() {
+    for (int i = 0; i < calls.length(); i++) {
+      calls.set(i, null);
+    }
+  }
+
+  /**
+   * Decide if a call should be captured. Jinx calls this before sending the request.
+   *
+   * @param flickrMethod Flickr method name.
+   * @return true if the call should be captured.
+   */
+  public boolean select(String flickrMethod) {
+    Set<String> only = this.methods;
+    if (!only.isEmpty() && !only.contains(flickrMethod)) {
+      return false;
+    }
+    double rate = this.sampleRate;
+    return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /**
+   * Indicates if response bodies should be read so they can be captured.
+   *
+   * @return true if successful response bodies are kept.
+   */
+  public boolean isCaptureBody() {
+    return !errorsOnly;
+  }
+
+  /**
+   * Keep a selected call. Jinx calls this when the call is complete. If the capture keeps errors only, and the call
+   * succeeded, it is not kept.
+   *
+   * @param flickrMethod    Flickr method name.
+   * @param request         the request.
+   * @param httpStatus      http status code, or 0 if there was no response.
+   * @param flickrErrorCode error code returned by Flickr, or 0.
+   * @param errorMessage    error message returned by Flickr, or null.
+   * @param responseBody    response body, or null if it was not read.
+   * @param failure         exception that ended the call, or null.
+   */
+  public void capture(String flickrMethod, JinxTransportRequest request, int httpStatus, int flickrErrorCode,
+                      String errorMessage, String responseBody, Throwable failure) {
+    if (errorsOnly && failure == null && flickrErrorCode == 0) {
+      return;
+    }
+    Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      headers.put(header.getKey(), redact(header.getValue()));
+    }
+    if (flickrMethod != null && flickrMethod.startsWith("flickr.auth.")) {
+      responseBody = null;
+    }
+    long sequence = next.getAndIncrement();
+    CapturedCall call = new CapturedCall(sequence, System.currentTimeMillis(), flickrMethod,
+        request.getMethod().toString(), redact(request.getUrl()), headers,
+        truncate(redact(bodyOf(request.getRequestBody()))), httpStatus, flickrErrorCode,
+        errorMessage == null && failure != null ? failure.getMessage() : errorMessage,
+        truncate(responseBody), failure);
+    calls.set((int) (sequence % calls.length()), call);
+  }
+
+  static String redact(String text) {
+    if (text == null) {
+      return null;
+    }
+    text = SECRET_PARAMETER.matcher(text).replaceAll("$1$2" + REDACTED);
+    return SECRET_FIELD.matcher(text).replaceAll("$1" + REDACTED);
+  }
+
+  private String truncate(String text) {
+    int max = this.maxBodyLength;
+    if (text == null || text.length() <= max) {
+      return text;
+    }
+    return text.substring(0, max) + "...[" + (text.length() - max) + " more characters]";
+  }
+
+  private String bodyOf(JinxRequestBody body) {
+    if (body == null) {
+      return null;
+    }
+    if (body instanceof MultipartRequestBody) {
+      // shows the parameters, and the size of the photo instead of its data
+      return body.toString();
+    }
+    try (InputStream in = body.openStream()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      in.transferTo(out);
+      return out.toString(StandardCharsets.UTF_8);
+    } catch (Exception e) {
+      return "[unreadable body: " + e + "]";
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.download;
+
+import net.jeremybrooks.jinx.JinxException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An image downloaded by an {@link ImageDownloader}, kept in an {@link ImageCache}.
+ * <br>
+ * Nothing is read until it is asked for. The bytes can be read, or streamed, without decoding the image; it is only
+ * decoded by {@link #getImage()}, and the decoded image is not kept, so holding many of these costs little memory.
+ *
+ * @author Jeremy Brooks
+ */
+public class CachedImage {
+
+  private final String url;
+  private final Path path;
+  private final long size;
+  private final boolean fromCache;
+
+  CachedImage(String url, Path path, long size, boolean fromCache) {
+    this.url = url;
+    this.path = path;
+    this.size = size;
+    this.fromCache = fromCache;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the cached file. The cache can delete it to make room for other images.
+   *
+   * @return the file.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Get the size of the image.
+   *
+   * @return size in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Indicates if the image was already in the cache, and was not downloaded.
+   *
+   * @return true if the image came from the cache.
+   */
+  public boolean isFromCache() {
+    return fromCache;
+  }
+
+  /**
+   * Read the image.
+   *
+   * @return the bytes of the image, as they were downloaded.
+   * @throws JinxException if the file could not be read.
+   */
+  public byte[] getBytes() throws JinxException {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException e) {
+      throw new JinxException("Unable to read cached image " + path, e);
+    }
+  }
+
+  /**
+   * Open the image as a stream. The caller must close it.
+   *
+   * @return stream of the bytes of the image.
+   * @throws JinxException if the file could not be opened.
+   */
+  public InputStream openStream() throws JinxException {
+    try {
+      return Files.newInputStream(path);
+    } catch (IOException e) {
+      throw new JinxException("Unable to read cached image " + path, e);
+    }
+  }
+
+  /**
+   * Decode the image. Each call decodes it again.
+   *
+   * @return the decoded image.
+   * @throws JinxException if the file could not be read, or is not an image.
+   */
+  public BufferedImage getImage() throws JinxException {
+    BufferedImage image;
+    try {
+      image = ImageIO.read(path.toFile());
+    } catch (IOException e) {
+      throw new JinxException("Unable to decode cached image " + path, e);
+    }
+    if (image == null) {
+      throw new JinxException("Not a supported image: " + url);
+    }
+    return image;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.download.CachedImage{" +
+        "url='" + url + '\'' +
+        ", path=" + path +
+        ", size=" + size +
+        ", fromCache=" + fromCache +
+        '}';
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.download;
+
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxUtils;
+import net.jeremybrooks.jinx.logger.JinxLogger;
+import net.jeremybrooks.jinx.logger.LogLevel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps downloaded images on disk, one file per image.
+ * <br>
+ * Each image is stored under the SHA-256 hash of its URL, in a subdirectory named after the first two characters
+ * of the hash. The URL of a Flickr image includes its secret, and changes when the image changes, so the URL
+ * identifies the content, and a cached image never goes stale.
+ * <br>
+ * Images are streamed to a temporary file, and moved into place when they are complete, so a reader never sees a
+ * partial image. When the cache grows past its maximum size, the least recently used images are deleted. The order
+ * of use is kept in the modification time of each file, so it survives a restart.
+ * <br>
+ * Only one instance should use a directory at a time. This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class ImageCache {
+
+  /**
+   * Default maximum size of the cache, in bytes.
+   */
+  public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+  private static final String TEMP_PREFIX = "download-";
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final Path directory;
+  private final long maxSize;
+  // hash to file size, least recently used first
+  private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Open a cache in a directory, creating the directory if necessary.
+   *
+   * @param directory directory for the images.
+   * @throws JinxException if the directory could not be opened.
+   */
+  public ImageCache(Path directory) throws JinxException {
+    this(directory, DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Open a cache in a directory, creating the directory if necessary.
+   *
+   * @param directory directory for the images.
+   * @param maxSize   maximum size of the cache in bytes.
+   * @throws JinxException if the directory could not be opened.
+   */
+  public ImageCache(Path directory, long maxSize) throws JinxException {
+    if (directory == null || maxSize < 1) {
+      throw new IllegalArgumentException("Directory cannot be null, and the maximum size must be at least 1.");
+    }
+    this.directory = directory;
+    this.maxSize = maxSize;
+    try {
+      Files.createDirectories(directory);
+      open();
+    } catch (IOException e) {
+      throw new JinxException("Unable to open image cache in " + directory, e);
+    }
+  }
+
+  /*
+   * Index the images in the directory, oldest first, and delete temporary files left by a download that was
+   * interrupted.
+   */
+  private void open() throws IOException {
+    List<Image> found = new ArrayList<>();
+    try (DirectoryStream<Path> dirs = Files.newDirectoryStream(directory)) {
+      for (Path dir : dirs) {
+        String name = dir.getFileName().toString();
+        if (name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX)) {
+          Files.deleteIfExists(dir);
+          continue;
+        }
+        if (name.length() != 2 || !Files.isDirectory(dir)) {
+          continue;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+          for (Path file : files) {
+            String hash = file.getFileName().toString();
+            if (hash.length() == 64 && hash.startsWith(name)) {
+              found.add(new Image(hash, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+            }
+          }
+        }
+      }
+    }
+    found.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+    for (Image image : found) {
+      index.put(image.hash, image.size);
+      size += image.size;
+    }
+    evict(null);
+  }
+
+  /**
+   * Get the cached copy of an image.
+   * <br>
+   * The file can be deleted to make room for other images, so read it soon after it is returned.
+   *
+   * @param url URL of the image.
+   * @return the file, or null if the image is not cached.
+   */
+  public Path get(String url) {
+    String hash = hash(url);
+    Path path = path(hash);
+    synchronized (this) {
+      if (index.get(hash) == null) {
+        misses.incrementAndGet();
+        return null;
+      }
+      hits.incrementAndGet();
+    }
+    try {
+      Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      // deleted behind our back
+      synchronized (this) {
+        Long removed = index.remove(hash);
+        if (removed != null) {
+          size -= removed;
+        }
+      }
+      return null;
+    }
+    return path;
+  }
+
+  /**
+   * Store an image, reading it from a stream. The stream is not closed.
+   *
+   * @param url URL of the image.
+   * @param in  the image.
+   * @return the cached file.
+   * @throws JinxException if the image could not be read or written.
+   */
+  public Path put(String url, InputStream in) throws JinxException {
+    String hash = hash(url);
+    Path path = path(hash);
+    Path temp = null;
+    long length;
+    try {
+      temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        length = in.transferTo(out);
+      }
+      Files.createDirectories(path.getParent());
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      deleteQuietly(temp);
+      throw new JinxException("Unable to cache image " + url, e);
+    }
+    synchronized (this) {
+      Long previous = index.put(hash, length);
+      size += length - (previous == null ? 0 : previous);
+      evict(hash);
+    }
+    return path;
+  }
+
+  /**
+   * Remove an image from the cache.
+   *
+   * @param url URL of the image.
+   */
+  public synchronized void remove(String url) {
+    String hash = hash(url);
+    Long removed = index.remove(hash);
+    if (removed != null) {
+      size -= removed;
+      deleteQuietly(path(hash));
+    }
+  }
+
+  /**
+   * Remove every image from the cache.
+   */
+  public synchronized void clear() {
+    for (String hash : index.keySet()) {
+      deleteQuietly(path(hash));
+    }
+    index.clear();
+    size = 0;
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Get the total size of the cached images.
+   *
+   * @return size in bytes.
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  /**
+   * Get the number of cached images.
+   *
+   * @return number of images.
+   */
+  public synchronized int getCount() {
+    return index.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  /*
+   * Delete the least recently used images until the cache fits. The image just stored is kept, even if it is
+   * bigger than the cache.
+   */
+  private void evict(String keep) {
+    Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+    while (size > maxSize && it.hasNext()) {
+      Map.Entry<String, Long> entry = it.next();
+      if (entry.getKey().equals(keep)) {
+        continue;
+      }
+      it.remove();
+      size -= entry.getValue();
+      evictions.incrementAndGet();
+      deleteQuietly(path(entry.getKey()));
+    }
+  }
+
+  private Path path(String hash) {
+    return directory.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  private static void deleteQuietly(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      JinxLogger.log(LogLevel.WARN, "Unable to delete " + path, e);
+    }
+  }
+
+  /*
+   * Compute the SHA-256 hash of a URL, as lower case hex.
+   */
+  static String hash(String url) {
+    if (url == null) {
+      throw new IllegalArgumentException("URL cannot be null.");
+    }
+    return JinxUtils.sha256Hex(url);
+  }
+
+  private static class Image {
+    private final String hash;
+    private final long size;
+    private final long lastUsed;
+
+    private Image(String hash, long size, long lastUsed) {
+      this.hash = hash;
+      this.size = size;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.download;
+
+import net.jeremybrooks.jinx.BoundedAsyncQueue;
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.PhotoSizeResolver;
+import net.jeremybrooks.jinx.PhotoUtils;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+import net.jeremybrooks.jinx.transport.JinxTransport;
+import net.jeremybrooks.jinx.transport.JinxTransportRequest;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Downloads photos from Flickr into an {@link ImageCache}, several at a time.
+ * <br>
+ * {@link PhotoUtils#getImageForSize(JinxConstants.PhotoSize, Photo)} downloads and decodes one image at a time,
+ * every time it is called. This class is meant for showing many images, such as a wall of thumbnails: images are
+ * downloaded at the same time, streamed to disk without being decoded, and served from the cache the next time.
+ * <pre>
+ * ImageDownloader downloader = new ImageDownloader(jinx, new ImageCache(Paths.get("thumbnails")));
+ * for (CompletableFuture&lt;CachedImage&gt; future : downloader.downloadAll(PhotoSize.SIZE_LARGE_SQUARE, photos)) {
+ *   future.thenAccept(image -&gt; show(image.getBytes()));
+ * }
+ * </pre>
+ * Images are downloaded with the Jinx transport, so they use its connection pool, timeouts and proxy settings.
+ * Redirects are followed. No more than {@link #getParallelism()} downloads are in flight at once; the rest wait in
+ * a {@link BoundedAsyncQueue}, without using a thread. Asking for an image that is already being downloaded returns the same future,
+ * and an image that is in the cache is returned at once, without using a thread.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class ImageDownloader {
+
+  /** Number of downloads in flight at once, by default. */
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  private static final int MAX_REDIRECTS = 5;
+
+  private final Jinx jinx;
+  private final ImageCache cache;
+  private final Map<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+  private final BoundedAsyncQueue queue = new BoundedAsyncQueue(DEFAULT_PARALLELISM);
+
+  /**
+   * Create a downloader.
+   *
+   * @param jinx  Jinx instance. Its transport downloads the images, and its executor runs the downloads.
+   * @param cache cache for the images.
+   */
+  public ImageDownloader(Jinx jinx, ImageCache cache) {
+    if (jinx == null || cache == null) {
+      throw new IllegalArgumentException("Jinx and cache cannot be null.");
+    }
+    this.jinx = jinx;
+    this.cache = cache;
+  }
+
+  public ImageCache getCache() {
+    return cache;
+  }
+
+  public int getParallelism() {
+    return queue.getParallelism();
+  }
+
+  /**
+   * Set the number of downloads in flight at once. The default is {@link #DEFAULT_PARALLELISM}.
+   * <br>
+   * The transport can also limit the number of connections to each host; see
+   * {@link net.jeremybrooks.jinx.transport.DefaultJinxTransport}.
+   *
+   * @param parallelism number of downloads, at least 1.
+   */
+  public void setParallelism(int parallelism) {
+    queue.setParallelism(parallelism);
+  }
+
+  /**
+   * Download a size of a photo.
+   *
+   * @param size  the size to download.
+   * @param photo the photo. Must have the fields needed by
+   *              {@link PhotoUtils#getUrlForSize(JinxConstants.PhotoSize, Photo)}.
+   * @return future that completes with the image, or with a {@link JinxException} if it could not be downloaded.
+   */
+  public CompletableFuture<CachedImage> download(JinxConstants.PhotoSize size, Photo photo) {
+    URL url;
+    try {
+      url = PhotoUtils.getUrlForSize(size, photo);
+    } catch (JinxException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return download(url.toString());
+  }
+
+  /**
+   * Download the smallest size of a photo that fills a box, as chosen by {@link PhotoSizeResolver}.
+   * <br>
+   * The size is chosen from the url and o_dims extras of the photo, so ask for them when listing photos.
+   *
+   * @param photo  the photo.
+   * @param width  width of the box, in pixels. Zero if only the height matters.
+   * @param height height of the box, in pixels. Zero if only the width matters.
+   * @param fit    how the photo is fitted into the box.
+   * @return future that completes with the image, or with a {@link JinxException} if it could not be downloaded.
+   */
+  public CompletableFuture<CachedImage> download(Photo photo, int width, int height, PhotoSizeResolver.Fit fit) {
+    PhotoSizeResolver.Choice choice = PhotoSizeResolver.resolve(photo, width, height, fit);
+    if (choice == null) {
+      return CompletableFuture.failedFuture(
+          new JinxException("No size of photo " + photo.getPhotoId() + " is known. Ask for url or o_dims extras."));
+    }
+    return download(choice.getUrl());
+  }
+
+  /**
+   * Download an image.
+   *
+   * @param url URL of the image.
+   * @return future that completes with the image, or with a {@link JinxException} if it could not be downloaded.
+   */
+  public CompletableFuture<CachedImage> download(String url) {
+    if (url == null) {
+      throw new IllegalArgumentException("URL cannot be null.");
+    }
+    CachedImage cached = cached(url);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    CompletableFuture<CachedImage> created = new CompletableFuture<>();
+    CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(url, created);
+    if (existing != null) {
+      return existing;
+    }
+    created.whenComplete((r, t) -> inFlight.remove(url, created));
+    queue.<CachedImage>submit(() -> {
+      CompletableFuture<CachedImage> download = new CompletableFuture<>();
+      try {
+        jinx.getExecutor().execute(() -> {
+          try {
+            download.complete(fetch(url));
+          } catch (Throwable t) {
+            download.completeExceptionally(t);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        download.completeExceptionally(new JinxException("Unable to start download of " + url, e));
+      }
+      return download;
+    }).whenComplete((r, t) -> {
+      if (t == null) {
+        created.complete(r);
+      } else {
+        created.completeExceptionally(t);
+      }
+    });
+    return created;
+  }
+
+  /**
+   * Download a size of many photos.
+   * <br>
+   * Each future completes as soon as its image is ready, so images can be shown as they arrive.
+   *
+   * @param size   the size to download.
+   * @param photos the photos.
+   * @return a future for each photo, in the same order as the photos.
+   */
+  public List<CompletableFuture<CachedImage>> downloadAll(JinxConstants.PhotoSize size, Collection<Photo> photos) {
+    List<CompletableFuture<CachedImage>> futures = new ArrayList<>(photos.size());
+    for (Photo photo : photos) {
+      futures.add(download(size, photo));
+    }
+    return futures;
+  }
+
+  private CachedImage cached(String url) {
+    Path path = cache.get(url);
+    if (path == null) {
+      return null;
+    }
+    try {
+      return new CachedImage(url, path, Files.size(path), true);
+    } catch (IOException e) {
+      // evicted since it was looked up
+      return null;
+    }
+  }
+
+  /*
+   * Download an image into the cache, following redirects.
+   */
+  private CachedImage fetch(String url) throws JinxException {
+    // another download of the same image may have finished while this one was waiting
+    CachedImage cached = cached(url);
+    if (cached != null) {
+      return cached;
+    }
+    JinxTransport transport = jinx.getTransport();
+    String location = url;
+    for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+      try (JinxTransportResponse response =
+               transport.execute(new JinxTransportRequest(JinxConstants.Method.GET, location, null, null))) {
+        int code = response.getCode();
+        String next = response.getHeader("Location");
+        if (code >= 300 && code < 400 && next != null) {
+          try {
+            location = new URL(new URL(location), next).toString();
+          } catch (IOException e) {
+            throw new JinxException("Invalid redirect from " + location + " to " + next, e);
+          }
+          continue;
+        }
+        if (code != 200) {
+          throw new JinxHttpException(code, -1);
+        }
+        InputStream in = response.getStream();
+        if (in == null) {
+          throw new JinxException("No image returned for " + url);
+        }
+        Path path = cache.put(url, in);
+        try {
+          return new CachedImage(url, path, Files.size(path), false);
+        } catch (IOException e) {
+          throw new JinxException("Unable to read cached image " + path, e);
+        }
+      }
+    }
+    throw new JinxException("Too many redirects for " + url);
+  }
+}
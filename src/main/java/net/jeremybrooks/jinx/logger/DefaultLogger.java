@@ -32,4 +32,9 @@ public class DefaultLogger implements LogInterface {
 	// Does nothing
     }
 
+    @Override
+    public boolean isEnabled(LogLevel level) {
+	return false;
+    }
+
 }
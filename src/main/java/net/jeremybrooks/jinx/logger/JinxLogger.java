@@ -17,37 +17,108 @@
 
 package net.jeremybrooks.jinx.logger;
 
+import java.util.function.Supplier;
+
 /**
+ * Holds the logger used by Jinx, and checks log levels before building messages.
+ * <br>
+ * Jinx code logs through the static methods in this class. Messages are only built if the logger accepts their
+ * level, so a message passed as a {@link Supplier} costs nothing when it is not logged. A supplier that captures
+ * variables is still allocated by the caller, so code on hot paths should check {@link #isEnabled(LogLevel)} first.
+ * <br>
+ * The logger can be changed at any time, from any thread.
  *
  * @author Jeremy Brooks
  */
 public class JinxLogger {
 
-    private static LogInterface logger = null;
+    private static volatile LogInterface logger = new DefaultLogger();
+
+    private JinxLogger() {
+    }
 
 
     /**
      * @return the logger
      */
     public static LogInterface getLogger() {
-		if (logger == null) {
-			logger = new DefaultLogger();
-		}
-		return logger;
+	return logger;
     }
 
 
     /**
-     * @param logger the logger to set
+     * @param logger the logger to set, or null to stop logging.
      */
     public static void setLogger(LogInterface logger) {
-	if (logger == null) {
-	    JinxLogger.logger = new DefaultLogger();
-	} else {
-	    JinxLogger.logger = logger;
+	JinxLogger.logger = logger == null ? new DefaultLogger() : logger;
+    }
+
+
+    /**
+     * Indicates if messages at a level will be logged.
+     *
+     * @param level the level.
+     * @return true if messages at the level will be logged.
+     */
+    public static boolean isEnabled(LogLevel level) {
+	return logger.isEnabled(level);
+    }
+
+
+    /**
+     * Log a message if the level is enabled.
+     *
+     * @param level the level.
+     * @param message the message.
+     */
+    public static void log(LogLevel level, String message) {
+	LogInterface current = logger;
+	if (current.isEnabled(level)) {
+	    current.log(level, message);
+	}
+    }
+
+
+    /**
+     * Log a message and exception if the level is enabled.
+     *
+     * @param level the level.
+     * @param message the message.
+     * @param t the cause of the error.
+     */
+    public static void log(LogLevel level, String message, Throwable t) {
+	LogInterface current = logger;
+	if (current.isEnabled(level)) {
+	    current.log(level, message, t);
 	}
     }
 
 
+    /**
+     * Build and log a message if the level is enabled.
+     *
+     * @param level the level.
+     * @param message supplies the message. It is not called if the level is not enabled.
+     */
+    public static void log(LogLevel level, Supplier<String> message) {
+	LogInterface current = logger;
+	if (current.isEnabled(level)) {
+	    current.log(level, message.get());
+	}
+    }
+
 
+    /**
+     * Build and log a message and exception if the level is enabled.
+     *
+     * @param level the level.
+     * @param message supplies the message. It is not called if the level is not enabled.
+     * @param t the cause of the error.
+     */
+    public static void log(LogLevel level, Supplier<String> message, Throwable t) {
+	LogInterface current = logger;
+	if (current.isEnabled(level)) {
+	    current.log(level, message.get(), t);
+	}
+    }
 }
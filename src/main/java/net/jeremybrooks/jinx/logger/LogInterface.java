@@ -23,6 +23,10 @@ package net.jeremybrooks.jinx.logger;
  * By default, Jinx will not log anything. If you wish to see Jinx log output,
  * you can implement this class and then tell Jinx what class to use for logging
  * by calling <code>JinxLogger.setLogger(your class instance)</code>.
+ * <br>
+ * Loggers that filter by level should override {@link #isEnabled(LogLevel)}, so that Jinx
+ * does not build messages that will be thrown away. Loggers that only implement the two
+ * original methods log every message they are given.
  * 
  * @author Jeremy Brooks
  */
@@ -43,5 +47,38 @@ public interface LogInterface {
      * @param t the cause of the error.
      */
     public void log(String message, Throwable t);
-    
+
+
+    /**
+     * Indicates if messages at a level will be logged. Jinx checks this before building a message.
+     *
+     * @param level the level.
+     * @return true if messages at the level will be logged. The default is true.
+     */
+    default boolean isEnabled(LogLevel level) {
+	return true;
+    }
+
+
+    /**
+     * Log a message at a level.
+     *
+     * @param level the level.
+     * @param message the message.
+     */
+    default void log(LogLevel level, String message) {
+	log(message);
+    }
+
+
+    /**
+     * Log a message along with an Exception at a level.
+     *
+     * @param level the level.
+     * @param message the message.
+     * @param t the cause of the error.
+     */
+    default void log(LogLevel level, String message, Throwable t) {
+	log(message, t);
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.logger;
+
+/**
+ * Severity of a log message, from most to least severe.
+ *
+ * @author Jeremy Brooks
+ */
+public enum LogLevel {
+    /** A call failed, or Jinx could not do something it was asked to do. */
+    ERROR,
+    /** Something went wrong, but Jinx carried on. */
+    WARN,
+    /** Infrequent events worth knowing about, such as retries. */
+    INFO,
+    /** Details of each call to Flickr. Logged only when verbose logging is on. */
+    DEBUG,
+    /** Very large or very frequent messages, such as multipart request bodies. */
+    TRACE
+}
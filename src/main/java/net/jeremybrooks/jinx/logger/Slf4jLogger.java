@@ -0,0 +1,138 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.logger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log through SLF4J.
+ *
+ * Jinx does not depend on SLF4J at runtime. To use this logger, put slf4j-api and a binding on the classpath,
+ * then call <code>JinxLogger.setLogger(new Slf4jLogger());</code>. Log levels are checked with the
+ * SLF4J logger, so the SLF4J configuration decides which Jinx messages are built and logged.
+ *
+ * @author Jeremy Brooks
+ */
+public class Slf4jLogger implements LogInterface {
+
+    private final Logger logger;
+
+
+    /**
+     * Log to the SLF4J logger named net.jeremybrooks.jinx.
+     */
+    public Slf4jLogger() {
+	this(LoggerFactory.getLogger("net.jeremybrooks.jinx"));
+    }
+
+
+    /**
+     * Log to an SLF4J logger.
+     *
+     * @param logger the logger to use.
+     */
+    public Slf4jLogger(Logger logger) {
+	if (logger == null) {
+	    throw new IllegalArgumentException("Logger cannot be null.");
+	}
+	this.logger = logger;
+    }
+
+
+    /**
+     * Messages without a level are logged at debug.
+     *
+     * @param message the message.
+     */
+    @Override
+    public void log(String message) {
+	log(LogLevel.DEBUG, message);
+    }
+
+
+    /**
+     * Messages without a level are logged at debug.
+     *
+     * @param message the message.
+     * @param t the cause of the error.
+     */
+    @Override
+    public void log(String message, Throwable t) {
+	log(LogLevel.DEBUG, message, t);
+    }
+
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+	switch (level) {
+	    case ERROR:
+		return logger.isErrorEnabled();
+	    case WARN:
+		return logger.isWarnEnabled();
+	    case INFO:
+		return logger.isInfoEnabled();
+	    case DEBUG:
+		return logger.isDebugEnabled();
+	    default:
+		return logger.isTraceEnabled();
+	}
+    }
+
+
+    @Override
+    public void log(LogLevel level, String message) {
+	switch (level) {
+	    case ERROR:
+		logger.error(message);
+		break;
+	    case WARN:
+		logger.warn(message);
+		break;
+	    case INFO:
+		logger.info(message);
+		break;
+	    case DEBUG:
+		logger.debug(message);
+		break;
+	    default:
+		logger.trace(message);
+	}
+    }
+
+
+    @Override
+    public void log(LogLevel level, String message, Throwable t) {
+	switch (level) {
+	    case ERROR:
+		logger.error(message, t);
+		break;
+	    case WARN:
+		logger.warn(message, t);
+		break;
+	    case INFO:
+		logger.info(message, t);
+		break;
+	    case DEBUG:
+		logger.debug(message, t);
+		break;
+	    default:
+		logger.trace(message, t);
+	}
+    }
+}
@@ -30,6 +30,32 @@ import java.io.StringWriter;
  */
 public class StdoutLogger implements LogInterface {
 
+    private final LogLevel level;
+
+
+    /**
+     * Log messages at every level.
+     */
+    public StdoutLogger() {
+	this(LogLevel.TRACE);
+    }
+
+
+    /**
+     * Log messages at a level and above.
+     *
+     * @param level the least severe level to log.
+     */
+    public StdoutLogger(LogLevel level) {
+	this.level = level == null ? LogLevel.TRACE : level;
+    }
+
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+	return level.compareTo(this.level) <= 0;
+    }
+
 
     /**
      * Log messages to stdout.
@@ -0,0 +1,137 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+/**
+ * Measurements for one request to Flickr.
+ * <br>
+ * Times are in nanoseconds, and are -1 if they could not be measured. Connect time is only reported by
+ * transports that can measure it, such as {@link net.jeremybrooks.jinx.transport.DefaultJinxTransport}. The
+ * time to first byte runs from sending the request until the response headers arrive. Download time is the time
+ * spent waiting for the body while it was read, and parse time is the rest of the time spent turning the body into
+ * a response object. Transports that read the whole body before returning, such as the asynchronous
+ * {@link net.jeremybrooks.jinx.transport.HttpClientJinxTransport}, include the download in the time to first byte.
+ *
+ * @author Jeremy Brooks
+ */
+public class CallMetrics {
+
+  private final String method;
+  private final int httpStatus;
+  private final int flickrErrorCode;
+  private final Throwable failure;
+  private final long bytesSent;
+  private final long bytesReceived;
+  private final long connectNanos;
+  private final long timeToFirstByteNanos;
+  private final long downloadNanos;
+  private final long parseNanos;
+
+  /**
+   * Create a measurement.
+   *
+   * @param method               Flickr method name, such as flickr.photos.getInfo.
+   * @param httpStatus           http status code, or 0 if no response was received.
+   * @param flickrErrorCode      error code returned by Flickr, or 0 if the call succeeded or Flickr did not answer.
+   * @param failure              exception thrown by the request, or null.
+   * @param bytesSent            bytes in the request url and body.
+   * @param bytesReceived        bytes in the response body.
+   * @param connectNanos         time taken to connect, or -1.
+   * @param timeToFirstByteNanos time until the response started to arrive, or -1.
+   * @param downloadNanos        time spent reading the response body, or -1.
+   * @param parseNanos           time spent parsing the response body, or -1.
+   */
+  public CallMetrics(String method, int httpStatus, int flickrErrorCode, Throwable failure, long bytesSent,
+                     long bytesReceived, long connectNanos, long timeToFirstByteNanos, long downloadNanos,
+                     long parseNanos) {
+    this.method = method;
+    this.httpStatus = httpStatus;
+    this.flickrErrorCode = flickrErrorCode;
+    this.failure = failure;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.connectNanos = connectNanos;
+    this.timeToFirstByteNanos = timeToFirstByteNanos;
+    this.downloadNanos = downloadNanos;
+    this.parseNanos = parseNanos;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public int getHttpStatus() {
+    return httpStatus;
+  }
+
+  public int getFlickrErrorCode() {
+    return flickrErrorCode;
+  }
+
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Indicates if the request failed, either with an exception or with a Flickr error code.
+   *
+   * @return true if the request failed.
+   */
+  public boolean isError() {
+    return failure != null || flickrErrorCode != 0;
+  }
+
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  public long getConnectNanos() {
+    return connectNanos;
+  }
+
+  public long getTimeToFirstByteNanos() {
+    return timeToFirstByteNanos;
+  }
+
+  public long getDownloadNanos() {
+    return downloadNanos;
+  }
+
+  public long getParseNanos() {
+    return parseNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.metrics.CallMetrics{" +
+        "method='" + method + '\'' +
+        ", httpStatus=" + httpStatus +
+        ", flickrErrorCode=" + flickrErrorCode +
+        ", failure=" + failure +
+        ", bytesSent=" + bytesSent +
+        ", bytesReceived=" + bytesReceived +
+        ", connectNanos=" + connectNanos +
+        ", timeToFirstByteNanos=" + timeToFirstByteNanos +
+        ", downloadNanos=" + downloadNanos +
+        ", parseNanos=" + parseNanos +
+        '}';
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+import net.jeremybrooks.jinx.JinxException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link JinxMetricsListener} that keeps metrics for each Flickr method, and can publish them as JMX MBeans.
+ * <br>
+ * After {@link #register(String)} is called, each method gets an MXBean named
+ * {@code net.jeremybrooks.jinx:type=Metrics,name=<name>,method=<flickr method>}, registered the first time the
+ * method is called. Use a different name for each Jinx instance that should be tracked separately:
+ * {@code
+ * JinxMetrics metrics = new JinxMetrics();
+ * metrics.register("myapp");
+ * jinx.setMetricsListener(metrics);
+ * }
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxMetrics implements JinxMetricsListener {
+
+  /** JMX domain used for the MBeans. */
+  public static final String DOMAIN = "net.jeremybrooks.jinx";
+
+  private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+  private volatile String name;
+
+  @Override
+  public void requestCompleted(CallMetrics metrics) {
+    String method = metrics.getMethod() == null ? "unknown" : metrics.getMethod();
+    MethodMetrics methodMetrics = methods.get(method);
+    if (methodMetrics == null) {
+      methodMetrics = methods.computeIfAbsent(method, this::create);
+    }
+    methodMetrics.record(metrics);
+  }
+
+  /**
+   * Get the metrics for a method.
+   *
+   * @param method Flickr method name.
+   * @return metrics, or null if the method has not been called.
+   */
+  public MethodMetrics getMethodMetrics(String method) {
+    return methods.get(method);
+  }
+
+  /**
+   * Get the metrics for every method that has been called.
+   *
+   * @return metrics for each method.
+   */
+  public Collection<MethodMetrics> getAllMethodMetrics() {
+    return Collections.unmodifiableCollection(new ArrayList<>(methods.values()));
+  }
+
+  /**
+   * Reset the metrics for every method.
+   */
+  public void reset() {
+    for (MethodMetrics methodMetrics : methods.values()) {
+      methodMetrics.reset();
+    }
+  }
+
+  /**
+   * Publish the metrics to the platform MBean server.
+   *
+   * @param name name that identifies this set of metrics in the MBean names.
+   * @throws JinxException if the metrics are already registered, or an MBean could not be registered.
+   */
+  public synchronized void register(String name) throws JinxException {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("Name cannot be empty.");
+    }
+    if (this.name != null) {
+      throw new JinxException("Metrics are already registered as " + this.name);
+    }
+    this.name = name;
+    List<MethodMetrics> registered = new ArrayList<>();
+    try {
+      for (MethodMetrics methodMetrics : methods.values()) {
+        registerMBean(methodMetrics);
+        registered.add(methodMetrics);
+      }
+    } catch (Exception e) {
+      for (MethodMetrics methodMetrics : registered) {
+        unregisterMBean(methodMetrics);
+      }
+      this.name = null;
+      throw new JinxException("Unable to register metrics.", e);
+    }
+  }
+
+  /**
+   * Remove the metrics from the platform MBean server. The metrics are still kept.
+   */
+  public synchronized void unregister() {
+    if (this.name != null) {
+      for (MethodMetrics methodMetrics : methods.values()) {
+        unregisterMBean(methodMetrics);
+      }
+      this.name = null;
+    }
+  }
+
+  /**
+   * Get the MBean name for a method.
+   *
+   * @param name   name given to {@link #register(String)}.
+   * @param method Flickr method name.
+   * @return MBean name.
+   * @throws JinxException if the name is not valid.
+   */
+  public static ObjectName objectName(String name, String method) throws JinxException {
+    try {
+      return new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name) +
+          ",method=" + ObjectName.quote(method));
+    } catch (Exception e) {
+      throw new JinxException("Invalid MBean name.", e);
+    }
+  }
+
+  private synchronized MethodMetrics create(String method) {
+    MethodMetrics methodMetrics = new MethodMetrics(method);
+    if (this.name != null) {
+      try {
+        registerMBean(methodMetrics);
+      } catch (Exception e) {
+        // the metrics are still kept, and can be read directly
+      }
+    }
+    return methodMetrics;
+  }
+
+  private void registerMBean(MethodMetrics methodMetrics) throws Exception {
+    ManagementFactory.getPlatformMBeanServer().registerMBean(methodMetrics,
+        objectName(this.name, methodMetrics.getMethod()));
+  }
+
+  private void unregisterMBean(MethodMetrics methodMetrics) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = objectName(this.name, methodMetrics.getMethod());
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (Exception e) {
+      // nothing else can be done
+    }
+  }
+}
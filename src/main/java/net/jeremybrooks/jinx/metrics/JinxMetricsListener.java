@@ -0,0 +1,41 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+/**
+ * Receives a measurement for every request Jinx sends to Flickr.
+ * <br>
+ * Set a listener with {@link net.jeremybrooks.jinx.Jinx#setMetricsListener(JinxMetricsListener)}. The listener is
+ * called on the thread that handled the response, once for each attempt, including attempts that are retried.
+ * Calls answered from the cache, or shared with an identical call in flight, do not send a request and are not
+ * measured. Implementations must be thread safe and fast; anything slow should be handed off to another thread.
+ * Exceptions thrown by the listener are logged and ignored.
+ * <br>
+ * {@link JinxMetrics} is an implementation that keeps counters and latency histograms for each method, and
+ * publishes them as JMX MBeans.
+ *
+ * @author Jeremy Brooks
+ */
+public interface JinxMetricsListener {
+
+  /**
+   * Called when a request has finished, successfully or not.
+   *
+   * @param metrics measurements for the request.
+   */
+  void requestCompleted(CallMetrics metrics);
+}
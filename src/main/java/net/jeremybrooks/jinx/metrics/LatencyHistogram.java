@@ -0,0 +1,138 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe histogram of latencies.
+ * <br>
+ * Latencies are counted in microseconds, in buckets that grow exponentially, with four buckets between each power
+ * of two. Recording is lock free and does not allocate. Percentiles are estimated from the bucket boundaries, and
+ * are within 25% of the true value.
+ *
+ * @author Jeremy Brooks
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 4;
+  private static final int BUCKETS = 144;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a latency. Negative values are ignored.
+   *
+   * @param nanos latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    counts.incrementAndGet(bucket(micros));
+    count.increment();
+    sum.add(micros);
+    long current = max.get();
+    while (micros > current && !max.compareAndSet(current, micros)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * Get the number of latencies recorded.
+   *
+   * @return number of latencies.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Estimate a percentile.
+   *
+   * @param percentile percentile to estimate, from 0 to 100.
+   * @return estimated latency in microseconds, or 0 if nothing has been recorded.
+   */
+  public long getPercentile(double percentile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Get a summary of the recorded latencies.
+   *
+   * @return summary.
+   */
+  public LatencySnapshot getSnapshot() {
+    long n = count.sum();
+    return new LatencySnapshot(n, n == 0 ? 0 : sum.sum() / n, getPercentile(50), getPercentile(90),
+        getPercentile(99), max.get());
+  }
+
+  /**
+   * Discard all recorded latencies.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  static int bucket(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) (micros >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+    return Math.min((exponent - 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS + 1;
+    int sub = bucket % SUB_BUCKETS;
+    return ((SUB_BUCKETS + sub + 1L) << (exponent - 2)) - 1;
+  }
+}
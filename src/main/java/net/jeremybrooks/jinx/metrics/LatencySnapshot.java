@@ -0,0 +1,77 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+/**
+ * A summary of a {@link LatencyHistogram}. All latencies are in microseconds.
+ *
+ * @author Jeremy Brooks
+ */
+public class LatencySnapshot {
+
+  private final long count;
+  private final long mean;
+  private final long p50;
+  private final long p90;
+  private final long p99;
+  private final long max;
+
+  public LatencySnapshot(long count, long mean, long p50, long p90, long p99, long max) {
+    this.count = count;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMean() {
+    return mean;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP90() {
+    return p90;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.metrics.LatencySnapshot{" +
+        "count=" + count +
+        ", mean=" + mean +
+        ", p50=" + p50 +
+        ", p90=" + p90 +
+        ", p99=" + p99 +
+        ", max=" + max +
+        '}';
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for one Flickr method.
+ * <br>
+ * Errors are requests that failed with an exception or returned a Flickr error code. Failures are the errors that
+ * did not get an answer from Flickr, such as timeouts and http errors. Error counts are also kept for each Flickr
+ * error code.
+ *
+ * @author Jeremy Brooks
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+
+  private final String method;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final ConcurrentHashMap<Integer, LongAdder> flickrErrors = new ConcurrentHashMap<>();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+  private final LatencyHistogram connect = new LatencyHistogram();
+  private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+  private final LatencyHistogram download = new LatencyHistogram();
+  private final LatencyHistogram parse = new LatencyHistogram();
+
+  public MethodMetrics(String method) {
+    this.method = method;
+  }
+
+  /**
+   * Add a request to the metrics.
+   *
+   * @param metrics measurements for the request.
+   */
+  public void record(CallMetrics metrics) {
+    requests.increment();
+    if (metrics.isError()) {
+      errors.increment();
+      if (metrics.getFlickrErrorCode() != 0) {
+        flickrErrors.computeIfAbsent(metrics.getFlickrErrorCode(), code -> new LongAdder()).increment();
+      } else {
+        failures.increment();
+      }
+    }
+    bytesSent.add(metrics.getBytesSent());
+    bytesReceived.add(metrics.getBytesReceived());
+    connect.record(metrics.getConnectNanos());
+    timeToFirstByte.record(metrics.getTimeToFirstByteNanos());
+    download.record(metrics.getDownloadNanos());
+    parse.record(metrics.getParseNanos());
+  }
+
+  @Override
+  public String getMethod() {
+    return method;
+  }
+
+  @Override
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  @Override
+  public long getErrorCount() {
+    return errors.sum();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return failures.sum();
+  }
+
+  @Override
+  public Map<Integer, Long> getFlickrErrorCounts() {
+    Map<Integer, Long> counts = new TreeMap<>();
+    for (Map.Entry<Integer, LongAdder> entry : flickrErrors.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().sum());
+    }
+    return counts;
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent.sum();
+  }
+
+  @Override
+  public long getBytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  public LatencyHistogram getConnectHistogram() {
+    return connect;
+  }
+
+  public LatencyHistogram getTimeToFirstByteHistogram() {
+    return timeToFirstByte;
+  }
+
+  public LatencyHistogram getDownloadHistogram() {
+    return download;
+  }
+
+  public LatencyHistogram getParseHistogram() {
+    return parse;
+  }
+
+  @Override
+  public LatencySnapshot getConnectLatency() {
+    return connect.getSnapshot();
+  }
+
+  @Override
+  public LatencySnapshot getTimeToFirstByteLatency() {
+    return timeToFirstByte.getSnapshot();
+  }
+
+  @Override
+  public LatencySnapshot getDownloadLatency() {
+    return download.getSnapshot();
+  }
+
+  @Override
+  public LatencySnapshot getParseLatency() {
+    return parse.getSnapshot();
+  }
+
+  @Override
+  public void reset() {
+    requests.reset();
+    errors.reset();
+    failures.reset();
+    flickrErrors.clear();
+    bytesSent.reset();
+    bytesReceived.reset();
+    connect.reset();
+    timeToFirstByte.reset();
+    download.reset();
+    parse.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.metrics.MethodMetrics{" +
+        "method='" + method + '\'' +
+        ", requests=" + getRequestCount() +
+        ", errors=" + getErrorCount() +
+        ", timeToFirstByte=" + getTimeToFirstByteLatency() +
+        '}';
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics for one Flickr method. Latencies are in microseconds.
+ *
+ * @author Jeremy Brooks
+ */
+public interface MethodMetricsMXBean {
+
+  String getMethod();
+
+  long getRequestCount();
+
+  long getErrorCount();
+
+  long getFailureCount();
+
+  Map<Integer, Long> getFlickrErrorCounts();
+
+  long getBytesSent();
+
+  long getBytesReceived();
+
+  LatencySnapshot getConnectLatency();
+
+  LatencySnapshot getTimeToFirstByteLatency();
+
+  LatencySnapshot getDownloadLatency();
+
+  LatencySnapshot getParseLatency();
+
+  void reset();
+}
@@ -0,0 +1,463 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxExecutors;
+import net.jeremybrooks.jinx.JinxUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for Flickr, for testing and load testing code that uses Jinx without a Flickr account.
+ * <br>
+ * API calls are answered with canned json responses, chosen by the value of the method parameter. Responses can be
+ * set one at a time, loaded from a properties file that maps method names to resources, or read from a directory of
+ * files named after the methods, such as {@code flickr.photos.search.json}. Methods with no response get the error
+ * Flickr returns for an unknown method.
+ * <br>
+ * The Jinx jar does not contain any responses; the fixtures Jinx uses for its own tests are not packaged with it.
+ * Callers supply their own, on their classpath or in a directory.
+ * <br>
+ * Uploads and replaces are accepted and answered with a new photo id, or a ticket id for asynchronous uploads.
+ * The uploaded data is read and discarded.
+ * <br>
+ * Latency and errors can be injected to see how an application behaves when Flickr is slow or failing.
+ * <br>
+ * For example:
+ * {@code
+ * try (MockFlickrServer server = new MockFlickrServer()) {
+ *   server.loadFixtures("/myapp/flickr/methods.properties");
+ *   server.setResponse("flickr.test.echo", "{\"stat\":\"ok\"}");
+ *   server.setLatency(50, 200);
+ *   server.start();
+ *   server.configure(jinx);
+ *   Photos photos = new PhotosApi(jinx).search(searchParameters);
+ * }
+ * }
+ * <br>
+ * Signatures and credentials are not checked.
+ *
+ * @author Jeremy Brooks
+ */
+public class MockFlickrServer implements Closeable {
+
+  /**
+   * Path of the REST endpoint.
+   */
+  public static final String REST_PATH = "/services/rest/";
+
+  /**
+   * Path of the upload endpoint.
+   */
+  public static final String UPLOAD_PATH = "/services/upload/";
+
+  /**
+   * Path of the replace endpoint.
+   */
+  public static final String REPLACE_PATH = "/services/replace/";
+
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String XML = "text/xml; charset=utf-8";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> methodCounts = new ConcurrentHashMap<>();
+  private final LongAdder requestCount = new LongAdder();
+  private final AtomicLong nextId = new AtomicLong(10000000000L);
+
+  private volatile Path fixtureDirectory;
+  private volatile long minLatency;
+  private volatile long maxLatency;
+  private volatile double httpErrorRate;
+  private volatile int httpErrorStatus;
+  private volatile double flickrErrorRate;
+  private volatile int flickrErrorCode;
+
+  /**
+   * Create a server on a free port of the loopback interface.
+   *
+   * @throws IOException if the server cannot be created.
+   */
+  public MockFlickrServer() throws IOException {
+    this(0);
+  }
+
+  /**
+   * Create a server on the loopback interface.
+   *
+   * @param port port to listen on, or 0 to use any free port.
+   * @throws IOException if the server cannot be created.
+   */
+  public MockFlickrServer(int port) throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    this.server.createContext(REST_PATH, this::handleRest);
+    this.server.createContext(UPLOAD_PATH, exchange -> handleUpload(exchange, false));
+    this.server.createContext(REPLACE_PATH, exchange -> handleUpload(exchange, true));
+    this.executor = JinxExecutors.newVirtualThreadPerTaskExecutor();
+    this.server.setExecutor(this.executor);
+  }
+
+  /**
+   * Start accepting requests.
+   */
+  public void start() {
+    this.server.start();
+  }
+
+  /**
+   * Stop the server. Requests that are in progress are abandoned.
+   */
+  @Override
+  public void close() {
+    this.server.stop(0);
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Get the port the server is listening on.
+   *
+   * @return port number.
+   */
+  public int getPort() {
+    return this.server.getAddress().getPort();
+  }
+
+  public String getRestEndpoint() {
+    return baseUrl() + REST_PATH;
+  }
+
+  public String getUploadEndpoint() {
+    return baseUrl() + UPLOAD_PATH;
+  }
+
+  public String getReplaceEndpoint() {
+    return baseUrl() + REPLACE_PATH;
+  }
+
+  /**
+   * Point a Jinx instance at this server.
+   *
+   * @param jinx the Jinx instance that should send its requests to this server.
+   */
+  public void configure(Jinx jinx) {
+    jinx.setEndpoints(getRestEndpoint(), getUploadEndpoint(), getReplaceEndpoint());
+  }
+
+  /**
+   * Set the response for a method.
+   *
+   * @param method Flickr API method, such as flickr.photos.search.
+   * @param json   the response to return.
+   */
+  public void setResponse(String method, String json) {
+    this.responses.put(method, json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Set the response for a method from a classpath resource.
+   *
+   * @param method   Flickr API method, such as flickr.photos.search.
+   * @param resource name of the resource containing the response.
+   * @throws IOException if the resource cannot be read.
+   */
+  public void setResponseFromResource(String method, String resource) throws IOException {
+    try (InputStream in = MockFlickrServer.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IOException("Resource " + resource + " not found.");
+      }
+      this.responses.put(method, readAll(in));
+    }
+  }
+
+  /**
+   * Load responses for many methods.
+   * <br>
+   * The properties file maps each method name to the classpath resource containing its response, for example
+   * {@code flickr.photos.search=/myapp/flickr/search.json}. Resources are loaded with the class loader of this
+   * class, so they must be on the application classpath.
+   *
+   * @param resource name of the properties resource.
+   * @throws IOException if the properties or any of the responses cannot be read.
+   */
+  public void loadFixtures(String resource) throws IOException {
+    Properties fixtures = new Properties();
+    try (InputStream in = MockFlickrServer.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IOException("Resource " + resource + " not found.");
+      }
+      fixtures.load(in);
+    }
+    for (String method : fixtures.stringPropertyNames()) {
+      setResponseFromResource(method, fixtures.getProperty(method));
+    }
+  }
+
+  /**
+   * Set a directory to read responses from.
+   * <br>
+   * Methods that do not have a response set are answered with the contents of the file named after the method,
+   * such as {@code flickr.photos.search.json}, if it exists. Files are read on every request, so they can be
+   * changed while the server is running.
+   *
+   * @param fixtureDirectory directory containing responses, or null to stop reading from a directory.
+   */
+  public void setFixtureDirectory(Path fixtureDirectory) {
+    this.fixtureDirectory = fixtureDirectory;
+  }
+
+  /**
+   * Delay every response by a random time.
+   *
+   * @param minMillis minimum delay in milliseconds.
+   * @param maxMillis maximum delay in milliseconds.
+   */
+  public void setLatency(long minMillis, long maxMillis) {
+    if (minMillis < 0 || maxMillis < minMillis) {
+      throw new IllegalArgumentException("Latency must not be negative, and the maximum must not be less than the minimum.");
+    }
+    this.minLatency = minMillis;
+    this.maxLatency = maxMillis;
+  }
+
+  /**
+   * Fail a fraction of requests with an http error.
+   *
+   * @param rate   fraction of requests to fail, between 0 and 1.
+   * @param status http status to return, such as 503.
+   */
+  public void setHttpErrorRate(double rate, int status) {
+    checkRate(rate);
+    this.httpErrorStatus = status;
+    this.httpErrorRate = rate;
+  }
+
+  /**
+   * Fail a fraction of API calls with a Flickr error.
+   *
+   * @param rate fraction of calls to fail, between 0 and 1.
+   * @param code Flickr error code to return, such as 105 (service currently unavailable).
+   */
+  public void setFlickrErrorRate(double rate, int code) {
+    checkRate(rate);
+    this.flickrErrorCode = code;
+    this.flickrErrorRate = rate;
+  }
+
+  /**
+   * Get the number of requests received, including uploads and replaces.
+   *
+   * @return number of requests.
+   */
+  public long getRequestCount() {
+    return this.requestCount.sum();
+  }
+
+  /**
+   * Get the number of requests received for a method.
+   *
+   * @param method Flickr API method, such as flickr.photos.search.
+   * @return number of requests.
+   */
+  public long getRequestCount(String method) {
+    LongAdder count = this.methodCounts.get(method);
+    return count == null ? 0 : count.sum();
+  }
+
+  /**
+   * Reset the request counts.
+   */
+  public void resetCounts() {
+    this.requestCount.reset();
+    this.methodCounts.clear();
+  }
+
+  private void handleRest(HttpExchange exchange) throws IOException {
+    try {
+      Map<String, String> params = parseParams(exchange.getRequestURI().getRawQuery());
+      byte[] body = readAll(exchange.getRequestBody());
+      String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+      if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+        params.putAll(parseParams(new String(body, StandardCharsets.UTF_8)));
+      }
+      String method = params.get("method");
+      count(method == null ? "" : method);
+      if (delayOrFail(exchange)) {
+        return;
+      }
+      if (inject(this.flickrErrorRate)) {
+        send(exchange, 200, JSON, error(this.flickrErrorCode, "Injected error"));
+        return;
+      }
+      byte[] response = method == null ? null : response(method);
+      if (response == null) {
+        response = error(112, "Method \"" + (method == null ? "" : method) + "\" not found");
+      }
+      send(exchange, 200, JSON, response);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void handleUpload(HttpExchange exchange, boolean replace) throws IOException {
+    try {
+      Map<String, String> params = parseParams(exchange.getRequestURI().getRawQuery());
+      drain(exchange.getRequestBody());
+      count(replace ? "replace" : "upload");
+      if (delayOrFail(exchange)) {
+        return;
+      }
+      StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n");
+      if (inject(this.flickrErrorRate)) {
+        xml.append("<rsp stat=\"fail\">\n<err code=\"").append(this.flickrErrorCode)
+            .append("\" msg=\"Injected error\" />\n</rsp>\n");
+      } else if ("1".equals(params.get("async"))) {
+        xml.append("<rsp stat=\"ok\">\n<ticketid>").append(this.nextId.incrementAndGet())
+            .append("-72157600000000000</ticketid>\n</rsp>\n");
+      } else if (replace) {
+        xml.append("<rsp stat=\"ok\">\n<photoid secret=\"abcdef1234\" originalsecret=\"1234abcdef\">")
+            .append(params.get("photo_id")).append("</photoid>\n</rsp>\n");
+      } else {
+        xml.append("<rsp stat=\"ok\">\n<photoid>").append(this.nextId.incrementAndGet()).append("</photoid>\n</rsp>\n");
+      }
+      send(exchange, 200, XML, xml.toString().getBytes(StandardCharsets.UTF_8));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /*
+   * Wait for the configured latency, then send an http error if one should be injected.
+   * Returns true if an error was sent.
+   */
+  private boolean delayOrFail(HttpExchange exchange) throws IOException {
+    long max = this.maxLatency;
+    if (max > 0) {
+      long min = this.minLatency;
+      try {
+        Thread.sleep(min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1));
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted", ie);
+      }
+    }
+    if (inject(this.httpErrorRate)) {
+      send(exchange, this.httpErrorStatus, "text/plain; charset=utf-8",
+          ("Error " + this.httpErrorStatus).getBytes(StandardCharsets.UTF_8));
+      return true;
+    }
+    return false;
+  }
+
+  private byte[] response(String method) throws IOException {
+    byte[] response = this.responses.get(method);
+    Path directory = this.fixtureDirectory;
+    if (response == null && directory != null) {
+      Path file = directory.resolve(method + ".json");
+      if (Files.isRegularFile(file)) {
+        response = Files.readAllBytes(file);
+      }
+    }
+    return response;
+  }
+
+  private void count(String method) {
+    this.requestCount.increment();
+    this.methodCounts.computeIfAbsent(method, k -> new LongAdder()).increment();
+  }
+
+  private String baseUrl() {
+    return "http://" + this.server.getAddress().getHostString() + ":" + getPort();
+  }
+
+  private static boolean inject(double rate) {
+    return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+  }
+
+  private static void checkRate(double rate) {
+    if (rate < 0 || rate > 1) {
+      throw new IllegalArgumentException("Rate must be between 0 and 1.");
+    }
+  }
+
+  private static byte[] error(int code, String message) {
+    return ("{\"stat\":\"fail\",\"code\":" + code + ",\"message\":\"" + message.replace("\"", "\\\"") + "\"}")
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private static void drain(InputStream in) throws IOException {
+    byte[] buffer = new byte[8192];
+    while (in.read(buffer) != -1) {
+      // uploaded data is discarded
+    }
+  }
+
+  private static Map<String, String> parseParams(String encoded) throws UnsupportedEncodingException {
+    Map<String, String> params = new HashMap<>();
+    if (!JinxUtils.isNullOrEmpty(encoded)) {
+      for (String pair : encoded.split("&")) {
+        int equals = pair.indexOf('=');
+        if (equals > 0) {
+          params.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+              URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+        }
+      }
+    }
+    return params;
+  }
+}
@@ -63,6 +63,21 @@ public class Response implements Serializable {
 	}
 
 
+	/*
+	 * Setters used by ResponseTypeAdapter. Gson sets these fields directly when parsing with reflection.
+	 */
+	void setStat(String stat) {
+		this.stat = stat;
+	}
+
+	void setCode(int code) {
+		this.code = code;
+	}
+
+	void setMessage(String message) {
+		this.message = message;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
@@ -0,0 +1,278 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.response;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for the hand written Gson type adapters used to parse the largest Flickr responses.
+ * <br>
+ * Gson parses most response classes by reflection. For responses that can contain hundreds of objects, such as a
+ * page of search results, the adapters that extend this class read each field by name instead. Values are converted
+ * exactly as Gson would convert them, so the parsed objects are the same either way.
+ * <br>
+ * Adapters only read. Writing is delegated to Gson's reflective adapter for the class.
+ * <br>
+ * These adapters are registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}, and are not normally
+ * used directly.
+ *
+ * @param <T> type of the class read by the adapter.
+ * @author Jeremy Brooks
+ */
+public abstract class ResponseTypeAdapter<T> extends TypeAdapter<T> {
+
+  private final TypeAdapter<T> delegate;
+
+  /**
+   * Create a new adapter.
+   *
+   * @param delegate Gson's reflective adapter for the class, used for writing.
+   */
+  protected ResponseTypeAdapter(TypeAdapter<T> delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Create an empty instance to read values into.
+   *
+   * @return new instance.
+   */
+  protected abstract T newInstance();
+
+  /**
+   * Read one field into the instance.
+   *
+   * @param target instance being read.
+   * @param name   name of the json field.
+   * @param in     reader positioned at the value of the field.
+   * @return true if the field was read, false if the field is not known and should be skipped.
+   * @throws IOException if there are any errors reading the value.
+   */
+  protected abstract boolean readField(T target, String name, JsonReader in) throws IOException;
+
+  @Override
+  public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    T target = newInstance();
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (!readField(target, name, in) && !readResponseField(target, name, in)) {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return target;
+  }
+
+  @Override
+  public void write(JsonWriter out, T value) throws IOException {
+    this.delegate.write(out, value);
+  }
+
+  /**
+   * Read a json object with fields handled by a callback.
+   * <br>
+   * This is used for the nested objects that Flickr wraps around lists and values.
+   *
+   * @param in     reader positioned at the object.
+   * @param fields callback that reads each field.
+   * @return false if the value was null, true otherwise.
+   * @throws IOException if there are any errors reading the object.
+   */
+  protected static boolean readObject(JsonReader in, FieldReader fields) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return false;
+    }
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (!fields.read(name)) {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return true;
+  }
+
+  /**
+   * Read a json array.
+   *
+   * @param in      reader positioned at the array.
+   * @param element callback that reads each element.
+   * @param <E>     type of the elements.
+   * @return list of elements, or null if the value was null.
+   * @throws IOException if there are any errors reading the array.
+   */
+  protected static <E> List<E> readList(JsonReader in, ElementReader<E> element) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    List<E> list = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      list.add(element.read());
+    }
+    in.endArray();
+    return list;
+  }
+
+  /**
+   * Read a String value. Numbers and booleans are returned as Strings.
+   *
+   * @param in reader positioned at the value.
+   * @return value, or null if the value was null.
+   * @throws IOException if there are any errors reading the value.
+   */
+  protected static String readString(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  /**
+   * Read an Integer value. Strings containing numbers are converted.
+   *
+   * @param in reader positioned at the value.
+   * @return value, or null if the value was null.
+   * @throws IOException if there are any errors reading the value.
+   */
+  protected static Integer readInteger(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Read a Long value. Strings containing numbers are converted.
+   *
+   * @param in reader positioned at the value.
+   * @return value, or null if the value was null.
+   * @throws IOException if there are any errors reading the value.
+   */
+  protected static Long readLong(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Read a Float value. Strings containing numbers are converted.
+   *
+   * @param in reader positioned at the value.
+   * @return value, or null if the value was null.
+   * @throws IOException if there are any errors reading the value.
+   */
+  protected static Float readFloat(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return (float) in.nextDouble();
+  }
+
+  /*
+   * Read the stat, code, and message fields that every response has.
+   */
+  private boolean readResponseField(T target, String name, JsonReader in) throws IOException {
+    if (!(target instanceof Response)) {
+      return false;
+    }
+    Response response = (Response) target;
+    switch (name) {
+      case "stat":
+        response.setStat(readString(in));
+        return true;
+      case "code":
+        Integer code = readInteger(in);
+        if (code != null) {
+          response.setCode(code);
+        }
+        return true;
+      case "message":
+        response.setMessage(readString(in));
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reads the fields of a nested json object.
+   */
+  @FunctionalInterface
+  protected interface FieldReader {
+
+    /**
+     * Read one field.
+     *
+     * @param name name of the json field. The reader is positioned at its value.
+     * @return true if the field was read, false if it should be skipped.
+     * @throws IOException if there are any errors reading the value.
+     */
+    boolean read(String name) throws IOException;
+  }
+
+  /**
+   * Reads one element of a json array.
+   *
+   * @param <E> type of the element.
+   */
+  @FunctionalInterface
+  protected interface ElementReader<E> {
+
+    /**
+     * Read one element. The reader is positioned at the element.
+     *
+     * @return the element.
+     * @throws IOException if there are any errors reading the element.
+     */
+    E read() throws IOException;
+  }
+}
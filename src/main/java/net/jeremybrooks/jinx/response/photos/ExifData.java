@@ -17,9 +17,13 @@
 
 package net.jeremybrooks.jinx.response.photos;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.ResponseTypeAdapter;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 
@@ -113,4 +117,96 @@ public class ExifData extends Response {
 			return clean._content;
 		}
 	}
+
+	/**
+	 * Reads ExifData objects without reflection.
+	 * <br>
+	 * Registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}.
+	 */
+	public static final class Adapter extends ResponseTypeAdapter<ExifData> {
+
+		public Adapter(TypeAdapter<ExifData> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		protected ExifData newInstance() {
+			return new ExifData();
+		}
+
+		@Override
+		protected boolean readField(ExifData target, String name, JsonReader in) throws IOException {
+			if (!name.equals("photo")) {
+				return false;
+			}
+			_PhotoInfo photo = target.new _PhotoInfo();
+			target.photo = readObject(in, field -> {
+				switch (field) {
+					case "id":
+						photo.photoId = readString(in);
+						return true;
+					case "secret":
+						photo.secret = readString(in);
+						return true;
+					case "server":
+						photo.server = readString(in);
+						return true;
+					case "farm":
+						photo.farm = readString(in);
+						return true;
+					case "camera":
+						photo.camera = readString(in);
+						return true;
+					case "exif":
+						photo.exifList = readList(in, () -> readExif(target, in));
+						return true;
+					default:
+						return false;
+				}
+			}) ? photo : null;
+			return true;
+		}
+
+		private Exif readExif(ExifData target, JsonReader in) throws IOException {
+			Exif exif = target.new Exif();
+			return readObject(in, field -> {
+				switch (field) {
+					case "tagspace":
+						exif.tagSpace = readString(in);
+						return true;
+					case "tagspaceid":
+						exif.tagSpaceId = readInteger(in);
+						return true;
+					case "tag":
+						exif.tag = readString(in);
+						return true;
+					case "label":
+						exif.label = readString(in);
+						return true;
+					case "raw":
+						_Raw raw = target.new _Raw();
+						exif.raw = readObject(in, content -> {
+							if (content.equals("_content")) {
+								raw._content = readString(in);
+								return true;
+							}
+							return false;
+						}) ? raw : null;
+						return true;
+					case "clean":
+						_Clean clean = target.new _Clean();
+						exif.clean = readObject(in, content -> {
+							if (content.equals("_content")) {
+								clean._content = readString(in);
+								return true;
+							}
+							return false;
+						}) ? clean : null;
+						return true;
+					default:
+						return false;
+				}
+			}) ? exif : null;
+		}
+	}
 }
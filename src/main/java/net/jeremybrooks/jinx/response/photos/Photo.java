@@ -17,10 +17,15 @@
 
 package net.jeremybrooks.jinx.response.photos;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import net.jeremybrooks.jinx.JinxUtils;
+import net.jeremybrooks.jinx.response.ResponseTypeAdapter;
 import net.jeremybrooks.jinx.response.stats.PhotoStats;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -510,6 +515,268 @@ public class Photo implements Serializable {
     private String description;
   }
 
+  /**
+   * Reads Photo objects without reflection.
+   * <br>
+   * Registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}.
+   */
+  public static final class Adapter extends ResponseTypeAdapter<Photo> {
+
+    private final TypeAdapter<PhotoStats> statsAdapter;
+
+    public Adapter(Gson gson, TypeAdapter<Photo> delegate) {
+      super(delegate);
+      this.statsAdapter = gson.getAdapter(PhotoStats.class);
+    }
+
+    @Override
+    protected Photo newInstance() {
+      return new Photo();
+    }
+
+    @Override
+    protected boolean readField(Photo photo, String name, JsonReader in) throws IOException {
+      switch (name) {
+        case "id":
+          photo.photoId = readString(in);
+          return true;
+        case "secret":
+          photo.secret = readString(in);
+          return true;
+        case "server":
+          photo.server = readString(in);
+          return true;
+        case "farm":
+          photo.farm = readString(in);
+          return true;
+        case "owner":
+          photo.owner = readString(in);
+          return true;
+        case "username":
+          photo.username = readString(in);
+          return true;
+        case "title":
+          photo.title = readString(in);
+          return true;
+        case "ispublic":
+          photo.isPublic = readString(in);
+          return true;
+        case "isfriend":
+          photo.isFriend = readString(in);
+          return true;
+        case "isfamily":
+          photo.isFamily = readString(in);
+          return true;
+        case "license":
+          photo.license = readInteger(in);
+          return true;
+        case "description":
+          _DescriptionClass description = photo.new _DescriptionClass();
+          photo.description = readObject(in, field -> {
+            if (field.equals("_content")) {
+              description.description = readString(in);
+              return true;
+            }
+            return false;
+          }) ? description : null;
+          return true;
+        case "o_width":
+          photo.oWidth = readString(in);
+          return true;
+        case "o_height":
+          photo.oHeight = readString(in);
+          return true;
+        case "dateupload":
+          photo.dateUpload = readString(in);
+          return true;
+        case "lastupdate":
+          photo.lastUpdate = readString(in);
+          return true;
+        case "datetaken":
+          photo.dateTaken = readString(in);
+          return true;
+        case "datetakengranularity":
+          photo.dateTakenGranularity = readInteger(in);
+          return true;
+        case "datepersonadded":
+          photo.datePersonAdded = readString(in);
+          return true;
+        case "ownername":
+          photo.ownerName = readString(in);
+          return true;
+        case "iconserver":
+          photo.iconServer = readString(in);
+          return true;
+        case "iconfarm":
+          photo.iconFarm = readString(in);
+          return true;
+        case "views":
+          photo.views = readInteger(in);
+          return true;
+        case "tags":
+          photo.tags = readString(in);
+          return true;
+        case "machine_tags":
+          photo.machineTags = readString(in);
+          return true;
+        case "originalsecret":
+          photo.originalSecret = readString(in);
+          return true;
+        case "originalformat":
+          photo.originalFormat = readString(in);
+          return true;
+        case "date_faved":
+          photo.dateFaved = readString(in);
+          return true;
+        case "latitude":
+          photo.latitude = readFloat(in);
+          return true;
+        case "longitude":
+          photo.longitude = readFloat(in);
+          return true;
+        case "accuracy":
+          photo.accuracy = readInteger(in);
+          return true;
+        case "context":
+          photo.context = readInteger(in);
+          return true;
+        case "place_id":
+          photo.placeId = readString(in);
+          return true;
+        case "woeid":
+          photo.woeId = readString(in);
+          return true;
+        case "media":
+          photo.media = readString(in);
+          return true;
+        case "media_status":
+          photo.mediaStatus = readString(in);
+          return true;
+        case "url_sq":
+          photo.urlSq = readString(in);
+          return true;
+        case "height_sq":
+          photo.heightSq = readInteger(in);
+          return true;
+        case "width_sq":
+          photo.widthSq = readInteger(in);
+          return true;
+        case "url_t":
+          photo.urlT = readString(in);
+          return true;
+        case "height_t":
+          photo.heightT = readInteger(in);
+          return true;
+        case "width_t":
+          photo.widthT = readInteger(in);
+          return true;
+        case "url_s":
+          photo.urlS = readString(in);
+          return true;
+        case "height_s":
+          photo.heightS = readInteger(in);
+          return true;
+        case "width_s":
+          photo.widthS = readInteger(in);
+          return true;
+        case "url_q":
+          photo.urlQ = readString(in);
+          return true;
+        case "height_q":
+          photo.heightQ = readInteger(in);
+          return true;
+        case "width_q":
+          photo.widthQ = readInteger(in);
+          return true;
+        case "url_m":
+          photo.urlM = readString(in);
+          return true;
+        case "height_m":
+          photo.heightM = readInteger(in);
+          return true;
+        case "width_m":
+          photo.widthM = readInteger(in);
+          return true;
+        case "url_n":
+          photo.urlN = readString(in);
+          return true;
+        case "height_n":
+          photo.heightN = readInteger(in);
+          return true;
+        case "width_n":
+          photo.widthN = readInteger(in);
+          return true;
+        case "url_z":
+          photo.urlZ = readString(in);
+          return true;
+        case "height_z":
+          photo.heightZ = readInteger(in);
+          return true;
+        case "width_z":
+          photo.widthZ = readInteger(in);
+          return true;
+        case "url_c":
+          photo.urlC = readString(in);
+          return true;
+        case "height_c":
+          photo.heightC = readInteger(in);
+          return true;
+        case "width_c":
+          photo.widthC = readInteger(in);
+          return true;
+        case "url_l":
+          photo.urlL = readString(in);
+          return true;
+        case "height_l":
+          photo.heightL = readInteger(in);
+          return true;
+        case "width_l":
+          photo.widthL = readInteger(in);
+          return true;
+        case "url_o":
+          photo.urlO = readString(in);
+          return true;
+        case "height_o":
+          photo.heightO = readInteger(in);
+          return true;
+        case "width_o":
+          photo.widthO = readInteger(in);
+          return true;
+        case "pathalias":
+          photo.pathAlias = readString(in);
+          return true;
+        case "is_primary":
+          photo.primary = readString(in);
+          return true;
+        case "isprimary":
+          photo.primaryNoUnderscore = readString(in);
+          return true;
+        case "geo_is_family":
+          photo.geoIsFamily = readString(in);
+          return true;
+        case "geo_is_friend":
+          photo.geoIsFriend = readString(in);
+          return true;
+        case "geo_is_contact":
+          photo.geoIsContact = readString(in);
+          return true;
+        case "geo_is_public":
+          photo.geoIsPublic = readString(in);
+          return true;
+        case "has_comment":
+          photo.hasComment = readString(in);
+          return true;
+        case "dateadded":
+          photo.dateAdded = readString(in);
+          return true;
+        case "stats":
+          photo.photoStats = this.statsAdapter.read(in);
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
 
   @Override
   public String toString() {
@@ -0,0 +1,59 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.response.photos;
+
+import java.util.List;
+
+/**
+ * One page of a paged list of photos.
+ * <br>
+ * Implemented by the responses of methods that return photos a page at a time, so that they can be walked
+ * with a {@link net.jeremybrooks.jinx.PhotoPager}.
+ *
+ * @author Jeremy Brooks
+ */
+public interface PhotoPage {
+
+  /**
+   * @return the number of this page. Page numbers start at 1.
+   */
+  Integer getPage();
+
+  /**
+   * @return total number of pages, or null if Flickr did not return it.
+   */
+  Integer getPages();
+
+  /**
+   * @return total number of photos, or null if Flickr did not return it.
+   */
+  Integer getTotal();
+
+  /**
+   * @return photos on this page.
+   */
+  List<Photo> getPhotoList();
+
+  /**
+   * Flickr only returns this value for some methods.
+   *
+   * @return true if there is a page after this one, false if not, or null if Flickr did not say.
+   */
+  default Boolean isHasNextPage() {
+    return null;
+  }
+}
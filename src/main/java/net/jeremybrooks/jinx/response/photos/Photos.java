@@ -17,16 +17,21 @@
 
 package net.jeremybrooks.jinx.response.photos;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import net.jeremybrooks.jinx.JinxUtils;
 import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.ResponseTypeAdapter;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * @author Jeremy Brooks
  */
-public class Photos extends Response {
+public class Photos extends Response implements PhotoPage {
 	private static final long serialVersionUID = -5432339685020968718L;
 
 	private _Photos photos;
@@ -91,6 +96,61 @@ public class Photos extends Response {
         private String hasNextPage;     // return as Boolean
 	}
 
+	/**
+	 * Reads Photos objects without reflection.
+	 * <br>
+	 * Registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}.
+	 */
+	public static final class Adapter extends ResponseTypeAdapter<Photos> {
+
+		private final TypeAdapter<Photo> photoAdapter;
+
+		public Adapter(Gson gson, TypeAdapter<Photos> delegate) {
+			super(delegate);
+			this.photoAdapter = gson.getAdapter(Photo.class);
+		}
+
+		@Override
+		protected Photos newInstance() {
+			return new Photos();
+		}
+
+		@Override
+		protected boolean readField(Photos target, String name, JsonReader in) throws IOException {
+			if (!name.equals("photos")) {
+				return false;
+			}
+			_Photos photos = target.new _Photos();
+			target.photos = readObject(in, field -> {
+				switch (field) {
+					case "total":
+						photos.total = readInteger(in);
+						return true;
+					case "page":
+						photos.page = readInteger(in);
+						return true;
+					case "pages":
+						photos.pages = readInteger(in);
+						return true;
+					case "per_page":
+						photos.perPage = readInteger(in);
+						return true;
+					case "perpage":
+						photos.perpage = readInteger(in);
+						return true;
+					case "photo":
+						photos.photoList = readList(in, () -> this.photoAdapter.read(in));
+						return true;
+					case "has_next_page":
+						photos.hasNextPage = readString(in);
+						return true;
+					default:
+						return false;
+				}
+			}) ? photos : null;
+			return true;
+		}
+	}
 
 	@Override
 	public String toString() {
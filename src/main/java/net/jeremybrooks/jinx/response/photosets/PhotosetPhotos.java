@@ -20,6 +20,7 @@ package net.jeremybrooks.jinx.response.photosets;
 import com.google.gson.annotations.SerializedName;
 import net.jeremybrooks.jinx.response.Response;
 import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoPage;
 
 import java.io.Serializable;
 import java.util.List;
@@ -31,7 +32,7 @@ import java.util.List;
  *
  * @author Jeremy Brooks
  */
-public class PhotosetPhotos extends Response {
+public class PhotosetPhotos extends Response implements PhotoPage {
 
 	@SerializedName("photoset")
 	private _PhotosetMetadata photoset;
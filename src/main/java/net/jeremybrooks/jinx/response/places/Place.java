@@ -1,7 +1,12 @@
 package net.jeremybrooks.jinx.response.places;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import net.jeremybrooks.jinx.response.ResponseTypeAdapter;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -336,4 +341,94 @@ public class Place {
         ", photoCount=" + photoCount +
         '}';
   }
+
+  /**
+   * Reads Place objects without reflection.
+   * <br>
+   * Registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}.
+   */
+  public static final class Adapter extends ResponseTypeAdapter<Place> {
+
+    private final TypeAdapter<Region> regionAdapter;
+    private final TypeAdapter<Locality> localityAdapter;
+    private final TypeAdapter<County> countyAdapter;
+    private final TypeAdapter<Country> countryAdapter;
+    private final TypeAdapter<Shape> shapeAdapter;
+
+    public Adapter(Gson gson, TypeAdapter<Place> delegate) {
+      super(delegate);
+      this.regionAdapter = gson.getAdapter(Region.class);
+      this.localityAdapter = gson.getAdapter(Locality.class);
+      this.countyAdapter = gson.getAdapter(County.class);
+      this.countryAdapter = gson.getAdapter(Country.class);
+      this.shapeAdapter = gson.getAdapter(Shape.class);
+    }
+
+    @Override
+    protected Place newInstance() {
+      return new Place();
+    }
+
+    @Override
+    protected boolean readField(Place place, String name, JsonReader in) throws IOException {
+      switch (name) {
+        case "place_id":
+          place.placeId = readString(in);
+          return true;
+        case "woeid":
+          place.woeId = readString(in);
+          return true;
+        case "latitude":
+          place.latitude = readFloat(in);
+          return true;
+        case "longitude":
+          place.longitude = readFloat(in);
+          return true;
+        case "place_url":
+          place.placeUrl = readString(in);
+          return true;
+        case "place_type":
+          place.placeType = readString(in);
+          return true;
+        case "place_type_id":
+          place.placeTypeId = readInteger(in);
+          return true;
+        case "timezone":
+          place.timezone = readString(in);
+          return true;
+        case "name":
+          place.name = readString(in);
+          return true;
+        case "woe_name":
+          place.woeName = readString(in);
+          return true;
+        case "has_shapedata":
+          place.hasShapeData = readInteger(in);
+          return true;
+        case "region":
+          place.region = this.regionAdapter.read(in);
+          return true;
+        case "locality":
+          place.locality = this.localityAdapter.read(in);
+          return true;
+        case "county":
+          place.county = this.countyAdapter.read(in);
+          return true;
+        case "country":
+          place.country = this.countryAdapter.read(in);
+          return true;
+        case "shapedata":
+          place.shape = this.shapeAdapter.read(in);
+          return true;
+        case "_content":
+          place.content = readString(in);
+          return true;
+        case "photo_count":
+          place.photoCount = readInteger(in);
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
 }
@@ -1,8 +1,13 @@
 package net.jeremybrooks.jinx.response.places;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.ResponseTypeAdapter;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 
@@ -101,4 +106,75 @@ public class Places extends Response {
         ", boundingBox='" + getBoundingBox() + '\'' +
         '}';
   }
+
+  /**
+   * Reads Places objects without reflection.
+   * <br>
+   * Registered by {@link net.jeremybrooks.jinx.JinxTypeAdapterFactory}.
+   */
+  public static final class Adapter extends ResponseTypeAdapter<Places> {
+
+    private final TypeAdapter<Place> placeAdapter;
+
+    public Adapter(Gson gson, TypeAdapter<Places> delegate) {
+      super(delegate);
+      this.placeAdapter = gson.getAdapter(Place.class);
+    }
+
+    @Override
+    protected Places newInstance() {
+      return new Places();
+    }
+
+    @Override
+    protected boolean readField(Places target, String name, JsonReader in) throws IOException {
+      if (!name.equals("places")) {
+        return false;
+      }
+      _Places places = target.new _Places();
+      target.places = readObject(in, field -> {
+        switch (field) {
+          case "place":
+            places.places = readList(in, () -> this.placeAdapter.read(in));
+            return true;
+          case "query":
+            places.query = readString(in);
+            return true;
+          case "total":
+            places.total = readInteger(in);
+            return true;
+          case "latitude":
+            places.latitude = readFloat(in);
+            return true;
+          case "longitude":
+            places.longitude = readFloat(in);
+            return true;
+          case "accuracy":
+            places.accuracy = readInteger(in);
+            return true;
+          case "date_start":
+            places.dateStart = readLong(in);
+            return true;
+          case "date_stop":
+            places.dateStop = readLong(in);
+            return true;
+          case "place_type":
+            places.placeType = readString(in);
+            return true;
+          case "pages":
+            places.pages = readInteger(in);
+            return true;
+          case "page":
+            places.page = readInteger(in);
+            return true;
+          case "bbox":
+            places.boundingBox = readString(in);
+            return true;
+          default:
+            return false;
+        }
+      }) ? places : null;
+      return true;
+    }
+  }
 }
@@ -0,0 +1,295 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.retry;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when failed calls to Flickr are retried, and how long to wait between attempts.
+ * <br>
+ * Only transient failures are retried:
+ * <ul>
+ * <li>network errors, such as timeouts and refused connections</li>
+ * <li>http 5xx and 429 (too many requests) responses</li>
+ * <li>Flickr error codes 105 (service currently unavailable) and 106 (write operation failed)</li>
+ * </ul>
+ * Errors such as an invalid photo id or a missing permission are never retried.
+ * <br>
+ * A POST that failed after it was sent may have changed something on Flickr, so by default POST requests are
+ * only retried when it is certain that Flickr did not act on them: the connection could not be made, or Flickr
+ * said it was unavailable. Use {@link #setRetryNonIdempotent(boolean)} to retry POST requests in every case.
+ * <br>
+ * The wait between attempts grows exponentially, with random jitter so that many clients that failed at the
+ * same time do not all retry at the same time. If Flickr sends a Retry-After header, the wait is at least that
+ * long. A {@link RetryBudget} limits the total number of retries so that an outage does not multiply the load
+ * on Flickr.
+ * <br>
+ * When a call fails on every attempt, a {@link RetryExhaustedException} is thrown with the history of each attempt.
+ * <br>
+ * To use a retry policy, set it on the Jinx instance:
+ * {@code jinx.setRetryPolicy(new JinxRetryPolicy());}
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxRetryPolicy {
+
+  /**
+   * Default maximum number of attempts, including the first one.
+   */
+  public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+  /**
+   * Default wait before the first retry, in milliseconds.
+   */
+  public static final long DEFAULT_INITIAL_BACKOFF = 500;
+
+  /**
+   * Default maximum wait between attempts, in milliseconds.
+   */
+  public static final long DEFAULT_MAX_BACKOFF = 30000;
+
+  /**
+   * Default multiplier applied to the wait after each attempt.
+   */
+  public static final double DEFAULT_MULTIPLIER = 2.0;
+
+  /**
+   * Default jitter. Half of each wait is random.
+   */
+  public static final double DEFAULT_JITTER = 0.5;
+
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+  private static final int FLICKR_SERVICE_UNAVAILABLE = 105;
+  private static final int FLICKR_WRITE_FAILED = 106;
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+  private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+  private long maxBackoff = DEFAULT_MAX_BACKOFF;
+  private double multiplier = DEFAULT_MULTIPLIER;
+  private double jitter = DEFAULT_JITTER;
+  private boolean retryNonIdempotent;
+  private RetryBudget budget = new RetryBudget(0.2, 1);
+
+  /**
+   * Create a retry policy with the default settings.
+   * <br>
+   * The defaults allow 3 attempts, starting with a 500 millisecond wait that doubles on each retry. Retries are
+   * limited to one for every five calls, plus one per second.
+   */
+  public JinxRetryPolicy() {
+  }
+
+  /**
+   * Create a retry policy.
+   *
+   * @param maxAttempts    maximum number of attempts, including the first one. Must be at least 1.
+   * @param initialBackoff wait before the first retry, in milliseconds.
+   * @param maxBackoff     maximum wait between attempts, in milliseconds.
+   */
+  public JinxRetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff) {
+    setMaxAttempts(maxAttempts);
+    if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+      throw new IllegalArgumentException("Backoff must not be negative, and the maximum must not be less than the initial backoff.");
+    }
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Set the maximum number of attempts.
+   *
+   * @param maxAttempts maximum number of attempts, including the first one. Must be at least 1.
+   */
+  public void setMaxAttempts(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Maximum attempts must be at least 1.");
+    }
+    this.maxAttempts = maxAttempts;
+  }
+
+  public long getInitialBackoff() {
+    return initialBackoff;
+  }
+
+  public long getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  public double getMultiplier() {
+    return multiplier;
+  }
+
+  /**
+   * Set the multiplier applied to the wait after each attempt.
+   *
+   * @param multiplier multiplier. Must be at least 1.
+   */
+  public void setMultiplier(double multiplier) {
+    if (multiplier < 1) {
+      throw new IllegalArgumentException("Multiplier must be at least 1.");
+    }
+    this.multiplier = multiplier;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Set the fraction of each wait that is random.
+   * <br>
+   * With a jitter of 0, the wait is exactly the exponential backoff. With a jitter of 1, the wait is anywhere
+   * between zero and the exponential backoff.
+   *
+   * @param jitter fraction between 0 and 1.
+   */
+  public void setJitter(double jitter) {
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+    }
+    this.jitter = jitter;
+  }
+
+  public boolean isRetryNonIdempotent() {
+    return retryNonIdempotent;
+  }
+
+  /**
+   * Set whether POST requests are retried after failures where Flickr may have acted on the request.
+   * <br>
+   * This is false by default, because retrying could, for example, add the same comment twice.
+   *
+   * @param retryNonIdempotent true to retry POST requests in the same cases as GET requests.
+   */
+  public void setRetryNonIdempotent(boolean retryNonIdempotent) {
+    this.retryNonIdempotent = retryNonIdempotent;
+  }
+
+  public RetryBudget getBudget() {
+    return budget;
+  }
+
+  /**
+   * Set the retry budget.
+   *
+   * @param budget the budget to use, or null to allow unlimited retries.
+   */
+  public void setBudget(RetryBudget budget) {
+    this.budget = budget;
+  }
+
+  /**
+   * Record that a call is being made. This is called once per call, not once per attempt.
+   */
+  public void recordCall() {
+    RetryBudget b = this.budget;
+    if (b != null) {
+      b.recordCall();
+    }
+  }
+
+  /**
+   * Decide if a failure is transient, and safe to retry.
+   * <br>
+   * Subclasses can override this to change which failures are retried.
+   *
+   * @param method          http method of the request.
+   * @param failure         the exception from the attempt, or null if Flickr returned a response.
+   * @param flickrErrorCode the error code returned by Flickr, or 0 if there was no error code.
+   * @return true if the call can be retried.
+   */
+  public boolean isRetryable(JinxConstants.Method method, JinxException failure, int flickrErrorCode) {
+    boolean idempotent = method == JinxConstants.Method.GET || this.retryNonIdempotent;
+    if (failure == null) {
+      return flickrErrorCode == FLICKR_SERVICE_UNAVAILABLE || flickrErrorCode == FLICKR_WRITE_FAILED;
+    }
+    if (failure instanceof JinxHttpException) {
+      int status = ((JinxHttpException) failure).getStatusCode();
+      if (status == HTTP_TOO_MANY_REQUESTS || status == HTTP_SERVICE_UNAVAILABLE) {
+        return true;
+      }
+      return idempotent && status >= 500;
+    }
+    Throwable cause = failure.getCause();
+    if (!(cause instanceof IOException) || cause instanceof MalformedURLException) {
+      return false;
+    }
+    return idempotent || notSent(cause);
+  }
+
+  /**
+   * Decide if another attempt can be made.
+   * <br>
+   * A retry is allowed if the maximum number of attempts has not been reached, and the retry budget is not empty.
+   * If a retry is allowed, a token is taken from the budget.
+   *
+   * @param attempt number of the attempt that just failed, starting at 1.
+   * @return true if another attempt can be made.
+   */
+  public boolean tryRetry(int attempt) {
+    if (attempt >= this.maxAttempts) {
+      return false;
+    }
+    RetryBudget b = this.budget;
+    return b == null || b.tryRetry();
+  }
+
+  /**
+   * Get the time to wait before the next attempt.
+   *
+   * @param attempt number of the attempt that just failed, starting at 1.
+   * @param failure the exception from the attempt, or null if Flickr returned a response.
+   * @return time to wait in milliseconds.
+   */
+  public long getBackoff(int attempt, JinxException failure) {
+    double exponential = this.initialBackoff * Math.pow(this.multiplier, attempt - 1);
+    long backoff = (long) Math.min(this.maxBackoff, exponential);
+    backoff -= (long) (backoff * this.jitter * ThreadLocalRandom.current().nextDouble());
+    if (failure instanceof JinxHttpException) {
+      long retryAfter = ((JinxHttpException) failure).getRetryAfterSeconds();
+      if (retryAfter > 0) {
+        backoff = Math.max(backoff, Math.min(this.maxBackoff, TimeUnit.SECONDS.toMillis(retryAfter)));
+      }
+    }
+    return backoff;
+  }
+
+  /*
+   * True if the request certainly did not reach Flickr.
+   */
+  private boolean notSent(Throwable cause) {
+    return cause instanceof ConnectException || cause instanceof NoRouteToHostException ||
+        cause instanceof UnknownHostException || cause instanceof HttpConnectTimeoutException;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.retry;
+
+import java.io.Serializable;
+
+/**
+ * A failed attempt to make a call to Flickr.
+ *
+ * @author Jeremy Brooks
+ * @see RetryExhaustedException
+ */
+public class RetryAttempt implements Serializable {
+
+  private static final long serialVersionUID = -2960316418521306745L;
+
+  private final int attempt;
+  private final int httpStatus;
+  private final int flickrErrorCode;
+  private final String message;
+  private final Throwable cause;
+  private final long elapsedMillis;
+
+  /**
+   * Create a record of a failed attempt.
+   *
+   * @param attempt         attempt number, starting at 1.
+   * @param httpStatus      http status code, or 0 if there was no http response.
+   * @param flickrErrorCode Flickr error code, or 0 if Flickr did not report an error.
+   * @param message         description of the failure.
+   * @param cause           exception that caused the failure. May be null.
+   * @param elapsedMillis   how long the attempt took, in milliseconds.
+   */
+  public RetryAttempt(int attempt, int httpStatus, int flickrErrorCode, String message, Throwable cause, long elapsedMillis) {
+    this.attempt = attempt;
+    this.httpStatus = httpStatus;
+    this.flickrErrorCode = flickrErrorCode;
+    this.message = message;
+    this.cause = cause;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public int getAttempt() {
+    return attempt;
+  }
+
+  /**
+   * Get the http status code.
+   *
+   * @return http status code, or 0 if there was no http response.
+   */
+  public int getHttpStatus() {
+    return httpStatus;
+  }
+
+  /**
+   * Get the Flickr error code.
+   *
+   * @return Flickr error code, or 0 if Flickr did not report an error.
+   */
+  public int getFlickrErrorCode() {
+    return flickrErrorCode;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Get the exception that caused the failure.
+   *
+   * @return cause of the failure, or null if the failure was reported by Flickr.
+   */
+  public Throwable getCause() {
+    return cause;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("RetryAttempt{");
+    sb.append("attempt=").append(attempt);
+    sb.append(", httpStatus=").append(httpStatus);
+    sb.append(", flickrErrorCode=").append(flickrErrorCode);
+    sb.append(", message='").append(message).append('\'');
+    sb.append(", elapsedMillis=").append(elapsedMillis);
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a fraction of the calls being made.
+ * <br>
+ * When Flickr is having problems, every call may fail. If every failed call is retried several times, the load
+ * on Flickr goes up just when it can least handle it. A retry budget prevents this: each call adds a fraction of
+ * a token to the budget, and each retry takes a whole token. When the budget is empty, failed calls are not retried.
+ * <br>
+ * A small number of retries per second are always allowed, so that an application that makes few calls can still
+ * retry them.
+ * <br>
+ * This class is thread safe. A single budget can be shared by several retry policies.
+ *
+ * @author Jeremy Brooks
+ */
+public class RetryBudget {
+
+  /* balances are kept in thousandths of a token */
+  private static final long SCALE = 1000;
+
+  private final long depositPerCall;
+  private final double minRetriesPerSecond;
+  private final long maxBalance;
+  private final AtomicLong balance;
+  private final AtomicLong lastRefill;
+
+  /**
+   * Create a new retry budget.
+   *
+   * @param retryRatio          retries allowed per call; for example, 0.2 allows one retry for every five calls.
+   * @param minRetriesPerSecond retries per second that are allowed no matter how few calls are being made.
+   */
+  public RetryBudget(double retryRatio, double minRetriesPerSecond) {
+    if (retryRatio < 0 || minRetriesPerSecond < 0) {
+      throw new IllegalArgumentException("Retry ratio and minimum retries per second must not be negative.");
+    }
+    this.depositPerCall = Math.round(retryRatio * SCALE);
+    this.minRetriesPerSecond = minRetriesPerSecond;
+    // allow a burst of up to ten seconds worth of minimum retries, and never less than ten retries
+    this.maxBalance = Math.max(10, Math.round(minRetriesPerSecond * 10)) * SCALE;
+    this.balance = new AtomicLong(this.maxBalance);
+    this.lastRefill = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * Record that a call is being made.
+   */
+  public void recordCall() {
+    add(this.depositPerCall);
+  }
+
+  /**
+   * Take a token from the budget for a retry.
+   *
+   * @return true if the retry may be made, false if the budget is empty.
+   */
+  public boolean tryRetry() {
+    refill(System.nanoTime());
+    long current;
+    do {
+      current = this.balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+    } while (!this.balance.compareAndSet(current, current - SCALE));
+    return true;
+  }
+
+  /**
+   * Get the number of retries currently available.
+   *
+   * @return whole tokens in the budget.
+   */
+  public long getAvailableRetries() {
+    refill(System.nanoTime());
+    return this.balance.get() / SCALE;
+  }
+
+  private void refill(long now) {
+    if (this.minRetriesPerSecond == 0) {
+      return;
+    }
+    long last = this.lastRefill.get();
+    long amount = (long) ((now - last) * this.minRetriesPerSecond * SCALE / TimeUnit.SECONDS.toNanos(1));
+    // only the thread that moves the refill time forward adds the tokens
+    if (amount > 0 && this.lastRefill.compareAndSet(last, now)) {
+      add(amount);
+    }
+  }
+
+  private void add(long amount) {
+    long current;
+    long next;
+    do {
+      current = this.balance.get();
+      next = Math.min(this.maxBalance, current + amount);
+    } while (current != next && !this.balance.compareAndSet(current, next));
+  }
+}
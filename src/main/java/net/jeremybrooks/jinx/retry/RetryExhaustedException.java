@@ -0,0 +1,74 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.retry;
+
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when a call to Flickr failed with a transient error, and was retried until the retry policy gave up.
+ * <br>
+ * The exception carries every failed attempt. The cause is the failure from the last attempt. If the last attempt
+ * failed because Flickr reported an error, the Flickr error code and message are also available.
+ *
+ * @author Jeremy Brooks
+ * @see JinxRetryPolicy
+ */
+public class RetryExhaustedException extends JinxException {
+
+  private static final long serialVersionUID = 6310297372911535846L;
+
+  private final List<RetryAttempt> attempts;
+
+  /**
+   * Create an exception for a call that failed with an exception on its last attempt.
+   *
+   * @param msg      the detail message.
+   * @param cause    the failure from the last attempt.
+   * @param attempts all failed attempts.
+   */
+  public RetryExhaustedException(String msg, Throwable cause, List<RetryAttempt> attempts) {
+    super(msg + " [" + attempts.size() + " attempts]", cause);
+    this.attempts = Collections.unmodifiableList(new ArrayList<>(attempts));
+  }
+
+  /**
+   * Create an exception for a call where Flickr reported an error on the last attempt.
+   *
+   * @param msg      the detail message.
+   * @param response the response from Flickr with the code and error message.
+   * @param attempts all failed attempts.
+   */
+  public RetryExhaustedException(String msg, Response response, List<RetryAttempt> attempts) {
+    super(msg + " [" + attempts.size() + " attempts]", null, response);
+    this.attempts = Collections.unmodifiableList(new ArrayList<>(attempts));
+  }
+
+  /**
+   * Get the failed attempts, in order.
+   *
+   * @return unmodifiable list of failed attempts.
+   */
+  public List<RetryAttempt> getAttempts() {
+    return attempts;
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.sync;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxExecutors;
+import net.jeremybrooks.jinx.PhotoPager;
+import net.jeremybrooks.jinx.api.PeopleApi;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a local copy of an account up to date by asking Flickr only for the photos that changed.
+ * <br>
+ * Each call to {@link #sync(SyncCheckpoint, Consumer)} pages through flickr.photos.recentlyUpdated from the
+ * checkpoint, fetches the details of each changed photo in parallel, and passes a {@link PhotoChange} for each
+ * photo to the consumer, in the order Flickr listed them. The cost of a sync is proportional to the number of
+ * changed photos, not to the size of the account. The first sync, from {@link SyncCheckpoint#INITIAL}, lists
+ * every photo in the account.
+ * <br>
+ * The consumer is called on the thread that called sync. Changes are delivered at least once: a photo that
+ * changes while a sync is running, or in the same second as the checkpoint, may be delivered again by the next
+ * sync. If any call to Flickr fails, sync throws and the checkpoint should not be advanced.
+ * <br>
+ * flickr.photos.recentlyUpdated does not list photos that were deleted. A photo that is deleted while its
+ * details are being fetched is reported as removed. To find the rest, call
+ * {@link #reconcile(Collection, Consumer)} from time to time with the ids of the photos held locally.
+ * <br>
+ * The Jinx instance must be authenticated with 'read' permission. Every call goes through the Jinx rate
+ * limiter and cache, if there are any.
+ *
+ * @author Jeremy Brooks
+ */
+public class AccountSync {
+
+  /** Number of photos whose details are fetched at once, by default. */
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  private static final int PER_PAGE = 500;
+  private static final int PHOTO_NOT_FOUND = 1;
+  private static final Set<JinxConstants.PhotoExtras> EXTRAS =
+      EnumSet.of(JinxConstants.PhotoExtras.date_upload, JinxConstants.PhotoExtras.last_update);
+
+  private final PhotosApi photosApi;
+  private final PeopleApi peopleApi;
+  private Executor executor;
+  private int parallelism = DEFAULT_PARALLELISM;
+  private boolean fetchInfo = true;
+  private boolean fetchSizes = true;
+  private boolean fetchExif = false;
+
+  /**
+   * Create a sync that fetches details on the shared Jinx executor.
+   *
+   * @param jinx authenticated Jinx instance.
+   */
+  public AccountSync(Jinx jinx) {
+    this(jinx, JinxExecutors.defaultExecutor());
+  }
+
+  /**
+   * Create a sync.
+   *
+   * @param jinx     authenticated Jinx instance.
+   * @param executor executor used to fetch pages and photo details.
+   */
+  public AccountSync(Jinx jinx, Executor executor) {
+    if (jinx == null || executor == null) {
+      throw new IllegalArgumentException("Jinx and executor cannot be null.");
+    }
+    this.photosApi = new PhotosApi(jinx);
+    this.peopleApi = new PeopleApi(jinx);
+    this.executor = executor;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public void setExecutor(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Executor cannot be null.");
+    }
+    this.executor = executor;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Set the number of photos whose details are fetched at once. The default is {@link #DEFAULT_PARALLELISM}.
+   *
+   * @param parallelism number of photos, at least 1.
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+    }
+    this.parallelism = parallelism;
+  }
+
+  public boolean isFetchInfo() {
+    return fetchInfo;
+  }
+
+  /**
+   * Set whether flickr.photos.getInfo is called for each changed photo. The default is true.
+   *
+   * @param fetchInfo true to fetch photo info.
+   */
+  public void setFetchInfo(boolean fetchInfo) {
+    this.fetchInfo = fetchInfo;
+  }
+
+  public boolean isFetchSizes() {
+    return fetchSizes;
+  }
+
+  /**
+   * Set whether flickr.photos.getSizes is called for each changed photo. The default is true.
+   *
+   * @param fetchSizes true to fetch photo sizes.
+   */
+  public void setFetchSizes(boolean fetchSizes) {
+    this.fetchSizes = fetchSizes;
+  }
+
+  public boolean isFetchExif() {
+    return fetchExif;
+  }
+
+  /**
+   * Set whether flickr.photos.getExif is called for each changed photo. The default is false.
+   *
+   * @param fetchExif true to fetch exif data.
+   */
+  public void setFetchExif(boolean fetchExif) {
+    this.fetchExif = fetchExif;
+  }
+
+  /**
+   * Find the photos that changed since a checkpoint.
+   *
+   * @param checkpoint checkpoint returned by the previous sync, or {@link SyncCheckpoint#INITIAL}.
+   * @param changes    receives each added, updated or removed photo.
+   * @return checkpoint to pass to the next sync.
+   * @throws JinxException if any call to Flickr fails.
+   */
+  public SyncCheckpoint sync(SyncCheckpoint checkpoint, Consumer<PhotoChange> changes) throws JinxException {
+    if (checkpoint == null || changes == null) {
+      throw new IllegalArgumentException("Checkpoint and changes cannot be null.");
+    }
+    final long since = checkpoint.getLastUpdate();
+    long newest = since;
+    Set<String> seen = new HashSet<>();
+    Deque<CompletableFuture<PhotoChange>> window = new ArrayDeque<>();
+    PhotoPager pager = new PhotoPager(page ->
+        photosApi.recentlyUpdated(checkpoint.getMinDate(), EXTRAS, PER_PAGE, page), executor);
+    try {
+      for (Photo photo : pager) {
+        // photos updated while paging move to the front of the list, and push others onto the next page
+        if (!seen.add(photo.getPhotoId())) {
+          continue;
+        }
+        newest = Math.max(newest, toSeconds(photo.getLastUpdate()));
+        PhotoChange.Type type = toSeconds(photo.getDateUpload()) > since ? PhotoChange.Type.ADDED : PhotoChange.Type.UPDATED;
+        window.add(CompletableFuture.supplyAsync(() -> fetch(photo, type), executor));
+        if (window.size() >= parallelism) {
+          changes.accept(join(window.poll()));
+        }
+      }
+      while (!window.isEmpty()) {
+        changes.accept(join(window.poll()));
+      }
+    } catch (PhotoPager.PageException pe) {
+      throw pe.getCause();
+    } finally {
+      for (CompletableFuture<PhotoChange> future : window) {
+        future.cancel(false);
+      }
+    }
+    return newest == since ? checkpoint : new SyncCheckpoint(newest);
+  }
+
+  /**
+   * Find photos that were removed from the account.
+   * <br>
+   * This lists the ids of every photo in the account, 500 at a time, and reports each known photo that is not
+   * listed. Each missing photo is confirmed with flickr.photos.getInfo before it is reported, because photos
+   * deleted while the list is being read can cause others to be skipped.
+   *
+   * @param knownPhotoIds ids of the photos held locally.
+   * @param changes       receives a removed change for each photo that no longer exists.
+   * @return number of photos reported as removed.
+   * @throws JinxException if any call to Flickr fails.
+   */
+  public int reconcile(Collection<String> knownPhotoIds, Consumer<PhotoChange> changes) throws JinxException {
+    if (knownPhotoIds == null || changes == null) {
+      throw new IllegalArgumentException("Known photo ids and changes cannot be null.");
+    }
+    Set<String> listed = new HashSet<>();
+    PhotoPager pager = new PhotoPager(page -> peopleApi.getPhotos("me", null, null, null, null, null, null, null,
+        null, PER_PAGE, page, true), executor);
+    try {
+      for (Photo photo : pager) {
+        listed.add(photo.getPhotoId());
+      }
+    } catch (PhotoPager.PageException pe) {
+      throw pe.getCause();
+    }
+    int removed = 0;
+    for (String photoId : knownPhotoIds) {
+      if (!listed.contains(photoId) && !exists(photoId)) {
+        changes.accept(new PhotoChange(PhotoChange.Type.REMOVED, photoId, null, null, null, null));
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  private PhotoChange fetch(Photo photo, PhotoChange.Type type) {
+    String photoId = photo.getPhotoId();
+    try {
+      PhotoInfo info = null;
+      PhotoSizes sizes = null;
+      ExifData exif = null;
+      if (fetchInfo) {
+        info = photosApi.getInfo(photoId, photo.getSecret());
+        if (isNotFound(info)) {
+          return new PhotoChange(PhotoChange.Type.REMOVED, photoId, photo, null, null, null);
+        }
+      }
+      if (fetchSizes) {
+        sizes = photosApi.getSizes(photoId);
+        if (isNotFound(sizes)) {
+          return new PhotoChange(PhotoChange.Type.REMOVED, photoId, photo, null, null, null);
+        }
+      }
+      if (fetchExif) {
+        exif = photosApi.getExif(photoId, photo.getSecret());
+        if (isNotFound(exif)) {
+          return new PhotoChange(PhotoChange.Type.REMOVED, photoId, photo, null, null, null);
+        }
+      }
+      return new PhotoChange(type, photoId, photo, info, sizes, exif);
+    } catch (JinxException e) {
+      if (e.getFlickrErrorCode() == PHOTO_NOT_FOUND) {
+        return new PhotoChange(PhotoChange.Type.REMOVED, photoId, photo, null, null, null);
+      }
+      throw new CompletionException(e);
+    }
+  }
+
+  private boolean exists(String photoId) throws JinxException {
+    try {
+      return !isNotFound(photosApi.getInfo(photoId, null));
+    } catch (JinxException e) {
+      if (e.getFlickrErrorCode() == PHOTO_NOT_FOUND) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  /* When Jinx is configured not to throw on Flickr errors, the error code is in the response. */
+  private static boolean isNotFound(Response response) {
+    return response != null && response.getCode() == PHOTO_NOT_FOUND;
+  }
+
+  private static PhotoChange join(CompletableFuture<PhotoChange> future) throws JinxException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof JinxException) {
+        throw (JinxException) e.getCause();
+      }
+      throw new JinxException("Unable to fetch photo details.", e.getCause());
+    }
+  }
+
+  private static long toSeconds(String timestamp) {
+    try {
+      return timestamp == null ? 0 : Long.parseLong(timestamp);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.sync;
+
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+
+/**
+ * A photo that was added, updated or removed since the last sync.
+ * <br>
+ * Added and updated photos carry the photo from the list returned by Flickr, and the details that the
+ * {@link AccountSync} was asked to fetch. Details that were not fetched are null. Removed photos carry only
+ * the photo id, and the listed photo if the photo was removed while the sync was running.
+ *
+ * @author Jeremy Brooks
+ */
+public class PhotoChange {
+
+  public enum Type {
+    /** The photo was uploaded since the last sync. */
+    ADDED,
+    /** The photo, or its metadata, changed since the last sync. */
+    UPDATED,
+    /** The photo is no longer in the account. */
+    REMOVED
+  }
+
+  private final Type type;
+  private final String photoId;
+  private final Photo photo;
+  private final PhotoInfo info;
+  private final PhotoSizes sizes;
+  private final ExifData exif;
+
+  public PhotoChange(Type type, String photoId, Photo photo, PhotoInfo info, PhotoSizes sizes, ExifData exif) {
+    this.type = type;
+    this.photoId = photoId;
+    this.photo = photo;
+    this.info = info;
+    this.sizes = sizes;
+    this.exif = exif;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public String getPhotoId() {
+    return photoId;
+  }
+
+  public Photo getPhoto() {
+    return photo;
+  }
+
+  public PhotoInfo getInfo() {
+    return info;
+  }
+
+  public PhotoSizes getSizes() {
+    return sizes;
+  }
+
+  public ExifData getExif() {
+    return exif;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.sync.PhotoChange{" +
+        "type=" + type +
+        ", photoId='" + photoId + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.sync;
+
+import net.jeremybrooks.jinx.JinxException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point an {@link AccountSync} has reached.
+ * <br>
+ * A checkpoint holds the newest last update time, in seconds since the epoch, of the photos that have been
+ * synced. The next sync asks Flickr only for photos updated since then. Checkpoints are immutable; store the
+ * checkpoint returned by each sync and pass it to the next one.
+ *
+ * @author Jeremy Brooks
+ */
+public class SyncCheckpoint implements Serializable {
+  private static final long serialVersionUID = 5196627481021543315L;
+
+  /**
+   * Checkpoint for an account that has never been synced. Syncing from here lists every photo in the account.
+   */
+  public static final SyncCheckpoint INITIAL = new SyncCheckpoint(0);
+
+  private final long lastUpdate;
+
+  /**
+   * Create a checkpoint.
+   *
+   * @param lastUpdate last update time of the newest synced photo, in seconds since the epoch.
+   */
+  public SyncCheckpoint(long lastUpdate) {
+    if (lastUpdate < 0) {
+      throw new IllegalArgumentException("Last update cannot be negative.");
+    }
+    this.lastUpdate = lastUpdate;
+  }
+
+  /**
+   * Get the last update time of the newest synced photo.
+   *
+   * @return seconds since the epoch.
+   */
+  public long getLastUpdate() {
+    return lastUpdate;
+  }
+
+  /**
+   * Get the minimum date to ask Flickr for.
+   *
+   * @return last update time as a date.
+   */
+  public Date getMinDate() {
+    return new Date(TimeUnit.SECONDS.toMillis(lastUpdate));
+  }
+
+  /**
+   * Write this checkpoint to a stream as a properties XML document.
+   *
+   * @param outputStream stream to write to. The stream is not closed.
+   * @throws JinxException if the checkpoint could not be written.
+   */
+  public void store(OutputStream outputStream) throws JinxException {
+    Properties p = new Properties();
+    p.setProperty("lastUpdate", Long.toString(lastUpdate));
+    try {
+      p.storeToXML(outputStream, "Jinx sync checkpoint saved " + new Date());
+    } catch (Exception e) {
+      throw new JinxException("Unable to store sync checkpoint.", e);
+    }
+  }
+
+  /**
+   * Read a checkpoint written by {@link #store(OutputStream)}.
+   *
+   * @param inputStream stream to read from. The stream is not closed.
+   * @return checkpoint.
+   * @throws JinxException if the checkpoint could not be read.
+   */
+  public static SyncCheckpoint load(InputStream inputStream) throws JinxException {
+    Properties p = new Properties();
+    try {
+      p.loadFromXML(inputStream);
+      return new SyncCheckpoint(Long.parseLong(p.getProperty("lastUpdate")));
+    } catch (Exception e) {
+      throw new JinxException("Unable to load sync checkpoint.", e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof SyncCheckpoint && ((SyncCheckpoint) o).lastUpdate == lastUpdate;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(lastUpdate);
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.sync.SyncCheckpoint{" +
+        "lastUpdate=" + lastUpdate +
+        '}';
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.throttle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiter for calls to Flickr.
+ * <br>
+ * Flickr limits the number of calls each API key can make per hour. A rate limiter set on a
+ * {@link net.jeremybrooks.jinx.Jinx} instance spaces calls out so that the limit is not exceeded, no matter how
+ * many threads are making calls. Callers wait for a permit before their request is sent; asynchronous calls are
+ * delayed without blocking a thread.
+ * <br>
+ * Every API key has its own token bucket, using the default rate unless a different rate has been set for the
+ * key with {@link #setKeyLimit(String, double, int)}. A rate limiter can be shared by several Jinx instances, and
+ * instances using the same key will share the bucket.
+ * <br>
+ * Method families can have additional limits. A family is identified by a method name prefix, such as
+ * {@code flickr.photos.search} or {@code flickr.stats}; calls must get a permit from the longest matching family as
+ * well as from their key. Uploads and replaces use the method names {@value #UPLOAD_METHOD} and
+ * {@value #REPLACE_METHOD}.
+ * <br>
+ * In adaptive mode, the rate for a key (and family) is halved each time Flickr reports throttling, and recovers
+ * gradually to the configured rate as calls succeed. This lets you configure the limiter at the quota ceiling.
+ * {@code
+ * // 3600 calls per hour, allowing bursts of up to 50 calls
+ * JinxRateLimiter limiter = JinxRateLimiter.perHour(3600, 50);
+ * limiter.setMethodFamilyLimit("flickr.photos.search", 0.5, 5);
+ * limiter.setAdaptive(true);
+ * jinx.setRateLimiter(limiter);
+ * }
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxRateLimiter {
+
+  /**
+   * Method name used for photo and video uploads.
+   */
+  public static final String UPLOAD_METHOD = "upload";
+
+  /**
+   * Method name used for photo and video replaces.
+   */
+  public static final String REPLACE_METHOD = "replace";
+
+  private final Limit defaultLimit;
+  private final ConcurrentMap<String, Limit> keyLimits = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Limit> familyLimits = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private volatile boolean adaptive;
+
+  /**
+   * Create a rate limiter.
+   *
+   * @param permitsPerSecond default number of calls allowed per second, for each API key.
+   * @param burst            number of calls that can be made at once after the limiter has been idle.
+   */
+  public JinxRateLimiter(double permitsPerSecond, int burst) {
+    this.defaultLimit = new Limit(permitsPerSecond, burst);
+  }
+
+  /**
+   * Create a rate limiter that allows a number of calls per hour for each API key.
+   *
+   * @param callsPerHour number of calls allowed per hour.
+   * @param burst        number of calls that can be made at once after the limiter has been idle.
+   * @return new rate limiter.
+   */
+  public static JinxRateLimiter perHour(int callsPerHour, int burst) {
+    return new JinxRateLimiter(callsPerHour / 3600d, burst);
+  }
+
+  /**
+   * Set the limit for a specific API key.
+   * <br>
+   * Set limits before the limiter is used; changes do not affect buckets that have already been created.
+   *
+   * @param apiKey           the API key.
+   * @param permitsPerSecond number of calls allowed per second.
+   * @param burst            number of calls that can be made at once after the limiter has been idle.
+   */
+  public void setKeyLimit(String apiKey, double permitsPerSecond, int burst) {
+    keyLimits.put(apiKey, new Limit(permitsPerSecond, burst));
+  }
+
+  /**
+   * Set an additional limit for a family of methods.
+   * <br>
+   * Set limits before the limiter is used; changes do not affect buckets that have already been created.
+   *
+   * @param methodPrefix     method name prefix that identifies the family, such as {@code flickr.photos.search}.
+   * @param permitsPerSecond number of calls allowed per second, for each API key.
+   * @param burst            number of calls that can be made at once after the limiter has been idle.
+   */
+  public void setMethodFamilyLimit(String methodPrefix, double permitsPerSecond, int burst) {
+    familyLimits.put(methodPrefix, new Limit(permitsPerSecond, burst));
+  }
+
+  /**
+   * Indicates if the limiter slows down when Flickr reports throttling.
+   *
+   * @return true if adaptive mode is enabled.
+   */
+  public boolean isAdaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Enable or disable adaptive mode.
+   *
+   * @param adaptive if true, the limiter will slow down when Flickr reports throttling.
+   */
+  public void setAdaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+  }
+
+  /**
+   * Reserve a permit for a call, without waiting.
+   *
+   * @param apiKey API key making the call.
+   * @param method Flickr method being called.
+   * @return number of nanoseconds the caller must wait before making the call.
+   */
+  public long reserve(String apiKey, String method) {
+    long now = System.nanoTime();
+    long wait = keyBucket(apiKey).reserve(now);
+    TokenBucket family = familyBucket(apiKey, method);
+    if (family != null) {
+      wait = Math.max(wait, family.reserve(now));
+    }
+    return wait;
+  }
+
+  /**
+   * Wait for a permit for a call.
+   *
+   * @param apiKey API key making the call.
+   * @param method Flickr method being called.
+   * @return number of nanoseconds spent waiting.
+   * @throws InterruptedException if the thread is interrupted while waiting.
+   */
+  public long acquire(String apiKey, String method) throws InterruptedException {
+    long wait = reserve(apiKey, method);
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+    return wait;
+  }
+
+  /**
+   * Tell the limiter that Flickr reported throttling for a call.
+   * <br>
+   * This has no effect unless adaptive mode is enabled.
+   *
+   * @param apiKey API key that made the call.
+   * @param method Flickr method that was called.
+   */
+  public void throttled(String apiKey, String method) {
+    if (adaptive) {
+      keyBucket(apiKey).throttled();
+      TokenBucket family = familyBucket(apiKey, method);
+      if (family != null) {
+        family.throttled();
+      }
+    }
+  }
+
+  /**
+   * Tell the limiter that a call succeeded.
+   * <br>
+   * This has no effect unless adaptive mode is enabled.
+   *
+   * @param apiKey API key that made the call.
+   * @param method Flickr method that was called.
+   */
+  public void succeeded(String apiKey, String method) {
+    if (adaptive) {
+      keyBucket(apiKey).succeeded();
+      TokenBucket family = familyBucket(apiKey, method);
+      if (family != null) {
+        family.succeeded();
+      }
+    }
+  }
+
+  /**
+   * Get the current rate for an API key.
+   * <br>
+   * In adaptive mode, this may be lower than the configured rate.
+   *
+   * @param apiKey the API key.
+   * @return current number of calls allowed per second.
+   */
+  public double getCurrentRate(String apiKey) {
+    return keyBucket(apiKey).getRate();
+  }
+
+  private TokenBucket keyBucket(String apiKey) {
+    TokenBucket bucket = buckets.get(apiKey);
+    if (bucket == null) {
+      Limit limit = keyLimits.get(apiKey);
+      bucket = (limit == null ? defaultLimit : limit).newBucket();
+      TokenBucket existing = buckets.putIfAbsent(apiKey, bucket);
+      if (existing != null) {
+        bucket = existing;
+      }
+    }
+    return bucket;
+  }
+
+  private TokenBucket familyBucket(String apiKey, String method) {
+    if (familyLimits.isEmpty() || method == null) {
+      return null;
+    }
+    String family = null;
+    for (String prefix : familyLimits.keySet()) {
+      if (method.startsWith(prefix) && (family == null || prefix.length() > family.length())) {
+        family = prefix;
+      }
+    }
+    if (family == null) {
+      return null;
+    }
+    String key = apiKey + '|' + family;
+    TokenBucket bucket = buckets.get(key);
+    if (bucket == null) {
+      bucket = familyLimits.get(family).newBucket();
+      TokenBucket existing = buckets.putIfAbsent(key, bucket);
+      if (existing != null) {
+        bucket = existing;
+      }
+    }
+    return bucket;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("JinxRateLimiter{");
+    sb.append("default=").append(defaultLimit);
+    sb.append(", keyLimits=").append(keyLimits.size());
+    sb.append(", familyLimits=").append(familyLimits);
+    sb.append(", adaptive=").append(adaptive);
+    sb.append('}');
+    return sb.toString();
+  }
+
+  private static class Limit {
+    private final double permitsPerSecond;
+    private final int burst;
+
+    Limit(double permitsPerSecond, int burst) {
+      if (permitsPerSecond <= 0 || Double.isNaN(permitsPerSecond)) {
+        throw new IllegalArgumentException("permitsPerSecond must be greater than zero.");
+      }
+      if (burst < 1) {
+        throw new IllegalArgumentException("burst must be at least 1.");
+      }
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+    }
+
+    TokenBucket newBucket() {
+      return new TokenBucket(permitsPerSecond, burst);
+    }
+
+    @Override
+    public String toString() {
+      return permitsPerSecond + "/s burst " + burst;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket.
+ * <br>
+ * The bucket is implemented as a generic cell rate algorithm: the only state is the theoretical arrival time of
+ * the next permit, which is advanced with a compare-and-set. Callers reserve a permit and are told how long to
+ * wait before using it, so the bucket never blocks and never takes a lock.
+ * <br>
+ * The interval between permits can be widened when Flickr reports throttling, and is narrowed again as calls
+ * succeed, until it is back to the configured rate.
+ *
+ * @author Jeremy Brooks
+ */
+class TokenBucket {
+
+  /*
+   * When adapting, the interval will never grow beyond this multiple of the configured interval.
+   */
+  private static final long MAX_BACKOFF = 64;
+
+  private final long baseInterval;
+  private final int burst;
+  private final AtomicLong interval;
+  private final AtomicLong nextFree;
+
+  /**
+   * Create a bucket.
+   *
+   * @param permitsPerSecond number of permits per second.
+   * @param burst            number of permits that can be used at once after the bucket has been idle.
+   */
+  TokenBucket(double permitsPerSecond, int burst) {
+    if (permitsPerSecond <= 0 || Double.isNaN(permitsPerSecond)) {
+      throw new IllegalArgumentException("permitsPerSecond must be greater than zero.");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1.");
+    }
+    this.baseInterval = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+    this.burst = burst;
+    this.interval = new AtomicLong(baseInterval);
+    this.nextFree = new AtomicLong(System.nanoTime() - baseInterval * burst);
+  }
+
+  /**
+   * Reserve a permit.
+   *
+   * @param now current value of {@link System#nanoTime()}.
+   * @return number of nanoseconds the caller must wait before using the permit. Zero if the permit can be used now.
+   */
+  long reserve(long now) {
+    while (true) {
+      long current = nextFree.get();
+      long step = interval.get();
+      long tolerance = step * (burst - 1);
+      long earliest = Math.max(current, now - tolerance);
+      if (nextFree.compareAndSet(current, earliest + step)) {
+        return Math.max(0L, earliest - now);
+      }
+    }
+  }
+
+  /**
+   * Slow down after Flickr has reported throttling, by doubling the interval between permits.
+   */
+  void throttled() {
+    while (true) {
+      long current = interval.get();
+      long widened = Math.min(current * 2, baseInterval * MAX_BACKOFF);
+      if (widened == current || interval.compareAndSet(current, widened)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Move back toward the configured rate after a successful call.
+   */
+  void succeeded() {
+    while (true) {
+      long current = interval.get();
+      if (current <= baseInterval) {
+        return;
+      }
+      long narrowed = Math.max(baseInterval, current - Math.max(1L, (current - baseInterval) / 20));
+      if (interval.compareAndSet(current, narrowed)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the current rate.
+   *
+   * @return current number of permits per second.
+   */
+  double getRate() {
+    return 1_000_000_000d / interval.get();
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transport that can send requests without blocking the calling thread.
+ * <br>
+ * When the {@link net.jeremybrooks.jinx.Jinx} instance uses an asynchronous transport, the classes in the
+ * {@code net.jeremybrooks.jinx.api.async} package do not tie up a thread while a request is in flight.
+ *
+ * @author Jeremy Brooks
+ */
+public interface AsyncJinxTransport extends JinxTransport {
+
+  /**
+   * Send a request without blocking.
+   * <br>
+   * If the request fails, the returned future completes exceptionally with a
+   * {@link net.jeremybrooks.jinx.JinxException}.
+   *
+   * @param request the signed request to send.
+   * @return future that completes with the response from the server.
+   */
+  CompletableFuture<JinxTransportResponse> executeAsync(JinxTransportRequest request);
+}
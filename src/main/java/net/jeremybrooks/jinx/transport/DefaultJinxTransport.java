@@ -0,0 +1,241 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The default transport, built on {@link java.net.HttpURLConnection}.
+ * <br>
+ * Connections are persistent: response streams are always read to the end and closed (never disconnected),
+ * which allows the JVM to return the connection to its keep-alive cache and reuse it for the next request
+ * to the same host. This avoids a TCP and TLS handshake for every call.
+ * <br>
+ * The number of connections open to a single route (scheme, host and port) at the same time is limited
+ * to {@code maxConnectionsPerRoute}. Callers that exceed the limit will wait for a connection to become
+ * available.
+ * <br>
+ * The JVM keeps at most {@code http.maxConnections} idle connections per route, 5 by default, and closes the rest
+ * when they are returned. This transport does not change that system property, since it applies to every
+ * connection in the JVM. Applications that make many concurrent calls can raise it to
+ * {@code maxConnectionsPerRoute}, so that idle connections are kept for reuse, by starting the JVM with
+ * {@code -Dhttp.maxConnections=20}, or by setting the property before the first http connection is made; the JVM
+ * reads it only once.
+ *
+ * @author Jeremy Brooks
+ */
+public class DefaultJinxTransport implements JinxTransport {
+
+  /**
+   * Default connect timeout, in milliseconds.
+   */
+  public static final int DEFAULT_CONNECT_TIMEOUT = 30000;
+
+  /**
+   * Default read timeout, in milliseconds.
+   */
+  public static final int DEFAULT_READ_TIMEOUT = 120000;
+
+  /**
+   * Default maximum number of concurrent connections per route.
+   */
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final int maxConnectionsPerRoute;
+  private final ConcurrentMap<String, Semaphore> routes = new ConcurrentHashMap<>();
+
+  /**
+   * Create a transport with the default timeouts and connection limit.
+   */
+  public DefaultJinxTransport() {
+    this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+  }
+
+  /**
+   * Create a transport.
+   *
+   * @param connectTimeout         connect timeout in milliseconds. Zero means wait forever.
+   * @param readTimeout            read timeout in milliseconds. Zero means wait forever.
+   * @param maxConnectionsPerRoute maximum number of connections open to a single route at the same time.
+   */
+  public DefaultJinxTransport(int connectTimeout, int readTimeout, int maxConnectionsPerRoute) {
+    if (connectTimeout < 0 || readTimeout < 0) {
+      throw new IllegalArgumentException("Timeouts cannot be negative.");
+    }
+    if (maxConnectionsPerRoute < 1) {
+      throw new IllegalArgumentException("maxConnectionsPerRoute must be at least 1.");
+    }
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+  }
+
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public int getReadTimeout() {
+    return readTimeout;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  @Override
+  public JinxTransportResponse execute(JinxTransportRequest request) throws JinxException {
+    URL url;
+    try {
+      url = new URL(request.getUrl());
+    } catch (Exception e) {
+      throw new JinxException("Invalid URL " + request.getUrl(), e);
+    }
+    Semaphore permits = getRoute(url);
+    try {
+      permits.acquire();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new JinxException("Interrupted while waiting for a connection to " + url.getHost(), ie);
+    }
+
+    boolean released = false;
+    try {
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      connection.setConnectTimeout(connectTimeout);
+      connection.setReadTimeout(readTimeout);
+      connection.setUseCaches(false);
+      connection.setInstanceFollowRedirects(false);
+      connection.setRequestMethod(request.getMethod().toString());
+      for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+        connection.setRequestProperty(header.getKey(), header.getValue());
+      }
+
+      JinxRequestBody body = request.getRequestBody();
+      boolean hasBody = request.getMethod() == JinxConstants.Method.POST && body != null;
+      if (hasBody) {
+        if (connection.getRequestProperty("Content-Type") == null) {
+          connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        }
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.getContentLength());
+      }
+
+      long start = System.nanoTime();
+      connection.connect();
+      long connectNanos = System.nanoTime() - start;
+
+      if (hasBody) {
+        OutputStream out = connection.getOutputStream();
+        try {
+          body.writeTo(out);
+        } finally {
+          out.close();
+        }
+      }
+
+      int code = connection.getResponseCode();
+      InputStream in = code < 400 ? connection.getInputStream() : connection.getErrorStream();
+      JinxTransportResponse response = new JinxTransportResponse(code, getHeaders(connection),
+          in == null ? null : new PermitReleasingInputStream(in, permits));
+      response.setTimings(connectNanos, System.nanoTime() - start);
+      released = in != null;
+      return response;
+    } catch (IOException e) {
+      throw new JinxException("Error communicating with " + url.getHost(), e);
+    } finally {
+      if (!released) {
+        permits.release();
+      }
+    }
+  }
+
+  private Semaphore getRoute(URL url) {
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    String route = url.getProtocol() + "://" + url.getHost() + ":" + port;
+    Semaphore semaphore = routes.get(route);
+    if (semaphore == null) {
+      Semaphore created = new Semaphore(maxConnectionsPerRoute, true);
+      semaphore = routes.putIfAbsent(route, created);
+      if (semaphore == null) {
+        semaphore = created;
+      }
+    }
+    return semaphore;
+  }
+
+  private Map<String, String> getHeaders(HttpURLConnection connection) {
+    Map<String, String> headers = new HashMap<>();
+    for (Map.Entry<String, List<String>> entry : connection.getHeaderFields().entrySet()) {
+      if (entry.getKey() != null && entry.getValue() != null && !entry.getValue().isEmpty()) {
+        headers.put(entry.getKey(), entry.getValue().get(0));
+      }
+    }
+    return headers;
+  }
+
+  /*
+   * Releases the route permit when the response body is closed.
+   * The body is drained before closing so that the connection goes back to the keep-alive cache.
+   */
+  private static class PermitReleasingInputStream extends FilterInputStream {
+    private final Semaphore permits;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    PermitReleasingInputStream(InputStream in, Semaphore permits) {
+      super(in);
+      this.permits = permits;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed.compareAndSet(false, true)) {
+        try {
+          byte[] buffer = new byte[4096];
+          while (in.read(buffer) != -1) {
+            // drain so the connection can be reused
+          }
+        } catch (IOException e) {
+          // connection will not be reused
+        } finally {
+          try {
+            in.close();
+          } finally {
+            permits.release();
+          }
+        }
+      }
+    }
+  }
+}
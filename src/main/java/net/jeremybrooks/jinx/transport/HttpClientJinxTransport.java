@@ -0,0 +1,187 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A non-blocking transport built on {@link java.net.http.HttpClient}.
+ * <br>
+ * The http client pools connections internally and multiplexes requests over a small number of selector
+ * threads, so hundreds of requests can be in flight without using hundreds of threads. Use this transport
+ * when you make heavy use of the asynchronous API classes:
+ * {@code
+ * Jinx jinx = new Jinx(API_KEY, API_SECRET, accessToken, new HttpClientJinxTransport());
+ * AsyncPhotosApi photosApi = new AsyncPhotosApi(jinx);
+ * }
+ * The proxy configured by {@link net.jeremybrooks.jinx.Jinx#setProxy(net.jeremybrooks.jinx.JinxProxy)} is honored,
+ * but proxy authentication is not.
+ *
+ * @author Jeremy Brooks
+ */
+public class HttpClientJinxTransport implements AsyncJinxTransport {
+
+  private final HttpClient client;
+  private final Duration requestTimeout;
+
+  /**
+   * Create a transport with the default timeouts.
+   */
+  public HttpClientJinxTransport() {
+    this(DefaultJinxTransport.DEFAULT_CONNECT_TIMEOUT, DefaultJinxTransport.DEFAULT_READ_TIMEOUT);
+  }
+
+  /**
+   * Create a transport.
+   *
+   * @param connectTimeout connect timeout in milliseconds. Zero means wait forever.
+   * @param requestTimeout time to wait for a response after the request is sent, in milliseconds. Zero means wait forever.
+   */
+  public HttpClientJinxTransport(int connectTimeout, int requestTimeout) {
+    this(buildClient(connectTimeout), requestTimeout);
+  }
+
+  /**
+   * Create a transport that uses an existing http client.
+   *
+   * @param client         the http client to use.
+   * @param requestTimeout time to wait for a response after the request is sent, in milliseconds. Zero means wait forever.
+   */
+  public HttpClientJinxTransport(HttpClient client, int requestTimeout) {
+    if (client == null) {
+      throw new IllegalArgumentException("Client cannot be null.");
+    }
+    if (requestTimeout < 0) {
+      throw new IllegalArgumentException("Timeouts cannot be negative.");
+    }
+    this.client = client;
+    this.requestTimeout = requestTimeout == 0 ? null : Duration.ofMillis(requestTimeout);
+  }
+
+  private static HttpClient buildClient(int connectTimeout) {
+    if (connectTimeout < 0) {
+      throw new IllegalArgumentException("Timeouts cannot be negative.");
+    }
+    HttpClient.Builder builder = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .proxy(ProxySelector.getDefault());
+    if (connectTimeout > 0) {
+      builder.connectTimeout(Duration.ofMillis(connectTimeout));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public JinxTransportResponse execute(JinxTransportRequest request) throws JinxException {
+    HttpRequest httpRequest = buildRequest(request);
+    try {
+      HttpResponse<InputStream> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+      return new JinxTransportResponse(response.statusCode(), getHeaders(response.headers()), response.body());
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new JinxException("Interrupted while communicating with " + httpRequest.uri().getHost(), ie);
+    } catch (Exception e) {
+      throw new JinxException("Error communicating with " + httpRequest.uri().getHost(), e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<JinxTransportResponse> executeAsync(JinxTransportRequest request) {
+    final HttpRequest httpRequest;
+    try {
+      httpRequest = buildRequest(request);
+    } catch (JinxException je) {
+      return CompletableFuture.failedFuture(je);
+    }
+    return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+        .handle((response, throwable) -> {
+          if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+            throw new CompletionException(
+                new JinxException("Error communicating with " + httpRequest.uri().getHost(), cause));
+          }
+          return new JinxTransportResponse(response.statusCode(), getHeaders(response.headers()),
+              response.body() == null ? null : new ByteArrayInputStream(response.body()));
+        });
+  }
+
+  private HttpRequest buildRequest(JinxTransportRequest request) throws JinxException {
+    HttpRequest.Builder builder;
+    try {
+      builder = HttpRequest.newBuilder(URI.create(request.getUrl()));
+    } catch (Exception e) {
+      throw new JinxException("Invalid URL " + request.getUrl(), e);
+    }
+    if (requestTimeout != null) {
+      builder.timeout(requestTimeout);
+    }
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    if (request.getMethod() == JinxConstants.Method.POST) {
+      final JinxRequestBody body = request.getRequestBody();
+      if (body == null || body.getContentLength() == 0) {
+        builder.POST(HttpRequest.BodyPublishers.noBody());
+      } else {
+        if (!request.getHeaders().containsKey("Content-Type")) {
+          builder.header("Content-Type", "application/x-www-form-urlencoded");
+        }
+        // the publisher opens a new stream each time the request is sent, so large bodies are never buffered
+        builder.POST(HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(() -> {
+          try {
+            return body.openStream();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }), body.getContentLength()));
+      }
+    } else {
+      builder.GET();
+    }
+    return builder.build();
+  }
+
+  private Map<String, String> getHeaders(HttpHeaders httpHeaders) {
+    Map<String, String> headers = new HashMap<>();
+    for (Map.Entry<String, List<String>> entry : httpHeaders.map().entrySet()) {
+      if (!entry.getValue().isEmpty()) {
+        headers.put(entry.getKey(), entry.getValue().get(0));
+      }
+    }
+    return headers;
+  }
+}
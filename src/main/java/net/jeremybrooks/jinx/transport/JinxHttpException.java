@@ -0,0 +1,68 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxException;
+
+/**
+ * Thrown when Flickr answers with an http error status instead of an API response.
+ * <br>
+ * Flickr reports API errors, such as an invalid photo id, with a normal response and a non-zero error code.
+ * An http error status means the request was not handled at all: the service was unavailable, overloaded, or
+ * too many requests were made.
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxHttpException extends JinxException {
+
+  private static final long serialVersionUID = 4386018236401624870L;
+
+  private final int statusCode;
+  private final long retryAfterSeconds;
+
+  /**
+   * Create an exception for an http error status.
+   *
+   * @param statusCode        the http status code.
+   * @param retryAfterSeconds the number of seconds the server asked clients to wait before retrying,
+   *                          or -1 if the server did not say.
+   */
+  public JinxHttpException(int statusCode, long retryAfterSeconds) {
+    super("Flickr returned http status " + statusCode + ".");
+    this.statusCode = statusCode;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Get the http status code.
+   *
+   * @return http status code.
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Get the number of seconds the server asked clients to wait before retrying.
+   *
+   * @return value of the Retry-After header in seconds, or -1 if the server did not send one.
+   */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
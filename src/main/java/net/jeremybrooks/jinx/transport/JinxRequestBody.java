@@ -0,0 +1,86 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The body of a {@link JinxTransportRequest}.
+ * <br>
+ * A body knows its length before it is sent, so transports can send it with a fixed Content-Length instead of
+ * buffering it. Bodies must be repeatable: each call to {@link #writeTo(OutputStream)} or {@link #openStream()}
+ * produces the complete body again, so that a failed request can be retried.
+ *
+ * @author Jeremy Brooks
+ */
+public interface JinxRequestBody {
+
+  /**
+   * Get the number of bytes in the body.
+   *
+   * @return length of the body in bytes.
+   */
+  long getContentLength();
+
+  /**
+   * Write the complete body to a stream.
+   * <br>
+   * The stream is not closed.
+   *
+   * @param out stream to write the body to.
+   * @throws IOException if the body could not be written.
+   */
+  void writeTo(OutputStream out) throws IOException;
+
+  /**
+   * Open a stream that reads the complete body.
+   * <br>
+   * The caller must close the stream.
+   *
+   * @return new stream containing the body.
+   * @throws IOException if the body could not be opened.
+   */
+  InputStream openStream() throws IOException;
+
+  /**
+   * Create a body from a byte array. The array is not copied.
+   *
+   * @param bytes body content.
+   * @return body that sends the bytes.
+   */
+  static JinxRequestBody ofBytes(final byte[] bytes) {
+    return new JinxRequestBody() {
+      @Override
+      public long getContentLength() {
+        return bytes.length;
+      }
+
+      @Override
+      public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+      }
+
+      @Override
+      public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+      }
+    };
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxException;
+
+/**
+ * Sends HTTP requests to Flickr on behalf of Jinx.
+ * <br>
+ * Jinx builds and signs every request, then hands it to the transport to be sent. The transport
+ * is responsible for connection management: keep-alive, pooling, timeouts, and so on. If you do not
+ * provide a transport when creating a {@link net.jeremybrooks.jinx.Jinx} instance, a
+ * {@link DefaultJinxTransport} will be used.
+ * <br>
+ * Implementations must be safe to use from multiple threads.
+ *
+ * @author Jeremy Brooks
+ */
+public interface JinxTransport {
+
+  /**
+   * Send a request and return the response.
+   * <br>
+   * The caller must close the returned response when it is done reading it, so that the
+   * underlying connection can be reused.
+   *
+   * @param request the signed request to send.
+   * @return response from the server.
+   * @throws JinxException if the request could not be sent, or if there was a network error.
+   */
+  JinxTransportResponse execute(JinxTransportRequest request) throws JinxException;
+}
@@ -0,0 +1,137 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A signed request that is ready to be sent to Flickr by a {@link JinxTransport}.
+ * <br>
+ * Transports should send the body using {@link #getRequestBody()}, which streams large bodies such as uploads
+ * without holding them in memory.
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxTransportRequest {
+
+  private final JinxConstants.Method method;
+  private final String url;
+  private final Map<String, String> headers;
+  private final byte[] body;
+  private final JinxRequestBody requestBody;
+
+  /**
+   * Create a new request.
+   *
+   * @param method  http method to use.
+   * @param url     complete URL, including any query string.
+   * @param headers request headers. May be null.
+   * @param body    request body. May be null if the request has no body.
+   */
+  public JinxTransportRequest(JinxConstants.Method method, String url, Map<String, String> headers, byte[] body) {
+    this(method, url, headers, body, body == null ? null : JinxRequestBody.ofBytes(body));
+  }
+
+  private JinxTransportRequest(JinxConstants.Method method, String url, Map<String, String> headers, byte[] body,
+                               JinxRequestBody requestBody) {
+    this.method = method;
+    this.url = url;
+    this.headers = headers == null ? Collections.<String, String>emptyMap() :
+        Collections.unmodifiableMap(new HashMap<>(headers));
+    this.body = body;
+    this.requestBody = requestBody;
+  }
+
+  /**
+   * Create a new request with a streaming body.
+   *
+   * @param method  http method to use.
+   * @param url     complete URL, including any query string.
+   * @param headers request headers. May be null.
+   * @param body    request body. May be null if the request has no body.
+   * @return new request.
+   */
+  public static JinxTransportRequest withBody(JinxConstants.Method method, String url, Map<String, String> headers,
+                                              JinxRequestBody body) {
+    return new JinxTransportRequest(method, url, headers, null, body);
+  }
+
+  public JinxConstants.Method getMethod() {
+    return method;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the request headers.
+   *
+   * @return unmodifiable map of request headers. Will not be null.
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Get the request body.
+   *
+   * @return request body, or null if the request has no body.
+   */
+  public JinxRequestBody getRequestBody() {
+    return requestBody;
+  }
+
+  /**
+   * Get the request body as a byte array.
+   * <br>
+   * If the request was created with a streaming body, the entire body is read into memory. Transports should
+   * use {@link #getRequestBody()} instead.
+   *
+   * @return request body, or null if the request has no body.
+   * @throws JinxException if a streaming body could not be read.
+   */
+  public byte[] getBody() throws JinxException {
+    if (body != null || requestBody == null) {
+      return body;
+    }
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      requestBody.writeTo(out);
+      return out.toByteArray();
+    } catch (Exception e) {
+      throw new JinxException("Unable to read request body.", e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("JinxTransportRequest{");
+    sb.append("method=").append(method);
+    sb.append(", url='").append(url).append('\'');
+    sb.append(", bodyLength=").append(requestBody == null ? 0 : requestBody.getContentLength());
+    sb.append('}');
+    return sb.toString();
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The response to a {@link JinxTransportRequest}.
+ * <br>
+ * The body can be read once, either as a stream or as a String. Responses must be closed so that
+ * the transport can reuse the underlying connection.
+ * <br>
+ * Transports that can tell how long it took to connect and to receive the first byte of the response report it
+ * with {@link #setTimings(long, long)}. When a response is metered, the bytes read from the body and the time
+ * spent waiting for them are counted.
+ *
+ * @author Jeremy Brooks
+ */
+public class JinxTransportResponse implements Closeable {
+
+  private final int code;
+  private final Map<String, String> headers;
+  private InputStream stream;
+  private String body;
+  private long connectNanos = -1;
+  private long timeToFirstByteNanos = -1;
+  private MeteredInputStream metered;
+
+  /**
+   * Create a new response.
+   *
+   * @param code    http status code.
+   * @param headers response headers. May be null.
+   * @param stream  response body. May be null if the server did not send a body.
+   */
+  public JinxTransportResponse(int code, Map<String, String> headers, InputStream stream) {
+    this.code = code;
+    Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    if (headers != null) {
+      for (Map.Entry<String, String> entry : headers.entrySet()) {
+        if (entry.getKey() != null) {
+          map.put(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+    this.headers = Collections.unmodifiableMap(map);
+    this.stream = stream;
+  }
+
+  /**
+   * Get the http status code.
+   *
+   * @return http status code.
+   */
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Get a response header. Header names are not case sensitive.
+   *
+   * @param name header name.
+   * @return header value, or null if the header was not present.
+   */
+  public String getHeader(String name) {
+    return headers.get(name);
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Record how long the request took to reach the server and to start answering.
+   *
+   * @param connectNanos         time taken to connect, in nanoseconds, or -1 if it is not known.
+   * @param timeToFirstByteNanos time from starting the request until the response started to arrive, in
+   *                             nanoseconds, or -1 if it is not known.
+   */
+  public void setTimings(long connectNanos, long timeToFirstByteNanos) {
+    this.connectNanos = connectNanos;
+    this.timeToFirstByteNanos = timeToFirstByteNanos;
+  }
+
+  /**
+   * Get the time taken to connect. A connection reused from a pool takes close to no time.
+   *
+   * @return nanoseconds, or -1 if the transport did not report it.
+   */
+  public long getConnectNanos() {
+    return connectNanos;
+  }
+
+  /**
+   * Get the time from starting the request until the response started to arrive.
+   *
+   * @return nanoseconds, or -1 if the transport did not report it.
+   */
+  public long getTimeToFirstByteNanos() {
+    return timeToFirstByteNanos;
+  }
+
+  /**
+   * Count the bytes read from the body, and the time spent reading them, from now on.
+   * This must be called before the body is read.
+   */
+  public void meter() {
+    if (metered == null && stream != null) {
+      metered = new MeteredInputStream(stream);
+      stream = metered;
+    }
+  }
+
+  /**
+   * Get the number of bytes read from the body since {@link #meter()} was called.
+   *
+   * @return number of bytes.
+   */
+  public long getBytesRead() {
+    return metered == null ? 0 : metered.bytes;
+  }
+
+  /**
+   * Get the time spent reading the body since {@link #meter()} was called.
+   *
+   * @return nanoseconds.
+   */
+  public long getReadNanos() {
+    return metered == null ? 0 : metered.nanos;
+  }
+
+  /**
+   * Get the response body as a stream.
+   *
+   * @return response body, or null if the server did not send a body.
+   */
+  public InputStream getStream() {
+    return stream;
+  }
+
+  /**
+   * Read the entire response body as a UTF-8 String.
+   *
+   * @return response body, or null if the server did not send a body.
+   * @throws JinxException if the body could not be read.
+   */
+  public String getBody() throws JinxException {
+    if (body == null && stream != null) {
+      try {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+        }
+        body = out.toString(JinxConstants.UTF8);
+      } catch (Exception e) {
+        throw new JinxException("Unable to read response body.", e);
+      }
+    }
+    return body;
+  }
+
+  /**
+   * Get the response body if it has already been read with {@link #getBody()}.
+   *
+   * @return response body, or null if it has not been read.
+   */
+  public String getBufferedBody() {
+    return body;
+  }
+
+  /**
+   * Close the response body, releasing the connection back to the transport.
+   */
+  @Override
+  public void close() {
+    JinxUtils.close(stream);
+  }
+
+  /*
+   * Counts bytes and the time spent in read calls. Only one thread reads a response, so the counts are plain fields.
+   */
+  private static class MeteredInputStream extends FilterInputStream {
+    private long bytes;
+    private long nanos;
+
+    private MeteredInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      long start = System.nanoTime();
+      int b = super.read();
+      nanos += System.nanoTime() - start;
+      if (b != -1) {
+        bytes++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      long start = System.nanoTime();
+      int read = super.read(b, off, len);
+      nanos += System.nanoTime() - start;
+      if (read > 0) {
+        bytes += read;
+      }
+      return read;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.transport;
+
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A multipart/form-data body used to upload a photo or video to Flickr.
+ * <br>
+ * The form fields are encoded when the body is created, but the photo is not read until the body is sent.
+ * When the photo is a file, it is copied to the connection from a {@link FileChannel}, so memory use does not depend
+ * on the size of the file.
+ * <br>
+ * The parameters "filename" and "filemimetype" are not sent as form fields; they are used for the photo part,
+ * and default to "image.jpg" and "image/jpeg".
+ *
+ * @author Jeremy Brooks
+ */
+public class MultipartRequestBody implements JinxRequestBody {
+
+  private final String boundary;
+  private final byte[] head;
+  private final byte[] tail;
+  private final Path file;
+  private final byte[] data;
+  private final long dataLength;
+
+  /**
+   * Create a multipart body that sends photo data from memory.
+   *
+   * @param boundary multipart boundary.
+   * @param params   form fields.
+   * @param data     photo or video data.
+   * @throws JinxException if the body could not be encoded.
+   */
+  public MultipartRequestBody(String boundary, Map<String, String> params, byte[] data) throws JinxException {
+    this(boundary, params, null, data, data.length);
+  }
+
+  /**
+   * Create a multipart body that streams the photo from a file when it is sent.
+   * <br>
+   * The file must not change size until the upload is finished.
+   *
+   * @param boundary multipart boundary.
+   * @param params   form fields.
+   * @param file     photo or video file.
+   * @throws JinxException if the body could not be encoded, or the file could not be read.
+   */
+  public MultipartRequestBody(String boundary, Map<String, String> params, Path file) throws JinxException {
+    this(boundary, params, file, null, size(file));
+  }
+
+  private MultipartRequestBody(String boundary, Map<String, String> params, Path file, byte[] data, long dataLength)
+      throws JinxException {
+    this.boundary = boundary;
+    this.file = file;
+    this.data = data;
+    this.dataLength = dataLength;
+
+    String filename = params.get("filename");
+    if (JinxUtils.isNullOrEmpty(filename)) {
+      filename = "image.jpg";
+    }
+    String fileMimeType = params.get("filemimetype");
+    if (JinxUtils.isNullOrEmpty(fileMimeType)) {
+      fileMimeType = "image/jpeg";
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append("--").append(boundary).append("\r\n");
+    for (Map.Entry<String, String> entry : params.entrySet()) {
+      String key = entry.getKey();
+      if (!key.equals("filename") && !key.equals("filemimetype")) {
+        sb.append("Content-Disposition: form-data; name=\"").append(key).append("\"\r\n\r\n");
+        sb.append(entry.getValue());
+        sb.append("\r\n--").append(boundary).append("\r\n");
+      }
+    }
+    sb.append("Content-Disposition: form-data; name=\"photo\"; filename=\"").append(filename).append("\";\r\n");
+    sb.append("Content-Type: ").append(fileMimeType).append("\r\n\r\n");
+    this.head = sb.toString().getBytes(StandardCharsets.UTF_8);
+    // NOTE: last boundary has -- suffix
+    this.tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static long size(Path file) throws JinxException {
+    try {
+      return Files.size(file);
+    } catch (Exception e) {
+      throw new JinxException("Unable to load data from photo " + file.toAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Get the multipart boundary.
+   *
+   * @return boundary string.
+   */
+  public String getBoundary() {
+    return boundary;
+  }
+
+  /**
+   * Get the value of the Content-Type header for this body.
+   *
+   * @return content type, including the boundary.
+   */
+  public String getContentType() {
+    return "multipart/form-data; boundary=" + boundary;
+  }
+
+  @Override
+  public long getContentLength() {
+    return head.length + dataLength + tail.length;
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(head);
+    if (data != null) {
+      out.write(data);
+    } else {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = 0;
+        while (position < dataLength) {
+          long count = channel.transferTo(position, dataLength - position, target);
+          if (count <= 0) {
+            throw new IOException("File " + file + " changed size during upload.");
+          }
+          position += count;
+        }
+      }
+    }
+    out.write(tail);
+  }
+
+  @Override
+  public InputStream openStream() throws IOException {
+    InputStream content = data != null ? new ByteArrayInputStream(data) : Files.newInputStream(file);
+    return new SequenceInputStream(Collections.enumeration(Arrays.asList(
+        new ByteArrayInputStream(head), content, new ByteArrayInputStream(tail))));
+  }
+
+  /**
+   * Describe the body for logging. The photo data is not included.
+   *
+   * @return the form fields and framing of the body, with a placeholder for the photo data.
+   */
+  @Override
+  public String toString() {
+    return new String(head, StandardCharsets.UTF_8) +
+        "[" + dataLength + " bytes" + (file == null ? "" : " from " + file) + "]" +
+        new String(tail, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+/**
+ * The state of one file in an {@link UploadQueue}.
+ * <br>
+ * Entries are immutable. Each change of state is a new entry with the same id.
+ *
+ * @author Jeremy Brooks
+ */
+public class UploadEntry {
+
+  public enum State {
+    /** Waiting to be uploaded. */
+    QUEUED,
+    /** Being sent to Flickr. */
+    UPLOADING,
+    /** Sent to Flickr, which is still processing it. The entry has a ticket id. */
+    PROCESSING,
+    /** On Flickr. The entry has a photo id. */
+    COMPLETE,
+    /** Could not be uploaded. The entry has an error message. */
+    FAILED;
+
+    /**
+     * Indicates if an entry in this state needs no more work.
+     *
+     * @return true for complete and failed entries.
+     */
+    public boolean isFinished() {
+      return this == COMPLETE || this == FAILED;
+    }
+  }
+
+  private final long id;
+  private final UploadTask task;
+  private final State state;
+  private final long size;
+  private final String hash;
+  private final String ticketId;
+  private final String photoId;
+  private final String error;
+
+  UploadEntry(long id, UploadTask task, State state, long size, String hash, String ticketId, String photoId,
+              String error) {
+    this.id = id;
+    this.task = task;
+    this.state = state;
+    this.size = size;
+    this.hash = hash;
+    this.ticketId = ticketId;
+    this.photoId = photoId;
+    this.error = error;
+  }
+
+  /**
+   * Get the id of this entry, which is unique within its queue.
+   *
+   * @return entry id.
+   */
+  public long getId() {
+    return id;
+  }
+
+  public UploadTask getTask() {
+    return task;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Get the size of the file when it was queued.
+   *
+   * @return size in bytes.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Get the SHA-256 hash of the file when it was queued. A queue holds one entry for each hash.
+   *
+   * @return hash as lower case hex, or null if the file could not be read.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Get the ticket Flickr returned for an asynchronous upload.
+   *
+   * @return ticket id, or null if the file has not been uploaded asynchronously.
+   */
+  public String getTicketId() {
+    return ticketId;
+  }
+
+  /**
+   * Get the id of the uploaded photo.
+   *
+   * @return photo id, or null if the upload is not complete.
+   */
+  public String getPhotoId() {
+    return photoId;
+  }
+
+  /**
+   * Get the reason the upload failed.
+   *
+   * @return error message, or null if the upload has not failed.
+   */
+  public String getError() {
+    return error;
+  }
+
+  UploadEntry queued() {
+    return new UploadEntry(id, task, State.QUEUED, size, hash, null, null, null);
+  }
+
+  UploadEntry uploading() {
+    return new UploadEntry(id, task, State.UPLOADING, size, hash, null, null, null);
+  }
+
+  UploadEntry processing(String ticketId) {
+    return new UploadEntry(id, task, State.PROCESSING, size, hash, ticketId, null, null);
+  }
+
+  UploadEntry complete(String photoId) {
+    return new UploadEntry(id, task, State.COMPLETE, size, hash, ticketId, photoId, null);
+  }
+
+  UploadEntry failed(String error) {
+    return new UploadEntry(id, task, State.FAILED, size, hash, ticketId, null, error);
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.upload.UploadEntry{" +
+        "id=" + id +
+        ", file='" + task.getFile() + '\'' +
+        ", state=" + state +
+        ", size=" + size +
+        ", hash='" + hash + '\'' +
+        ", ticketId='" + ticketId + '\'' +
+        ", photoId='" + photoId + '\'' +
+        ", error='" + error + '\'' +
+        '}';
+  }
+}
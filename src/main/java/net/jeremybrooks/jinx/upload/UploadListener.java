@@ -0,0 +1,70 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import net.jeremybrooks.jinx.JinxException;
+
+/**
+ * Receives events from an {@link UploadManager}.
+ * <br>
+ * Methods are called on the manager's threads, and should return quickly. Every method does nothing by default.
+ *
+ * @author Jeremy Brooks
+ */
+public interface UploadListener {
+
+  /**
+   * A file is being sent to Flickr.
+   *
+   * @param entry the entry being uploaded.
+   */
+  default void uploadStarted(UploadEntry entry) {
+  }
+
+  /**
+   * A file was uploaded, and Flickr is processing it.
+   *
+   * @param entry the entry, with its ticket id.
+   */
+  default void uploadProcessing(UploadEntry entry) {
+  }
+
+  /**
+   * A file is on Flickr.
+   *
+   * @param entry the entry, with its photo id.
+   */
+  default void uploadComplete(UploadEntry entry) {
+  }
+
+  /**
+   * A file could not be uploaded.
+   *
+   * @param entry   the entry, with an error message.
+   * @param failure the exception that caused the failure, or null if Flickr reported the failure.
+   */
+  default void uploadFailed(UploadEntry entry, JinxException failure) {
+  }
+
+  /**
+   * The state of the queue changed. This is called after each of the other methods.
+   *
+   * @param progress the state of the queue, and the throughput since the manager started.
+   */
+  default void progress(UploadProgress progress) {
+  }
+}
@@ -0,0 +1,519 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.api.PhotosUploadApi;
+import net.jeremybrooks.jinx.logger.JinxLogger;
+import net.jeremybrooks.jinx.logger.LogLevel;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.SearchParameters;
+import net.jeremybrooks.jinx.response.photos.upload.CheckTicketsResponse;
+import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Uploads the files in an {@link UploadQueue} with a pool of workers.
+ * <br>
+ * Each worker sends one file at a time, so a pool of workers keeps several uploads in flight and makes better use
+ * of the network than uploading files one after another. By default, files are uploaded with the Flickr async
+ * option: Flickr answers with a ticket as soon as it has the file, and the worker moves on to the next file. The
+ * tickets of every file that Flickr is still processing are checked together, with as few calls to
+ * flickr.photos.upload.checkTickets as possible, at a fixed interval.
+ * <br>
+ * Use a queue with a journal to carry on after a restart. Files added to the queue while the manager is running
+ * are picked up by the next free worker. When the manager starts, the tickets of files that Flickr was processing
+ * are checked at once, and files that were being uploaded when the process stopped are recovered: with
+ * {@link #setTagWithHash(boolean)} on, Flickr is searched for the hash of each file, and only the files it does not
+ * have are uploaded again. Otherwise they are all uploaded again.
+ * <pre>
+ * UploadQueue queue = new UploadQueue(new File("uploads.journal"));
+ * UploadManager manager = new UploadManager(jinx, queue);
+ * manager.setListener(listener);
+ * for (File file : files) {
+ *   manager.add(new UploadTask(file));
+ * }
+ * manager.start();
+ * manager.awaitIdle(1, TimeUnit.HOURS);
+ * manager.shutdown();
+ * </pre>
+ * Uploads go through the Jinx rate limiter and retry policy, if there are any. A file that cannot be uploaded is
+ * marked as failed, and the other files carry on; call {@link UploadQueue#retryFailed()} to try them again.
+ * <br>
+ * The Jinx instance must be authenticated with 'write' permission. Settings take effect the next time the manager is
+ * started. This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class UploadManager {
+
+  /** Number of files uploaded at once, by default. */
+  public static final int DEFAULT_WORKERS = 4;
+
+  /** Time between ticket checks, in milliseconds, by default. */
+  public static final long DEFAULT_TICKET_INTERVAL = 5000;
+
+  /** Namespace and predicate of the machine tag that holds the hash of a file. */
+  public static final String HASH_TAG_PREFIX = "jinx:sha256=";
+
+  private static final int TICKETS_PER_CHECK = 100;
+  private static final long IDLE_WAIT = 1000;
+
+  private final PhotosUploadApi uploadApi;
+  private final PhotosApi photosApi;
+  private final UploadQueue queue;
+  private final Object lock = new Object();
+  private final AtomicInteger filesSent = new AtomicInteger();
+  private final AtomicLong bytesSent = new AtomicLong();
+  private volatile UploadListener listener;
+  private volatile int workers = DEFAULT_WORKERS;
+  private volatile boolean async = true;
+  private volatile boolean tagWithHash;
+  private volatile long ticketInterval = DEFAULT_TICKET_INTERVAL;
+  private volatile boolean running;
+  private volatile long startNanos;
+  private ExecutorService workerPool;
+  private ScheduledExecutorService ticketChecker;
+
+  /**
+   * Create a manager.
+   *
+   * @param jinx  Jinx instance authenticated with 'write' permission.
+   * @param queue the files to upload.
+   */
+  public UploadManager(Jinx jinx, UploadQueue queue) {
+    if (jinx == null || queue == null) {
+      throw new IllegalArgumentException("Jinx and queue cannot be null.");
+    }
+    this.uploadApi = new PhotosUploadApi(jinx);
+    this.photosApi = new PhotosApi(jinx);
+    this.queue = queue;
+  }
+
+  public UploadQueue getQueue() {
+    return queue;
+  }
+
+  public UploadListener getListener() {
+    return listener;
+  }
+
+  /**
+   * Set the listener for upload events and progress.
+   *
+   * @param listener the listener, or null for none.
+   */
+  public void setListener(UploadListener listener) {
+    this.listener = listener;
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  /**
+   * Set the number of files uploaded at once. The default is {@link #DEFAULT_WORKERS}.
+   *
+   * @param workers number of workers, at least 1.
+   */
+  public void setWorkers(int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("Workers must be at least 1.");
+    }
+    this.workers = workers;
+  }
+
+  public boolean isAsync() {
+    return async;
+  }
+
+  /**
+   * Set whether files are uploaded with the Flickr async option. The default is true.
+   * <br>
+   * Synchronous uploads keep the worker waiting while Flickr processes the file, but return the photo id at once.
+   *
+   * @param async true to upload asynchronously and check tickets.
+   */
+  public void setAsync(boolean async) {
+    this.async = async;
+  }
+
+  public boolean isTagWithHash() {
+    return tagWithHash;
+  }
+
+  /**
+   * Set whether each photo is tagged with the hash of its file. The default is false.
+   * <br>
+   * The machine tag is {@link #HASH_TAG_PREFIX} followed by the SHA-256 hash of the file. It lets the manager ask
+   * Flickr whether a file that was being uploaded when the process stopped arrived, instead of uploading it again.
+   * Flickr takes a short while to add a new photo to its search index, so a photo uploaded just before the process
+   * stopped can still be uploaded twice.
+   *
+   * @param tagWithHash true to add the machine tag to each upload.
+   */
+  public void setTagWithHash(boolean tagWithHash) {
+    this.tagWithHash = tagWithHash;
+  }
+
+  public long getTicketInterval() {
+    return ticketInterval;
+  }
+
+  /**
+   * Set the time between ticket checks. The default is {@link #DEFAULT_TICKET_INTERVAL}.
+   *
+   * @param ticketInterval milliseconds, at least 1.
+   */
+  public void setTicketInterval(long ticketInterval) {
+    if (ticketInterval < 1) {
+      throw new IllegalArgumentException("Ticket interval must be at least 1.");
+    }
+    this.ticketInterval = ticketInterval;
+  }
+
+  /**
+   * Add a file to the queue. If the manager is running, a free worker uploads it.
+   *
+   * @param task the file to upload.
+   * @return the new entry.
+   * @throws JinxException if the entry cannot be written to the journal.
+   */
+  public UploadEntry add(UploadTask task) throws JinxException {
+    UploadEntry entry = queue.add(task);
+    changed();
+    return entry;
+  }
+
+  /**
+   * Start uploading. Does nothing if the manager is already running.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    startNanos = System.nanoTime();
+    filesSent.set(0);
+    bytesSent.set(0);
+    int count = this.workers;
+    workerPool = Executors.newFixedThreadPool(count, new UploadThreadFactory("jinx-upload-"));
+    for (int i = 0; i < count; i++) {
+      workerPool.execute(this::work);
+    }
+    ticketChecker = Executors.newSingleThreadScheduledExecutor(new UploadThreadFactory("jinx-upload-tickets-"));
+    ticketChecker.execute(this::recover);
+    // files that Flickr was processing before a restart are checked at once
+    long delay = queue.count(UploadEntry.State.PROCESSING) > 0 ? 0 : ticketInterval;
+    ticketChecker.scheduleWithFixedDelay(this::checkTicketsQuietly, delay, ticketInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop uploading. Uploads in progress are finished, and no new ones are started. Queued files stay in the queue.
+   */
+  public synchronized void shutdown() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    workerPool.shutdown();
+    ticketChecker.shutdown();
+    changed();
+  }
+
+  /**
+   * Wait for uploads in progress to finish after {@link #shutdown()}.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    unit of the timeout.
+   * @return true if the manager stopped, false if the timeout expired first.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    ExecutorService pool;
+    ExecutorService checker;
+    synchronized (this) {
+      pool = workerPool;
+      checker = ticketChecker;
+    }
+    if (pool == null) {
+      return true;
+    }
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    return pool.awaitTermination(timeout, unit) &&
+        checker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Wait until every file in the queue is complete or failed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    unit of the timeout.
+   * @return true if nothing is pending, false if the timeout expired first.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (lock) {
+      while (getProgress().getPending() > 0) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+          return false;
+        }
+        lock.wait(remaining);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Get the state of the queue, and the throughput since the manager started.
+   *
+   * @return progress snapshot.
+   */
+  public UploadProgress getProgress() {
+    int[] counts = queue.counts();
+    return new UploadProgress(counts[UploadEntry.State.QUEUED.ordinal()],
+        counts[UploadEntry.State.UPLOADING.ordinal()],
+        counts[UploadEntry.State.PROCESSING.ordinal()],
+        counts[UploadEntry.State.COMPLETE.ordinal()],
+        counts[UploadEntry.State.FAILED.ordinal()],
+        filesSent.get(), bytesSent.get(), running ? System.nanoTime() - startNanos : 0);
+  }
+
+  /**
+   * Check the tickets of every file that Flickr is processing, now. The manager also does this at the ticket
+   * interval while it is running.
+   *
+   * @throws JinxException if a call to Flickr fails.
+   */
+  public void checkTickets() throws JinxException {
+    List<UploadEntry> processing = queue.getEntries(UploadEntry.State.PROCESSING);
+    for (int start = 0; start < processing.size(); start += TICKETS_PER_CHECK) {
+      Map<String, UploadEntry> byTicket = new HashMap<>();
+      for (UploadEntry entry : processing.subList(start, Math.min(processing.size(), start + TICKETS_PER_CHECK))) {
+        byTicket.put(entry.getTicketId(), entry);
+      }
+      CheckTicketsResponse response = uploadApi.checkTickets(new ArrayList<>(byTicket.keySet()));
+      if (response.getCode() != 0 || response.getTicketList() == null) {
+        throw new JinxException("Flickr returned non-zero status.", null, response);
+      }
+      for (CheckTicketsResponse.Ticket ticket : response.getTicketList()) {
+        UploadEntry entry = byTicket.get(ticket.getTicketId());
+        if (entry == null) {
+          continue;
+        }
+        JinxConstants.TicketStatus status = ticket.getTicketStatus();
+        if (status == JinxConstants.TicketStatus.completed) {
+          complete(entry.complete(ticket.getPhotoId()));
+        } else if (status == JinxConstants.TicketStatus.failed) {
+          failed(entry.failed("Flickr could not process the file."), null);
+        } else if (status == JinxConstants.TicketStatus.invalid) {
+          failed(entry.failed("Flickr did not recognize the ticket."), null);
+        }
+      }
+    }
+  }
+
+  /*
+   * Find out what happened to the files that were being uploaded when the journal was last closed.
+   */
+  private void recover() {
+    for (UploadEntry entry : queue.takeInterrupted()) {
+      String photoId = null;
+      if (tagWithHash && entry.getHash() != null) {
+        try {
+          photoId = findByHash(entry.getHash());
+        } catch (JinxException | RuntimeException e) {
+          JinxLogger.log(LogLevel.WARN, "Unable to search for " + entry + ", uploading it again.", e);
+        }
+      }
+      if (photoId != null) {
+        complete(entry.complete(photoId));
+      } else {
+        try {
+          queue.requeue(entry);
+        } catch (JinxException e) {
+          JinxLogger.log(LogLevel.ERROR, "Unable to record upload " + entry + ".", e);
+        }
+        changed();
+      }
+    }
+  }
+
+  private String findByHash(String hash) throws JinxException {
+    SearchParameters params = new SearchParameters();
+    params.setUserId("me");
+    params.setMachineTags(Collections.singletonList(HASH_TAG_PREFIX + hash));
+    params.setPerPage(1);
+    Photos photos = photosApi.search(params);
+    if (photos.getCode() != 0) {
+      throw new JinxException("Flickr returned non-zero status.", null, photos);
+    }
+    return photos.getPhotoList() == null || photos.getPhotoList().isEmpty() ?
+        null : photos.getPhotoList().get(0).getPhotoId();
+  }
+
+  private void checkTicketsQuietly() {
+    try {
+      checkTickets();
+    } catch (JinxException | RuntimeException e) {
+      JinxLogger.log(LogLevel.WARN, "Unable to check upload tickets, will try again.", e);
+    }
+  }
+
+  /*
+   * Upload files until the manager is shut down.
+   */
+  private void work() {
+    while (running) {
+      UploadEntry entry;
+      try {
+        entry = queue.next();
+      } catch (JinxException e) {
+        JinxLogger.log(LogLevel.ERROR, "Unable to take the next upload from the queue.", e);
+        entry = null;
+      }
+      if (entry == null) {
+        synchronized (lock) {
+          if (running && queue.count(UploadEntry.State.QUEUED) == 0) {
+            try {
+              lock.wait(IDLE_WAIT);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+          }
+        }
+        continue;
+      }
+      upload(entry);
+    }
+  }
+
+  private void upload(UploadEntry entry) {
+    fire(l -> l.uploadStarted(entry));
+    UploadTask task = entry.getTask();
+    List<String> tags = task.getTags();
+    if (tagWithHash && entry.getHash() != null) {
+      tags = tags == null ? new ArrayList<>() : new ArrayList<>(tags);
+      tags.add(HASH_TAG_PREFIX + entry.getHash());
+    }
+    UploadResponse response;
+    try {
+      response = uploadApi.upload(task.getFile(), task.getTitle(), task.getDescription(), tags,
+          task.getPublic(), task.getFriend(), task.getFamily(), task.getSafetyLevel(), task.getContentType(),
+          task.getHidden(), async);
+    } catch (JinxException e) {
+      failed(entry.failed(e.getMessage()), e);
+      return;
+    }
+    filesSent.incrementAndGet();
+    bytesSent.addAndGet(entry.getSize());
+    if (!"ok".equals(response.getStat())) {
+      failed(entry.failed(response.getMessage() == null ? "Flickr rejected the file." : response.getMessage()), null);
+    } else if (response.getTicketId() != null) {
+      UploadEntry processing = entry.processing(response.getTicketId());
+      if (update(processing)) {
+        fire(l -> l.uploadProcessing(processing));
+      }
+    } else {
+      complete(entry.complete(response.getPhotoId()));
+    }
+  }
+
+  private void complete(UploadEntry entry) {
+    if (update(entry)) {
+      fire(l -> l.uploadComplete(entry));
+    }
+  }
+
+  private void failed(UploadEntry entry, JinxException failure) {
+    if (update(entry)) {
+      fire(l -> l.uploadFailed(entry, failure));
+    }
+  }
+
+  private boolean update(UploadEntry entry) {
+    try {
+      queue.update(entry);
+      return true;
+    } catch (JinxException e) {
+      JinxLogger.log(LogLevel.ERROR, "Unable to record upload " + entry + ".", e);
+      return false;
+    } finally {
+      changed();
+    }
+  }
+
+  /*
+   * Wake idle workers and anyone waiting for the queue to empty.
+   */
+  private void changed() {
+    synchronized (lock) {
+      lock.notifyAll();
+    }
+  }
+
+  /*
+   * Tell the listener about an event, then about progress.
+   */
+  private void fire(Consumer<UploadListener> event) {
+    UploadListener l = this.listener;
+    if (l == null) {
+      return;
+    }
+    try {
+      event.accept(l);
+      l.progress(getProgress());
+    } catch (RuntimeException e) {
+      JinxLogger.log(LogLevel.WARN, "Upload listener failed.", e);
+    }
+  }
+
+  private static class UploadThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private UploadThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
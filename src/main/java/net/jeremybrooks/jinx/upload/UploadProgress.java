@@ -0,0 +1,139 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the work done by an {@link UploadManager}.
+ * <br>
+ * Counts of entries cover the whole queue. Bytes and throughput cover the files sent since the manager was
+ * started.
+ *
+ * @author Jeremy Brooks
+ */
+public class UploadProgress {
+
+  private final int queued;
+  private final int uploading;
+  private final int processing;
+  private final int complete;
+  private final int failed;
+  private final int filesSent;
+  private final long bytesSent;
+  private final long elapsedNanos;
+
+  UploadProgress(int queued, int uploading, int processing, int complete, int failed, int filesSent,
+                 long bytesSent, long elapsedNanos) {
+    this.queued = queued;
+    this.uploading = uploading;
+    this.processing = processing;
+    this.complete = complete;
+    this.failed = failed;
+    this.filesSent = filesSent;
+    this.bytesSent = bytesSent;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public int getQueued() {
+    return queued;
+  }
+
+  public int getUploading() {
+    return uploading;
+  }
+
+  public int getProcessing() {
+    return processing;
+  }
+
+  public int getComplete() {
+    return complete;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  /**
+   * Get the number of entries that still need work.
+   *
+   * @return queued, uploading and processing entries.
+   */
+  public int getPending() {
+    return queued + uploading + processing;
+  }
+
+  /**
+   * Get the number of files sent to Flickr since the manager started.
+   *
+   * @return number of files.
+   */
+  public int getFilesSent() {
+    return filesSent;
+  }
+
+  /**
+   * Get the number of bytes sent to Flickr since the manager started.
+   *
+   * @return number of bytes.
+   */
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  /**
+   * Get the time since the manager started.
+   *
+   * @return milliseconds.
+   */
+  public long getElapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+  }
+
+  /**
+   * Get the average upload rate since the manager started.
+   *
+   * @return bytes per second.
+   */
+  public double getBytesPerSecond() {
+    return elapsedNanos <= 0 ? 0 : bytesSent * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Get the average number of files sent per second since the manager started.
+   *
+   * @return files per second.
+   */
+  public double getFilesPerSecond() {
+    return elapsedNanos <= 0 ? 0 : filesSent * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.upload.UploadProgress{" +
+        "queued=" + queued +
+        ", uploading=" + uploading +
+        ", processing=" + processing +
+        ", complete=" + complete +
+        ", failed=" + failed +
+        ", filesSent=" + filesSent +
+        ", bytesSent=" + bytesSent +
+        ", bytesPerSecond=" + Math.round(getBytesPerSecond()) +
+        '}';
+  }
+}
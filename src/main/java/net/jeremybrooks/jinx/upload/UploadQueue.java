@@ -0,0 +1,402 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.JinxUtils;
+import net.jeremybrooks.jinx.logger.JinxLogger;
+import net.jeremybrooks.jinx.logger.LogLevel;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The files waiting to be uploaded by an {@link UploadManager}, and what happened to the ones that were.
+ * <br>
+ * Entries are keyed by the SHA-256 hash of the file. Adding a file with the same content as an entry already in the
+ * queue returns that entry instead of adding another, so adding a whole batch again after a restart does not upload
+ * the files that are done, or in progress, a second time.
+ * <br>
+ * A queue created with a journal file survives restarts, including a crash of the machine. Every change is appended
+ * to the journal as one line of json, and written to disk, before it takes effect. The cost of a change does not
+ * grow with the size of the queue. When the queue is opened, the journal is read, and rewritten with one line for
+ * each entry. A line that was only partly written when the process stopped is ignored.
+ * <br>
+ * Files that Flickr was still processing keep their tickets. Files that were being uploaded when the process stopped
+ * stay in the uploading state until an {@link UploadManager} is started, which finds out if Flickr received them.
+ * <br>
+ * This class is thread safe.
+ *
+ * @author Jeremy Brooks
+ */
+public class UploadQueue implements Closeable {
+
+  private static final Gson GSON = new Gson();
+
+  private final Path journal;
+  private final Map<Long, UploadEntry> entries = new LinkedHashMap<>();
+  private final Deque<Long> queued = new ArrayDeque<>();
+  private final int[] counts = new int[UploadEntry.State.values().length];
+  private final Map<String, Long> byHash = new HashMap<>();
+  private final List<Long> interrupted = new ArrayList<>();
+  private FileOutputStream out;
+  private Writer writer;
+  private long nextId = 1;
+
+  /**
+   * Create a queue that is kept in memory only.
+   */
+  public UploadQueue() {
+    this.journal = null;
+  }
+
+  /**
+   * Open a queue kept in a journal file. The file is created if it does not exist.
+   *
+   * @param journal the journal file.
+   * @throws JinxException if the journal cannot be read or written.
+   */
+  public UploadQueue(File journal) throws JinxException {
+    if (journal == null) {
+      throw new IllegalArgumentException("Journal cannot be null.");
+    }
+    this.journal = journal.toPath();
+    try {
+      if (Files.exists(this.journal)) {
+        load();
+      }
+      compact();
+    } catch (IOException e) {
+      throw new JinxException("Unable to open upload journal " + journal + ".", e);
+    }
+  }
+
+  /**
+   * Add a file to the end of the queue.
+   * <br>
+   * The file is read to compute its hash. If the queue already has an entry for a file with the same content, that
+   * entry is returned, and the task is ignored; if that entry had failed, it is queued again. A file that cannot be
+   * read is queued without a hash, and fails when it is uploaded.
+   *
+   * @param task the file to upload.
+   * @return the new entry, or the entry for the same content.
+   * @throws JinxException if the entry cannot be written to the journal.
+   */
+  public UploadEntry add(UploadTask task) throws JinxException {
+    if (task == null) {
+      throw new IllegalArgumentException("Task cannot be null.");
+    }
+    File file = task.getFile();
+    String hash = hash(file);
+    synchronized (this) {
+      Long existing = hash == null ? null : byHash.get(hash);
+      if (existing != null) {
+        UploadEntry entry = entries.get(existing);
+        if (entry.getState() == UploadEntry.State.FAILED) {
+          entry = entry.queued();
+          update(entry);
+        }
+        return entry;
+      }
+      UploadEntry entry = new UploadEntry(nextId, task, UploadEntry.State.QUEUED, file.length(), hash,
+          null, null, null);
+      update(entry);
+      nextId++;
+      return entry;
+    }
+  }
+
+  /**
+   * Find the entry for a file with the given content.
+   *
+   * @param hash SHA-256 hash of the content, as lower case hex.
+   * @return the entry, or null if there is none.
+   */
+  public synchronized UploadEntry findByHash(String hash) {
+    Long id = byHash.get(hash);
+    return id == null ? null : entries.get(id);
+  }
+
+  /**
+   * Get an entry.
+   *
+   * @param id entry id.
+   * @return the entry, or null if there is no entry with that id.
+   */
+  public synchronized UploadEntry get(long id) {
+    return entries.get(id);
+  }
+
+  /**
+   * Get every entry, in the order they were added.
+   *
+   * @return entries.
+   */
+  public synchronized List<UploadEntry> getEntries() {
+    return new ArrayList<>(entries.values());
+  }
+
+  /**
+   * Get the entries in a state, in the order they were added.
+   *
+   * @param state the state.
+   * @return entries in that state.
+   */
+  public synchronized List<UploadEntry> getEntries(UploadEntry.State state) {
+    List<UploadEntry> list = new ArrayList<>();
+    for (UploadEntry entry : entries.values()) {
+      if (entry.getState() == state) {
+        list.add(entry);
+      }
+    }
+    return list;
+  }
+
+  /**
+   * Count the entries in a state.
+   *
+   * @param state the state.
+   * @return number of entries.
+   */
+  public synchronized int count(UploadEntry.State state) {
+    return counts[state.ordinal()];
+  }
+
+  /*
+   * Count the entries in every state at once, indexed by ordinal.
+   */
+  synchronized int[] counts() {
+    return counts.clone();
+  }
+
+  /**
+   * Queue every failed entry again.
+   *
+   * @return number of entries queued.
+   * @throws JinxException if the journal cannot be written.
+   */
+  public synchronized int retryFailed() throws JinxException {
+    List<UploadEntry> failed = getEntries(UploadEntry.State.FAILED);
+    for (UploadEntry entry : failed) {
+      update(entry.queued());
+    }
+    return failed.size();
+  }
+
+  /**
+   * Remove complete entries, and rewrite the journal without them. The queue forgets them, so adding one of
+   * the files again uploads it again.
+   *
+   * @return number of entries removed.
+   * @throws JinxException if the journal cannot be written.
+   */
+  public synchronized int removeComplete() throws JinxException {
+    int removed = 0;
+    for (Iterator<UploadEntry> it = entries.values().iterator(); it.hasNext(); ) {
+      UploadEntry entry = it.next();
+      if (entry.getState() == UploadEntry.State.COMPLETE) {
+        it.remove();
+        if (entry.getHash() != null) {
+          byHash.remove(entry.getHash());
+        }
+        counts[UploadEntry.State.COMPLETE.ordinal()]--;
+        removed++;
+      }
+    }
+    try {
+      compact();
+    } catch (IOException e) {
+      throw new JinxException("Unable to write upload journal " + journal + ".", e);
+    }
+    return removed;
+  }
+
+  /**
+   * Close the journal.
+   */
+  @Override
+  public synchronized void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        JinxLogger.log(LogLevel.WARN, "Unable to close upload journal " + journal + ".", e);
+      }
+      writer = null;
+      out = null;
+    }
+  }
+
+  /*
+   * Take the entries that were being uploaded when the journal was last closed.
+   */
+  synchronized List<UploadEntry> takeInterrupted() {
+    List<UploadEntry> list = new ArrayList<>(interrupted.size());
+    for (Long id : interrupted) {
+      UploadEntry entry = entries.get(id);
+      if (entry != null && entry.getState() == UploadEntry.State.UPLOADING) {
+        list.add(entry);
+      }
+    }
+    interrupted.clear();
+    return list;
+  }
+
+  /*
+   * Put an entry back at the front of the queue.
+   */
+  synchronized void requeue(UploadEntry entry) throws JinxException {
+    update(entry.queued());
+    queued.removeLastOccurrence(entry.getId());
+    queued.addFirst(entry.getId());
+  }
+
+  /*
+   * Take the next queued entry and mark it as uploading.
+   */
+  synchronized UploadEntry next() throws JinxException {
+    Long id = queued.peek();
+    if (id == null) {
+      return null;
+    }
+    UploadEntry entry = entries.get(id).uploading();
+    update(entry);
+    return entry;
+  }
+
+  /*
+   * Record a new state for an entry.
+   */
+  synchronized void update(UploadEntry entry) throws JinxException {
+    if (journal != null) {
+      if (writer == null) {
+        throw new JinxException("Upload journal " + journal + " is closed.");
+      }
+      try {
+        writer.write(GSON.toJson(entry));
+        writer.write('\n');
+        writer.flush();
+        out.getFD().sync();
+      } catch (IOException e) {
+        throw new JinxException("Unable to write upload journal " + journal + ".", e);
+      }
+    }
+    apply(entry);
+  }
+
+  private void apply(UploadEntry entry) {
+    UploadEntry previous = entries.put(entry.getId(), entry);
+    if (previous != null) {
+      counts[previous.getState().ordinal()]--;
+      if (previous.getState() == UploadEntry.State.QUEUED) {
+        queued.remove(entry.getId());
+      }
+    }
+    counts[entry.getState().ordinal()]++;
+    if (entry.getHash() != null) {
+      byHash.putIfAbsent(entry.getHash(), entry.getId());
+    }
+    if (entry.getState() == UploadEntry.State.QUEUED) {
+      queued.add(entry.getId());
+    }
+  }
+
+  private void load() throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        UploadEntry entry;
+        try {
+          entry = GSON.fromJson(line, UploadEntry.class);
+        } catch (JsonParseException e) {
+          JinxLogger.log(LogLevel.WARN, "Ignoring unreadable line in upload journal " + journal + ".", e);
+          continue;
+        }
+        if (entry == null || entry.getTask() == null || entry.getState() == null) {
+          continue;
+        }
+        apply(entry);
+        nextId = Math.max(nextId, entry.getId() + 1);
+      }
+    }
+    for (UploadEntry entry : getEntries(UploadEntry.State.UPLOADING)) {
+      interrupted.add(entry.getId());
+    }
+  }
+
+  /*
+   * Rewrite the journal with the current state of each entry, then append to it.
+   */
+  private void compact() throws IOException {
+    if (journal == null) {
+      return;
+    }
+    close();
+    Path parent = journal.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+    try (FileOutputStream tempOut = new FileOutputStream(temp.toFile());
+         Writer tempWriter = new BufferedWriter(new OutputStreamWriter(tempOut, StandardCharsets.UTF_8))) {
+      for (UploadEntry entry : entries.values()) {
+        tempWriter.write(GSON.toJson(entry));
+        tempWriter.write('\n');
+      }
+      tempWriter.flush();
+      tempOut.getFD().sync();
+    }
+    Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    out = new FileOutputStream(journal.toFile(), true);
+    writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /*
+   * Compute the SHA-256 hash of a file, or null if it cannot be read.
+   */
+  static String hash(File file) {
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      return JinxUtils.sha256Hex(in);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
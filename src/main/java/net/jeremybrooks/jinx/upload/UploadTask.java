@@ -0,0 +1,144 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import net.jeremybrooks.jinx.JinxConstants;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A file to upload, and the metadata to give it.
+ * <br>
+ * The parameters have the same meaning as the parameters of
+ * {@link net.jeremybrooks.jinx.api.PhotosUploadApi#upload(File, String, String, List, Boolean, Boolean, Boolean,
+ * JinxConstants.SafetyLevel, JinxConstants.ContentType, Boolean, Boolean)}. Optional values that are not set are
+ * not sent to Flickr. A task should not be changed after it has been added to an {@link UploadQueue}.
+ *
+ * @author Jeremy Brooks
+ */
+public class UploadTask {
+
+  private final String path;
+  private String title;
+  private String description;
+  private List<String> tags;
+  private Boolean isPublic;
+  private Boolean isFriend;
+  private Boolean isFamily;
+  private JinxConstants.SafetyLevel safetyLevel;
+  private JinxConstants.ContentType contentType;
+  private Boolean hidden;
+
+  /**
+   * Create a task.
+   *
+   * @param file the photo or video to upload.
+   */
+  public UploadTask(File file) {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    this.path = file.getAbsolutePath();
+  }
+
+  public File getFile() {
+    return new File(path);
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public List<String> getTags() {
+    return tags == null ? null : Collections.unmodifiableList(tags);
+  }
+
+  public void setTags(List<String> tags) {
+    this.tags = tags == null ? null : new ArrayList<>(tags);
+  }
+
+  public Boolean getPublic() {
+    return isPublic;
+  }
+
+  public void setPublic(Boolean isPublic) {
+    this.isPublic = isPublic;
+  }
+
+  public Boolean getFriend() {
+    return isFriend;
+  }
+
+  public void setFriend(Boolean isFriend) {
+    this.isFriend = isFriend;
+  }
+
+  public Boolean getFamily() {
+    return isFamily;
+  }
+
+  public void setFamily(Boolean isFamily) {
+    this.isFamily = isFamily;
+  }
+
+  public JinxConstants.SafetyLevel getSafetyLevel() {
+    return safetyLevel;
+  }
+
+  public void setSafetyLevel(JinxConstants.SafetyLevel safetyLevel) {
+    this.safetyLevel = safetyLevel;
+  }
+
+  public JinxConstants.ContentType getContentType() {
+    return contentType;
+  }
+
+  public void setContentType(JinxConstants.ContentType contentType) {
+    this.contentType = contentType;
+  }
+
+  public Boolean getHidden() {
+    return hidden;
+  }
+
+  public void setHidden(Boolean hidden) {
+    this.hidden = hidden;
+  }
+
+  @Override
+  public String toString() {
+    return "net.jeremybrooks.jinx.upload.UploadTask{" +
+        "path='" + path + '\'' +
+        ", title='" + title + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the bounded async queue.
+ */
+public class BoundedAsyncQueueTest {
+
+  @Test
+  public void testLimitsTasksInFlight() throws Exception {
+    BoundedAsyncQueue queue = new BoundedAsyncQueue(2);
+    List<CompletableFuture<Integer>> started = new ArrayList<>();
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(queue.submit(() -> {
+        CompletableFuture<Integer> task = new CompletableFuture<>();
+        started.add(task);
+        return task;
+      }));
+    }
+    assertEquals(2, started.size());
+    started.get(0).complete(0);
+    assertEquals(3, started.size());
+    assertEquals(0, (int) results.get(0).get());
+
+    queue.setParallelism(10);
+    assertEquals(5, started.size());
+    for (int i = 1; i < 5; i++) {
+      started.get(i).complete(i);
+      assertEquals(i, (int) results.get(i).get());
+    }
+  }
+
+  @Test
+  public void testTaskThatFailsToStartGivesBackItsPlace() throws Exception {
+    BoundedAsyncQueue queue = new BoundedAsyncQueue(1);
+    CompletableFuture<String> failed = queue.submit(() -> {
+      throw new IllegalStateException("not started");
+    });
+    CompletableFuture<String> next = queue.submit(() -> CompletableFuture.completedFuture("ok"));
+    try {
+      failed.get();
+      fail("Task should fail.");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals("ok", next.get());
+    assertFalse(next.isCompletedExceptionally());
+  }
+}
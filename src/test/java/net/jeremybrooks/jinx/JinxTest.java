@@ -19,22 +19,48 @@ package net.jeremybrooks.jinx;
 
 import net.jeremybrooks.jinx.api.OAuthApiTest;
 import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.api.PhotosUploadApi;
+import net.jeremybrooks.jinx.api.async.AsyncPhotosApi;
 import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
+import net.jeremybrooks.jinx.retry.JinxRetryPolicy;
+import net.jeremybrooks.jinx.retry.RetryExhaustedException;
+import net.jeremybrooks.jinx.transport.JinxTransport;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
 import org.junit.Test;
 import org.scribe.model.Token;
 
 import javax.swing.JOptionPane;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.net.SocketTimeoutException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -126,6 +152,325 @@ public class JinxTest {
     assertFalse(jinx.isUseProxy());
   }
 
+  @Test
+  public void testCallAsyncValidationError() throws Exception {
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", oAuthAccessToken);
+
+    CompletableFuture<PhotoInfo> future = new AsyncPhotosApi(jinx).getInfo(null, null);
+    assertTrue(future.isCompletedExceptionally());
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof JinxException);
+    }
+  }
+
+  @Test
+  public void testCallAsyncWithoutRequest() throws Exception {
+    Jinx jinx = new Jinx("key", "secret");
+    CompletableFuture<String> future = jinx.callAsync(() -> "done");
+    assertEquals("done", future.get());
+  }
+
+  @Test
+  public void testInvokeAll() throws Exception {
+    Jinx jinx = new Jinx("key", "secret");
+    List<JinxCall<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      final int value = i;
+      calls.add(() -> {
+        if (value == 10) {
+          throw new JinxException("fail");
+        }
+        return value;
+      });
+    }
+    List<CompletableFuture<Integer>> results = jinx.invokeAll(calls);
+    assertEquals(50, results.size());
+    for (int i = 0; i < 50; i++) {
+      assertTrue(results.get(i).isDone());
+      if (i == 10) {
+        assertTrue(results.get(i).isCompletedExceptionally());
+      } else {
+        assertEquals(Integer.valueOf(i), results.get(i).get());
+      }
+    }
+  }
+
+  @Test
+  public void testUseVirtualThreads() throws Exception {
+    Jinx jinx = new Jinx("key", "secret");
+    assertFalse(jinx.isUseVirtualThreads());
+    jinx.setUseVirtualThreads(true);
+    assertEquals(JinxExecutors.isVirtualThreadSupported(), jinx.isUseVirtualThreads());
+    assertEquals("ok", jinx.submit(() -> "ok").get());
+    // the same shared executor is reused, not a new one for each call
+    ExecutorService virtual = jinx.getExecutor();
+    jinx.setUseVirtualThreads(true);
+    assertSame(virtual, jinx.getExecutor());
+    assertSame(JinxExecutors.virtualThreadExecutor(), virtual);
+    jinx.setUseVirtualThreads(false);
+    assertFalse(jinx.isUseVirtualThreads());
+    assertSame(JinxExecutors.defaultExecutor(), jinx.getExecutor());
+  }
+
+  @Test
+  public void testRetryTransientFailure() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    Jinx jinx = retryJinx(count, 2, 1);
+
+    assertNotNull(new PhotosApi(jinx).getInfo("123", null));
+    assertEquals(3, count.get());
+
+    count.set(0);
+    assertNotNull(new AsyncPhotosApi(jinx).getInfo("123", null).get());
+    assertEquals(3, count.get());
+  }
+
+  @Test
+  public void testRetryExhausted() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    Jinx jinx = retryJinx(count, 10, 0);
+    try {
+      new PhotosApi(jinx).getInfo("123", null);
+      fail();
+    } catch (RetryExhaustedException ree) {
+      assertEquals(3, count.get());
+      assertEquals(3, ree.getAttempts().size());
+      assertEquals(503, ree.getAttempts().get(0).getHttpStatus());
+      assertEquals(105, ree.getAttempts().get(1).getFlickrErrorCode());
+      assertTrue(ree.getCause() instanceof JinxException);
+    }
+
+    count.set(0);
+    try {
+      new AsyncPhotosApi(jinx).getInfo("123", null).get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof RetryExhaustedException);
+      assertEquals(3, count.get());
+    }
+  }
+
+  @Test
+  public void testNoRetryForPost() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    Jinx jinx = retryJinx(count, 10, 2);
+    try {
+      new PhotosApi(jinx).delete("123");
+      fail();
+    } catch (JinxException je) {
+      assertFalse(je instanceof RetryExhaustedException);
+      assertEquals(1, count.get());
+    }
+  }
+
+  @Test
+  public void testRetrySignsEachAttempt() throws Exception {
+    List<String> nonces = Collections.synchronizedList(new ArrayList<>());
+    Jinx jinx = nonceJinx(nonces);
+
+    new PhotosApi(jinx).getInfo("123", null);
+    assertEquals(3, nonces.size());
+    assertEquals(3, new HashSet<>(nonces).size());
+
+    nonces.clear();
+    new AsyncPhotosApi(jinx).getInfo("123", null).get();
+    assertEquals(3, nonces.size());
+    assertEquals(3, new HashSet<>(nonces).size());
+
+    nonces.clear();
+    UploadResponse uploaded = new PhotosUploadApi(jinx).upload("photo".getBytes(StandardCharsets.UTF_8),
+        null, null, null, null, null, null, null, null, null, false);
+    assertEquals("1000", uploaded.getPhotoId());
+    assertEquals(3, nonces.size());
+    assertEquals(3, new HashSet<>(nonces).size());
+  }
+
+  @Test
+  public void testParseFromStream() throws Exception {
+    JinxTransport transport = request -> new JinxTransportResponse(200, null,
+        JinxTest.class.getResourceAsStream("/response/photos/sample_search.json"));
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", oAuthAccessToken, transport);
+
+    Photos streamed = jinx.flickrGet(new HashMap<>(), Photos.class);
+    assertNotNull(streamed);
+    assertEquals("ok", streamed.getStat());
+    assertFalse(streamed.getPhotoList().isEmpty());
+
+    // with verbose logging, the body is buffered so it can be logged
+    jinx.setVerboseLogging(true);
+    Photos buffered = jinx.flickrGet(new HashMap<>(), Photos.class);
+    assertEquals(streamed.getPhotoList().size(), buffered.getPhotoList().size());
+    assertEquals(streamed.getPhotoList().get(0).getPhotoId(), buffered.getPhotoList().get(0).getPhotoId());
+  }
+
+  @Test
+  public void testCoalesceRequests() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Jinx jinx = blockingJinx(count, release);
+    jinx.setCoalesceRequests(true);
+    PhotosApi photosApi = new PhotosApi(jinx);
+
+    ExecutorService executor = Executors.newFixedThreadPool(10);
+    CountDownLatch started = new CountDownLatch(10);
+    List<Future<PhotoInfo>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(executor.submit(() -> {
+        started.countDown();
+        return photosApi.getInfo("123", null);
+      }));
+    }
+    started.await();
+    Thread.sleep(200);
+    release.countDown();
+    PhotoInfo first = results.get(0).get();
+    for (Future<PhotoInfo> result : results) {
+      assertSame(first, result.get());
+    }
+    assertEquals(1, count.get());
+    executor.shutdown();
+
+    // a different photo, and a call that is no longer in flight, each send a request
+    photosApi.getInfo("456", null);
+    photosApi.getInfo("123", null);
+    assertEquals(3, count.get());
+  }
+
+  @Test
+  public void testCoalesceAsync() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Jinx jinx = blockingJinx(count, release);
+    jinx.setCoalesceRequests(true);
+    AsyncPhotosApi photosApi = new AsyncPhotosApi(jinx);
+
+    CompletableFuture<PhotoInfo> first = photosApi.getInfo("123", null);
+    CompletableFuture<PhotoInfo> second = photosApi.getInfo("123", null);
+    CompletableFuture<PhotoInfo> other = photosApi.getInfo("456", null);
+    // cancelling one caller does not affect the other
+    second.cancel(true);
+    release.countDown();
+    assertNotNull(first.get());
+    assertNotNull(other.get());
+    assertEquals(2, count.get());
+  }
+
+  @Test
+  public void testCoalesceSharesFailure() throws Exception {
+    AtomicInteger count = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Jinx jinx = blockingJinx(count, release);
+    jinx.setCoalesceRequests(true);
+    CompletableFuture<PhotoInfo> first = new AsyncPhotosApi(jinx).getInfo("fail", null);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Future<PhotoInfo> second = executor.submit(() -> new PhotosApi(jinx).getInfo("fail", null));
+    Thread.sleep(200);
+    release.countDown();
+    try {
+      second.get();
+      fail();
+    } catch (ExecutionException e) {
+      assertEquals(1, ((JinxException) e.getCause()).getFlickrErrorCode());
+    }
+    assertTrue(first.isCompletedExceptionally());
+    assertEquals(1, count.get());
+    executor.shutdown();
+  }
+
+  /*
+   * A Jinx instance with a transport that waits to be released before answering.
+   * Photo "fail" is not found; every other photo is returned.
+   */
+  private Jinx blockingJinx(final AtomicInteger count, final CountDownLatch release) {
+    JinxTransport transport = request -> {
+      count.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new JinxException("Interrupted", e);
+      }
+      if (request.getUrl().contains("photo_id=fail")) {
+        return response(200, "{\"stat\":\"fail\",\"code\":1,\"message\":\"Photo not found\"}");
+      }
+      return response(200, "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}");
+    };
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    return new Jinx("key", "secret", oAuthAccessToken, transport);
+  }
+
+  /*
+   * A Jinx instance with a transport that fails in turn with http 503, Flickr code 105, and a timeout,
+   * for the given number of calls before succeeding.
+   */
+  private Jinx retryJinx(final AtomicInteger count, final int failures, final int firstFailure) {
+    JinxTransport transport = request -> {
+      int call = count.getAndIncrement();
+      if (call < failures) {
+        switch ((call + firstFailure) % 3) {
+          case 0:
+            return response(503, "Service Unavailable");
+          case 1:
+            return response(200, "{\"stat\":\"fail\",\"code\":105,\"message\":\"Service currently unavailable\"}");
+          default:
+            throw new JinxException("Error communicating with Flickr", new SocketTimeoutException());
+        }
+      }
+      return response(200, "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}");
+    };
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", oAuthAccessToken, transport);
+    jinx.setRetryPolicy(new JinxRetryPolicy(3, 1, 5));
+    return jinx;
+  }
+
+  /*
+   * A Jinx instance with a transport that records the OAuth nonce of each request, and fails every call with
+   * http 503 twice before succeeding. Multipart requests must send the same nonce in the body as in the header.
+   */
+  private Jinx nonceJinx(final List<String> nonces) {
+    AtomicInteger count = new AtomicInteger();
+    JinxTransport transport = request -> {
+      Matcher matcher = Pattern.compile("oauth_nonce=\"([^\"]+)\"").matcher(request.getHeaders().get("Authorization"));
+      assertTrue(matcher.find());
+      nonces.add(matcher.group(1));
+      boolean upload = request.getRequestBody() != null;
+      if (upload) {
+        String body = new String(request.getBody(), StandardCharsets.UTF_8);
+        assertEquals(1, body.split("name=\"oauth_nonce\"", -1).length - 1);
+        assertTrue(body.contains(matcher.group(1)));
+      }
+      if (count.getAndIncrement() % 3 < 2) {
+        return response(503, "Service Unavailable");
+      }
+      return response(200, upload ? "<rsp stat=\"ok\">\n<photoid>1000</photoid>\n</rsp>\n" :
+          "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}");
+    };
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", oAuthAccessToken, transport);
+    jinx.setRetryPolicy(new JinxRetryPolicy(3, 1, 5));
+    return jinx;
+  }
+
+  private JinxTransportResponse response(int code, String body) {
+    return new JinxTransportResponse(code, Collections.emptyMap(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+
   @Test
   public void testParseOauthResponse() throws Exception {
     String response = "fullname=Jeremy%20Brooks&oauth_token=72157632924311715-b9b1f0bf94982fba&oauth_token_secret=d25a16fa2e923649&user_nsid=85853333%40N00&username=Jeremy%20Brooks\n";
@@ -0,0 +1,95 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import net.jeremybrooks.jinx.response.photos.ExifData;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.places.Places;
+import org.junit.Test;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The hand written adapters must produce the same objects as Gson's reflective adapters.
+ */
+public class JinxTypeAdapterFactoryTest {
+
+  private final Gson reflective = new Gson();
+  private final Gson adapted = new GsonBuilder().registerTypeAdapterFactory(new JinxTypeAdapterFactory()).create();
+
+  @Test
+  public void testPhotos() {
+    String[] fixtures = {"sample_search.json", "sample_get_recent.json", "sample_get_favorites.json",
+        "sample_get_contacts_photos.json", "sample_get_contacts_public_photos.json", "sample_recently_updated.json",
+        "sample_with_geo_data.json"};
+    for (String fixture : fixtures) {
+      assertSame("/response/photos/" + fixture, Photos.class);
+    }
+  }
+
+  @Test
+  public void testExifData() {
+    assertSame("/response/photos/sample_exif.json", ExifData.class);
+  }
+
+  @Test
+  public void testPlaces() {
+    String[] fixtures = {"sample_find.json", "sample_find_lat_lon.json", "sample_get_children_with_photos_public.json",
+        "sample_get_places_for_bounding_box.json", "sample_get_top_places_list.json", "sample_places_for_contacts.json",
+        "sample_places_for_tags.json", "sample_places_for_user.json"};
+    for (String fixture : fixtures) {
+      assertSame("/response/places/" + fixture, Places.class);
+    }
+  }
+
+  @Test
+  public void testValueConversion() {
+    String json = "{\"photos\":{\"page\":\"2\",\"total\":null,\"unknown\":{\"a\":[1,2]}," +
+        "\"photo\":[{\"id\":12345,\"ispublic\":true,\"latitude\":\"45.5\",\"description\":{\"_content\":\"d\"}}," +
+        "null]},\"stat\":\"ok\",\"code\":\"0\"}";
+    Photos photos = adapted.fromJson(json, Photos.class);
+    assertEquals(reflective.toJson(reflective.fromJson(json, Photos.class)), reflective.toJson(photos));
+    assertEquals(Integer.valueOf(2), photos.getPage());
+    assertNull(photos.getTotal());
+    assertEquals("12345", photos.getPhotoList().get(0).getPhotoId());
+    assertEquals("d", photos.getPhotoList().get(0).getDescription());
+    assertNull(photos.getPhotoList().get(1));
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void testInvalidNumber() {
+    adapted.fromJson("{\"photos\":{\"page\":\"two\"}}", Photos.class);
+  }
+
+  private <T> void assertSame(String resource, Class<T> tClass) {
+    T expected = reflective.fromJson(read(resource), tClass);
+    T actual = adapted.fromJson(read(resource), tClass);
+    assertEquals(resource, reflective.toJson(expected), reflective.toJson(actual));
+  }
+
+  private InputStreamReader read(String resource) {
+    return new InputStreamReader(JinxTypeAdapterFactoryTest.class.getResourceAsStream(resource), StandardCharsets.UTF_8);
+  }
+}
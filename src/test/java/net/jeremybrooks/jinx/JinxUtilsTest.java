@@ -19,6 +19,8 @@ package net.jeremybrooks.jinx;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -445,4 +447,41 @@ public class JinxUtilsTest {
         json = JinxUtils.xml2json(replaceAsyncXML);
         System.out.println(json);
     }
+
+    @Test
+    public void testXml2JsonArraysAndErrors() throws Exception {
+        String tickets = "<rsp stat=\"ok\"><uploader><ticket id=\"1\" complete=\"1\" photoid=\"2\"/>" +
+                "<ticket id=\"3\" invalid=\"1\"/></uploader></rsp>";
+        assertEquals("{\"rsp\" : {\"stat\" : \"ok\", \"uploader\" : {\"ticket\" : [{\"id\" : \"1\",\"complete\" : \"1\"," +
+                "\"photoid\" : \"2\"}, {\"id\" : \"3\",\"invalid\" : \"1\"}]}}}", JinxUtils.xml2json(tickets));
+
+        String error = "<rsp stat=\"fail\">\n<err code=\"5\" msg=\"Filetype was not \u201crecognised\u201d\" />\n</rsp>";
+        assertEquals("{\"rsp\" : {\"stat\" : \"fail\", \"err\" : {\"code\" : \"5\",\"msg\" : \"Filetype was not \u201crecognised\u201d\"}}}",
+                JinxUtils.xml2json(error));
+
+        // values are escaped, and white space in text is normalized
+        assertEquals("{\"rsp\" : {\"title\" : \"A \\\"quoted\\\" title\"}}",
+                JinxUtils.xml2json("<rsp><title>\n  A   \"quoted\" title\n</title></rsp>"));
+        assertNull(JinxUtils.xml2json(""));
+
+        try {
+            JinxUtils.xml2json("<rsp stat=\"ok\">");
+            fail();
+        } catch (JinxException e) {
+            // not well formed
+        }
+        try {
+            JinxUtils.xml2json("<!DOCTYPE rsp [<!ENTITY x SYSTEM \"file:///etc/passwd\">]><rsp>&x;</rsp>");
+            fail();
+        } catch (JinxException e) {
+            // entities are not resolved
+        }
+    }
+
+    @Test
+    public void testSha256Hex() throws Exception {
+        String abc = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertEquals(abc, JinxUtils.sha256Hex("abc"));
+        assertEquals(abc, JinxUtils.sha256Hex(new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8))));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests fetching photo details with a fake transport.
+ */
+public class PhotoDetailsFetcherTest {
+
+  private static final Pattern METHOD = Pattern.compile("[?&]method=([^&]+)");
+  private static final Pattern PHOTO_ID = Pattern.compile("[?&]photo_id=([^&]+)");
+
+  private final Queue<String> requested = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @Test
+  public void testFetchAllWithPartialFailures() throws Exception {
+    PhotoDetailsFetcher fetcher = new PhotoDetailsFetcher(jinx(0));
+    List<PhotoDetails> details = fetcher.fetchAll(Arrays.asList("1", "2", "3"));
+
+    assertEquals(3, details.size());
+    assertEquals(12, requested.size());
+    PhotoDetails one = details.get(0);
+    assertEquals("1", one.getPhotoId());
+    assertTrue(one.isComplete());
+    assertEquals("1", one.getInfo().getPhotoId());
+    assertEquals(1, one.getSizes().getSizeList().size());
+    assertNotNull(one.getExif());
+    assertNotNull(one.getContexts());
+
+    // permission denied for exif is a Flickr error, returned even though Jinx does not throw it
+    PhotoDetails two = details.get(1);
+    assertEquals("2", two.getPhotoId());
+    assertEquals(EnumSet.of(PhotoDetails.Part.EXIF), two.getFailedParts());
+    assertNull(two.getExif());
+    assertEquals(2, two.getFailure(PhotoDetails.Part.EXIF).getFlickrErrorCode());
+    assertNotNull(two.getInfo());
+
+    PhotoDetails three = details.get(2);
+    assertEquals(EnumSet.of(PhotoDetails.Part.CONTEXTS), three.getFailedParts());
+    assertTrue(three.getFailure(PhotoDetails.Part.CONTEXTS).getCause() instanceof SocketTimeoutException);
+    assertNotNull(three.getSizes());
+  }
+
+  @Test
+  public void testParallelismIsBounded() throws Exception {
+    PhotoDetailsFetcher fetcher = new PhotoDetailsFetcher(jinx(20));
+    fetcher.setParallelism(3);
+    List<PhotoDetails> details = fetcher.fetchAll(Arrays.asList("1", "4", "5", "6"));
+    assertEquals(4, details.size());
+    assertEquals(16, requested.size());
+    assertEquals(3, maxInFlight.get());
+  }
+
+  @Test
+  public void testParts() throws Exception {
+    PhotoDetailsFetcher fetcher = new PhotoDetailsFetcher(jinx(0));
+    fetcher.setParts(EnumSet.of(PhotoDetails.Part.SIZES));
+    PhotoDetails details = fetcher.fetch("1", null).get();
+    assertEquals(Collections.singletonList("flickr.photos.getSizes 1"), Arrays.asList(requested.toArray()));
+    assertNotNull(details.getSizes());
+    assertNull(details.getInfo());
+    assertTrue(details.isComplete());
+  }
+
+  /*
+   * A Jinx instance that answers each method with a small response after a delay.
+   * getExif fails with a Flickr error for photo 2, and getAllContexts times out for photo 3.
+   */
+  private Jinx jinx(final long delay) {
+    Jinx jinx = TestJinx.jinx(request -> {
+      String method = param(METHOD, request.getUrl());
+      String photoId = param(PHOTO_ID, request.getUrl());
+      requested.add(method + " " + photoId);
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      TestJinx.pause(delay);
+      inFlight.decrementAndGet();
+      String body;
+      switch (method) {
+        case "flickr.photos.getInfo":
+          body = "{\"photo\":{\"id\":\"" + photoId + "\"},\"stat\":\"ok\"}";
+          break;
+        case "flickr.photos.getSizes":
+          body = "{\"sizes\":{\"size\":[{\"label\":\"Square\",\"width\":75,\"height\":75}]},\"stat\":\"ok\"}";
+          break;
+        case "flickr.photos.getExif":
+          body = photoId.equals("2") ? "{\"stat\":\"fail\",\"code\":2,\"message\":\"Permission denied\"}" :
+              "{\"photo\":{\"id\":\"" + photoId + "\",\"exif\":[]},\"stat\":\"ok\"}";
+          break;
+        default:
+          if (photoId.equals("3")) {
+            throw new JinxException("Error communicating with Flickr", new SocketTimeoutException());
+          }
+          body = "{\"stat\":\"ok\"}";
+      }
+      return TestJinx.response(200, body);
+    });
+    jinx.setFlickrErrorThrowsException(false);
+    return jinx;
+  }
+
+  private static String param(Pattern pattern, String url) {
+    Matcher matcher = pattern.matcher(url);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+}
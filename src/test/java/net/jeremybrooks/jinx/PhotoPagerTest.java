@@ -0,0 +1,347 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import com.google.gson.Gson;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photosets.PhotosetPhotos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests paging over fake pages of photos.
+ */
+public class PhotoPagerTest {
+
+  private final List<Integer> requested = new ArrayList<>();
+
+  @Test
+  public void testLazyIteration() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 3, 2, null));
+    Iterator<Photo> iterator = pager.iterator();
+    assertTrue(requested.isEmpty());
+    assertEquals("1-0", iterator.next().getPhotoId());
+    assertEquals(1, requested.size());
+    assertEquals("1-1", iterator.next().getPhotoId());
+    assertEquals(1, requested.size());
+    assertEquals("2-0", iterator.next().getPhotoId());
+    assertEquals(2, requested.size());
+  }
+
+  @Test
+  public void testStopsAtLastPage() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 3, 2, null));
+    List<String> ids = pager.stream().map(Photo::getPhotoId).collect(Collectors.toList());
+    assertEquals(6, ids.size());
+    assertEquals("3-1", ids.get(5));
+    assertEquals(3, requested.size());
+  }
+
+  @Test
+  public void testStopsWhenNoNextPage() {
+    // pages is wrong, but has_next_page is believed
+    PhotoPager pager = new PhotoPager(page -> page(page, 100, 2, page < 2));
+    assertEquals(4, pager.stream().count());
+    assertEquals(2, requested.size());
+  }
+
+  @Test
+  public void testStopsOnEmptyPage() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 100, page == 3 ? 0 : 2, null));
+    assertEquals(4, pager.stream().count());
+    assertEquals(3, requested.size());
+  }
+
+  @Test
+  public void testFirstAndMaxPages() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 10, 2, null));
+    pager.setFirstPage(4);
+    pager.setMaxPages(2);
+    List<String> ids = pager.stream().map(Photo::getPhotoId).collect(Collectors.toList());
+    assertEquals(4, ids.size());
+    assertEquals("4-0", ids.get(0));
+    assertEquals("5-1", ids.get(3));
+  }
+
+  @Test
+  public void testStreamStopsEarly() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 10, 2, null));
+    assertEquals(3, pager.stream().limit(3).count());
+    assertEquals(2, requested.size());
+  }
+
+  @Test
+  public void testPrefetch() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      PhotoPager pager = new PhotoPager(page -> page(page, 3, 2, null), executor);
+      Iterator<Photo> iterator = pager.iterator();
+      assertEquals("1-0", iterator.next().getPhotoId());
+      // page 2 is requested while page 1 is consumed
+      long deadline = System.currentTimeMillis() + 5000;
+      while (requestCount() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(2, requestCount());
+      int count = 1;
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+      assertEquals(6, count);
+      assertEquals(3, requestCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testError() {
+    JinxException error = new JinxException("failed");
+    PhotoPager pager = new PhotoPager(page -> {
+      if (page == 2) {
+        throw error;
+      }
+      return page(page, 3, 2, null);
+    });
+    Iterator<Photo> iterator = pager.iterator();
+    iterator.next();
+    iterator.next();
+    try {
+      iterator.next();
+      fail();
+    } catch (PhotoPager.PageException e) {
+      assertEquals(2, e.getPage());
+      assertSame(error, e.getCause());
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testPrefetchError() {
+    PhotoPager pager = new PhotoPager(page -> {
+      if (page == 2) {
+        throw new JinxException("failed");
+      }
+      return page(page, 3, 2, null);
+    }, Runnable::run);
+    Iterator<Photo> iterator = pager.iterator();
+    iterator.next();
+    iterator.next();
+    try {
+      iterator.next();
+      fail();
+    } catch (PhotoPager.PageException e) {
+      assertEquals(2, e.getPage());
+    }
+  }
+
+  @Test
+  public void testParallelOrdered() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    Random random = new Random(3);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      PhotoPager pager = new PhotoPager(page -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(random.nextInt(20));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+        return page(page, 20, 3, null);
+      }, executor);
+      pager.setParallelism(4);
+      List<String> ids = pager.stream().map(Photo::getPhotoId).collect(Collectors.toList());
+      assertEquals(60, ids.size());
+      for (int i = 0; i < 60; i++) {
+        assertEquals((i / 3 + 1) + "-" + (i % 3), ids.get(i));
+      }
+      assertEquals(20, requestCount());
+      assertTrue(maxInFlight.get() <= 4);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelUnordered() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      PhotoPager pager = new PhotoPager(page -> {
+        if (page == 2) {
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return page(page, 5, 2, null);
+      }, executor);
+      pager.setParallelism(4);
+      pager.setOrdered(false);
+      pager.setMaxPages(4);
+      List<String> ids = pager.stream().map(Photo::getPhotoId).collect(Collectors.toList());
+      assertEquals(8, ids.size());
+      assertEquals("1-0", ids.get(0));
+      assertEquals(new HashSet<>(Arrays.asList("1-0", "1-1", "2-0", "2-1", "3-0", "3-1", "4-0", "4-1")),
+          new HashSet<>(ids));
+      // the slow page does not hold up the others
+      assertEquals("2-1", ids.get(7));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelWithoutPageCount() {
+    PhotoPager pager = new PhotoPager(page -> page(page, null, 2, page < 3), Runnable::run);
+    pager.setParallelism(4);
+    assertEquals(6, pager.stream().count());
+    assertEquals(3, requestCount());
+  }
+
+  @Test
+  public void testParallelError() {
+    PhotoPager pager = new PhotoPager(page -> {
+      if (page == 3) {
+        throw new JinxException("failed");
+      }
+      return page(page, 5, 2, null);
+    }, Runnable::run);
+    pager.setParallelism(2);
+    Iterator<Photo> iterator = pager.iterator();
+    for (int i = 0; i < 4; i++) {
+      iterator.next();
+    }
+    try {
+      iterator.next();
+      fail();
+    } catch (PhotoPager.PageException e) {
+      assertEquals(3, e.getPage());
+    }
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testParallelErrorCancelsOutstandingPages() {
+    List<Runnable> tasks = new ArrayList<>();
+    PhotoPager pager = new PhotoPager(page -> {
+      if (page == 2) {
+        throw new JinxException("failed");
+      }
+      return page(page, 10, 2, null);
+    }, tasks::add);
+    pager.setParallelism(3);
+    Iterator<Photo> iterator = pager.iterator();
+    iterator.next();
+    iterator.next();
+    assertEquals(3, tasks.size());
+    tasks.get(0).run();
+    try {
+      iterator.next();
+      fail();
+    } catch (PhotoPager.PageException e) {
+      assertEquals(2, e.getPage());
+    }
+    // pages 3 and 4 were cancelled before they started
+    tasks.forEach(Runnable::run);
+    assertEquals(Arrays.asList(1), requested);
+  }
+
+  @Test
+  public void testCloseCancelsOutstandingPages() {
+    List<Runnable> tasks = new ArrayList<>();
+    PhotoPager pager = new PhotoPager(page -> page(page, 10, 2, null), tasks::add);
+    pager.setParallelism(3);
+    PhotoPager.PagerIterator iterator = pager.iterator();
+    iterator.next();
+    iterator.close();
+    assertFalse(iterator.hasNext());
+    tasks.forEach(Runnable::run);
+    assertEquals(Arrays.asList(1), requested);
+
+    // closing a stream cancels the page fetched ahead of it
+    tasks.clear();
+    requested.clear();
+    pager.setParallelism(1);
+    try (Stream<Photo> photos = pager.stream()) {
+      assertEquals(1, photos.limit(1).count());
+    }
+    tasks.forEach(Runnable::run);
+    assertEquals(Arrays.asList(1), requested);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testParallelRequiresExecutor() {
+    PhotoPager pager = new PhotoPager(page -> page(page, 5, 2, null));
+    pager.setParallelism(2);
+    pager.iterator();
+  }
+
+  @Test
+  public void testPhotosetPages() {
+    PhotoPager pager = new PhotoPager(page -> new Gson().fromJson(
+        "{\"photoset\":{\"id\":\"1\",\"page\":" + page + ",\"pages\":2,\"total\":2," +
+            "\"photo\":[{\"id\":\"" + page + "\"}]},\"stat\":\"ok\"}", PhotosetPhotos.class));
+    assertEquals(Arrays.asList("1", "2"), pager.stream().map(Photo::getPhotoId).collect(Collectors.toList()));
+  }
+
+  private synchronized int requestCount() {
+    return requested.size();
+  }
+
+  private Photos page(int page, Integer pages, int perPage, Boolean hasNextPage) {
+    synchronized (this) {
+      requested.add(page);
+    }
+    StringBuilder json = new StringBuilder("{\"photos\":{\"page\":").append(page)
+        .append(",\"perpage\":").append(perPage);
+    if (pages != null) {
+      json.append(",\"pages\":").append(pages);
+    }
+    if (hasNextPage != null) {
+      json.append(",\"has_next_page\":").append(hasNextPage ? 1 : 0);
+    }
+    json.append(",\"photo\":[");
+    for (int i = 0; i < perPage; i++) {
+      json.append(i == 0 ? "" : ",").append("{\"id\":\"").append(page).append('-').append(i).append("\"}");
+    }
+    json.append("]},\"stat\":\"ok\"}");
+    return new Gson().fromJson(json.toString(), Photos.class);
+  }
+}
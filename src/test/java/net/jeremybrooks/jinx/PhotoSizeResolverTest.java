@@ -0,0 +1,107 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import com.google.gson.Gson;
+import net.jeremybrooks.jinx.response.photos.Photo;
+import net.jeremybrooks.jinx.response.photos.PhotoSizes;
+import org.junit.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests choosing photo sizes from getSizes responses and from extras.
+ */
+public class PhotoSizeResolverTest {
+
+  @Test
+  public void testResolveFromSizes() throws Exception {
+    PhotoSizes sizes;
+    try (Reader reader = new InputStreamReader(
+        PhotoSizeResolverTest.class.getResourceAsStream("/response/photos/sample_photo_sizes.json"),
+        StandardCharsets.UTF_8)) {
+      sizes = new Gson().fromJson(reader, PhotoSizes.class);
+    }
+    // the photo is 3:2, so the width limits a 300x300 box
+    assertEquals(JinxConstants.PhotoSize.SIZE_SMALL_320, PhotoSizeResolver.resolve(sizes, 300, 300).getSize());
+    assertEquals(JinxConstants.PhotoSize.SIZE_MEDIUM, PhotoSizeResolver.resolve(sizes, 1000, 300).getSize());
+    assertEquals(JinxConstants.PhotoSize.SIZE_SMALL_320, PhotoSizeResolver.resolve(sizes, 300, 400).getSize());
+    // covering the same box needs the height
+    assertEquals(JinxConstants.PhotoSize.SIZE_MEDIUM_640,
+        PhotoSizeResolver.resolve(sizes, 300, 400, PhotoSizeResolver.Fit.COVER).getSize());
+    assertEquals(JinxConstants.PhotoSize.SIZE_LARGE_SQUARE,
+        PhotoSizeResolver.resolve(sizes, 120, 120, PhotoSizeResolver.Fit.COVER).getSize());
+    assertEquals(JinxConstants.PhotoSize.SIZE_THUMBNAIL, PhotoSizeResolver.resolve(sizes, 100, 0).getSize());
+    assertEquals(JinxConstants.PhotoSize.SIZE_LARGE_2048, PhotoSizeResolver.resolve(sizes, 0, 1100).getSize());
+
+    // nothing is big enough
+    PhotoSizeResolver.Choice original = PhotoSizeResolver.resolve(sizes, 5000, 5000);
+    assertEquals(JinxConstants.PhotoSize.SIZE_ORIGINAL, original.getSize());
+    assertEquals(3776, original.getWidth());
+    assertEquals(2520, original.getHeight());
+  }
+
+  @Test
+  public void testResolveFromExtras() {
+    Photo photo = photo("\"url_m\":\"https://example.com/m.jpg\",\"width_m\":\"500\",\"height_m\":\"333\"," +
+        "\"url_l\":\"https://example.com/l.jpg\",\"width_l\":\"1024\",\"height_l\":\"683\"");
+    PhotoSizeResolver.Choice choice = PhotoSizeResolver.resolve(photo, 400, 400);
+    assertEquals(JinxConstants.PhotoSize.SIZE_MEDIUM, choice.getSize());
+    assertEquals("https://example.com/m.jpg", choice.getUrl());
+    assertEquals(JinxConstants.PhotoSize.SIZE_LARGE, PhotoSizeResolver.resolve(photo, 600, 0).getSize());
+
+    // o_dims fills in the sizes without url extras, and never goes past the original
+    photo = photo("\"o_width\":\"1200\",\"o_height\":\"1800\",\"originalsecret\":\"os\",\"originalformat\":\"png\"," +
+        "\"url_m\":\"https://example.com/m.jpg\",\"width_m\":\"333\",\"height_m\":\"500\"");
+    choice = PhotoSizeResolver.resolve(photo, 0, 700);
+    assertEquals(JinxConstants.PhotoSize.SIZE_MEDIUM_800, choice.getSize());
+    assertEquals(533, choice.getWidth());
+    assertEquals(800, choice.getHeight());
+    assertEquals("https://farm1.static.flickr.com/2/3_secret_c.jpg", choice.getUrl());
+    assertEquals(JinxConstants.PhotoSize.SIZE_MEDIUM, PhotoSizeResolver.resolve(photo, 300, 0).getSize());
+    choice = PhotoSizeResolver.resolve(photo, 0, 1700);
+    assertEquals(JinxConstants.PhotoSize.SIZE_ORIGINAL, choice.getSize());
+    assertEquals("https://farm1.static.flickr.com/2/3_os_o.png", choice.getUrl());
+
+    assertNull(PhotoSizeResolver.resolve(photo(""), 100, 100));
+  }
+
+  @Test
+  public void testLargeSizesNotDerivedFromDims() {
+    // Large 1600 and 2048 have their own secrets, so o_dims alone cannot give their URLs
+    Photo photo = photo("\"o_width\":\"3000\",\"o_height\":\"2000\",\"originalsecret\":\"os\",\"originalformat\":\"jpg\"");
+    PhotoSizeResolver.Choice choice = PhotoSizeResolver.resolve(photo, 1500, 0);
+    assertEquals(JinxConstants.PhotoSize.SIZE_ORIGINAL, choice.getSize());
+    assertEquals("https://farm1.static.flickr.com/2/3_os_o.jpg", choice.getUrl());
+
+    // without the original, the largest size with a known URL is used
+    photo = photo("\"o_width\":\"3000\",\"o_height\":\"2000\"");
+    choice = PhotoSizeResolver.resolve(photo, 1500, 0);
+    assertEquals(JinxConstants.PhotoSize.SIZE_LARGE, choice.getSize());
+    assertEquals("https://farm1.static.flickr.com/2/3_secret_b.jpg", choice.getUrl());
+  }
+
+  private static Photo photo(String extras) {
+    return new Gson().fromJson("{\"id\":\"3\",\"secret\":\"secret\",\"server\":\"2\",\"farm\":1" +
+        (extras.isEmpty() ? "" : "," + extras) + "}", Photo.class);
+  }
+}
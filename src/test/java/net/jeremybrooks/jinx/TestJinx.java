@@ -0,0 +1,106 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx;
+
+import net.jeremybrooks.jinx.transport.JinxTransport;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+
+import java.io.ByteArrayInputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Jinx instances with canned transports, for tests that need to control what "Flickr" returns.
+ * <br>
+ * Use {@link net.jeremybrooks.jinx.mock.MockFlickrServer} instead when the test needs a real http round trip.
+ */
+public final class TestJinx {
+
+  /**
+   * Body that {@link #sequence(long, String...)} answers with an http 503 error.
+   */
+  public static final String SERVICE_UNAVAILABLE = "503";
+
+  private TestJinx() {
+  }
+
+  /**
+   * Create a Jinx instance with a dummy access token that sends every request to the transport.
+   *
+   * @param transport answers the requests.
+   * @return Jinx instance using the transport.
+   */
+  public static Jinx jinx(JinxTransport transport) {
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    return new Jinx("key", "secret", accessToken, transport);
+  }
+
+  /**
+   * Create a Jinx instance that answers each call with the next body in turn, starting over after the last one.
+   * <br>
+   * A null body is a socket timeout, and {@link #SERVICE_UNAVAILABLE} is an http 503 error.
+   *
+   * @param delay  milliseconds to wait before answering each call.
+   * @param bodies response bodies.
+   * @return Jinx instance answering with the bodies.
+   */
+  public static Jinx sequence(final long delay, final String... bodies) {
+    final AtomicInteger call = new AtomicInteger();
+    return jinx(request -> {
+      String body = bodies[call.getAndIncrement() % bodies.length];
+      pause(delay);
+      if (body == null) {
+        throw new JinxException("Error communicating with Flickr", new SocketTimeoutException());
+      }
+      if (body.equals(SERVICE_UNAVAILABLE)) {
+        return response(503, "Service Unavailable");
+      }
+      return response(200, body);
+    });
+  }
+
+  /**
+   * Create a response with no headers.
+   *
+   * @param code http status code.
+   * @param body response body, or null for no body.
+   * @return response with the code and body.
+   */
+  public static JinxTransportResponse response(int code, String body) {
+    return new JinxTransportResponse(code, Collections.emptyMap(),
+        body == null ? null : new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Sleep, keeping the interrupt flag if interrupted.
+   *
+   * @param millis milliseconds to sleep.
+   */
+  public static void pause(long millis) {
+    if (millis > 0) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
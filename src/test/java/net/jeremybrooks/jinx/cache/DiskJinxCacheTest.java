@@ -0,0 +1,287 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.response.photos.PhotoInfo;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the disk cache, and the tiered cache in front of it.
+ */
+public class DiskJinxCacheTest {
+
+  private static final String INFO_KEY = "method=flickr.photos.getInfo&photo_id=123&";
+
+  private final AtomicLong now = new AtomicLong(TimeUnit.DAYS.toMillis(18000));
+  private Path directory;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("jinx-cache");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testPersistsAcrossRestart() throws Exception {
+    DiskJinxCache cache = open(1024 * 1024);
+    assertTrue(cache.isCacheable("flickr.photos.getInfo"));
+    assertFalse(cache.isCacheable("flickr.photos.search"));
+    cache.put(INFO_KEY, "flickr.photos.getInfo", "{\"photo\":\"é\"}");
+    cache.put("method=flickr.photos.search&", "flickr.photos.search", "ignored");
+    assertEquals("{\"photo\":\"é\"}", cache.get(INFO_KEY));
+    assertNull(cache.get("method=flickr.photos.search&"));
+    cache.close();
+    assertNull(cache.get(INFO_KEY));
+
+    cache = open(1024 * 1024);
+    assertEquals(1, cache.size());
+    assertEquals("{\"photo\":\"é\"}", cache.get(INFO_KEY));
+    cache.close();
+  }
+
+  @Test
+  public void testExpiry() throws Exception {
+    DiskJinxCache cache = open(1024 * 1024);
+    cache.setTtl("flickr.test.echo", 1, TimeUnit.HOURS);
+    cache.put("method=flickr.test.echo&", "flickr.test.echo", "a");
+    now.addAndGet(TimeUnit.MINUTES.toMillis(59));
+    assertEquals("a", cache.get("method=flickr.test.echo&"));
+    cache.close();
+
+    now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+    cache = open(1024 * 1024);
+    assertEquals(0, cache.size());
+    assertNull(cache.get("method=flickr.test.echo&"));
+    cache.close();
+  }
+
+  @Test
+  public void testPhotoUpdated() throws Exception {
+    DiskJinxCache cache = open(1024 * 1024);
+    cache.put(INFO_KEY, "flickr.photos.getInfo", "info");
+    cache.put("method=flickr.photos.getSizes&photo_id=123&", "flickr.photos.getSizes", "sizes");
+    cache.put("method=flickr.photos.getInfo&photo_id=456&", "flickr.photos.getInfo", "other");
+
+    // updated before the entries were stored
+    cache.photoUpdated("123", TimeUnit.MILLISECONDS.toSeconds(now.get()) - 60);
+    assertEquals("info", cache.get(INFO_KEY));
+
+    now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+    cache.photoUpdated("123", TimeUnit.MILLISECONDS.toSeconds(now.get()) - 60);
+    assertNull(cache.get(INFO_KEY));
+    assertNull(cache.get("method=flickr.photos.getSizes&photo_id=123&"));
+    assertEquals("other", cache.get("method=flickr.photos.getInfo&photo_id=456&"));
+    assertEquals(2, cache.getInvalidationCount());
+    cache.close();
+
+    // the removal survives a restart
+    cache = open(1024 * 1024);
+    assertNull(cache.get(INFO_KEY));
+    assertEquals("other", cache.get("method=flickr.photos.getInfo&photo_id=456&"));
+    cache.close();
+  }
+
+  @Test
+  public void testSegmentsAndEviction() throws Exception {
+    DiskJinxCache cache = open(2000);
+    char[] body = new char[400];
+    java.util.Arrays.fill(body, 'x');
+    for (int i = 0; i < 20; i++) {
+      cache.put("method=flickr.photos.getInfo&photo_id=" + i + "&", "flickr.photos.getInfo", new String(body));
+    }
+    assertTrue(segments().size() > 1);
+    // the oldest segments were deleted to stay near the maximum size
+    assertTrue(cache.getSizeInBytes() <= 2000 + 1024);
+    assertTrue(cache.getEvictionCount() > 0);
+    assertNull(cache.get("method=flickr.photos.getInfo&photo_id=0&"));
+    assertEquals(new String(body), cache.get("method=flickr.photos.getInfo&photo_id=19&"));
+    int size = cache.size();
+    cache.close();
+
+    cache = open(2000);
+    assertEquals(size, cache.size());
+    cache.close();
+  }
+
+  @Test
+  public void testTooBigReplacesOldEntry() throws Exception {
+    DiskJinxCache cache = open(1024 * 1024);
+    cache.put(INFO_KEY, "flickr.photos.getInfo", "info");
+    char[] body = new char[2000];
+    java.util.Arrays.fill(body, 'x');
+    cache.put(INFO_KEY, "flickr.photos.getInfo", new String(body));
+    assertNull(cache.get(INFO_KEY));
+    cache.close();
+
+    // the removal was recorded, so the old entry does not come back
+    cache = open(1024 * 1024);
+    assertNull(cache.get(INFO_KEY));
+    cache.close();
+  }
+
+  @Test
+  public void testPartialRecordIsDiscarded() throws Exception {
+    DiskJinxCache cache = open(1024 * 1024);
+    cache.put(INFO_KEY, "flickr.photos.getInfo", "info");
+    cache.put("method=flickr.photos.getInfo&photo_id=456&", "flickr.photos.getInfo", "other");
+    cache.close();
+
+    // damage the last record, as if the process stopped while writing it
+    Path segment = segments().get(0);
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[]{'?'}), channel.size() - 2);
+    }
+    cache = open(1024 * 1024);
+    assertEquals("info", cache.get(INFO_KEY));
+    assertNull(cache.get("method=flickr.photos.getInfo&photo_id=456&"));
+    cache.put("method=flickr.photos.getInfo&photo_id=789&", "flickr.photos.getInfo", "new");
+    cache.close();
+
+    cache = open(1024 * 1024);
+    assertEquals("new", cache.get("method=flickr.photos.getInfo&photo_id=789&"));
+    cache.close();
+  }
+
+  @Test
+  public void testTiered() throws Exception {
+    now.set(System.currentTimeMillis());
+    DiskJinxCache disk = open(1024 * 1024);
+    disk.put(INFO_KEY, "flickr.photos.getInfo", "info");
+    MemoryJinxCache memory = new MemoryJinxCache();
+    memory.setTtl("flickr.photos.getInfo", 1, TimeUnit.MINUTES);
+    TieredJinxCache cache = new TieredJinxCache(memory, disk);
+
+    assertEquals("info", cache.get(INFO_KEY));
+    assertEquals(1, memory.getMissCount());
+    // now served from memory
+    assertEquals("info", cache.get(INFO_KEY));
+    assertEquals(1, memory.getHitCount());
+    assertEquals(1, disk.getHitCount());
+
+    cache.photoUpdated("123", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60);
+    assertNull(memory.get(INFO_KEY));
+    disk.close();
+  }
+
+  @Test
+  public void testTieredPromotionKeepsWrittenTime() throws Exception {
+    long written = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10);
+    now.set(written);
+    DiskJinxCache disk = open(1024 * 1024);
+    disk.put(INFO_KEY, "flickr.photos.getInfo", "info");
+    now.set(System.currentTimeMillis());
+    MemoryJinxCache memory = new MemoryJinxCache();
+    memory.setTtl("flickr.photos.getInfo", 1, TimeUnit.HOURS);
+    TieredJinxCache cache = new TieredJinxCache(memory, disk);
+
+    // promoted to memory, as stored ten minutes ago
+    assertEquals("info", cache.get(INFO_KEY));
+    assertEquals(written, memory.getWrittenTime(INFO_KEY));
+
+    // the photo changed after the response was stored, but before it was promoted
+    cache.photoUpdated("123", TimeUnit.MILLISECONDS.toSeconds(written) + 60);
+    assertNull(memory.get(INFO_KEY));
+    assertNull(disk.get(INFO_KEY));
+    assertNull(cache.get(INFO_KEY));
+    disk.close();
+  }
+
+  @Test
+  public void testJinxValidatesAgainstLastUpdate() throws Exception {
+    final AtomicInteger getInfoCalls = new AtomicInteger();
+    final long lastUpdate = TimeUnit.MILLISECONDS.toSeconds(now.get()) + 60;
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", accessToken, request -> {
+      String body;
+      if (request.getUrl().contains("flickr.photos.getInfo")) {
+        getInfoCalls.incrementAndGet();
+        body = "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}";
+      } else {
+        body = "{\"photos\":{\"page\":1,\"pages\":1,\"perpage\":100,\"total\":1,\"photo\":[" +
+            "{\"id\":\"123\",\"lastupdate\":\"" + lastUpdate + "\"}]},\"stat\":\"ok\"}";
+      }
+      return new JinxTransportResponse(200, Collections.emptyMap(),
+          new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    });
+    DiskJinxCache cache = open(1024 * 1024);
+    jinx.setCache(cache);
+    PhotosApi photosApi = new PhotosApi(jinx);
+
+    photosApi.getInfo("123", null);
+    PhotoInfo info = photosApi.getInfo("123", null);
+    assertEquals("123", info.getPhotoId());
+    assertEquals(1, getInfoCalls.get());
+
+    // the photo changed after it was cached
+    photosApi.recentlyUpdated(new Date(0), null, 100, 1);
+    photosApi.getInfo("123", null);
+    assertEquals(2, getInfoCalls.get());
+    cache.close();
+  }
+
+  private DiskJinxCache open(long maxSize) throws Exception {
+    return new DiskJinxCache(directory, maxSize, 1024, now::get);
+  }
+
+  private List<Path> segments() throws Exception {
+    List<Path> list = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      for (Path path : stream) {
+        list.add(path);
+      }
+    }
+    Collections.sort(list);
+    return list;
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.cache;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.TestJinx;
+import net.jeremybrooks.jinx.api.PeopleApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.people.Person;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the in-memory cache, and caching of calls made through Jinx.
+ */
+public class MemoryJinxCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  public void testTtl() {
+    MemoryJinxCache cache = new MemoryJinxCache(10, now::get);
+    assertTrue(cache.isCacheable("flickr.photos.licenses.getInfo"));
+    assertFalse(cache.isCacheable("flickr.photos.search"));
+    assertEquals(10, cache.getTtl("flickr.people.getInfo", TimeUnit.MINUTES));
+
+    cache.setTtl("flickr.test.echo", 5, TimeUnit.SECONDS);
+    cache.put("a", "flickr.test.echo", "body");
+    now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+    assertEquals("body", cache.get("a"));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.getExpirationCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate(), 0.001);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testNotCached() {
+    MemoryJinxCache cache = new MemoryJinxCache(10, now::get);
+    cache.put("a", "flickr.photos.search", "body");
+    assertNull(cache.get("a"));
+
+    cache.setDefaultTtl(1, TimeUnit.MINUTES);
+    assertTrue(cache.isCacheable("flickr.photos.search"));
+    cache.setTtl("flickr.people.getInfo", 0, TimeUnit.SECONDS);
+    assertFalse(cache.isCacheable("flickr.people.getInfo"));
+  }
+
+  @Test
+  public void testLruEviction() {
+    MemoryJinxCache cache = new MemoryJinxCache(2, now::get);
+    cache.put("a", "flickr.cameras.getBrands", "A");
+    cache.put("b", "flickr.cameras.getBrands", "B");
+    assertEquals("A", cache.get("a"));
+    cache.put("c", "flickr.cameras.getBrands", "C");
+    // b was least recently used
+    assertNull(cache.get("b"));
+    assertEquals("A", cache.get("a"));
+    assertEquals("C", cache.get("c"));
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(2, cache.size());
+
+    cache.invalidate("a");
+    assertNull(cache.get("a"));
+    cache.clear();
+    assertEquals(0, cache.size());
+    cache.resetStats();
+    assertEquals(0, cache.getHitCount());
+  }
+
+  @Test
+  public void testPhotoUpdatedDoesNotChangeEvictionOrder() {
+    MemoryJinxCache cache = new MemoryJinxCache(2, now::get);
+    cache.setTtl("flickr.photos.getInfo", 1, TimeUnit.HOURS);
+    cache.put("method=flickr.photos.getInfo&photo_id=1&", "flickr.photos.getInfo", "1");
+    cache.put("method=flickr.photos.getInfo&photo_id=2&", "flickr.photos.getInfo", "2");
+    // an update from before the entry was stored does not remove it, and is not a use of it
+    cache.photoUpdated("1", 1);
+    cache.put("method=flickr.photos.getInfo&photo_id=3&", "flickr.photos.getInfo", "3");
+    assertNull(cache.get("method=flickr.photos.getInfo&photo_id=1&"));
+    assertEquals("2", cache.get("method=flickr.photos.getInfo&photo_id=2&"));
+    assertEquals("3", cache.get("method=flickr.photos.getInfo&photo_id=3&"));
+  }
+
+  @Test
+  public void testJinxCachesGet() throws Exception {
+    List<String> urls = new ArrayList<>();
+    Jinx jinx = jinx(urls, "{\"person\":{\"nsid\":\"123@N00\"},\"stat\":\"ok\"}");
+    MemoryJinxCache cache = new MemoryJinxCache();
+    jinx.setCache(cache);
+    PeopleApi peopleApi = new PeopleApi(jinx);
+
+    Person first = peopleApi.getInfo("123@N00", true);
+    Person second = peopleApi.getInfo("123@N00", true);
+    assertEquals(1, urls.size());
+    assertEquals("123@N00", second.getUserId());
+    // each hit is parsed again, so callers never share objects
+    assertNotSame(first, second);
+    assertEquals(1, cache.getHitCount());
+
+    peopleApi.getInfo("456@N00", true);
+    assertEquals(2, urls.size());
+  }
+
+  @Test
+  public void testJinxKeysAreEncoded() throws Exception {
+    List<String> urls = new ArrayList<>();
+    Jinx jinx = jinx(urls, "{\"stat\":\"ok\"}");
+    MemoryJinxCache cache = new MemoryJinxCache();
+    cache.setDefaultTtl(1, TimeUnit.HOURS);
+    jinx.setCache(cache);
+
+    Map<String, String> params = new TreeMap<>();
+    params.put("method", "flickr.photos.search");
+    params.put("tags", "x&user_id=me");
+    jinx.flickrGet(params, Response.class);
+    params.put("tags", "x");
+    params.put("user_id", "me");
+    jinx.flickrGet(params, Response.class);
+    // a value containing & and = is not mistaken for another parameter
+    assertEquals(2, urls.size());
+    assertEquals(2, cache.size());
+
+    assertEquals("a&b=c", CacheKeys.photoId("method=flickr.photos.getInfo&photo_id=a%26b%3Dc&"));
+    assertNull(CacheKeys.photoId("method=flickr.photos.getInfo&tags=x%26photo_id%3D1&"));
+  }
+
+  @Test
+  public void testJinxDoesNotCachePostOrErrors() throws Exception {
+    List<String> urls = new ArrayList<>();
+    Jinx jinx = jinx(urls, "{\"stat\":\"fail\",\"code\":1,\"message\":\"User not found\"}");
+    MemoryJinxCache cache = new MemoryJinxCache();
+    cache.setDefaultTtl(1, TimeUnit.HOURS);
+    jinx.setCache(cache);
+    jinx.setFlickrErrorThrowsException(false);
+
+    Map<String, String> params = new TreeMap<>();
+    params.put("method", "flickr.people.getInfo");
+    params.put("user_id", "1");
+    jinx.flickrGet(params, Response.class);
+    jinx.flickrGet(params, Response.class);
+    assertEquals(2, urls.size());
+
+    params.put("method", "flickr.photos.delete");
+    jinx.flickrPost(params, Response.class);
+    jinx.flickrPost(params, Response.class);
+    assertEquals(4, urls.size());
+    assertEquals(0, cache.size());
+  }
+
+  private Jinx jinx(final List<String> urls, final String body) {
+    return TestJinx.jinx(request -> {
+      synchronized (urls) {
+        urls.add(request.getUrl());
+      }
+      return TestJinx.response(200, body);
+    });
+  }
+}
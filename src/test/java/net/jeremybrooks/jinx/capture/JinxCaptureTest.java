@@ -0,0 +1,163 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.capture;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.TestJinx;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests capturing calls.
+ */
+public class JinxCaptureTest {
+
+  private static final String PHOTO = "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}";
+  private static final String NOT_FOUND = "{\"stat\":\"fail\",\"code\":1,\"message\":\"Photo not found\"}";
+
+  @Test
+  public void testCaptureKeepsNewestCalls() throws Exception {
+    JinxCapture capture = new JinxCapture(2);
+    Jinx jinx = TestJinx.sequence(0, PHOTO);
+    jinx.setCapture(capture);
+    PhotosApi photosApi = new PhotosApi(jinx);
+    photosApi.getInfo("1", null);
+    photosApi.getInfo("2", null);
+    photosApi.getInfo("3", null);
+
+    List<CapturedCall> calls = capture.getCalls();
+    assertEquals(2, calls.size());
+    assertEquals(3, capture.getCapturedCount());
+    assertTrue(calls.get(0).getUrl().contains("photo_id=2"));
+    assertTrue(calls.get(1).getUrl().contains("photo_id=3"));
+    CapturedCall call = calls.get(1);
+    assertEquals("flickr.photos.getInfo", call.getFlickrMethod());
+    assertEquals("GET", call.getHttpMethod());
+    assertEquals(200, call.getHttpStatus());
+    assertEquals(PHOTO, call.getResponseBody());
+    assertFalse(call.isError());
+
+    capture.clear();
+    assertTrue(capture.getCalls().isEmpty());
+  }
+
+  @Test
+  public void testSecretsAreRedacted() throws Exception {
+    JinxCapture capture = new JinxCapture(4);
+    Jinx jinx = TestJinx.sequence(0, PHOTO);
+    jinx.setCapture(capture);
+    new PhotosApi(jinx).getInfo("123", null);
+    new PhotosApi(jinx).setTags("123", Collections.singletonList("tag"));
+
+    for (CapturedCall call : capture.getCalls()) {
+      String text = call.getUrl() + call.getRequestHeaders() + call.getRequestBody();
+      assertFalse(text, text.contains("\"token\""));
+      assertFalse(text, text.contains("\"key\""));
+      assertFalse(text, text.contains("=key"));
+      assertTrue(text, text.contains("oauth_signature=\"" + JinxCapture.REDACTED + "\""));
+    }
+    CapturedCall post = capture.getCalls().get(1);
+    assertEquals("POST", post.getHttpMethod());
+    assertTrue(post.getRequestBody().contains("api_key=" + JinxCapture.REDACTED));
+    assertTrue(post.getRequestBody().contains("photo_id=123"));
+
+    assertEquals("name=\"api_key\"\r\n\r\nREDACTED\r\n",
+        JinxCapture.redact("name=\"api_key\"\r\n\r\nkey\r\n"));
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    JinxCapture capture = new JinxCapture(10);
+    Jinx jinx = TestJinx.sequence(0, PHOTO);
+    jinx.setCapture(capture);
+    PhotosApi photosApi = new PhotosApi(jinx);
+
+    capture.setSampleRate(0);
+    photosApi.getInfo("123", null);
+    assertEquals(0, capture.getCapturedCount());
+
+    capture.setSampleRate(1);
+    capture.setMethods(Collections.singleton("flickr.photos.getSizes"));
+    photosApi.getInfo("123", null);
+    assertEquals(0, capture.getCapturedCount());
+    photosApi.getSizes("123");
+    assertEquals(1, capture.getCapturedCount());
+    assertEquals("flickr.photos.getSizes", capture.getCalls().get(0).getFlickrMethod());
+
+    try {
+      capture.setSampleRate(1.5);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // out of range
+    }
+  }
+
+  @Test
+  public void testErrorsOnly() throws Exception {
+    JinxCapture capture = new JinxCapture(10);
+    capture.setErrorsOnly(true);
+    Jinx jinx = TestJinx.sequence(0, PHOTO, NOT_FOUND, TestJinx.SERVICE_UNAVAILABLE, null);
+    jinx.setCapture(capture);
+    jinx.setFlickrErrorThrowsException(false);
+    PhotosApi photosApi = new PhotosApi(jinx);
+    for (int i = 0; i < 4; i++) {
+      try {
+        photosApi.getInfo("123", null);
+      } catch (JinxException e) {
+        // http error and timeout
+      }
+    }
+
+    List<CapturedCall> calls = capture.getCalls();
+    assertEquals(3, calls.size());
+    assertEquals(1, calls.get(0).getFlickrErrorCode());
+    assertEquals("Photo not found", calls.get(0).getErrorMessage());
+    assertNull(calls.get(0).getResponseBody());
+    assertEquals(503, calls.get(1).getHttpStatus());
+    assertEquals("Service Unavailable", calls.get(1).getResponseBody());
+    assertTrue(calls.get(1).getFailure() != null);
+    assertEquals(0, calls.get(2).getHttpStatus());
+    assertTrue(calls.get(2).getFailure().getCause() instanceof SocketTimeoutException);
+    for (CapturedCall call : calls) {
+      assertTrue(call.isError());
+    }
+  }
+
+  @Test
+  public void testBodiesAreTruncated() throws Exception {
+    JinxCapture capture = new JinxCapture(1);
+    capture.setMaxBodyLength(10);
+    Jinx jinx = TestJinx.sequence(0, PHOTO);
+    jinx.setCapture(capture);
+    new PhotosApi(jinx).getInfo("123", null);
+
+    String body = capture.getCalls().get(0).getResponseBody();
+    assertTrue(body, body.startsWith(PHOTO.substring(0, 10) + "...["));
+    assertTrue(body, body.endsWith((PHOTO.length() - 10) + " more characters]"));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.download;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the image cache.
+ */
+public class ImageCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws Exception {
+    Path directory = folder.getRoot().toPath();
+    ImageCache cache = new ImageCache(directory, 250);
+    Path a = cache.put("https://example.com/a.jpg", image(100, 1));
+    cache.put("https://example.com/b.jpg", image(100, 2));
+    assertNotNull(cache.get("https://example.com/a.jpg"));
+    cache.put("https://example.com/c.jpg", image(100, 3));
+
+    assertNull(cache.get("https://example.com/b.jpg"));
+    assertEquals(a, cache.get("https://example.com/a.jpg"));
+    assertEquals(2, cache.getCount());
+    assertEquals(200, cache.getSize());
+    assertEquals(1, cache.getEvictions());
+    assertArrayEquals(bytes(100, 1), Files.readAllBytes(a));
+    assertEquals(ImageCache.hash("https://example.com/a.jpg"), a.getFileName().toString());
+
+    // an image bigger than the cache is kept until the next one arrives
+    cache.put("https://example.com/big.jpg", image(300, 4));
+    assertEquals(1, cache.getCount());
+    assertNotNull(cache.get("https://example.com/big.jpg"));
+
+    cache.remove("https://example.com/big.jpg");
+    assertEquals(0, cache.getSize());
+    assertFalse(Files.exists(a));
+  }
+
+  @Test
+  public void testSurvivesRestart() throws Exception {
+    Path directory = folder.getRoot().toPath();
+    ImageCache cache = new ImageCache(directory);
+    cache.put("https://example.com/a.jpg", image(100, 1));
+    cache.put("https://example.com/b.jpg", image(50, 2));
+    // left by a download that was interrupted
+    Path partial = Files.write(directory.resolve("download-123.tmp"), bytes(10, 3));
+
+    cache = new ImageCache(directory);
+    assertFalse(Files.exists(partial));
+    assertEquals(2, cache.getCount());
+    assertEquals(150, cache.getSize());
+    assertArrayEquals(bytes(50, 2), Files.readAllBytes(cache.get("https://example.com/b.jpg")));
+
+    cache = new ImageCache(directory, 120);
+    assertEquals(1, cache.getCount());
+    cache.clear();
+    assertEquals(0, cache.getCount());
+    assertNull(cache.get("https://example.com/a.jpg"));
+  }
+
+  private static ByteArrayInputStream image(int size, int fill) {
+    return new ByteArrayInputStream(bytes(size, fill));
+  }
+
+  private static byte[] bytes(int size, int fill) {
+    byte[] data = new byte[size];
+    Arrays.fill(data, (byte) fill);
+    return data;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.download;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.TestJinx;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the image downloader with a fake transport.
+ */
+public class ImageDownloaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @Test
+  public void testDownloadsConcurrentlyIntoCache() throws Exception {
+    ImageDownloader downloader = new ImageDownloader(jinx(), new ImageCache(folder.getRoot().toPath()));
+    downloader.setParallelism(3);
+    List<CompletableFuture<CachedImage>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(downloader.download("https://example.com/" + i + ".jpg"));
+    }
+    // the same image asked for twice is downloaded once
+    assertSame(futures.get(0), downloader.download("https://example.com/0.jpg"));
+    for (int i = 0; i < 10; i++) {
+      CachedImage image = futures.get(i).get(5, TimeUnit.SECONDS);
+      assertFalse(image.isFromCache());
+      assertArrayEquals(("/" + i + ".jpg").getBytes(StandardCharsets.UTF_8), image.getBytes());
+    }
+    assertEquals(10, requests.get());
+    assertEquals(3, maxInFlight.get());
+
+    CompletableFuture<CachedImage> cached = downloader.download("https://example.com/4.jpg");
+    assertTrue(cached.isDone());
+    assertTrue(cached.get().isFromCache());
+    assertEquals(6, cached.get().getSize());
+    assertEquals(10, requests.get());
+  }
+
+  @Test
+  public void testRedirectsAndErrors() throws Exception {
+    ImageDownloader downloader = new ImageDownloader(jinx(), new ImageCache(folder.getRoot().toPath()));
+    CachedImage image = downloader.download("https://example.com/moved.jpg").get(5, TimeUnit.SECONDS);
+    assertArrayEquals("/new/moved.jpg".getBytes(StandardCharsets.UTF_8), image.getBytes());
+    assertEquals("https://example.com/moved.jpg", image.getUrl());
+    assertEquals(2, requests.get());
+
+    try {
+      downloader.download("https://example.com/missing.jpg").get(5, TimeUnit.SECONDS);
+      fail("Missing image should fail.");
+    } catch (ExecutionException e) {
+      assertEquals(404, ((JinxHttpException) e.getCause()).getStatusCode());
+    }
+    assertEquals(1, downloader.getCache().getCount());
+  }
+
+  @Test
+  public void testRejectedDownloadsDoNotBlockTheQueue() throws Exception {
+    Jinx jinx = jinx();
+    ExecutorService stopped = Executors.newSingleThreadExecutor();
+    stopped.shutdown();
+    jinx.setExecutor(stopped);
+    ImageDownloader downloader = new ImageDownloader(jinx, new ImageCache(folder.getRoot().toPath()));
+    downloader.setParallelism(1);
+    for (int i = 0; i < 3; i++) {
+      try {
+        downloader.download("https://example.com/" + i + ".jpg").get(5, TimeUnit.SECONDS);
+        fail("Download should not start.");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause().getCause() instanceof RejectedExecutionException);
+      }
+    }
+
+    // the rejected downloads gave back their place in the queue
+    jinx.setExecutor(null);
+    assertEquals(6, downloader.download("https://example.com/1.jpg").get(5, TimeUnit.SECONDS).getSize());
+    assertEquals(1, requests.get());
+  }
+
+  /*
+   * A Jinx instance whose transport answers each URL with its path, after 20 ms. Paths starting with /moved redirect
+   * to /new, and paths starting with /missing are not found.
+   */
+  private Jinx jinx() {
+    return TestJinx.jinx(request -> {
+      requests.incrementAndGet();
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      TestJinx.pause(20);
+      inFlight.decrementAndGet();
+      String path = request.getUrl().substring("https://example.com".length());
+      if (path.startsWith("/moved")) {
+        return new JinxTransportResponse(301, Map.of("Location", "/new" + path), null);
+      }
+      if (path.startsWith("/missing")) {
+        return TestJinx.response(404, null);
+      }
+      return TestJinx.response(200, path);
+    });
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.logger;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests level checks, sampling, and the SLF4J bridge.
+ */
+public class JinxLoggerTest {
+
+  @After
+  public void tearDown() {
+    JinxLogger.setLogger(null);
+  }
+
+  @Test
+  public void testLevels() {
+    assertFalse(JinxLogger.isEnabled(LogLevel.ERROR));
+    JinxLogger.log(LogLevel.ERROR, () -> {
+      fail("Message should not be built.");
+      return null;
+    });
+
+    StdoutLogger stdout = new StdoutLogger(LogLevel.INFO);
+    assertTrue(stdout.isEnabled(LogLevel.ERROR));
+    assertTrue(stdout.isEnabled(LogLevel.INFO));
+    assertFalse(stdout.isEnabled(LogLevel.DEBUG));
+    assertTrue(new StdoutLogger().isEnabled(LogLevel.TRACE));
+  }
+
+  @Test
+  public void testLegacyLogger() {
+    final List<String> messages = new ArrayList<>();
+    JinxLogger.setLogger(new LogInterface() {
+      @Override
+      public void log(String message) {
+        messages.add(message);
+      }
+
+      @Override
+      public void log(String message, Throwable t) {
+        messages.add(message + " " + t.getMessage());
+      }
+    });
+    JinxLogger.log(LogLevel.TRACE, "trace");
+    JinxLogger.log(LogLevel.WARN, () -> "warn", new Exception("cause"));
+    assertEquals(2, messages.size());
+    assertEquals("trace", messages.get(0));
+    assertEquals("warn cause", messages.get(1));
+  }
+
+  @Test
+  public void testDisabledLoggingDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    // warm up, so that class loading and lambda linkage are not counted
+    for (int i = 0; i < 10000; i++) {
+      log();
+    }
+    long before = threads.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < 100000; i++) {
+      log();
+    }
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    assertTrue(allocated + " bytes allocated", allocated < 1000);
+  }
+
+  private void log() {
+    JinxLogger.log(LogLevel.DEBUG, () -> "not built");
+    JinxLogger.log(LogLevel.DEBUG, "constant");
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    final List<String> messages = new ArrayList<>();
+    JinxLogger.setLogger(new StdoutLogger(LogLevel.DEBUG) {
+      @Override
+      public void log(LogLevel level, String message) {
+        messages.add(message);
+      }
+    });
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", accessToken, request -> new JinxTransportResponse(200,
+        Collections.emptyMap(), new ByteArrayInputStream(
+        "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}".getBytes(StandardCharsets.UTF_8))));
+    PhotosApi photosApi = new PhotosApi(jinx);
+
+    // verbose logging is off
+    photosApi.getInfo("123", null);
+    assertTrue(messages.isEmpty());
+
+    jinx.setVerboseLogging(true);
+    photosApi.getInfo("123", null);
+    assertTrue(messages.contains("Added query parameter photo_id=123"));
+    assertTrue(messages.contains("RESPONSE is {\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}"));
+
+    messages.clear();
+    jinx.setVerboseLoggingSampleRate(0);
+    for (int i = 0; i < 50; i++) {
+      photosApi.getInfo("123", null);
+    }
+    assertTrue(messages.isEmpty());
+
+    jinx.setVerboseLoggingSampleRate(0.5);
+    int logged = 0;
+    for (int i = 0; i < 200; i++) {
+      messages.clear();
+      photosApi.getInfo("123", null);
+      if (!messages.isEmpty()) {
+        logged++;
+      }
+    }
+    assertTrue(logged > 0 && logged < 200);
+
+    try {
+      jinx.setVerboseLoggingSampleRate(1.5);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testSlf4jLogger() {
+    final List<String> calls = new ArrayList<>();
+    Logger logger = (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("isDebugEnabled") || method.getName().equals("isWarnEnabled")) {
+            return true;
+          }
+          if (method.getName().startsWith("is")) {
+            return false;
+          }
+          calls.add(method.getName() + " " + args[0] + (args.length > 1 ? " " + args[1] : ""));
+          return null;
+        });
+    Slf4jLogger slf4jLogger = new Slf4jLogger(logger);
+    JinxLogger.setLogger(slf4jLogger);
+    assertTrue(JinxLogger.isEnabled(LogLevel.DEBUG));
+    assertFalse(JinxLogger.isEnabled(LogLevel.TRACE));
+    Exception cause = new Exception("cause");
+    JinxLogger.log(LogLevel.DEBUG, "debug");
+    JinxLogger.log(LogLevel.TRACE, "trace");
+    JinxLogger.log(LogLevel.WARN, "warn", cause);
+    slf4jLogger.log("legacy");
+    assertEquals(3, calls.size());
+    assertEquals("debug debug", calls.get(0));
+    assertEquals("warn warn " + cause, calls.get(1));
+    assertEquals("debug legacy", calls.get(2));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.metrics;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.TestJinx;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the metrics listener and the default JMX implementation.
+ */
+public class JinxMetricsTest {
+
+  private static final String PHOTO = "{\"photo\":{\"id\":\"123\"},\"stat\":\"ok\"}";
+  private static final String NOT_FOUND = "{\"stat\":\"fail\",\"code\":1,\"message\":\"Photo not found\"}";
+
+  @Test
+  public void testBuckets() {
+    int previous = 0;
+    for (long micros = 0; micros < 1_000_000; micros++) {
+      int bucket = LatencyHistogram.bucket(micros);
+      assertTrue(bucket >= previous);
+      assertTrue(LatencyHistogram.upperBound(bucket) >= micros);
+      assertTrue(LatencyHistogram.upperBound(bucket) <= Math.max(3, micros * 5 / 4));
+      previous = bucket;
+    }
+  }
+
+  @Test
+  public void testHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(99));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+    histogram.record(-1);
+    LatencySnapshot snapshot = histogram.getSnapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500500, snapshot.getMean());
+    assertEquals(1000000, snapshot.getMax());
+    assertWithin(500000, snapshot.getP50());
+    assertWithin(900000, snapshot.getP90());
+    assertWithin(990000, snapshot.getP99());
+    histogram.reset();
+    assertEquals(0, histogram.getSnapshot().getCount());
+  }
+
+  @Test
+  public void testJinxReportsMetrics() throws Exception {
+    JinxMetrics metrics = new JinxMetrics();
+    Jinx jinx = TestJinx.sequence(5, PHOTO, NOT_FOUND, null);
+    jinx.setMetricsListener(metrics);
+    jinx.setFlickrErrorThrowsException(false);
+    PhotosApi photosApi = new PhotosApi(jinx);
+
+    photosApi.getInfo("123", null);
+    photosApi.getInfo("123", null);
+    try {
+      photosApi.getInfo("123", null);
+      fail();
+    } catch (JinxException e) {
+      // timeout
+    }
+
+    MethodMetrics getInfo = metrics.getMethodMetrics("flickr.photos.getInfo");
+    assertEquals(3, getInfo.getRequestCount());
+    assertEquals(2, getInfo.getErrorCount());
+    assertEquals(1, getInfo.getFailureCount());
+    assertEquals(Collections.singletonMap(1, 1L), getInfo.getFlickrErrorCounts());
+    assertEquals(PHOTO.length() + NOT_FOUND.length(), getInfo.getBytesReceived());
+    assertTrue(getInfo.getBytesSent() > 0);
+    // the transport took 5 ms to answer
+    assertEquals(2, getInfo.getTimeToFirstByteLatency().getCount());
+    assertTrue(getInfo.getTimeToFirstByteLatency().getMax() >= 5000);
+    assertEquals(2, getInfo.getParseLatency().getCount());
+    assertEquals(2, getInfo.getDownloadLatency().getCount());
+    assertEquals(0, getInfo.getConnectLatency().getCount());
+    assertNull(metrics.getMethodMetrics("flickr.photos.getSizes"));
+
+    jinx.setMetricsListener(null);
+    photosApi.getInfo("123", null);
+    assertEquals(3, getInfo.getRequestCount());
+  }
+
+  @Test
+  public void testListenerFailureIsIgnored() throws Exception {
+    Jinx jinx = TestJinx.sequence(5, PHOTO);
+    jinx.setMetricsListener(metrics -> {
+      throw new IllegalStateException("broken listener");
+    });
+    assertEquals("123", new PhotosApi(jinx).getInfo("123", null).getPhotoId());
+  }
+
+  @Test
+  public void testJmx() throws Exception {
+    JinxMetrics metrics = new JinxMetrics();
+    Jinx jinx = TestJinx.sequence(5, PHOTO);
+    jinx.setMetricsListener(metrics);
+    new PhotosApi(jinx).getInfo("123", null);
+    metrics.register("test");
+    try {
+      metrics.register("again");
+      fail();
+    } catch (JinxException e) {
+      // already registered
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName getInfo = JinxMetrics.objectName("test", "flickr.photos.getInfo");
+    assertEquals(1L, server.getAttribute(getInfo, "RequestCount"));
+    CompositeData latency = (CompositeData) server.getAttribute(getInfo, "TimeToFirstByteLatency");
+    assertEquals(1L, latency.get("count"));
+
+    // methods called after registration are registered when they are first called
+    new PhotosApi(jinx).getSizes("123");
+    ObjectName getSizes = JinxMetrics.objectName("test", "flickr.photos.getSizes");
+    assertEquals(1L, server.getAttribute(getSizes, "RequestCount"));
+
+    server.invoke(getInfo, "reset", null, null);
+    assertEquals(0L, server.getAttribute(getInfo, "RequestCount"));
+    metrics.unregister();
+    assertFalse(server.isRegistered(getInfo));
+    assertFalse(server.isRegistered(getSizes));
+  }
+
+  private void assertWithin(long expected, long actual) {
+    assertTrue(actual + " is not close to " + expected, actual >= expected && actual <= expected * 5 / 4);
+  }
+}
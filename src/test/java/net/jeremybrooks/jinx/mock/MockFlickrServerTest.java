@@ -0,0 +1,177 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.mock;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.api.PhotosApi;
+import net.jeremybrooks.jinx.api.PhotosUploadApi;
+import net.jeremybrooks.jinx.response.Response;
+import net.jeremybrooks.jinx.response.photos.Photos;
+import net.jeremybrooks.jinx.response.photos.SearchParameters;
+import net.jeremybrooks.jinx.response.photos.upload.ReplaceResponse;
+import net.jeremybrooks.jinx.response.photos.upload.UploadResponse;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the mock Flickr server.
+ */
+public class MockFlickrServerTest {
+
+  private MockFlickrServer server;
+  private Jinx jinx;
+
+  @Before
+  public void setUp() throws Exception {
+    server = new MockFlickrServer();
+    server.loadFixtures("/response/methods.properties");
+    server.setResponse("flickr.photos.delete", "{\"stat\":\"ok\"}");
+    server.start();
+
+    OAuthAccessToken oAuthAccessToken = new OAuthAccessToken();
+    oAuthAccessToken.setOauthToken("token");
+    oAuthAccessToken.setOauthTokenSecret("secret");
+    jinx = new Jinx("key", "secret", oAuthAccessToken);
+    server.configure(jinx);
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  @Test
+  public void testReplayFixture() throws Exception {
+    SearchParameters searchParameters = new SearchParameters();
+    searchParameters.setText("bridge");
+    Photos photos = new PhotosApi(jinx).search(searchParameters);
+    assertEquals("ok", photos.getStat());
+    assertFalse(photos.getPhotoList().isEmpty());
+    assertEquals(1, server.getRequestCount("flickr.photos.search"));
+
+    // POST
+    assertEquals("ok", new PhotosApi(jinx).delete("123").getStat());
+    assertEquals(2, server.getRequestCount());
+  }
+
+  @Test
+  public void testUnknownMethod() throws Exception {
+    try {
+      call("flickr.no.such.method");
+      fail();
+    } catch (JinxException je) {
+      assertEquals(112, je.getFlickrErrorCode());
+    }
+  }
+
+  @Test
+  public void testFixtureDirectory() throws Exception {
+    Path directory = Files.createTempDirectory("jinx-mock");
+    try {
+      Files.write(directory.resolve("flickr.custom.method.json"),
+          "{\"stat\":\"fail\",\"code\":1,\"message\":\"Photo not found\"}".getBytes("UTF-8"));
+      server.setFixtureDirectory(directory);
+      jinx.setFlickrErrorThrowsException(false);
+      assertEquals(1, call("flickr.custom.method").getCode());
+    } finally {
+      Files.deleteIfExists(directory.resolve("flickr.custom.method.json"));
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testUploadAndReplace() throws Exception {
+    PhotosUploadApi uploadApi = new PhotosUploadApi(jinx);
+    byte[] photo = new byte[100000];
+
+    UploadResponse upload = uploadApi.upload(photo, "title", null, null, null, null, null, null, null, null, false);
+    assertNotNull(upload.getPhotoId());
+
+    UploadResponse async = uploadApi.upload(photo, "title", null, null, null, null, null, null, null, null, true);
+    assertNotNull(async.getTicketId());
+
+    ReplaceResponse replace = uploadApi.replace(photo, "12345", false);
+    assertEquals("12345", replace.getPhotoId());
+    assertEquals(1, server.getRequestCount("replace"));
+  }
+
+  @Test
+  public void testUploadFile() throws Exception {
+    Path photo = Files.createTempFile("jinx", ".jpg");
+    try {
+      Files.write(photo, new byte[100000]);
+      PhotosUploadApi uploadApi = new PhotosUploadApi(jinx);
+      UploadResponse upload = uploadApi.upload(photo.toFile(), null, null, null, null, null, null, null, null, null,
+          false);
+      assertNotNull(upload.getPhotoId());
+      ReplaceResponse replace = uploadApi.replace(photo.toFile(), "12345", false);
+      assertEquals("12345", replace.getPhotoId());
+    } finally {
+      Files.delete(photo);
+    }
+  }
+
+  @Test
+  public void testInjectedErrors() throws Exception {
+    server.setHttpErrorRate(1, 503);
+    try {
+      new PhotosApi(jinx).delete("123");
+      fail();
+    } catch (JinxHttpException e) {
+      assertEquals(503, e.getStatusCode());
+    }
+
+    server.setHttpErrorRate(0, 503);
+    server.setFlickrErrorRate(1, 105);
+    try {
+      new PhotosApi(jinx).delete("123");
+      fail();
+    } catch (JinxException je) {
+      assertEquals(105, je.getFlickrErrorCode());
+    }
+  }
+
+  @Test
+  public void testLatency() throws Exception {
+    server.setLatency(100, 100);
+    long start = System.nanoTime();
+    new PhotosApi(jinx).delete("123");
+    assertTrue(System.nanoTime() - start >= 100_000_000L);
+  }
+
+  private Response call(String method) throws JinxException {
+    Map<String, String> params = new TreeMap<>();
+    params.put("method", method);
+    return jinx.flickrGet(params, Response.class);
+  }
+}
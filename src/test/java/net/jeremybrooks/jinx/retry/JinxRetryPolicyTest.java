@@ -0,0 +1,129 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.retry;
+
+import net.jeremybrooks.jinx.JinxConstants.Method;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.transport.JinxHttpException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the retry policy and retry budget.
+ */
+public class JinxRetryPolicyTest {
+
+  @Test
+  public void testTransientFailures() {
+    JinxRetryPolicy policy = new JinxRetryPolicy();
+    JinxException timeout = new JinxException("timeout", new SocketTimeoutException());
+    JinxException refused = new JinxException("refused", new ConnectException());
+
+    assertTrue(policy.isRetryable(Method.GET, timeout, 0));
+    assertTrue(policy.isRetryable(Method.GET, refused, 0));
+    assertTrue(policy.isRetryable(Method.GET, new JinxHttpException(502, -1), 0));
+    assertTrue(policy.isRetryable(Method.GET, null, 105));
+    assertTrue(policy.isRetryable(Method.GET, null, 106));
+
+    assertFalse(policy.isRetryable(Method.GET, null, 0));
+    assertFalse(policy.isRetryable(Method.GET, null, 1));
+    assertFalse(policy.isRetryable(Method.GET, new JinxException("bad"), 0));
+    assertFalse(policy.isRetryable(Method.GET, new JinxException("bad url", new MalformedURLException()), 0));
+  }
+
+  @Test
+  public void testPostIsOnlyRetriedWhenNotProcessed() {
+    JinxRetryPolicy policy = new JinxRetryPolicy();
+    JinxException timeout = new JinxException("timeout", new SocketTimeoutException());
+
+    assertFalse(policy.isRetryable(Method.POST, timeout, 0));
+    assertFalse(policy.isRetryable(Method.POST, new JinxException("io", new IOException()), 0));
+    assertFalse(policy.isRetryable(Method.POST, new JinxHttpException(502, -1), 0));
+    assertTrue(policy.isRetryable(Method.POST, new JinxException("refused", new ConnectException()), 0));
+    assertTrue(policy.isRetryable(Method.POST, new JinxHttpException(503, -1), 0));
+    assertTrue(policy.isRetryable(Method.POST, new JinxHttpException(429, -1), 0));
+    assertTrue(policy.isRetryable(Method.POST, null, 105));
+
+    policy.setRetryNonIdempotent(true);
+    assertTrue(policy.isRetryable(Method.POST, timeout, 0));
+    assertTrue(policy.isRetryable(Method.POST, new JinxHttpException(502, -1), 0));
+  }
+
+  @Test
+  public void testBackoff() {
+    JinxRetryPolicy policy = new JinxRetryPolicy(5, 100, 1000);
+    policy.setJitter(0);
+    assertEquals(100, policy.getBackoff(1, null));
+    assertEquals(200, policy.getBackoff(2, null));
+    assertEquals(400, policy.getBackoff(3, null));
+    assertEquals(1000, policy.getBackoff(5, null));
+
+    policy.setJitter(0.5);
+    for (int i = 0; i < 100; i++) {
+      long backoff = policy.getBackoff(2, null);
+      assertTrue(backoff >= 100 && backoff <= 200);
+    }
+
+    // Retry-After is honored, up to the maximum backoff
+    assertEquals(1000, policy.getBackoff(1, new JinxHttpException(503, 30)));
+  }
+
+  @Test
+  public void testMaxAttempts() {
+    JinxRetryPolicy policy = new JinxRetryPolicy(3, 0, 0);
+    policy.setBudget(null);
+    assertTrue(policy.tryRetry(1));
+    assertTrue(policy.tryRetry(2));
+    assertFalse(policy.tryRetry(3));
+  }
+
+  @Test
+  public void testBudget() {
+    RetryBudget budget = new RetryBudget(0.5, 0);
+    assertEquals(10, budget.getAvailableRetries());
+    for (int i = 0; i < 10; i++) {
+      assertTrue(budget.tryRetry());
+    }
+    assertFalse(budget.tryRetry());
+
+    // two calls earn one retry
+    budget.recordCall();
+    assertFalse(budget.tryRetry());
+    budget.recordCall();
+    assertTrue(budget.tryRetry());
+    assertFalse(budget.tryRetry());
+  }
+
+  @Test
+  public void testBudgetRefillsOverTime() throws Exception {
+    RetryBudget budget = new RetryBudget(0, 100);
+    while (budget.tryRetry()) {
+      // empty the budget
+    }
+    Thread.sleep(50);
+    assertTrue(budget.tryRetry());
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.sync;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.OAuthAccessToken;
+import net.jeremybrooks.jinx.transport.JinxTransportRequest;
+import net.jeremybrooks.jinx.transport.JinxTransportResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests syncing against a fake account.
+ */
+public class AccountSyncTest {
+
+  /* photo id to {date uploaded, last updated} */
+  private final Map<String, long[]> account = new ConcurrentHashMap<>();
+  private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+  private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+  private String failingMethod;
+  private ExecutorService executor;
+  private AccountSync accountSync;
+
+  @Before
+  public void setUp() {
+    OAuthAccessToken accessToken = new OAuthAccessToken();
+    accessToken.setOauthToken("token");
+    accessToken.setOauthTokenSecret("secret");
+    Jinx jinx = new Jinx("key", "secret", accessToken, this::respond);
+    executor = Executors.newFixedThreadPool(4);
+    accountSync = new AccountSync(jinx, executor);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testInitialSync() throws Exception {
+    for (int i = 0; i < 1200; i++) {
+      account.put(Integer.toString(i), new long[]{1000 + i, 2000 + i});
+    }
+    List<PhotoChange> changes = new ArrayList<>();
+    SyncCheckpoint checkpoint = accountSync.sync(SyncCheckpoint.INITIAL, changes::add);
+    assertEquals(new SyncCheckpoint(3199), checkpoint);
+    assertEquals(1200, changes.size());
+    // in the order Flickr listed them, newest first
+    assertEquals("1199", changes.get(0).getPhotoId());
+    assertEquals("0", changes.get(1199).getPhotoId());
+    for (PhotoChange change : changes) {
+      assertEquals(PhotoChange.Type.ADDED, change.getType());
+      assertEquals(change.getPhotoId(), change.getInfo().getPhotoId());
+      assertNotNull(change.getSizes());
+      assertNull(change.getExif());
+    }
+    assertEquals(3, count("flickr.photos.recentlyUpdated"));
+    assertEquals(1200, count("flickr.photos.getInfo"));
+    assertEquals(1200, count("flickr.photos.getSizes"));
+  }
+
+  @Test
+  public void testIncrementalSync() throws Exception {
+    for (int i = 0; i < 1000; i++) {
+      account.put(Integer.toString(i), new long[]{1000, 1000});
+    }
+    account.put("edited", new long[]{1000, 5000});
+    account.put("new", new long[]{4000, 4000});
+    account.put("gone", new long[]{1000, 4500});
+    deleted.add("gone");
+
+    List<PhotoChange> changes = new ArrayList<>();
+    accountSync.setFetchSizes(false);
+    accountSync.setFetchExif(true);
+    SyncCheckpoint checkpoint = accountSync.sync(new SyncCheckpoint(3000), changes::add);
+
+    assertEquals(5000, checkpoint.getLastUpdate());
+    assertEquals(Arrays.asList("edited", "gone", "new"),
+        changes.stream().map(PhotoChange::getPhotoId).collect(Collectors.toList()));
+    assertEquals(PhotoChange.Type.UPDATED, changes.get(0).getType());
+    assertNotNull(changes.get(0).getExif());
+    assertEquals(PhotoChange.Type.REMOVED, changes.get(1).getType());
+    assertNull(changes.get(1).getInfo());
+    assertEquals(PhotoChange.Type.ADDED, changes.get(2).getType());
+    // work is proportional to the changes, not to the account
+    assertEquals(1, count("flickr.photos.recentlyUpdated"));
+    assertEquals(3, count("flickr.photos.getInfo"));
+    assertEquals(0, count("flickr.photos.getSizes"));
+
+    // nothing changed since
+    changes.clear();
+    calls.clear();
+    account.remove("gone");
+    checkpoint = accountSync.sync(new SyncCheckpoint(5001), changes::add);
+    assertEquals(new SyncCheckpoint(5001), checkpoint);
+    assertTrue(changes.isEmpty());
+    assertEquals(1, calls.size());
+  }
+
+  @Test
+  public void testFailedSync() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      account.put(Integer.toString(i), new long[]{1000, 2000 + i});
+    }
+    failingMethod = "flickr.photos.getSizes";
+    List<PhotoChange> changes = new ArrayList<>();
+    try {
+      accountSync.sync(SyncCheckpoint.INITIAL, changes::add);
+      fail("Sync should have failed.");
+    } catch (JinxException e) {
+      assertEquals(105, e.getFlickrErrorCode());
+    }
+    assertTrue(changes.isEmpty());
+  }
+
+  @Test
+  public void testReconcile() throws Exception {
+    for (int i = 0; i < 600; i++) {
+      account.put(Integer.toString(i), new long[]{1000, 1000});
+    }
+    List<PhotoChange> changes = new ArrayList<>();
+    int removed = accountSync.reconcile(Arrays.asList("1", "599", "old-1", "old-2"), changes::add);
+    assertEquals(2, removed);
+    assertEquals(Arrays.asList("old-1", "old-2"),
+        changes.stream().map(PhotoChange::getPhotoId).collect(Collectors.toList()));
+    assertEquals(PhotoChange.Type.REMOVED, changes.get(0).getType());
+    assertEquals(2, count("flickr.people.getPhotos"));
+    assertEquals(2, count("flickr.photos.getInfo"));
+  }
+
+  @Test
+  public void testStoreCheckpoint() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new SyncCheckpoint(1500000000).store(out);
+    SyncCheckpoint checkpoint = SyncCheckpoint.load(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(1500000000, checkpoint.getLastUpdate());
+    assertEquals(1500000000000L, checkpoint.getMinDate().getTime());
+  }
+
+  private long count(String method) {
+    return calls.stream().filter(method::equals).count();
+  }
+
+  private JinxTransportResponse respond(JinxTransportRequest request) throws JinxException {
+    Map<String, String> params = new ConcurrentHashMap<>();
+    String url = request.getUrl();
+    for (String pair : url.substring(url.indexOf('?') + 1).split("&")) {
+      String[] kv = pair.split("=", 2);
+      params.put(kv[0], kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+    }
+    String method = params.get("method");
+    calls.add(method);
+    String photoId = params.get("photo_id");
+    String body;
+    if (method.equals(failingMethod)) {
+      body = "{\"stat\":\"fail\",\"code\":105,\"message\":\"Service currently unavailable\"}";
+    } else if (photoId != null && (deleted.contains(photoId) || !account.containsKey(photoId))) {
+      body = "{\"stat\":\"fail\",\"code\":1,\"message\":\"Photo not found\"}";
+    } else if (method.equals("flickr.photos.getInfo")) {
+      body = "{\"photo\":{\"id\":\"" + photoId + "\"},\"stat\":\"ok\"}";
+    } else if (method.equals("flickr.photos.getSizes")) {
+      body = "{\"sizes\":{\"size\":[]},\"stat\":\"ok\"}";
+    } else if (method.equals("flickr.photos.getExif")) {
+      body = "{\"photo\":{\"id\":\"" + photoId + "\",\"exif\":[]},\"stat\":\"ok\"}";
+    } else {
+      List<Map.Entry<String, long[]>> photos;
+      if (method.equals("flickr.photos.recentlyUpdated")) {
+        long minDate = Long.parseLong(params.get("min_date"));
+        photos = account.entrySet().stream()
+            .filter(e -> e.getValue()[1] >= minDate)
+            .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+            .collect(Collectors.toList());
+      } else {
+        photos = new ArrayList<>(account.entrySet());
+      }
+      int perPage = Integer.parseInt(params.get("per_page"));
+      int page = Integer.parseInt(params.getOrDefault("page", "1"));
+      int pages = (photos.size() + perPage - 1) / perPage;
+      StringBuilder sb = new StringBuilder("{\"photos\":{\"page\":").append(page)
+          .append(",\"pages\":").append(pages)
+          .append(",\"perpage\":").append(perPage)
+          .append(",\"total\":").append(photos.size())
+          .append(",\"photo\":[");
+      for (int i = (page - 1) * perPage; i < Math.min(photos.size(), page * perPage); i++) {
+        Map.Entry<String, long[]> photo = photos.get(i);
+        if (i > (page - 1) * perPage) {
+          sb.append(',');
+        }
+        sb.append("{\"id\":\"").append(photo.getKey())
+            .append("\",\"dateupload\":\"").append(photo.getValue()[0])
+            .append("\",\"lastupdate\":\"").append(photo.getValue()[1]).append("\"}");
+      }
+      body = sb.append("]},\"stat\":\"ok\"}").toString();
+    }
+    return new JinxTransportResponse(200, Collections.emptyMap(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.throttle;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the rate limiter and token bucket.
+ */
+public class JinxRateLimiterTest {
+
+  @Test
+  public void testBurstThenWait() {
+    TokenBucket bucket = new TokenBucket(10, 5);
+    long now = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, bucket.reserve(now));
+    }
+    // sixth permit must wait one interval (100ms)
+    long wait = bucket.reserve(now);
+    assertTrue(wait > 90_000_000L && wait <= 100_000_000L);
+    // next permit waits two intervals
+    assertTrue(bucket.reserve(now) > wait);
+  }
+
+  @Test
+  public void testConcurrentReservations() throws Exception {
+    final TokenBucket bucket = new TokenBucket(1000, 1);
+    final long now = System.nanoTime();
+    final AtomicLong maxWait = new AtomicLong();
+    final CountDownLatch done = new CountDownLatch(8);
+    for (int t = 0; t < 8; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < 100; i++) {
+          long wait = bucket.reserve(now);
+          maxWait.accumulateAndGet(wait, Math::max);
+        }
+        done.countDown();
+      }).start();
+    }
+    done.await();
+    // 800 permits at 1ms each: the last one must wait about 799ms, no matter how the threads interleaved
+    assertEquals(799_000_000L, maxWait.get(), 1_000_000L);
+  }
+
+  @Test
+  public void testAdaptive() {
+    JinxRateLimiter limiter = new JinxRateLimiter(10, 1);
+    limiter.throttled("key", "flickr.test.echo");
+    assertEquals(10, limiter.getCurrentRate("key"), 0.01);
+
+    limiter.setAdaptive(true);
+    limiter.throttled("key", "flickr.test.echo");
+    assertEquals(5, limiter.getCurrentRate("key"), 0.01);
+    limiter.throttled("key", "flickr.test.echo");
+    assertEquals(2.5, limiter.getCurrentRate("key"), 0.01);
+
+    for (int i = 0; i < 500; i++) {
+      limiter.succeeded("key", "flickr.test.echo");
+    }
+    assertEquals(10, limiter.getCurrentRate("key"), 0.01);
+
+    // other keys are not affected
+    assertEquals(10, limiter.getCurrentRate("other"), 0.01);
+  }
+
+  @Test
+  public void testFamilyLimit() {
+    JinxRateLimiter limiter = new JinxRateLimiter(1000, 100);
+    limiter.setMethodFamilyLimit("flickr.photos", 1000, 100);
+    limiter.setMethodFamilyLimit("flickr.photos.search", 1, 1);
+    assertEquals(0, limiter.reserve("key", "flickr.photos.search"));
+    assertTrue(limiter.reserve("key", "flickr.photos.search") > 0);
+    assertEquals(0, limiter.reserve("key", "flickr.photos.getInfo"));
+    assertEquals(0, limiter.reserve("other", "flickr.photos.search"));
+  }
+
+  @Test
+  public void testKeyLimit() {
+    JinxRateLimiter limiter = JinxRateLimiter.perHour(3600, 1);
+    limiter.setKeyLimit("fast", 1000, 10);
+    assertEquals(1, limiter.getCurrentRate("key"), 0.01);
+    assertEquals(1000, limiter.getCurrentRate("fast"), 0.01);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the default transport against a local http server.
+ */
+public class DefaultJinxTransportTest {
+
+  private static HttpServer server;
+  private static String baseUrl;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/echo", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        InputStream in = exchange.getRequestBody();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          body.write(buffer, 0, read);
+        }
+        String reply = exchange.getRequestMethod() + " " + exchange.getRequestURI().getQuery() + " " +
+            exchange.getRequestHeaders().getFirst("X-Test") + " " + body.toString("UTF-8");
+        respond(exchange, 200, reply);
+      }
+    });
+    server.createContext("/error", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        respond(exchange, 503, "unavailable");
+      }
+    });
+    server.start();
+    baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  @AfterClass
+  public static void afterClass() {
+    server.stop(0);
+  }
+
+  private static void respond(HttpExchange exchange, int code, String reply) throws IOException {
+    byte[] bytes = reply.getBytes("UTF-8");
+    exchange.sendResponseHeaders(code, bytes.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(bytes);
+    out.close();
+  }
+
+  @Test
+  public void testGet() throws Exception {
+    DefaultJinxTransport transport = new DefaultJinxTransport();
+    JinxTransportResponse response = transport.execute(new JinxTransportRequest(JinxConstants.Method.GET,
+        baseUrl + "/echo?a=b", Collections.singletonMap("X-Test", "header"), null));
+    try {
+      assertEquals(200, response.getCode());
+      assertTrue(response.getConnectNanos() >= 0);
+      assertTrue(response.getTimeToFirstByteNanos() >= response.getConnectNanos());
+      response.meter();
+      assertEquals("GET a=b header ", response.getBody());
+      assertEquals(15, response.getBytesRead());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testPost() throws Exception {
+    DefaultJinxTransport transport = new DefaultJinxTransport();
+    JinxTransportResponse response = transport.execute(new JinxTransportRequest(JinxConstants.Method.POST,
+        baseUrl + "/echo", null, "x=y".getBytes("UTF-8")));
+    try {
+      assertEquals(200, response.getCode());
+      assertEquals("POST null null x=y", response.getBody());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testPostStreamingBody() throws Exception {
+    DefaultJinxTransport transport = new DefaultJinxTransport();
+    JinxTransportResponse response = transport.execute(JinxTransportRequest.withBody(JinxConstants.Method.POST,
+        baseUrl + "/echo", null, JinxRequestBody.ofBytes("x=y".getBytes("UTF-8"))));
+    try {
+      assertEquals(200, response.getCode());
+      assertEquals("POST null null x=y", response.getBody());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testErrorStatus() throws Exception {
+    DefaultJinxTransport transport = new DefaultJinxTransport();
+    JinxTransportResponse response = transport.execute(new JinxTransportRequest(JinxConstants.Method.GET,
+        baseUrl + "/error", null, null));
+    try {
+      assertEquals(503, response.getCode());
+      assertEquals("unavailable", response.getBody());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testPermitsReleased() throws Exception {
+    // with one connection per route, each request must release its permit or the second call would block
+    DefaultJinxTransport transport = new DefaultJinxTransport(5000, 5000, 1);
+    for (int i = 0; i < 5; i++) {
+      JinxTransportResponse response = transport.execute(new JinxTransportRequest(JinxConstants.Method.GET,
+          baseUrl + "/echo?i=" + i, null, null));
+      assertEquals(200, response.getCode());
+      response.close();
+    }
+  }
+
+  @Test
+  public void testConnectFailure() throws Exception {
+    DefaultJinxTransport transport = new DefaultJinxTransport(1000, 1000, 1);
+    try {
+      transport.execute(new JinxTransportRequest(JinxConstants.Method.GET, "http://127.0.0.1:1/nothing", null, null));
+      fail();
+    } catch (JinxException e) {
+      // expected; permit must be released
+    }
+    try {
+      transport.execute(new JinxTransportRequest(JinxConstants.Method.GET, "http://127.0.0.1:1/nothing", null, null));
+      fail();
+    } catch (JinxException e) {
+      // expected
+    }
+  }
+}
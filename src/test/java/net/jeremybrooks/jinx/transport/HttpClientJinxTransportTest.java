@@ -0,0 +1,120 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.jeremybrooks.jinx.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the java.net.http transport against a local http server.
+ */
+public class HttpClientJinxTransportTest {
+
+  private static HttpServer server;
+  private static String baseUrl;
+
+  @BeforeClass
+  public static void beforeClass() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/echo", exchange -> {
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      String reply = exchange.getRequestMethod() + " " + exchange.getRequestURI().getQuery() + " " +
+          new String(body, "UTF-8");
+      byte[] bytes = reply.getBytes("UTF-8");
+      exchange.sendResponseHeaders(200, bytes.length);
+      OutputStream out = exchange.getResponseBody();
+      out.write(bytes);
+      out.close();
+    });
+    server.start();
+    baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  @AfterClass
+  public static void afterClass() {
+    server.stop(0);
+  }
+
+  @Test
+  public void testExecute() throws Exception {
+    HttpClientJinxTransport transport = new HttpClientJinxTransport();
+    JinxTransportResponse response = transport.execute(new JinxTransportRequest(JinxConstants.Method.POST,
+        baseUrl + "/echo?a=b", null, "x=y".getBytes("UTF-8")));
+    try {
+      assertEquals(200, response.getCode());
+      assertEquals("POST a=b x=y", response.getBody());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testExecuteStreamingBody() throws Exception {
+    HttpClientJinxTransport transport = new HttpClientJinxTransport();
+    JinxTransportResponse response = transport.execute(JinxTransportRequest.withBody(JinxConstants.Method.POST,
+        baseUrl + "/echo?a=b", null, JinxRequestBody.ofBytes("x=y".getBytes("UTF-8"))));
+    try {
+      assertEquals(200, response.getCode());
+      assertEquals("POST a=b x=y", response.getBody());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testExecuteAsync() throws Exception {
+    HttpClientJinxTransport transport = new HttpClientJinxTransport();
+    List<CompletableFuture<JinxTransportResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      futures.add(transport.executeAsync(new JinxTransportRequest(JinxConstants.Method.GET,
+          baseUrl + "/echo?i=" + i, null, null)));
+    }
+    for (int i = 0; i < 20; i++) {
+      JinxTransportResponse response = futures.get(i).get();
+      assertEquals("GET i=" + i + " ", response.getBody());
+      response.close();
+    }
+  }
+
+  @Test
+  public void testExecuteAsyncFailure() throws Exception {
+    HttpClientJinxTransport transport = new HttpClientJinxTransport(1000, 1000);
+    try {
+      transport.executeAsync(new JinxTransportRequest(JinxConstants.Method.GET, "http://127.0.0.1:1/nothing",
+          null, null)).get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof JinxException);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.transport;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests multipart bodies built from memory and from files.
+ */
+public class MultipartRequestBodyTest {
+
+  @Test
+  public void testFileMatchesBytes() throws Exception {
+    byte[] data = new byte[300000];
+    new Random(1).nextBytes(data);
+    Path file = Files.createTempFile("jinx", ".jpg");
+    try {
+      Files.write(file, data);
+      MultipartRequestBody fromBytes = new MultipartRequestBody("boundary", params(), data);
+      MultipartRequestBody fromFile = new MultipartRequestBody("boundary", params(), file);
+
+      byte[] expected = write(fromBytes);
+      assertEquals(expected.length, fromBytes.getContentLength());
+      assertEquals(expected.length, fromFile.getContentLength());
+      assertArrayEquals(expected, write(fromFile));
+      assertArrayEquals(expected, read(fromFile));
+      // bodies can be sent again when a request is retried
+      assertArrayEquals(expected, write(fromFile));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testFraming() throws Exception {
+    MultipartRequestBody body = new MultipartRequestBody("xyz", params(), "DATA".getBytes(StandardCharsets.UTF_8));
+    String content = new String(write(body), StandardCharsets.UTF_8);
+    assertTrue(content.startsWith("--xyz\r\nContent-Disposition: form-data; name=\"title\"\r\n\r\nA title\r\n--xyz\r\n"));
+    assertTrue(content.contains("name=\"photo\"; filename=\"photo.png\";\r\nContent-Type: image/png\r\n\r\nDATA"));
+    assertTrue(content.endsWith("DATA\r\n--xyz--\r\n"));
+    assertFalse(content.contains("name=\"filename\""));
+    assertEquals("multipart/form-data; boundary=xyz", body.getContentType());
+    assertFalse(body.toString().contains("DATA"));
+  }
+
+  private Map<String, String> params() {
+    Map<String, String> params = new TreeMap<>();
+    params.put("title", "A title");
+    params.put("filename", "photo.png");
+    params.put("filemimetype", "image/png");
+    return params;
+  }
+
+  private byte[] write(JinxRequestBody body) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return out.toByteArray();
+  }
+
+  private byte[] read(JinxRequestBody body) throws Exception {
+    try (InputStream in = body.openStream()) {
+      return in.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import net.jeremybrooks.jinx.Jinx;
+import net.jeremybrooks.jinx.JinxConstants;
+import net.jeremybrooks.jinx.JinxException;
+import net.jeremybrooks.jinx.TestJinx;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the upload manager with a fake transport.
+ */
+public class UploadManagerTest {
+
+  private static final Pattern TICKETS = Pattern.compile("[?&]tickets=([^&]+)");
+  private static final Pattern MACHINE_TAGS = Pattern.compile("[?&]machine_tags=([^&]+)");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicInteger uploads = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final Queue<String> ticketChecks = new ConcurrentLinkedQueue<>();
+  private final Queue<String> searches = new ConcurrentLinkedQueue<>();
+  private volatile String uploadedHash;
+
+  @Test
+  public void testUploadsConcurrentlyAndChecksTicketsTogether() throws Exception {
+    UploadManager manager = new UploadManager(jinx(), new UploadQueue());
+    manager.setWorkers(3);
+    manager.setTicketInterval(TimeUnit.HOURS.toMillis(1));
+    List<UploadProgress> progress = Collections.synchronizedList(new ArrayList<>());
+    Queue<UploadEntry> processing = new ConcurrentLinkedQueue<>();
+    manager.setListener(new UploadListener() {
+      @Override
+      public void uploadProcessing(UploadEntry entry) {
+        processing.add(entry);
+      }
+
+      @Override
+      public void progress(UploadProgress p) {
+        progress.add(p);
+      }
+    });
+    for (int i = 0; i < 8; i++) {
+      manager.add(new UploadTask(photo("photo" + i + ".jpg")));
+    }
+    manager.start();
+    long deadline = System.currentTimeMillis() + 5000;
+    while (manager.getProgress().getProcessing() < 8 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    // nothing is complete until the tickets are checked
+    assertFalse(manager.awaitIdle(50, TimeUnit.MILLISECONDS));
+    assertEquals(8, processing.size());
+    assertEquals(3, maxInFlight.get());
+    assertEquals(8, manager.getProgress().getProcessing());
+    assertEquals(800, manager.getProgress().getBytesSent());
+    assertTrue(manager.getProgress().getBytesPerSecond() > 0);
+    assertTrue(ticketChecks.isEmpty());
+
+    manager.checkTickets();
+    assertTrue(manager.awaitIdle(1, TimeUnit.SECONDS));
+    assertEquals(1, ticketChecks.size());
+    assertEquals(8, ticketChecks.peek().split(",").length);
+    assertEquals(8, manager.getProgress().getComplete());
+    for (UploadEntry entry : manager.getQueue().getEntries()) {
+      assertEquals(String.valueOf(Long.parseLong(entry.getTicketId()) + 1000), entry.getPhotoId());
+    }
+    assertEquals(8, progress.get(progress.size() - 1).getComplete());
+    manager.shutdown();
+    assertTrue(manager.awaitTermination(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testTicketsCheckedOnSchedule() throws Exception {
+    UploadManager manager = new UploadManager(jinx(), new UploadQueue());
+    manager.setTicketInterval(10);
+    manager.start();
+    manager.add(new UploadTask(photo("one.jpg")));
+    manager.add(new UploadTask(photo("two.jpg")));
+    assertTrue(manager.awaitIdle(2, TimeUnit.SECONDS));
+    assertEquals(2, manager.getProgress().getComplete());
+    assertFalse(ticketChecks.isEmpty());
+    manager.shutdown();
+  }
+
+  @Test
+  public void testFailedUploadDoesNotStopOthers() throws Exception {
+    UploadManager manager = new UploadManager(jinx(), new UploadQueue());
+    manager.setAsync(false);
+    List<UploadEntry> failed = Collections.synchronizedList(new ArrayList<>());
+    manager.setListener(new UploadListener() {
+      @Override
+      public void uploadFailed(UploadEntry entry, JinxException failure) {
+        failed.add(entry);
+      }
+    });
+    manager.add(new UploadTask(new File(folder.getRoot(), "missing.jpg")));
+    manager.add(new UploadTask(photo("present.jpg")));
+    manager.start();
+    assertTrue(manager.awaitIdle(2, TimeUnit.SECONDS));
+    manager.shutdown();
+
+    assertEquals(1, failed.size());
+    assertEquals("missing.jpg", failed.get(0).getTask().getFile().getName());
+    assertTrue(failed.get(0).getError() != null);
+    List<UploadEntry> complete = manager.getQueue().getEntries(UploadEntry.State.COMPLETE);
+    assertEquals(1, complete.size());
+    assertEquals("present.jpg", complete.get(0).getTask().getFile().getName());
+    assertTrue(ticketChecks.isEmpty());
+  }
+
+  @Test
+  public void testRecoversAfterRestart() throws Exception {
+    File journal = new File(folder.getRoot(), "uploads.journal");
+    UploadQueue queue = new UploadQueue(journal);
+    UploadEntry arrived = queue.add(new UploadTask(photo("arrived.jpg")));
+    UploadEntry processing = queue.add(new UploadTask(photo("processing.jpg")));
+    UploadEntry lost = queue.add(new UploadTask(photo("lost.jpg")));
+    queue.next();
+    queue.update(queue.next().processing("7"));
+    queue.next();
+    queue.close();
+    uploadedHash = arrived.getHash();
+
+    queue = new UploadQueue(journal);
+    UploadManager manager = new UploadManager(jinx(), queue);
+    manager.setAsync(false);
+    manager.setTagWithHash(true);
+    manager.setTicketInterval(TimeUnit.HOURS.toMillis(1));
+    manager.start();
+    assertTrue(manager.awaitIdle(2, TimeUnit.SECONDS));
+    manager.shutdown();
+
+    // Flickr had the first file, was processing the second, and never got the third
+    assertEquals("555", queue.get(arrived.getId()).getPhotoId());
+    assertEquals("1007", queue.get(processing.getId()).getPhotoId());
+    assertEquals(Collections.singletonList("7"), new ArrayList<>(ticketChecks));
+    assertEquals(UploadEntry.State.COMPLETE, queue.get(lost.getId()).getState());
+    assertEquals(1, uploads.get());
+    assertEquals(2, searches.size());
+    assertTrue(searches.contains(UploadManager.HASH_TAG_PREFIX + lost.getHash()));
+    queue.close();
+  }
+
+  /*
+   * Write a file of 100 bytes. Each file has different content.
+   */
+  private File photo(String name) throws Exception {
+    File file = folder.newFile(name);
+    byte[] data = new byte[100];
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    System.arraycopy(bytes, 0, data, 0, bytes.length);
+    Files.write(file.toPath(), data);
+    return file;
+  }
+
+  /*
+   * A Jinx instance that answers uploads with a ticket, or a photo id if the upload is synchronous, after 20 ms.
+   * Every ticket is complete, with a photo id 1000 more than the ticket id. A search for the hash in uploadedHash
+   * finds photo 555.
+   */
+  private Jinx jinx() {
+    return TestJinx.jinx(request -> {
+      String body;
+      if (request.getUrl().startsWith(JinxConstants.FLICKR_PHOTO_UPLOAD_URL)) {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        TestJinx.pause(20);
+        inFlight.decrementAndGet();
+        int id = uploads.incrementAndGet();
+        body = request.getRequestBody().toString().contains("async") ?
+            "<rsp stat=\"ok\">\n<ticketid>" + id + "</ticketid>\n</rsp>\n" :
+            "<rsp stat=\"ok\">\n<photoid>" + (id + 1000) + "</photoid>\n</rsp>\n";
+      } else if (request.getUrl().contains("flickr.photos.search")) {
+        Matcher matcher = MACHINE_TAGS.matcher(request.getUrl());
+        assertTrue(matcher.find());
+        String tag = URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8);
+        searches.add(tag);
+        body = tag.equals(UploadManager.HASH_TAG_PREFIX + uploadedHash) ?
+            "{\"photos\":{\"page\":1,\"pages\":1,\"perpage\":1,\"total\":\"1\",\"photo\":[{\"id\":\"555\"}]},\"stat\":\"ok\"}" :
+            "{\"photos\":{\"page\":1,\"pages\":0,\"perpage\":1,\"total\":\"0\",\"photo\":[]},\"stat\":\"ok\"}";
+      } else {
+        Matcher matcher = TICKETS.matcher(request.getUrl());
+        assertTrue(matcher.find());
+        String tickets = matcher.group(1).replace("%2C", ",");
+        ticketChecks.add(tickets);
+        StringBuilder json = new StringBuilder("{\"uploader\":{\"ticket\":[");
+        for (String ticket : tickets.split(",")) {
+          if (json.charAt(json.length() - 1) == '}') {
+            json.append(',');
+          }
+          json.append("{\"id\":\"").append(ticket).append("\",\"complete\":1,\"photoid\":\"")
+              .append(Long.parseLong(ticket) + 1000).append("\"}");
+        }
+        body = json.append("]},\"stat\":\"ok\"}").toString();
+      }
+      return TestJinx.response(200, body);
+    });
+  }
+}
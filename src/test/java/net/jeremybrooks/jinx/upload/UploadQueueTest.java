@@ -0,0 +1,142 @@
+/*
+ * Jinx is Copyright 2010-2017 by Jeremy Brooks and Contributors
+ *
+ * Jinx is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Jinx is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Jinx.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.jeremybrooks.jinx.upload;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the upload queue and its journal.
+ */
+public class UploadQueueTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testJournalSurvivesRestart() throws Exception {
+    File journal = new File(folder.getRoot(), "uploads.journal");
+    File photo = file("photo.jpg", 100, (byte) 1);
+
+    UploadQueue queue = new UploadQueue(journal);
+    UploadTask task = new UploadTask(photo);
+    task.setTitle("Title");
+    task.setTags(Arrays.asList("one", "two"));
+    UploadEntry first = queue.add(task);
+    UploadEntry second = queue.add(new UploadTask(file("second.jpg", 10, (byte) 2)));
+    UploadEntry third = queue.add(new UploadTask(file("third.jpg", 10, (byte) 3)));
+    UploadEntry fourth = queue.add(new UploadTask(file("fourth.jpg", 10, (byte) 4)));
+    assertEquals(100, first.getSize());
+    assertEquals(64, first.getHash().length());
+
+    assertEquals(first.getId(), queue.next().getId());
+    queue.update(queue.next().processing("ticket-2"));
+    queue.update(queue.next().complete("3"));
+    queue.close();
+    // a line cut short when the process stopped
+    Files.write(journal.toPath(), "{\"id\":4,\"task\":{\"pa".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    queue = new UploadQueue(journal);
+    assertEquals(4, queue.getEntries().size());
+    // the upload in progress waits to be recovered
+    assertEquals(UploadEntry.State.UPLOADING, queue.get(first.getId()).getState());
+    assertEquals(first.getHash(), queue.get(first.getId()).getHash());
+    assertEquals(1, queue.count(UploadEntry.State.QUEUED));
+    assertEquals("Title", queue.get(first.getId()).getTask().getTitle());
+    assertEquals(Arrays.asList("one", "two"), queue.get(first.getId()).getTask().getTags());
+    assertEquals(photo.getAbsoluteFile(), queue.get(first.getId()).getTask().getFile());
+    assertEquals("ticket-2", queue.get(second.getId()).getTicketId());
+    assertEquals(UploadEntry.State.PROCESSING, queue.get(second.getId()).getState());
+    assertEquals("3", queue.get(third.getId()).getPhotoId());
+    assertEquals(1, queue.takeInterrupted().size());
+    assertTrue(queue.takeInterrupted().isEmpty());
+    // recovered uploads go back ahead of the file that was never started
+    queue.requeue(queue.get(first.getId()));
+    assertEquals(first.getId(), queue.next().getId());
+    assertEquals(fourth.getId(), queue.next().getId());
+    assertNull(queue.next());
+    assertEquals(5, queue.add(new UploadTask(file("fifth.jpg", 10, (byte) 5))).getId());
+
+    assertEquals(1, queue.removeComplete());
+    queue.close();
+    queue = new UploadQueue(journal);
+    assertNull(queue.get(third.getId()));
+    assertEquals(4, queue.getEntries().size());
+    assertEquals(4, Files.readAllLines(journal.toPath()).size());
+    queue.close();
+  }
+
+  @Test
+  public void testSameContentIsQueuedOnce() throws Exception {
+    UploadQueue queue = new UploadQueue();
+    File photo = file("photo.jpg", 1000, (byte) 7);
+    File copy = file("copy.jpg", 1000, (byte) 7);
+    UploadEntry entry = queue.add(new UploadTask(photo));
+    assertEquals(entry.getId(), queue.add(new UploadTask(copy)).getId());
+    assertEquals(1, queue.getEntries().size());
+    assertEquals(entry.getId(), queue.findByHash(entry.getHash()).getId());
+    assertEquals(UploadQueue.hash(copy), entry.getHash());
+
+    // a failed entry is queued again instead of being added twice
+    queue.update(queue.next().failed("Network error"));
+    UploadEntry again = queue.add(new UploadTask(copy));
+    assertEquals(entry.getId(), again.getId());
+    assertEquals(UploadEntry.State.QUEUED, again.getState());
+    assertEquals(entry.getId(), queue.next().getId());
+
+    // files that cannot be read are not deduplicated
+    assertNull(queue.add(new UploadTask(new File("missing.jpg"))).getHash());
+    assertNotNull(queue.add(new UploadTask(new File("missing.jpg"))));
+    assertEquals(3, queue.getEntries().size());
+  }
+
+  @Test
+  public void testRetryFailed() throws Exception {
+    UploadQueue queue = new UploadQueue();
+    UploadEntry entry = queue.add(new UploadTask(new File("missing.jpg")));
+    queue.update(queue.next().failed("File not found"));
+    assertEquals(1, queue.count(UploadEntry.State.FAILED));
+    assertNull(queue.next());
+
+    assertEquals(1, queue.retryFailed());
+    assertEquals(0, queue.count(UploadEntry.State.FAILED));
+    UploadEntry retry = queue.next();
+    assertEquals(entry.getId(), retry.getId());
+    assertNull(retry.getError());
+  }
+
+  private File file(String name, int size, byte fill) throws Exception {
+    File file = folder.newFile(name);
+    byte[] data = new byte[size];
+    Arrays.fill(data, fill);
+    Files.write(file.toPath(), data);
+    return file;
+  }
+}